@@ -0,0 +1,33 @@
+package uk.gov.justice.services.common.rest;
+
+import static javax.json.Json.createObjectBuilder;
+import static javax.ws.rs.core.HttpHeaders.RETRY_AFTER;
+import static javax.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
+
+import uk.gov.justice.services.common.concurrency.ConcurrencyLimitExceededException;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Provider
+public class ConcurrencyLimitExceededExceptionMapper implements ExceptionMapper<ConcurrencyLimitExceededException> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrencyLimitExceededExceptionMapper.class);
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    @Override
+    public Response toResponse(final ConcurrencyLimitExceededException exception) {
+        LOGGER.debug("Concurrency Limit Exceeded", exception);
+
+        return Response.status(SERVICE_UNAVAILABLE)
+                .header(RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .entity(createObjectBuilder().add("error", exception.getMessage()).build().toString())
+                .build();
+    }
+
+}
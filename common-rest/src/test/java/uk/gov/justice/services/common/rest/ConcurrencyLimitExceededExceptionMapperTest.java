@@ -0,0 +1,40 @@
+package uk.gov.justice.services.common.rest;
+
+import static com.jayway.jsonpath.matchers.JsonPathMatchers.hasJsonPath;
+import static javax.ws.rs.core.HttpHeaders.RETRY_AFTER;
+import static javax.ws.rs.core.Response.Status.SERVICE_UNAVAILABLE;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import uk.gov.justice.services.common.concurrency.ConcurrencyLimitExceededException;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConcurrencyLimitExceededExceptionMapperTest {
+
+    private static final String TEST_ERROR_MESSAGE = "Test Error Message.";
+
+    @InjectMocks
+    private ConcurrencyLimitExceededExceptionMapper exceptionMapper;
+
+    @Test
+    public void shouldReturn503ResponseForConcurrencyLimitExceededException() throws Exception {
+
+        final Response response = exceptionMapper.toResponse(new ConcurrencyLimitExceededException(TEST_ERROR_MESSAGE));
+
+        assertThat(response.getStatus(), is(SERVICE_UNAVAILABLE.getStatusCode()));
+        assertThat(response.getHeaderString(RETRY_AFTER), is("1"));
+        assertThat(response.getEntity(), notNullValue());
+        assertThat(response.getEntity().toString(),
+                hasJsonPath("$.error", equalTo(TEST_ERROR_MESSAGE)));
+    }
+
+}
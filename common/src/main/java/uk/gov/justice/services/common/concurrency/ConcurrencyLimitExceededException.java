@@ -0,0 +1,14 @@
+package uk.gov.justice.services.common.concurrency;
+
+/**
+ * Thrown when a component is already processing as many requests as its concurrency limit allows
+ * and the request could not be queued until it could be admitted.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 3127305861479212207L;
+
+    public ConcurrencyLimitExceededException(final String message) {
+        super(message);
+    }
+}
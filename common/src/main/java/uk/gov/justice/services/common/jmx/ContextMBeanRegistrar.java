@@ -0,0 +1,97 @@
+package uk.gov.justice.services.common.jmx;
+
+import static java.lang.String.format;
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import uk.gov.justice.services.common.configuration.ServiceContextNameProvider;
+import uk.gov.justice.services.jmx.api.name.ObjectNameException;
+import uk.gov.justice.services.jmx.api.name.ObjectNameFactory;
+
+import java.util.Optional;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+
+/**
+ * Registers framework MBeans with the platform MBean server under the name of the service context,
+ * so that the MBeans of contexts deployed to the same server do not collide. An MBean named 'name'
+ * in the domain 'domain' is registered as 'domain:type=[service context name]-name'.
+ *
+ * Failure to register or unregister an MBean is logged and never fails the caller.
+ */
+@ApplicationScoped
+public class ContextMBeanRegistrar {
+
+    private static final Logger LOGGER = getLogger(ContextMBeanRegistrar.class);
+
+    private static final String TYPE = "type";
+    private static final String OBJECT_NAME_FORMAT = "%s-%s";
+
+    @Inject
+    ObjectNameFactory objectNameFactory;
+
+    @Inject
+    ServiceContextNameProvider serviceContextNameProvider;
+
+    MBeanServer mBeanServer = getPlatformMBeanServer();
+
+    /**
+     * @param domain the domain of the MBean
+     * @param name   the name of the MBean within the service context
+     * @return the object name of the MBean
+     */
+    public ObjectName objectNameOf(final String domain, final String name) {
+        return objectNameFactory.create(
+                domain,
+                TYPE,
+                format(OBJECT_NAME_FORMAT, serviceContextNameProvider.getServiceContextName(), name));
+    }
+
+    /**
+     * Registers the MBean. An MBean already registered under its name can only be a stale one left
+     * behind by an earlier deployment of the same service context, so it is replaced with a warning.
+     *
+     * @param mBean  the MBean
+     * @param domain the domain of the MBean
+     * @param name   the name of the MBean within the service context
+     * @return the object name the MBean was registered under, or empty if it was not registered
+     */
+    public Optional<ObjectName> register(final Object mBean, final String domain, final String name) {
+        try {
+            final ObjectName objectName = objectNameOf(domain, name);
+
+            if (mBeanServer.isRegistered(objectName)) {
+                LOGGER.warn(format("MBean '%s' is already registered. Replacing it", objectName));
+                mBeanServer.unregisterMBean(objectName);
+            }
+
+            mBeanServer.registerMBean(mBean, objectName);
+            return Optional.of(objectName);
+        } catch (final JMException | ObjectNameException e) {
+            LOGGER.warn(format("Failed to register MBean '%s' in domain '%s'", name, domain), e);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Unregisters the MBean registered under the object name, if there is one
+     *
+     * @param objectName the object name the MBean was registered under
+     */
+    public void unregister(final ObjectName objectName) {
+        try {
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (final JMException e) {
+            LOGGER.warn(format("Failed to unregister MBean '%s'", objectName), e);
+        }
+    }
+}
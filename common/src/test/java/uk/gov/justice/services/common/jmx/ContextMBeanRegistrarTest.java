@@ -0,0 +1,119 @@
+package uk.gov.justice.services.common.jmx;
+
+import static java.util.Optional.empty;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.common.configuration.ServiceContextNameProvider;
+import uk.gov.justice.services.jmx.api.name.ObjectNameFactory;
+
+import java.util.Optional;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ContextMBeanRegistrarTest {
+
+    private static final String DOMAIN = "uk.gov.justice.services.framework.test";
+
+    @Spy
+    private ObjectNameFactory objectNameFactory = new ObjectNameFactory();
+
+    @Mock
+    private ServiceContextNameProvider serviceContextNameProvider;
+
+    @Mock
+    private MBeanServer mBeanServer;
+
+    @InjectMocks
+    private ContextMBeanRegistrar contextMBeanRegistrar;
+
+    @Before
+    public void setUp() {
+        when(serviceContextNameProvider.getServiceContextName()).thenReturn("people-command-api");
+    }
+
+    @Test
+    public void shouldNameTheMBeanAfterTheServiceContext() throws Exception {
+
+        assertThat(contextMBeanRegistrar.objectNameOf(DOMAIN, "gauge"),
+                is(new ObjectName("uk.gov.justice.services.framework.test:type=people-command-api-gauge")));
+    }
+
+    @Test
+    public void shouldRegisterTheMBeanUnderTheNameOfTheServiceContext() throws Exception {
+
+        final Object mBean = new Object();
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.test:type=people-command-api-gauge");
+
+        assertThat(contextMBeanRegistrar.register(mBean, DOMAIN, "gauge"), is(Optional.of(objectName)));
+
+        verify(mBeanServer).registerMBean(mBean, objectName);
+    }
+
+    @Test
+    public void shouldReplaceAnMBeanAlreadyRegisteredUnderTheName() throws Exception {
+
+        final Object mBean = new Object();
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.test:type=people-command-api-gauge");
+
+        when(mBeanServer.isRegistered(objectName)).thenReturn(true);
+
+        assertThat(contextMBeanRegistrar.register(mBean, DOMAIN, "gauge"), is(Optional.of(objectName)));
+
+        final InOrder inOrder = inOrder(mBeanServer);
+
+        inOrder.verify(mBeanServer).unregisterMBean(objectName);
+        inOrder.verify(mBeanServer).registerMBean(mBean, objectName);
+    }
+
+    @Test
+    public void shouldNotFailIfTheMBeanCannotBeRegistered() throws Exception {
+
+        final Object mBean = new Object();
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.test:type=people-command-api-gauge");
+
+        doThrow(new NotCompliantMBeanException("Ooops")).when(mBeanServer).registerMBean(mBean, objectName);
+
+        assertThat(contextMBeanRegistrar.register(mBean, DOMAIN, "gauge"), is(empty()));
+    }
+
+    @Test
+    public void shouldUnregisterTheMBeanIfRegistered() throws Exception {
+
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.test:type=people-command-api-gauge");
+
+        when(mBeanServer.isRegistered(objectName)).thenReturn(true);
+
+        contextMBeanRegistrar.unregister(objectName);
+
+        verify(mBeanServer).unregisterMBean(objectName);
+    }
+
+    @Test
+    public void shouldNotFailIfTheMBeanCannotBeUnregistered() throws Exception {
+
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.test:type=people-command-api-gauge");
+
+        when(mBeanServer.isRegistered(objectName)).thenReturn(true);
+        doThrow(new InstanceNotFoundException("Ooops")).when(mBeanServer).unregisterMBean(objectName);
+
+        contextMBeanRegistrar.unregister(objectName);
+    }
+}
@@ -0,0 +1,20 @@
+package uk.gov.justice.services.core.audit;
+
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.List;
+
+/**
+ * An {@link AuditClient} that can record the audit entries of a batch of envelopes of one
+ * component in one call.
+ */
+public interface BatchAuditClient extends AuditClient {
+
+    /**
+     * Records an audit entry for each envelope, in the order given.
+     *
+     * @param envelopes the envelopes to be audited
+     * @param component the component that requested the actions to be audited
+     */
+    void auditEntries(final List<JsonEnvelope> envelopes, final String component);
+}
@@ -0,0 +1,19 @@
+package uk.gov.justice.services.core.audit;
+
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.List;
+
+/**
+ * An {@link AuditService} that can audit a batch of envelopes of one component in one call.
+ */
+public interface BatchAuditService extends AuditService {
+
+    /**
+     * Audits the envelopes, in the order given.
+     *
+     * @param envelopes the envelopes to be audited
+     * @param component the component that requested the actions to be audited
+     */
+    void audit(final List<JsonEnvelope> envelopes, final String component);
+}
@@ -3,10 +3,12 @@ package uk.gov.justice.services.core.audit;
 
 import static java.lang.String.format;
 import static java.util.regex.Pattern.compile;
+import static java.util.stream.Collectors.toList;
 
 import uk.gov.justice.services.common.configuration.Value;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
 import javax.annotation.PostConstruct;
@@ -17,7 +19,7 @@ import org.slf4j.Logger;
 /**
  * Service responsible for hooking auditing into the framework.
  */
-public class DefaultAuditService implements AuditService {
+public class DefaultAuditService implements BatchAuditService {
 
     @Inject
     @Value(key = "audit.blacklist", defaultValue = "")
@@ -46,12 +48,44 @@ public class DefaultAuditService implements AuditService {
     @Override
     public void audit(final JsonEnvelope envelope, final String component) {
 
+        if (isAudited(envelope)) {
+            auditClient.auditEntry(envelope, component);
+        }
+    }
+
+    /**
+     * Audits the envelopes whose actions are not blacklisted, in one call if the {@link
+     * AuditClient} is a {@link BatchAuditClient}.
+     *
+     * @param envelopes the envelopes to be audited
+     * @param component the component that requested the actions to be audited
+     */
+    @Override
+    public void audit(final List<JsonEnvelope> envelopes, final String component) {
+
+        final List<JsonEnvelope> auditedEnvelopes = envelopes.stream()
+                .filter(this::isAudited)
+                .collect(toList());
+
+        if (auditedEnvelopes.isEmpty()) {
+            return;
+        }
+
+        if (auditClient instanceof BatchAuditClient) {
+            ((BatchAuditClient) auditClient).auditEntries(auditedEnvelopes, component);
+        } else {
+            auditedEnvelopes.forEach(envelope -> auditClient.auditEntry(envelope, component));
+        }
+    }
+
+    private boolean isAudited(final JsonEnvelope envelope) {
         final String actionName = envelope.metadata().name();
 
         if (auditBlacklistPattern.matcher(actionName).matches()) {
             logger.info(format("Skipping auditing of action %s due to configured blacklist pattern %s.", actionName, auditBlacklist));
-        } else {
-            auditClient.auditEntry(envelope, component);
+            return false;
         }
+
+        return true;
     }
 }
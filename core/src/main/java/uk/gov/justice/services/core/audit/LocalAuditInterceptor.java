@@ -1,10 +1,14 @@
 package uk.gov.justice.services.core.audit;
 
-import uk.gov.justice.services.core.interceptor.Interceptor;
+import uk.gov.justice.services.core.interceptor.BatchInterceptor;
+import uk.gov.justice.services.core.interceptor.BatchInterceptorChain;
 import uk.gov.justice.services.core.interceptor.InterceptorChain;
 import uk.gov.justice.services.core.interceptor.InterceptorContext;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
 import java.util.Optional;
 
 import javax.inject.Inject;
@@ -12,7 +16,7 @@ import javax.inject.Inject;
 /**
  * Interceptor to capture audit events from local framework components.
  */
-public class LocalAuditInterceptor implements Interceptor {
+public class LocalAuditInterceptor implements BatchInterceptor {
 
     @Inject
     AuditService auditService;
@@ -29,7 +33,41 @@ public class LocalAuditInterceptor implements Interceptor {
         return outputContext;
     }
 
+    /**
+     * Audits the input envelopes of the batch in one call to a {@link BatchAuditService} before
+     * the rest of the chain, and the output envelopes in one call after it. The contexts of a
+     * batch are all of one component.
+     */
+    @Override
+    public List<InterceptorContext> processBatch(final List<InterceptorContext> interceptorContexts, final BatchInterceptorChain batchInterceptorChain) {
+        if (interceptorContexts.isEmpty()) {
+            return batchInterceptorChain.processNextBatch(interceptorContexts);
+        }
+
+        final String component = interceptorContexts.get(0).getComponentName();
+        recordAudit(interceptorContexts.stream()
+                .map(InterceptorContext::inputEnvelope)
+                .collect(toList()), component);
+
+        final List<InterceptorContext> outputContexts = batchInterceptorChain.processNextBatch(interceptorContexts);
+
+        recordAudit(outputContexts.stream()
+                .map(InterceptorContext::outputEnvelope)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(toList()), component);
+        return outputContexts;
+    }
+
     private void recordAudit(final JsonEnvelope jsonEnvelope, final String component) {
         auditService.audit(jsonEnvelope, component);
     }
+
+    private void recordAudit(final List<JsonEnvelope> jsonEnvelopes, final String component) {
+        if (auditService instanceof BatchAuditService) {
+            ((BatchAuditService) auditService).audit(jsonEnvelopes, component);
+        } else {
+            jsonEnvelopes.forEach(jsonEnvelope -> recordAudit(jsonEnvelope, component));
+        }
+    }
 }
@@ -4,18 +4,21 @@ package uk.gov.justice.services.core.audit;
 import uk.gov.justice.services.common.configuration.ServiceContextNameProvider;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
+
 import javax.annotation.Priority;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Alternative;
 import javax.inject.Inject;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 
 @ApplicationScoped
 @Alternative
 @Priority(1)
-public class SimpleAuditClient implements AuditClient {
+public class SimpleAuditClient implements BatchAuditClient {
 
     @Inject
     Logger logger;
@@ -28,6 +31,21 @@ public class SimpleAuditClient implements AuditClient {
         logger.info(createAuditMessageFrom(envelope, component));
     }
 
+    /**
+     * Logs the audit entries of the batch as one message with an array of envelopes.
+     */
+    @Override
+    public void auditEntries(final List<JsonEnvelope> envelopes, final String component) {
+        final JSONArray auditedEnvelopes = new JSONArray();
+        envelopes.forEach(envelope -> auditedEnvelopes.put(new JSONObject(envelope.toString())));
+
+        logger.info(new JSONObject()
+                .put("serviceContext", serviceContextNameProvider.getServiceContextName())
+                .put("component", component)
+                .put("envelopes", auditedEnvelopes)
+                .toString(2));
+    }
+
     private String createAuditMessageFrom(final JsonEnvelope envelope, final String component) {
 
         return new JSONObject()
@@ -0,0 +1,239 @@
+package uk.gov.justice.services.core.concurrency;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of requests a component processes at once, adapting the limit to the latency
+ * of the requests.
+ *
+ * The limit follows a gradient of two exponential averages of latency: a short term average of
+ * recent requests and a long term average standing for the latency of the component when it is
+ * not overloaded. While recent requests are as fast as the long term average the limit grows by
+ * a fraction of its square root per sample; as they slow down it shrinks in proportion, by at most
+ * a tenth per sample. The limit only grows while at least half of it is in use, so a lightly
+ * loaded component does not build up a limit it has never been tested at.
+ *
+ * Requests over the limit wait, up to 'maxQueueSize' at a time and for at most
+ * 'queueTimeoutMillis', for a request to finish; otherwise they are rejected.
+ */
+public class AdaptiveConcurrencyLimiter implements ConcurrencyLimiterMBean {
+
+    private static final double SHORT_TERM_SMOOTHING = 0.1;
+    private static final double LONG_TERM_SMOOTHING = 0.002;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_TERM_RECOVERY_RATIO = 2.0;
+    private static final double LONG_TERM_RECOVERY_DECAY = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final long queueTimeoutMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private double shortTermLatencyNanos;
+    private double longTermLatencyNanos;
+    private int inFlight;
+    private int queued;
+    private long rejectedCount;
+
+    /**
+     * @param initialLimit       the limit before any latency has been sampled
+     * @param minLimit           the lowest the limit can fall to
+     * @param maxLimit           the highest the limit can grow to
+     * @param maxQueueSize       the number of requests that can wait for the limit at once
+     * @param queueTimeoutMillis the longest a request waits for the limit before being rejected
+     */
+    public AdaptiveConcurrencyLimiter(final int initialLimit,
+                                      final int minLimit,
+                                      final int maxLimit,
+                                      final int maxQueueSize,
+                                      final long queueTimeoutMillis) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("The minimum limit must be at least 1 and no more than the maximum limit");
+        }
+
+        this.limit = min(max(initialLimit, minLimit), maxLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueueSize = maxQueueSize;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+    }
+
+    /**
+     * Admits a request if fewer than the limit are in flight, otherwise waits for one to be
+     * released if there is room in the queue.
+     *
+     * @return true if the request was admitted and must be released, false if it was rejected
+     * @throws InterruptedException if interrupted while queued
+     */
+    public boolean acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                inFlight++;
+                return true;
+            }
+
+            if (queued >= maxQueueSize) {
+                rejectedCount++;
+                return false;
+            }
+
+            queued++;
+            try {
+                long remainingNanos = MILLISECONDS.toNanos(queueTimeoutMillis);
+                while (inFlight >= currentLimit()) {
+                    if (remainingNanos <= 0L) {
+                        rejectedCount++;
+                        return false;
+                    }
+                    remainingNanos = released.awaitNanos(remainingNanos);
+                }
+
+                inFlight++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a request that completed normally, adapting the limit to its latency.
+     *
+     * @param latencyNanos the time taken to process the request
+     */
+    public void release(final long latencyNanos) {
+        lock.lock();
+        try {
+            final int limitBefore = currentLimit();
+
+            sample(latencyNanos);
+            inFlight--;
+
+            if (currentLimit() > limitBefore) {
+                released.signalAll();
+            } else {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a request that failed, without adapting the limit, since the latency of a failure
+     * says little about the load on the component.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getLimit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public double getShortTermLatencyMillis() {
+        lock.lock();
+        try {
+            return shortTermLatencyNanos / NANOSECONDS.convert(1, MILLISECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public double getLongTermLatencyMillis() {
+        lock.lock();
+        try {
+            return longTermLatencyNanos / NANOSECONDS.convert(1, MILLISECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sample(final long latencyNanos) {
+        if (shortTermLatencyNanos == 0.0) {
+            shortTermLatencyNanos = latencyNanos;
+            longTermLatencyNanos = latencyNanos;
+            return;
+        }
+
+        shortTermLatencyNanos += (latencyNanos - shortTermLatencyNanos) * SHORT_TERM_SMOOTHING;
+        longTermLatencyNanos += (latencyNanos - longTermLatencyNanos) * LONG_TERM_SMOOTHING;
+
+        if (longTermLatencyNanos / shortTermLatencyNanos > LONG_TERM_RECOVERY_RATIO) {
+            longTermLatencyNanos *= LONG_TERM_RECOVERY_DECAY;
+        }
+
+        final boolean applicationLimited = inFlight < limit / 2;
+        if (applicationLimited && shortTermLatencyNanos <= longTermLatencyNanos) {
+            return;
+        }
+
+        final double gradient = max(MIN_GRADIENT, min(1.0, longTermLatencyNanos / shortTermLatencyNanos));
+        final double newLimit = gradient < 1.0 ? limit * gradient : limit + sqrt(limit);
+
+        limit = min(max(limit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING, minLimit), maxLimit);
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+}
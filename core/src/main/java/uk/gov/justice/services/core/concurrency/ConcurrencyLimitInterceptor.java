@@ -0,0 +1,59 @@
+package uk.gov.justice.services.core.concurrency;
+
+import static java.lang.String.format;
+
+import uk.gov.justice.services.common.concurrency.ConcurrencyLimitExceededException;
+import uk.gov.justice.services.core.interceptor.Interceptor;
+import uk.gov.justice.services.core.interceptor.InterceptorChain;
+import uk.gov.justice.services.core.interceptor.InterceptorContext;
+
+import javax.inject.Inject;
+
+/**
+ * Interceptor that admits requests to a component only while the component is within its
+ * adaptive concurrency limit, throwing a {@link ConcurrencyLimitExceededException} otherwise.
+ *
+ * Should be first in the interceptor chain, so that rejected requests do no other work and the
+ * latency the limit adapts to includes the rest of the chain.
+ */
+public class ConcurrencyLimitInterceptor implements Interceptor {
+
+    @Inject
+    private ConcurrencyLimiters concurrencyLimiters;
+
+    @Override
+    public InterceptorContext process(final InterceptorContext interceptorContext, final InterceptorChain interceptorChain) {
+        final String component = interceptorContext.getComponentName();
+        final AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.limiterFor(component);
+
+        acquire(limiter, component);
+
+        final long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            final InterceptorContext result = interceptorChain.processNext(interceptorContext);
+            completed = true;
+            return result;
+        } finally {
+            if (completed) {
+                limiter.release(System.nanoTime() - start);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    private void acquire(final AdaptiveConcurrencyLimiter limiter, final String component) {
+        final boolean admitted;
+        try {
+            admitted = limiter.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyLimitExceededException(format("Interrupted while waiting for the concurrency limit of component '%s'", component));
+        }
+
+        if (!admitted) {
+            throw new ConcurrencyLimitExceededException(format("Component '%s' is at its concurrency limit of %d", component, limiter.getLimit()));
+        }
+    }
+}
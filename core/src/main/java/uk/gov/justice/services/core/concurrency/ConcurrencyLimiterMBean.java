@@ -0,0 +1,40 @@
+package uk.gov.justice.services.core.concurrency;
+
+import javax.management.MXBean;
+
+/**
+ * Exposes the adaptive concurrency limit of a component.
+ */
+@MXBean
+public interface ConcurrencyLimiterMBean {
+
+    /**
+     * @return the number of requests the component may currently process at once
+     */
+    int getLimit();
+
+    /**
+     * @return the number of requests being processed
+     */
+    int getInFlight();
+
+    /**
+     * @return the number of requests waiting to be admitted
+     */
+    int getQueued();
+
+    /**
+     * @return the number of requests rejected since the component started
+     */
+    long getRejectedCount();
+
+    /**
+     * @return the exponential average latency of recent requests, in milliseconds
+     */
+    double getShortTermLatencyMillis();
+
+    /**
+     * @return the exponential average latency of requests over the long term, in milliseconds
+     */
+    double getLongTermLatencyMillis();
+}
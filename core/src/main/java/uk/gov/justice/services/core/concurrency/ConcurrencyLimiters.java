@@ -0,0 +1,87 @@
+package uk.gov.justice.services.core.concurrency;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+import static java.lang.String.format;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.ObjectName;
+
+/**
+ * Creates and caches the {@link AdaptiveConcurrencyLimiter} of each component, registering it
+ * with the platform MBean server under the name of the service context.
+ *
+ * The limiters are configured with the global values 'concurrency.limit.initial' (default 20),
+ * 'concurrency.limit.min' (default 1), 'concurrency.limit.max' (default 200),
+ * 'concurrency.limit.queue.size' (default 50) and 'concurrency.limit.queue.timeout.millis'
+ * (default 500).
+ */
+@ApplicationScoped
+public class ConcurrencyLimiters {
+
+    private static final String DOMAIN_NAME = "uk.gov.justice.services.framework.concurrency";
+    private static final String MBEAN_NAME_FORMAT = "concurrency-limit-%s";
+
+    @Inject
+    @GlobalValue(key = "concurrency.limit.initial", defaultValue = "20")
+    String initialLimit;
+
+    @Inject
+    @GlobalValue(key = "concurrency.limit.min", defaultValue = "1")
+    String minLimit;
+
+    @Inject
+    @GlobalValue(key = "concurrency.limit.max", defaultValue = "200")
+    String maxLimit;
+
+    @Inject
+    @GlobalValue(key = "concurrency.limit.queue.size", defaultValue = "50")
+    String maxQueueSize;
+
+    @Inject
+    @GlobalValue(key = "concurrency.limit.queue.timeout.millis", defaultValue = "500")
+    String queueTimeoutMillis;
+
+    @Inject
+    ContextMBeanRegistrar contextMBeanRegistrar;
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, ObjectName> registeredObjectNames = new ConcurrentHashMap<>();
+
+    /**
+     * @param component the component
+     * @return the concurrency limiter of the component
+     */
+    public AdaptiveConcurrencyLimiter limiterFor(final String component) {
+        return limiters.computeIfAbsent(component, this::createLimiter);
+    }
+
+    @PreDestroy
+    public void unregister() {
+        registeredObjectNames.values().forEach(contextMBeanRegistrar::unregister);
+        registeredObjectNames.clear();
+        limiters.clear();
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(final String component) {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                parseInt(initialLimit),
+                parseInt(minLimit),
+                parseInt(maxLimit),
+                parseInt(maxQueueSize),
+                parseLong(queueTimeoutMillis));
+
+        contextMBeanRegistrar.register(limiter, DOMAIN_NAME, format(MBEAN_NAME_FORMAT, component))
+                .ifPresent(objectName -> registeredObjectNames.put(component, objectName));
+
+        return limiter;
+    }
+}
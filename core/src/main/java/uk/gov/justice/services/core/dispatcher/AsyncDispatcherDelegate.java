@@ -0,0 +1,66 @@
+package uk.gov.justice.services.core.dispatcher;
+
+import uk.gov.justice.services.core.requester.AsyncRequester;
+import uk.gov.justice.services.core.requester.Requester;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the requests of a {@link Requester} on an {@link Executor} or in a {@link
+ * BulkheadExecutor}, returning a {@link CompletionStage} of the response.
+ *
+ * Making a request never blocks the caller; a request that is not accepted for running fails the
+ * returned stage with a {@link RejectedExecutionException}.
+ */
+public class AsyncDispatcherDelegate implements AsyncRequester {
+
+    private final Requester requester;
+    private final AsyncCalls asyncCalls;
+
+    public AsyncDispatcherDelegate(final Requester requester, final Executor executor) {
+        this.requester = requester;
+        this.asyncCalls = new AsyncCalls() {
+            @Override
+            public <T> CompletableFuture<T> supplyAsync(final Supplier<T> call) {
+                try {
+                    return CompletableFuture.supplyAsync(call, executor);
+                } catch (final RejectedExecutionException e) {
+                    final CompletableFuture<T> rejected = new CompletableFuture<>();
+                    rejected.completeExceptionally(e);
+                    return rejected;
+                }
+            }
+        };
+    }
+
+    public AsyncDispatcherDelegate(final Requester requester, final BulkheadExecutor bulkheadExecutor) {
+        this.requester = requester;
+        this.asyncCalls = bulkheadExecutor::supplyAsync;
+    }
+
+    @Override
+    public CompletionStage<JsonEnvelope> requestAsync(final Envelope<?> envelope) {
+        return asyncCalls.supplyAsync(() -> requester.request(envelope));
+    }
+
+    @Override
+    public <T> CompletionStage<Envelope<T>> requestAsync(final Envelope<?> envelope, final Class<T> clazz) {
+        return asyncCalls.supplyAsync(() -> requester.request(envelope, clazz));
+    }
+
+    @Override
+    public CompletionStage<JsonEnvelope> requestAsAdminAsync(final JsonEnvelope envelope) {
+        return asyncCalls.supplyAsync(() -> requester.requestAsAdmin(envelope));
+    }
+
+    private interface AsyncCalls {
+
+        <T> CompletableFuture<T> supplyAsync(Supplier<T> call);
+    }
+}
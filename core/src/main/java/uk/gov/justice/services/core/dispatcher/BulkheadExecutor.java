@@ -0,0 +1,261 @@
+package uk.gov.justice.services.core.dispatcher;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs the calls of one component on a shared {@link Executor}, allowing at most
+ * 'maxConcurrentCalls' of them to run at once so that a burst in one component cannot take every
+ * thread of the shared executor.
+ *
+ * Submitting a call never blocks. A call submitted while the bulkhead is full waits in a queue
+ * of at most 'maxWaitingCalls' calls and is run, in the order submitted, when another call
+ * finishes. A call that cannot wait, or has waited longer than 'maxWaitMillis' by the time it
+ * could run or another call is submitted, is not run and its future fails with a {@link
+ * RejectedExecutionException}.
+ *
+ * A waiting call is handed to the shared executor by the call that finished before it, so it
+ * runs with the container context of the application rather than that of the caller.
+ *
+ * Calls that must run on the caller's thread, in its transaction, are run with {@link #supply}
+ * instead, which shares the same limits but blocks the caller while it waits.
+ */
+public class BulkheadExecutor implements BulkheadMBean {
+
+    private final String name;
+    private final Executor executor;
+    private final int maxConcurrentCalls;
+    private final int maxWaitingCalls;
+    private final long maxWaitMillis;
+
+    private final Semaphore permits;
+    private final Queue<Call<?>> waitingQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waitingCalls = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * @param name               the name of the bulkhead, used in rejection messages
+     * @param executor           the shared executor to run the calls on
+     * @param maxConcurrentCalls the number of calls that can run at once
+     * @param maxWaitingCalls    the number of calls that can wait to run at once
+     * @param maxWaitMillis      the longest a call waits to run before being rejected
+     */
+    public BulkheadExecutor(final String name,
+                            final Executor executor,
+                            final int maxConcurrentCalls,
+                            final int maxWaitingCalls,
+                            final long maxWaitMillis) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException(format("Bulkhead '%s' must allow at least 1 concurrent call, not %d", name, maxConcurrentCalls));
+        }
+
+        this.name = name;
+        this.executor = executor;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitingCalls = maxWaitingCalls;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Runs the call in the bulkhead, without blocking the caller.
+     *
+     * @param call the call to run
+     * @param <T>  the type of the result of the call
+     * @return a future of the result of the call, failed with a {@link RejectedExecutionException}
+     * if the bulkhead or the shared executor did not accept the call
+     */
+    public <T> CompletableFuture<T> supplyAsync(final Supplier<T> call) {
+        final Call<T> newCall = new Call<>(call, System.nanoTime() + MILLISECONDS.toNanos(maxWaitMillis));
+
+        rejectExpiredCalls();
+
+        if (waitingCalls.get() == 0 && permits.tryAcquire()) {
+            run(newCall);
+        } else if (waitingCalls.incrementAndGet() > maxWaitingCalls) {
+            waitingCalls.decrementAndGet();
+            newCall.reject(rejected("too many calls are already waiting"));
+        } else {
+            waitingQueue.add(newCall);
+            runWaitingCalls();
+        }
+
+        return newCall.result;
+    }
+
+    /**
+     * Runs the call on the calling thread once the bulkhead has room for it. The caller waits at
+     * most 'maxWaitMillis' for room, and only if fewer than 'maxWaitingCalls' calls are already
+     * waiting.
+     *
+     * @param call the call to run
+     * @param <T>  the type of the result of the call
+     * @return the result of the call
+     * @throws RejectedExecutionException if the bulkhead did not have room for the call in time
+     */
+    public <T> T supply(final Supplier<T> call) {
+        rejectExpiredCalls();
+
+        if (!permits.tryAcquire()) {
+            awaitPermit();
+        }
+
+        try {
+            return call.get();
+        } finally {
+            completedCount.incrementAndGet();
+            permits.release();
+            runWaitingCalls();
+        }
+    }
+
+    @Override
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    @Override
+    public int getMaxWaitingCalls() {
+        return maxWaitingCalls;
+    }
+
+    @Override
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    @Override
+    public int getWaitingCalls() {
+        return waitingCalls.get();
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Runs a call holding a permit, releasing the permit once it has finished.
+     */
+    private void run(final Call<?> call) {
+        try {
+            executor.execute(() -> {
+                try {
+                    call.run();
+                } finally {
+                    completedCount.incrementAndGet();
+                    permits.release();
+                    runWaitingCalls();
+                }
+            });
+        } catch (final RuntimeException e) {
+            permits.release();
+            call.reject(e);
+        }
+    }
+
+    /**
+     * Runs waiting calls, oldest first, while there are permits for them. Called after queueing a
+     * call and after releasing a permit, so a call queued as the last permit is released is still
+     * run.
+     */
+    private void runWaitingCalls() {
+        while (!waitingQueue.isEmpty() && permits.tryAcquire()) {
+            final Call<?> call = waitingQueue.poll();
+
+            if (call == null) {
+                permits.release();
+            } else {
+                waitingCalls.decrementAndGet();
+
+                if (call.hasExpired()) {
+                    permits.release();
+                    call.reject(waitedTooLong());
+                } else {
+                    run(call);
+                }
+            }
+        }
+    }
+
+    private void awaitPermit() {
+        if (waitingCalls.incrementAndGet() > maxWaitingCalls) {
+            waitingCalls.decrementAndGet();
+            throw rejected("too many calls are already waiting");
+        }
+
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, MILLISECONDS)) {
+                throw waitedTooLong();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rejected("interrupted while waiting");
+        } finally {
+            waitingCalls.decrementAndGet();
+        }
+    }
+
+    private void rejectExpiredCalls() {
+        Call<?> call;
+        while ((call = waitingQueue.peek()) != null && call.hasExpired()) {
+            if (waitingQueue.remove(call)) {
+                waitingCalls.decrementAndGet();
+                call.reject(waitedTooLong());
+            }
+        }
+    }
+
+    private RejectedExecutionException waitedTooLong() {
+        return rejected(format("no call finished within %d ms", maxWaitMillis));
+    }
+
+    private RejectedExecutionException rejected(final String reason) {
+        rejectedCount.incrementAndGet();
+        return new RejectedExecutionException(format("Bulkhead '%s' is full: %s", name, reason));
+    }
+
+    private static class Call<T> {
+
+        private final Supplier<T> supplier;
+        private final long expiresAt;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Call(final Supplier<T> supplier, final long expiresAt) {
+            this.supplier = supplier;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean hasExpired() {
+            return System.nanoTime() - expiresAt > 0L;
+        }
+
+        private void run() {
+            try {
+                result.complete(supplier.get());
+            } catch (final Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void reject(final RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
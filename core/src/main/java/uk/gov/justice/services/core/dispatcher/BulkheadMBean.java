@@ -0,0 +1,41 @@
+package uk.gov.justice.services.core.dispatcher;
+
+import javax.management.MXBean;
+
+/**
+ * Exposes the saturation of the {@link BulkheadExecutor} of a component.
+ */
+@MXBean
+public interface BulkheadMBean {
+
+    /**
+     * @return the number of calls that can run at once
+     */
+    int getMaxConcurrentCalls();
+
+    /**
+     * @return the number of calls that can wait to run at once
+     */
+    int getMaxWaitingCalls();
+
+    /**
+     * @return the number of calls running
+     */
+    int getActiveCalls();
+
+    /**
+     * @return the number of calls waiting to run
+     */
+    int getWaitingCalls();
+
+    /**
+     * @return the number of calls that have finished since the component started
+     */
+    long getCompletedCount();
+
+    /**
+     * @return the number of calls rejected because the bulkhead was full since the component
+     * started
+     */
+    long getRejectedCount();
+}
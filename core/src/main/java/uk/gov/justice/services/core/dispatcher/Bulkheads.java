@@ -0,0 +1,118 @@
+package uk.gov.justice.services.core.dispatcher;
+
+import static java.lang.String.format;
+import static java.util.Arrays.stream;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.ObjectName;
+
+/**
+ * Creates and caches the {@link BulkheadExecutor} of each component over the executor of the
+ * {@link DispatcherExecutorProvider}, registering it with the platform MBean server under the name
+ * of the service context.
+ *
+ * The bulkheads are configured with the global values 'bulkhead.max.concurrent.calls' (default
+ * 25), 'bulkhead.max.waiting.calls' (default 50) and 'bulkhead.max.wait.millis' (default 1000).
+ * Each can be overridden for some components with the global value of the same name suffixed with
+ * '.by.component', a comma separated list of '&lt;component name&gt;=&lt;value&gt;', e.g.
+ * 'bulkhead.max.concurrent.calls.by.component' of 'EVENT_LISTENER=5, QUERY_API=50'.
+ *
+ * Both the asynchronous requests of a component, made through an AsyncRequester, and the envelopes
+ * the interceptor chain of the component dispatches to its handlers run in its bulkhead. Dispatched
+ * envelopes stay on the caller's thread and transaction, waiting for room in the bulkhead if need be.
+ */
+@ApplicationScoped
+public class Bulkheads {
+
+    private static final String MAX_CONCURRENT_CALLS = "bulkhead.max.concurrent.calls";
+    private static final String MAX_WAITING_CALLS = "bulkhead.max.waiting.calls";
+    private static final String MAX_WAIT_MILLIS = "bulkhead.max.wait.millis";
+    private static final String BY_COMPONENT = ".by.component";
+
+    private static final String DOMAIN_NAME = "uk.gov.justice.services.framework.dispatch";
+    private static final String MBEAN_NAME_FORMAT = "bulkhead-%s";
+
+    @Inject
+    DispatcherExecutorProvider dispatcherExecutorProvider;
+
+    @Inject
+    @GlobalValue(key = MAX_CONCURRENT_CALLS, defaultValue = "25")
+    String maxConcurrentCalls;
+
+    @Inject
+    @GlobalValue(key = MAX_WAITING_CALLS, defaultValue = "50")
+    String maxWaitingCalls;
+
+    @Inject
+    @GlobalValue(key = MAX_WAIT_MILLIS, defaultValue = "1000")
+    String maxWaitMillis;
+
+    @Inject
+    @GlobalValue(key = MAX_CONCURRENT_CALLS + BY_COMPONENT, defaultValue = "")
+    String maxConcurrentCallsByComponent;
+
+    @Inject
+    @GlobalValue(key = MAX_WAITING_CALLS + BY_COMPONENT, defaultValue = "")
+    String maxWaitingCallsByComponent;
+
+    @Inject
+    @GlobalValue(key = MAX_WAIT_MILLIS + BY_COMPONENT, defaultValue = "")
+    String maxWaitMillisByComponent;
+
+    @Inject
+    ContextMBeanRegistrar contextMBeanRegistrar;
+
+    private final Map<String, BulkheadExecutor> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, ObjectName> registeredObjectNames = new ConcurrentHashMap<>();
+
+    /**
+     * @param component the component
+     * @return the bulkhead executor of the component
+     */
+    public BulkheadExecutor executorFor(final String component) {
+        return bulkheads.computeIfAbsent(component, this::createBulkhead);
+    }
+
+    @PreDestroy
+    public void unregister() {
+        registeredObjectNames.values().forEach(contextMBeanRegistrar::unregister);
+        registeredObjectNames.clear();
+        bulkheads.clear();
+    }
+
+    private BulkheadExecutor createBulkhead(final String component) {
+        final BulkheadExecutor bulkhead = new BulkheadExecutor(
+                component,
+                dispatcherExecutorProvider.getExecutor(),
+                Integer.parseInt(valueFor(component, maxConcurrentCallsByComponent, maxConcurrentCalls)),
+                Integer.parseInt(valueFor(component, maxWaitingCallsByComponent, maxWaitingCalls)),
+                Long.parseLong(valueFor(component, maxWaitMillisByComponent, maxWaitMillis)));
+
+        contextMBeanRegistrar.register(bulkhead, DOMAIN_NAME, format(MBEAN_NAME_FORMAT, component))
+                .ifPresent(objectName -> registeredObjectNames.put(component, objectName));
+
+        return bulkhead;
+    }
+
+    private String valueFor(final String component, final String valuesByComponent, final String defaultValue) {
+        final Map<String, String> values = new HashMap<>();
+        stream(valuesByComponent.split(","))
+                .map(String::trim)
+                .filter(componentValue -> componentValue.contains("="))
+                .forEach(componentValue -> {
+                    final int separator = componentValue.indexOf('=');
+                    values.put(componentValue.substring(0, separator).trim(), componentValue.substring(separator + 1).trim());
+                });
+
+        return values.getOrDefault(component, defaultValue);
+    }
+}
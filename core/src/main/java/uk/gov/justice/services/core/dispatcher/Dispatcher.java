@@ -1,10 +1,15 @@
 package uk.gov.justice.services.core.dispatcher;
 
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
 import uk.gov.justice.services.core.handler.HandlerMethod;
 import uk.gov.justice.services.core.handler.registry.HandlerRegistry;
 import uk.gov.justice.services.core.handler.registry.NullEnvelopeException;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
 /**
  * Dispatches messages to their corresponding handlers, which could be a command handler, command
  * controller, event processor, etc.
@@ -14,15 +19,13 @@ import uk.gov.justice.services.messaging.JsonEnvelope;
 public class Dispatcher {
 
     private final HandlerRegistry handlerRegistry;
-    private final EnvelopePayloadTypeConverter typeConverter;
-    private final JsonEnvelopeRepacker jsonEnvelopeRepacker;
+    private final MethodInvoker methodInvoker;
 
     public Dispatcher(final HandlerRegistry handlerRegistry,
                       final EnvelopePayloadTypeConverter typeConverter,
                       final JsonEnvelopeRepacker jsonEnvelopeRepacker) {
         this.handlerRegistry = handlerRegistry;
-        this.typeConverter = typeConverter;
-        this.jsonEnvelopeRepacker = jsonEnvelopeRepacker;
+        this.methodInvoker = MethodInvoker.createMethodInvoker(typeConverter, jsonEnvelopeRepacker);
     }
 
     /**
@@ -41,9 +44,19 @@ public class Dispatcher {
             throw new NullEnvelopeException("Envelope cannot be null", e);
         }
 
-        return MethodInvoker
-                .createMethodInvoker(typeConverter, jsonEnvelopeRepacker)
-                .invoke(handlerMethod, envelope);
+        return methodInvoker.invoke(handlerMethod, envelope);
+    }
+
+    /**
+     * Dispatch message to its corresponding handler on the given executor, releasing the calling
+     * thread while the handler runs.
+     *
+     * @param envelope the envelope to dispatch to a handler
+     * @param executor the executor to run the handler on
+     * @return a completion stage of the envelope returned by the handler method
+     */
+    public CompletionStage<JsonEnvelope> dispatchAsync(final JsonEnvelope envelope, final Executor executor) {
+        return supplyAsync(() -> dispatch(envelope), executor);
     }
 
     /**
@@ -0,0 +1,81 @@
+package uk.gov.justice.services.core.dispatcher;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.String.format;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+
+/**
+ * Provides the {@link Executor} used for asynchronous dispatching.
+ *
+ * Defaults to the container's {@link ManagedExecutorService}. Setting the global value
+ * 'dispatcher.async.virtual.threads' to true will use a virtual thread per task executor instead,
+ * if the running JDK supports virtual threads. Virtual threads do not carry the container context
+ * (transactions, JNDI, CDI request scope), so this is only suitable for handlers that do not
+ * depend on it. The virtual thread executor is created by this provider and is shut down with it.
+ */
+@ApplicationScoped
+public class DispatcherExecutorProvider {
+
+    private static final String VIRTUAL_THREAD_EXECUTOR_FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+
+    @Resource
+    ManagedExecutorService managedExecutorService;
+
+    @Inject
+    @GlobalValue(key = "dispatcher.async.virtual.threads", defaultValue = "false")
+    String useVirtualThreads;
+
+    @Inject
+    Logger logger;
+
+    private Executor executor;
+    private Optional<ExecutorService> virtualThreadExecutor = Optional.empty();
+
+    @PostConstruct
+    public void initialise() {
+        if (parseBoolean(useVirtualThreads)) {
+            virtualThreadExecutor = virtualThreadExecutor();
+        }
+
+        executor = virtualThreadExecutor.isPresent() ? virtualThreadExecutor.get() : managedExecutorService;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        virtualThreadExecutor.ifPresent(ExecutorService::shutdown);
+        virtualThreadExecutor = Optional.empty();
+    }
+
+    /**
+     * @return the executor to run asynchronous dispatches on
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    private Optional<ExecutorService> virtualThreadExecutor() {
+        try {
+            final Method factoryMethod = Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY_METHOD);
+            return Optional.of((ExecutorService) factoryMethod.invoke(null));
+        } catch (final ReflectiveOperationException e) {
+            logger.warn(format("Virtual threads are not supported by this JDK (%s), falling back to the ManagedExecutorService", System.getProperty("java.version")));
+            return Optional.empty();
+        }
+    }
+}
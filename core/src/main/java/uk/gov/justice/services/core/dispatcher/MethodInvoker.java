@@ -11,11 +11,15 @@ import javax.json.JsonValue;
  * Reduces complexity in dispatcher in dealing with different envelope types and envelope
  * payload types.
  *
- * Handles translation between JsonEnvelopes and Envelopes of T in HandlerMethods.
+ * Handles translation between JsonEnvelopes and Envelopes of T in HandlerMethods. Handler
+ * methods that take and return JsonEnvelopes are invoked directly with no conversion.
  *
- *      return MethodInvoker
- *              .createMethodInvoker(typeConverter, jsonEnvelopeRepacker)
- *              .invoke(handlerMethod, envelope);
+ * A MethodInvoker holds no per-call state so a single instance can be shared by a Dispatcher:
+ *
+ *      final MethodInvoker methodInvoker = MethodInvoker
+ *              .createMethodInvoker(typeConverter, jsonEnvelopeRepacker);
+ *
+ *      return methodInvoker.invoke(handlerMethod, envelope);
  */
 public class MethodInvoker {
 
@@ -35,14 +39,27 @@ public class MethodInvoker {
         return new MethodInvoker(envelopePayloadTypeConverter, envelopeRepacker);
     }
 
+    /**
+     * Invokes the handler method, converting the envelope payloads only where the handler method
+     * does not already take or return a {@link JsonEnvelope}.
+     *
+     * @param handlerMethod the handler method to invoke
+     * @param inputEnvelope the envelope to pass to the handler method
+     * @return the response from the handler method as a JsonEnvelope, or null if asynchronous
+     */
     public JsonEnvelope invoke(final HandlerMethod handlerMethod, final JsonEnvelope inputEnvelope) {
 
-        final Class<?> payloadClass = handlerMethod.getPayloadType();
+        final Envelope<?> targetEnvelope = handlerMethod.hasJsonEnvelopeParameter() ?
+                inputEnvelope :
+                toTargetEnvelopeType(inputEnvelope, handlerMethod.getPayloadType());
+
+        final Envelope<?> responseEnvelope = handlerMethod.execute(targetEnvelope);
+
+        if (handlerMethod.hasJsonEnvelopeOrVoidReturnType()) {
+            return (JsonEnvelope) responseEnvelope;
+        }
 
-        return toJsonEnvelope(
-                toJsonValueEnvelope(
-                        handlerMethod.execute(
-                                toTargetEnvelopeType(inputEnvelope, payloadClass))));
+        return toJsonEnvelope(toJsonValueEnvelope(responseEnvelope));
     }
 
     private Envelope<?> toTargetEnvelopeType(final JsonEnvelope envelope, final Class<?> payloadClass) {
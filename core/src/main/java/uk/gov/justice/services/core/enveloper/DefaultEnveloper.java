@@ -3,38 +3,24 @@ package uk.gov.justice.services.core.enveloper;
 import static java.lang.String.format;
 import static uk.gov.justice.services.messaging.Envelope.envelopeFrom;
 import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
-import static uk.gov.justice.services.messaging.JsonEnvelope.metadataFrom;
-import static uk.gov.justice.services.messaging.JsonMetadata.CAUSATION;
-import static uk.gov.justice.services.messaging.JsonMetadata.CREATED_AT;
-import static uk.gov.justice.services.messaging.JsonMetadata.ID;
-import static uk.gov.justice.services.messaging.JsonMetadata.NAME;
-import static uk.gov.justice.services.messaging.JsonMetadata.STREAM;
-import static uk.gov.justice.services.messaging.JsonMetadata.STREAM_ID;
+import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.derivedMetadataFrom;
 
 import uk.gov.justice.domain.annotation.Event;
 import uk.gov.justice.services.common.converter.ObjectToJsonValueConverter;
-import uk.gov.justice.services.common.converter.ZonedDateTimes;
 import uk.gov.justice.services.common.util.Clock;
 import uk.gov.justice.services.core.enveloper.exception.InvalidEventException;
 import uk.gov.justice.services.core.extension.EventFoundEvent;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
-import uk.gov.justice.services.messaging.JsonObjects;
 import uk.gov.justice.services.messaging.Metadata;
+import uk.gov.justice.services.messaging.spi.EnvelopeIdGenerator;
 
-import java.util.Arrays;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
-import javax.json.Json;
-import javax.json.JsonArray;
-import javax.json.JsonArrayBuilder;
-import javax.json.JsonObject;
-import javax.json.JsonObjectBuilder;
 import javax.json.JsonValue;
 
 /**
@@ -50,6 +36,8 @@ public class DefaultEnveloper implements Enveloper {
 
     private ObjectToJsonValueConverter objectToJsonValueConverter;
 
+    private EnvelopeIdGenerator envelopeIdGenerator = EnvelopeIdGenerator.provider();
+
     public DefaultEnveloper() {
     }
 
@@ -59,6 +47,11 @@ public class DefaultEnveloper implements Enveloper {
         this.objectToJsonValueConverter = objectToJsonValueConverter;
     }
 
+    public DefaultEnveloper(final Clock clock, final ObjectToJsonValueConverter objectToJsonValueConverter, final EnvelopeIdGenerator envelopeIdGenerator) {
+        this(clock, objectToJsonValueConverter);
+        this.envelopeIdGenerator = envelopeIdGenerator;
+    }
+
     /**
      * Register method, invoked automatically to register all event classes into the eventMap.
      *
@@ -100,32 +93,7 @@ public class DefaultEnveloper implements Enveloper {
     }
 
     private Metadata buildMetaData(final Metadata metadata, final String name, final Clock clock) {
-
-        final JsonObjectBuilder metadataBuilder = JsonObjects.createObjectBuilderWithFilter(metadata.asJsonObject(),
-                x -> !Arrays.asList(ID, NAME, CAUSATION, STREAM).contains(x));
-
-        metadata.streamId().ifPresent(uuid -> metadataBuilder.add(STREAM, Json.createObjectBuilder().add(STREAM_ID, uuid.toString()).build()));
-
-        final JsonObject jsonObject = metadataBuilder
-                .add(ID, UUID.randomUUID().toString())
-                .add(NAME, name)
-                .add(CAUSATION, createCausation(metadata))
-                .add(CREATED_AT, ZonedDateTimes.toString(clock.now()))
-                .build();
-
-        return metadataFrom(jsonObject).build();
-    }
-
-    private JsonArray createCausation(final Metadata metadata) {
-        final JsonArrayBuilder causation = Json.createArrayBuilder();
-
-        if (metadata.asJsonObject().containsKey(CAUSATION)) {
-            metadata.asJsonObject().getJsonArray(CAUSATION).forEach(causation::add);
-        }
-
-        return causation
-                .add(metadata.id().toString())
-                .build();
+        return derivedMetadataFrom(metadata, envelopeIdGenerator.nextId(), name, clock.now());
     }
 
     private class DefaultEnveloperBuilder<T> implements EnveloperBuilder {
@@ -0,0 +1,121 @@
+package uk.gov.justice.services.core.extension;
+
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+/**
+ * Fires the events collected by the {@link ServiceComponentScanner}, recording how long the
+ * observers of each event take in the {@link StartupTimings}.
+ *
+ * {@link ServiceComponentFoundEvent}s are independent of each other so, if more than one
+ * registration thread is configured, they are fired concurrently once all other events have been
+ * fired. The registration threads come from the {@link RegistrationThreadFactoryProvider}, which
+ * supplies the container's managed threads, and each uses the class loader of the deploying thread.
+ */
+public class CollectedEventFirer {
+
+    static final String REGISTRATION_PHASE_PREFIX = "service-component-registration:";
+    static final String EVENT_PHASE = "framework-event-registration";
+
+    private final int registrationThreads;
+    private final StartupTimings startupTimings;
+    private final RegistrationThreadFactoryProvider registrationThreadFactoryProvider;
+
+    public CollectedEventFirer(final int registrationThreads, final StartupTimings startupTimings) {
+        this(registrationThreads, startupTimings, new RegistrationThreadFactoryProvider());
+    }
+
+    public CollectedEventFirer(
+            final int registrationThreads,
+            final StartupTimings startupTimings,
+            final RegistrationThreadFactoryProvider registrationThreadFactoryProvider) {
+        this.registrationThreads = registrationThreads;
+        this.startupTimings = startupTimings;
+        this.registrationThreadFactoryProvider = registrationThreadFactoryProvider;
+    }
+
+    public void fire(final List<Object> events, final BeanManager beanManager) {
+
+        if (registrationThreads <= 1) {
+            events.forEach(event -> fireAndRecord(event, beanManager));
+            return;
+        }
+
+        events.stream()
+                .filter(event -> !(event instanceof ServiceComponentFoundEvent))
+                .forEach(event -> fireAndRecord(event, beanManager));
+
+        fireConcurrently(events.stream()
+                .filter(event -> event instanceof ServiceComponentFoundEvent)
+                .collect(toList()), beanManager);
+    }
+
+    private void fireConcurrently(final List<Object> serviceComponentFoundEvents, final BeanManager beanManager) {
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final ExecutorService executorService = newFixedThreadPool(registrationThreads, registrationThreadFactoryProvider.threadFactory());
+
+        try {
+            final List<Future<?>> registrations = serviceComponentFoundEvents.stream()
+                    .map(event -> executorService.submit(() -> fireWithClassLoader(event, beanManager, classLoader)))
+                    .collect(toList());
+
+            for (final Future<?> registration : registrations) {
+                waitFor(registration);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void fireWithClassLoader(final Object event, final BeanManager beanManager, final ClassLoader classLoader) {
+        final Thread currentThread = Thread.currentThread();
+        final ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+
+        currentThread.setContextClassLoader(classLoader);
+        try {
+            fireAndRecord(event, beanManager);
+        } finally {
+            currentThread.setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    private void fireAndRecord(final Object event, final BeanManager beanManager) {
+        final long startTime = currentTimeMillis();
+
+        beanManager.fireEvent(event);
+
+        startupTimings.record(phaseOf(event), currentTimeMillis() - startTime);
+    }
+
+    private String phaseOf(final Object event) {
+        if (event instanceof ServiceComponentFoundEvent) {
+            return REGISTRATION_PHASE_PREFIX + ((ServiceComponentFoundEvent) event).getComponentName();
+        }
+
+        return EVENT_PHASE;
+    }
+
+    private void waitFor(final Future<?> registration) {
+        try {
+            registration.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceComponentRegistrationException("Interrupted while registering service components", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ServiceComponentRegistrationException(format("Failed to register service component: %s", e.getCause().getMessage()), e.getCause());
+        }
+    }
+}
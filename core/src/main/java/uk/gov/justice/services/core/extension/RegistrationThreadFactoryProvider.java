@@ -0,0 +1,33 @@
+package uk.gov.justice.services.core.extension;
+
+import static java.util.concurrent.Executors.defaultThreadFactory;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.ThreadFactory;
+
+import javax.enterprise.concurrent.ManagedThreadFactory;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+import org.slf4j.Logger;
+
+/**
+ * Provides the threads service components are registered on. In a container these come from the
+ * default {@link ManagedThreadFactory}, so they carry the naming, security and class loading
+ * context of the deployment. Outside a container the default thread factory of the JVM is used.
+ */
+public class RegistrationThreadFactoryProvider {
+
+    private static final Logger LOGGER = getLogger(RegistrationThreadFactoryProvider.class);
+
+    static final String DEFAULT_MANAGED_THREAD_FACTORY = "java:comp/DefaultManagedThreadFactory";
+
+    public ThreadFactory threadFactory() {
+        try {
+            return (ManagedThreadFactory) new InitialContext().lookup(DEFAULT_MANAGED_THREAD_FACTORY);
+        } catch (final NamingException e) {
+            LOGGER.warn("No managed thread factory found at '{}', registering service components on unmanaged threads", DEFAULT_MANAGED_THREAD_FACTORY);
+            return defaultThreadFactory();
+        }
+    }
+}
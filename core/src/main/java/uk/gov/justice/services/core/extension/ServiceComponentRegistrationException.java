@@ -0,0 +1,8 @@
+package uk.gov.justice.services.core.extension;
+
+public class ServiceComponentRegistrationException extends RuntimeException {
+
+    public ServiceComponentRegistrationException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
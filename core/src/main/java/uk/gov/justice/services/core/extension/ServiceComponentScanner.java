@@ -1,8 +1,14 @@
 package uk.gov.justice.services.core.extension;
 
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.synchronizedList;
+import static java.util.Collections.synchronizedSet;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Stream.concat;
 import static org.slf4j.LoggerFactory.getLogger;
 import static uk.gov.justice.services.core.annotation.ServiceComponentLocation.componentLocationFrom;
+import static uk.gov.justice.services.framework.utilities.index.ComponentIndex.SERVICE_COMPONENTS_INDEX;
 
 import uk.gov.justice.domain.annotation.Event;
 import uk.gov.justice.services.adapter.direct.SynchronousDirectAdapter;
@@ -13,8 +19,11 @@ import uk.gov.justice.services.core.annotation.Direct;
 import uk.gov.justice.services.core.annotation.DirectAdapter;
 import uk.gov.justice.services.core.annotation.FrameworkComponent;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
+import uk.gov.justice.services.framework.utilities.index.ArchiveIndex;
+import uk.gov.justice.services.framework.utilities.index.ComponentIndex;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -25,6 +34,7 @@ import javax.enterprise.inject.spi.AfterDeploymentValidation;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.BeforeShutdown;
 import javax.enterprise.inject.spi.Extension;
 import javax.enterprise.inject.spi.ProcessAnnotatedType;
 
@@ -32,12 +42,40 @@ import org.slf4j.Logger;
 
 /**
  * Scans all beans and processes framework specific annotations.
+ *
+ * Archives built with the framework index processor contain a compile time index of their
+ * service components. When every bean archive has an index only the indexed classes are examined;
+ * the beans of a deployment are only enumerated when a bean archive without an index has to be
+ * scanned. A service component type seen by the container but missing from the index of its
+ * archive, as left by an incremental compile, is logged as a stale index and still registered.
+ *
+ * Service components are registered on the number of threads given by the
+ * {@value #REGISTRATION_THREADS_PROPERTY} system property (default 1). The time taken by each
+ * phase is exposed through the {@link StartupTimingsMBean}.
  */
 public class ServiceComponentScanner implements Extension {
 
     private static final Logger LOGGER = getLogger(ServiceComponentScanner.class);
 
+    static final String REGISTRATION_THREADS_PROPERTY = "framework.deployment.registration.threads";
+    static final String SCAN_PHASE = "service-component-scan";
+    static final String REGISTRATION_PHASE = "service-component-registration";
+
     private List<Object> events = synchronizedList(new ArrayList<>());
+    private Set<Class<?>> serviceComponentTypes = synchronizedSet(new HashSet<>());
+
+    private final ComponentIndex componentIndex;
+    private final StartupTimings startupTimings = new StartupTimings();
+    private final StartupTimingsMBeanRegistrar startupTimingsMBeanRegistrar;
+
+    public ServiceComponentScanner() {
+        this(new ComponentIndex(), new StartupTimingsMBeanRegistrar());
+    }
+
+    public ServiceComponentScanner(final ComponentIndex componentIndex, final StartupTimingsMBeanRegistrar startupTimingsMBeanRegistrar) {
+        this.componentIndex = componentIndex;
+        this.startupTimingsMBeanRegistrar = startupTimingsMBeanRegistrar;
+    }
 
     @SuppressWarnings("unused")
     <T> void processAnnotatedType(@Observes final ProcessAnnotatedType<T> pat) {
@@ -45,24 +83,127 @@ public class ServiceComponentScanner implements Extension {
         if (annotatedType.isAnnotationPresent(Event.class)) {
             events.add(new EventFoundEvent(annotatedType.getJavaClass(), annotatedType.getAnnotation(Event.class).value()));
         }
+        if (isServiceComponent(annotatedType.getJavaClass())) {
+            serviceComponentTypes.add(annotatedType.getJavaClass());
+        }
     }
 
     @SuppressWarnings("unused")
     void afterDeploymentValidation(@Observes final AfterDeploymentValidation event, final BeanManager beanManager) {
 
+        final long startTime = currentTimeMillis();
+
         final Set<Bean<?>> directAdapters = beanManager.getBeans(SynchronousDirectAdapter.class);
-        allBeansFrom(beanManager)
-                .filter(this::isServiceComponent)
+        final ArchiveIndex archiveIndex = componentIndex.indexFrom(SERVICE_COMPONENTS_INDEX, classLoader());
+
+        serviceComponentBeansFrom(beanManager, archiveIndex)
                 .filter(bean -> isNotDirectComponentWithoutAdapter(bean, directAdapters))
                 .forEach(this::processServiceComponentsForEvents);
 
+        final long scanDuration = currentTimeMillis() - startTime;
+        startupTimings.record(SCAN_PHASE, scanDuration);
+
+        LOGGER.info("Found service components using {} in {} ms", scanModeOf(archiveIndex), scanDuration);
+
         fireAllCollectedEvents(beanManager);
+
+        startupTimingsMBeanRegistrar.register(startupTimings, beanManager);
+    }
+
+    @SuppressWarnings("unused")
+    void beforeShutdown(@Observes final BeforeShutdown event) {
+        startupTimingsMBeanRegistrar.unregister();
+    }
+
+    StartupTimings startupTimings() {
+        return startupTimings;
+    }
+
+    /**
+     * @param beanManager  the bean manager
+     * @param archiveIndex the index of the archives built with the framework index processor
+     * @return the service component beans of the indexed archives, found from the index, of any
+     * service component types missing from the index, and of the unindexed archives, found by
+     * scanning their beans
+     */
+    Stream<Bean<?>> serviceComponentBeansFrom(final BeanManager beanManager, final ArchiveIndex archiveIndex) {
+        if (!archiveIndex.hasIndexedArchives()) {
+            return allBeansFrom(beanManager).filter(this::isServiceComponent);
+        }
+
+        final Stream<Bean<?>> unindexedBeans = archiveIndex.hasUnindexedArchives()
+                ? allBeansFrom(beanManager).filter(bean -> !archiveIndex.isIndexed(bean.getBeanClass()))
+                : Stream.empty();
+
+        return concat(concat(indexedBeansFrom(beanManager, archiveIndex.classNames()), unlistedBeansFrom(beanManager, archiveIndex)), unindexedBeans)
+                .filter(this::isServiceComponent)
+                .distinct();
     }
 
     private Stream<Bean<?>> allBeansFrom(final BeanManager beanManager) {
         return beanManager.getBeans(Object.class, AnyLiteral.create()).stream();
     }
 
+    private Stream<Bean<?>> indexedBeansFrom(final BeanManager beanManager, final Set<String> classNames) {
+        return classNames.stream()
+                .map(this::loadClass)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .flatMap(beanClass -> beansOf(beanManager, beanClass));
+    }
+
+    /**
+     * The service component types seen by the container that are not listed in the index. If the
+     * archive of such a type has an index, the index is stale or partial, usually because the
+     * archive was built by an incremental compile that only indexed the recompiled classes.
+     */
+    private Stream<Bean<?>> unlistedBeansFrom(final BeanManager beanManager, final ArchiveIndex archiveIndex) {
+        final List<Class<?>> unlistedTypes;
+        synchronized (serviceComponentTypes) {
+            unlistedTypes = serviceComponentTypes.stream()
+                    .filter(type -> !archiveIndex.classNames().contains(type.getName()))
+                    .collect(toList());
+        }
+
+        unlistedTypes.stream()
+                .filter(archiveIndex::isIndexed)
+                .forEach(type -> LOGGER.warn("Service component {} is missing from the component index of its archive, which is stale or partial. " +
+                        "Rebuild the archive with a clean compile to update the index", type.getName()));
+
+        return unlistedTypes.stream().flatMap(type -> beansOf(beanManager, type));
+    }
+
+    private Stream<Bean<?>> beansOf(final BeanManager beanManager, final Class<?> beanClass) {
+        return beanManager.getBeans(beanClass, AnyLiteral.create()).stream()
+                .filter(bean -> beanClass.equals(bean.getBeanClass()));
+    }
+
+    private String scanModeOf(final ArchiveIndex archiveIndex) {
+        if (!archiveIndex.hasIndexedArchives()) {
+            return "bean scanning";
+        }
+
+        if (archiveIndex.hasUnindexedArchives()) {
+            return format("the component index and scanning of the unindexed archives %s", archiveIndex.unindexedArchives());
+        }
+
+        return "the component index";
+    }
+
+    private Optional<Class<?>> loadClass(final String className) {
+        try {
+            return Optional.of(Class.forName(className, false, classLoader()));
+        } catch (final ClassNotFoundException e) {
+            LOGGER.warn("Indexed service component {} could not be loaded, ignoring", className);
+            return Optional.empty();
+        }
+    }
+
+    private ClassLoader classLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : ServiceComponentScanner.class.getClassLoader();
+    }
+
     private boolean isServiceComponent(final Bean<?> bean) {
         return isServiceComponent(bean.getBeanClass());
     }
@@ -104,6 +245,14 @@ public class ServiceComponentScanner implements Extension {
     }
 
     private void fireAllCollectedEvents(final BeanManager beanManager) {
-        events.forEach(beanManager::fireEvent);
+        final int registrationThreads = Integer.getInteger(REGISTRATION_THREADS_PROPERTY, 1);
+        final long startTime = currentTimeMillis();
+
+        new CollectedEventFirer(registrationThreads, startupTimings).fire(events, beanManager);
+
+        final long registrationDuration = currentTimeMillis() - startTime;
+        startupTimings.record(REGISTRATION_PHASE, registrationDuration);
+
+        LOGGER.info("Registered service components on {} thread(s) in {} ms", registrationThreads, registrationDuration);
     }
 }
@@ -0,0 +1,29 @@
+package uk.gov.justice.services.core.extension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread safe record of the time taken by each phase of framework wiring at deployment. Recording
+ * the same phase more than once adds to its duration, so work done concurrently for a phase is
+ * reported as the total time spent on it.
+ */
+public class StartupTimings implements StartupTimingsMBean {
+
+    private final Map<String, Long> phaseDurations = new LinkedHashMap<>();
+
+    /**
+     * Add the duration to the given phase
+     *
+     * @param phase            the name of the startup phase
+     * @param durationInMillis the time spent on the phase in milliseconds
+     */
+    public synchronized void record(final String phase, final long durationInMillis) {
+        phaseDurations.merge(phase, durationInMillis, Long::sum);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getPhaseDurationsInMillis() {
+        return new LinkedHashMap<>(phaseDurations);
+    }
+}
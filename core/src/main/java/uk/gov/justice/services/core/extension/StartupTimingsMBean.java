@@ -0,0 +1,17 @@
+package uk.gov.justice.services.core.extension;
+
+import java.util.Map;
+
+import javax.management.MXBean;
+
+/**
+ * Exposes the time taken by each phase of framework wiring at deployment.
+ */
+@MXBean
+public interface StartupTimingsMBean {
+
+    /**
+     * @return the duration in milliseconds of each startup phase, in the order they were recorded
+     */
+    Map<String, Long> getPhaseDurationsInMillis();
+}
@@ -0,0 +1,71 @@
+package uk.gov.justice.services.core.extension;
+
+import static java.lang.String.format;
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+import uk.gov.justice.services.framework.utilities.cdi.CdiInstanceResolver;
+
+import java.util.Optional;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+
+/**
+ * Registers {@link StartupTimings} through the {@link ContextMBeanRegistrar} of the deployment,
+ * so that it is named after the service context like the other framework MBeans. Failure to
+ * register is logged and never fails the deployment.
+ */
+public class StartupTimingsMBeanRegistrar {
+
+    private static final Logger LOGGER = getLogger(StartupTimingsMBeanRegistrar.class);
+
+    static final String DOMAIN_NAME = "uk.gov.justice.services.framework.startup";
+    static final String MBEAN_NAME = "startup-timings";
+
+    private final CdiInstanceResolver cdiInstanceResolver;
+    private final MBeanServer mBeanServer;
+
+    private Optional<ObjectName> registeredObjectName = Optional.empty();
+
+    public StartupTimingsMBeanRegistrar() {
+        this(new CdiInstanceResolver(), getPlatformMBeanServer());
+    }
+
+    public StartupTimingsMBeanRegistrar(final CdiInstanceResolver cdiInstanceResolver, final MBeanServer mBeanServer) {
+        this.cdiInstanceResolver = cdiInstanceResolver;
+        this.mBeanServer = mBeanServer;
+    }
+
+    public void register(final StartupTimings startupTimings, final BeanManager beanManager) {
+        try {
+            registeredObjectName = cdiInstanceResolver
+                    .getInstanceOf(ContextMBeanRegistrar.class, beanManager)
+                    .register(startupTimings, DOMAIN_NAME, MBEAN_NAME);
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Failed to register startup timings MBean", e);
+        }
+    }
+
+    /**
+     * Unregisters the MBean directly from the MBean server, as the application context the
+     * {@link ContextMBeanRegistrar} lives in is already destroyed at shutdown
+     */
+    public void unregister() {
+        registeredObjectName.ifPresent(objectName -> {
+            try {
+                if (mBeanServer.isRegistered(objectName)) {
+                    mBeanServer.unregisterMBean(objectName);
+                }
+            } catch (final JMException e) {
+                LOGGER.warn(format("Failed to unregister startup timings MBean '%s'", objectName), e);
+            }
+        });
+        registeredObjectName = Optional.empty();
+    }
+}
@@ -34,6 +34,8 @@ public class HandlerMethod {
     private final Method handlerMethod;
     private final boolean isSynchronous;
     private final Class<?> payloadType;
+    private final boolean jsonEnvelopeParameter;
+    private final boolean jsonEnvelopeOrVoidReturnType;
 
     /**
      * Constructor with handler method validator.
@@ -65,7 +67,9 @@ public class HandlerMethod {
                     format("Handler methods must take an JsonEnvelope or Envelope<T> as the argument, not a %s", methodArgType));
         }
 
-        if(!methodArgType.equals(JsonEnvelope.class)) {
+        this.jsonEnvelopeParameter = methodArgType.equals(JsonEnvelope.class);
+
+        if(!jsonEnvelopeParameter) {
             final Type[] genericParameterTypes = method.getGenericParameterTypes();
             final Type[] parameters = ((ParameterizedType)genericParameterTypes[0]).getActualTypeArguments();
             try {
@@ -89,6 +93,7 @@ public class HandlerMethod {
             throw new InvalidHandlerException("Synchronous handler must return an envelope");
         }
 
+        this.jsonEnvelopeOrVoidReturnType = isVoid(method.getReturnType()) || JsonEnvelope.class.isAssignableFrom(method.getReturnType());
         this.handlerInstance = object;
         this.handlerMethod = method;
     }
@@ -161,4 +166,20 @@ public class HandlerMethod {
     public Class<?> getPayloadType() {
         return payloadType;
     }
+
+    /**
+     * @return true if the handler method takes a {@link JsonEnvelope} so the incoming envelope can
+     * be passed to it without payload conversion
+     */
+    public boolean hasJsonEnvelopeParameter() {
+        return jsonEnvelopeParameter;
+    }
+
+    /**
+     * @return true if the handler method returns a {@link JsonEnvelope} or is void so the result
+     * can be returned without payload conversion
+     */
+    public boolean hasJsonEnvelopeOrVoidReturnType() {
+        return jsonEnvelopeOrVoidReturnType;
+    }
 }
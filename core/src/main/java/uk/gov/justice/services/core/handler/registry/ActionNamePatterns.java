@@ -0,0 +1,317 @@
+package uk.gov.justice.services.core.handler.registry;
+
+import static java.lang.String.format;
+
+import uk.gov.justice.services.core.handler.HandlerMethod;
+import uk.gov.justice.services.core.handler.registry.exception.DuplicateHandlerException;
+import uk.gov.justice.services.core.handler.registry.exception.InvalidHandlerException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A trie of the '.' separated segments of action name patterns, such as
+ * {@code context.events.*} or {@code *.deleted}.
+ *
+ * A '*' segment matches one or more whole segments of an action name; the pattern '*' matches
+ * every action. When several patterns match an action the most specific is used: the pattern
+ * with the most literal segments, then the one with the longest run of literal segments before
+ * its first '*'. Two patterns of equal specificity that can match the same action cannot both be
+ * added.
+ *
+ * The trie is immutable; adding a pattern returns a new trie. Finding the handler of an action
+ * walks the action name in place, without splitting it. The '*' of each node of the trie is
+ * expanded at most once per action, from the earliest segment that reaches it, so finding a
+ * handler takes at most (nodes x segments) steps however many '*' a pattern has. If a '*' follows
+ * another '*' in some pattern, a flag per such '*' is allocated to record this.
+ */
+class ActionNamePatterns {
+
+    static final String WILDCARD = "*";
+
+    private static final char SEPARATOR = '.';
+    private static final Node NO_MATCH = null;
+
+    // compared by identity, so they cannot clash with literal segments
+    private static final String ANY_SEGMENT = new String("?");
+    private static final String ANY_SEGMENTS = new String("*");
+
+    private final List<Pattern> patterns;
+    private final Node root;
+    private final int nestedWildcards;
+
+    ActionNamePatterns() {
+        this(new ArrayList<>());
+    }
+
+    private ActionNamePatterns(final List<Pattern> patterns) {
+        this.patterns = patterns;
+        this.root = new Node();
+        patterns.forEach(pattern -> root.add(pattern, 0));
+        this.nestedWildcards = root.indexNestedWildcards(false, 0);
+    }
+
+    static boolean isPattern(final String name) {
+        return name.contains(WILDCARD);
+    }
+
+    /**
+     * @param name          the action name pattern
+     * @param handlerMethod the handler of actions matching the pattern
+     * @return a trie with the pattern added, replacing any handler of the same pattern
+     * @throws InvalidHandlerException   if a '*' is not a whole segment of the pattern
+     * @throws DuplicateHandlerException if another pattern of the same specificity could match the
+     *                                   same actions
+     */
+    ActionNamePatterns with(final String name, final HandlerMethod handlerMethod) {
+        final Pattern newPattern = new Pattern(name, handlerMethod);
+
+        final List<Pattern> newPatterns = new ArrayList<>(patterns.size() + 1);
+        for (final Pattern pattern : patterns) {
+            if (pattern.name.equals(name)) {
+                continue;
+            }
+
+            if (pattern.specificity == newPattern.specificity && pattern.overlaps(newPattern)) {
+                throw new DuplicateHandlerException(
+                        format("Can't register %s for %s because a handler method %s has already been registered for %s, " +
+                                "which is as specific and can handle the same actions", handlerMethod, name, pattern.handlerMethod, pattern.name));
+            }
+
+            newPatterns.add(pattern);
+        }
+        newPatterns.add(newPattern);
+
+        return new ActionNamePatterns(newPatterns);
+    }
+
+    /**
+     * @param actionName the name of the action
+     * @return the handler of the most specific matching pattern, or null if none match
+     */
+    HandlerMethod find(final String actionName) {
+        final boolean[] expanded = nestedWildcards == 0 ? null : new boolean[nestedWildcards];
+        final Node node = root.find(actionName, 0, NO_MATCH, expanded);
+        return node == NO_MATCH ? null : node.pattern.handlerMethod;
+    }
+
+    private static class Pattern {
+
+        private final String name;
+        private final String[] segments;
+        private final HandlerMethod handlerMethod;
+        private final int specificity;
+
+        private Pattern(final String name, final HandlerMethod handlerMethod) {
+            this.name = name;
+            this.segments = name.split("\\.", -1);
+            this.handlerMethod = handlerMethod;
+
+            int literalSegments = 0;
+            int literalPrefix = -1;
+            for (int index = 0; index < segments.length; index++) {
+                final String segment = segments[index];
+
+                if (WILDCARD.equals(segment)) {
+                    if (literalPrefix < 0) {
+                        literalPrefix = index;
+                    }
+                } else if (segment.contains(WILDCARD)) {
+                    throw new InvalidHandlerException(
+                            format("A '*' must be a whole segment of the action name pattern %s", name));
+                } else {
+                    literalSegments++;
+                }
+            }
+
+            this.specificity = (literalSegments << 16) | literalPrefix;
+        }
+
+        /**
+         * Two patterns overlap if some action name matches both. Each '*' is treated as one
+         * segment followed by zero or more segments, and the two patterns are matched against
+         * each other segment by segment.
+         */
+        private boolean overlaps(final Pattern other) {
+            final String[] tokens = tokens();
+            final String[] otherTokens = other.tokens();
+            return overlaps(tokens, otherTokens, 0, 0, new Boolean[tokens.length + 1][otherTokens.length + 1]);
+        }
+
+        private static boolean overlaps(final String[] tokens, final String[] otherTokens, final int index, final int otherIndex, final Boolean[][] memo) {
+            if (memo[index][otherIndex] != null) {
+                return memo[index][otherIndex];
+            }
+
+            final boolean ended = index == tokens.length;
+            final boolean otherEnded = otherIndex == otherTokens.length;
+            final boolean overlaps;
+
+            if (ended && otherEnded) {
+                overlaps = true;
+            } else if (!ended && tokens[index] == ANY_SEGMENTS) {
+                overlaps = overlaps(tokens, otherTokens, index + 1, otherIndex, memo)
+                        || !otherEnded && overlaps(tokens, otherTokens, index, otherIndex + 1, memo);
+            } else if (!otherEnded && otherTokens[otherIndex] == ANY_SEGMENTS) {
+                overlaps = overlaps(tokens, otherTokens, index, otherIndex + 1, memo)
+                        || !ended && overlaps(tokens, otherTokens, index + 1, otherIndex, memo);
+            } else if (!ended && !otherEnded && segmentsOverlap(tokens[index], otherTokens[otherIndex])) {
+                overlaps = overlaps(tokens, otherTokens, index + 1, otherIndex + 1, memo);
+            } else {
+                overlaps = false;
+            }
+
+            memo[index][otherIndex] = overlaps;
+            return overlaps;
+        }
+
+        private static boolean segmentsOverlap(final String segment, final String otherSegment) {
+            return segment == ANY_SEGMENT || otherSegment == ANY_SEGMENT || segment != ANY_SEGMENTS && segment.equals(otherSegment);
+        }
+
+        private String[] tokens() {
+            final List<String> tokens = new ArrayList<>();
+            for (final String segment : segments) {
+                if (WILDCARD.equals(segment)) {
+                    tokens.add(ANY_SEGMENT);
+                    tokens.add(ANY_SEGMENTS);
+                } else {
+                    tokens.add(segment);
+                }
+            }
+            return tokens.toArray(new String[tokens.size()]);
+        }
+    }
+
+    private static class Node {
+
+        private String[] literals = new String[0];
+        private Node[] literalNodes = new Node[0];
+        private Node wildcardNode;
+        private Pattern pattern;
+        private int nestedWildcardIndex = -1;
+
+        private void add(final Pattern newPattern, final int index) {
+            if (index == newPattern.segments.length) {
+                pattern = newPattern;
+                return;
+            }
+
+            final String segment = newPattern.segments[index];
+            if (WILDCARD.equals(segment)) {
+                if (wildcardNode == null) {
+                    wildcardNode = new Node();
+                }
+                wildcardNode.add(newPattern, index + 1);
+                return;
+            }
+
+            for (int child = 0; child < literals.length; child++) {
+                if (literals[child].equals(segment)) {
+                    literalNodes[child].add(newPattern, index + 1);
+                    return;
+                }
+            }
+
+            final Node node = new Node();
+            literals = Arrays.copyOf(literals, literals.length + 1);
+            literalNodes = Arrays.copyOf(literalNodes, literalNodes.length + 1);
+            literals[literals.length - 1] = segment;
+            literalNodes[literalNodes.length - 1] = node;
+            node.add(newPattern, index + 1);
+        }
+
+        /**
+         * Numbers the nodes whose '*' follows another '*', the only nodes that can be reached
+         * from more than one segment of an action name
+         *
+         * @param underWildcard whether a '*' leads to this node
+         * @param nextIndex     the next free number
+         * @return the next free number after numbering this node and its children
+         */
+        private int indexNestedWildcards(final boolean underWildcard, final int nextIndex) {
+            int index = nextIndex;
+            if (underWildcard && wildcardNode != null) {
+                nestedWildcardIndex = index++;
+            }
+            for (final Node literalNode : literalNodes) {
+                index = literalNode.indexNestedWildcards(underWildcard, index);
+            }
+            if (wildcardNode != null) {
+                index = wildcardNode.indexNestedWildcards(true, index);
+            }
+            return index;
+        }
+
+        /**
+         * @param actionName the action name
+         * @param start      the start of the next segment of the action name to match, or the
+         *                   length of the name plus one if every segment has been matched
+         * @param best       the best matching pattern node found so far
+         * @param expanded   whether the '*' of each nested wildcard node has been expanded, or
+         *                   null if there are none
+         * @return the best matching pattern node
+         */
+        private Node find(final String actionName, final int start, final Node best, final boolean[] expanded) {
+            if (start > actionName.length()) {
+                return moreSpecific(this, best);
+            }
+
+            final int end = endOfSegment(actionName, start);
+            Node found = best;
+
+            for (int child = 0; child < literals.length; child++) {
+                final String literal = literals[child];
+                if (literal.length() == end - start && actionName.regionMatches(start, literal, 0, literal.length())) {
+                    found = literalNodes[child].find(actionName, end + 1, found, expanded);
+                    break;
+                }
+            }
+
+            if (wildcardNode != null && expandOnce(expanded)) {
+                int wildcardEnd = end;
+                while (true) {
+                    found = wildcardNode.find(actionName, wildcardEnd + 1, found, expanded);
+                    if (wildcardEnd >= actionName.length()) {
+                        break;
+                    }
+                    wildcardEnd = endOfSegment(actionName, wildcardEnd + 1);
+                }
+            }
+
+            return found;
+        }
+
+        /**
+         * The segments of the action name are tried in order, so a node is first reached from
+         * its earliest segment; expanding its '*' from there has already tried every later end
+         * of the '*'.
+         */
+        private boolean expandOnce(final boolean[] expanded) {
+            if (nestedWildcardIndex < 0) {
+                return true;
+            }
+            if (expanded[nestedWildcardIndex]) {
+                return false;
+            }
+            expanded[nestedWildcardIndex] = true;
+            return true;
+        }
+
+        private static Node moreSpecific(final Node node, final Node best) {
+            if (node.pattern == null) {
+                return best;
+            }
+            if (best == NO_MATCH || node.pattern.specificity > best.pattern.specificity) {
+                return node;
+            }
+            return best;
+        }
+
+        private static int endOfSegment(final String actionName, final int start) {
+            final int end = actionName.indexOf(SEPARATOR, start);
+            return end < 0 ? actionName.length() : end;
+        }
+    }
+}
@@ -16,12 +16,22 @@ import org.slf4j.Logger;
 
 /**
  * Service for storing a map of which command handlers handle which commands.
+ *
+ * Handlers may be registered concurrently at deployment; the handler methods are built outside
+ * the lock and only the duplicate check and update of the map are synchronised.
+ *
+ * A handler may handle a family of actions with a pattern such as {@code context.events.*} or
+ * {@code *.deleted}, where '*' matches one or more '.' separated segments of the action name. A
+ * handler registered for the exact action name takes precedence over any pattern, and the most
+ * specific matching pattern is used otherwise; see {@link ActionNamePatterns}.
  */
 
 public class HandlerRegistry {
 
     private final Map<String, HandlerMethod> handlerMethods;
 
+    private volatile ActionNamePatterns actionNamePatterns = new ActionNamePatterns();
+
     private Logger logger;
 
     public HandlerRegistry(final Logger logger) {
@@ -30,7 +40,11 @@ public class HandlerRegistry {
     }
 
     public HandlerMethod get(final String name) {
-        final HandlerMethod handlerMethod = handlerMethods.getOrDefault(name, handlerMethods.get("*"));
+        HandlerMethod handlerMethod = handlerMethods.get(name);
+
+        if (handlerMethod == null) {
+            handlerMethod = actionNamePatterns.find(name);
+        }
 
         if (handlerMethod != null) {
             return handlerMethod;
@@ -59,6 +73,13 @@ public class HandlerRegistry {
 
         final HandlerMethod newHandlerMethod = new HandlerMethod(handler, method, method.getReturnType());
         final String name = method.getAnnotation(Handles.class).value();
+
+        synchronized (handlerMethods) {
+            register(name, newHandlerMethod);
+        }
+    }
+
+    private void register(final String name, final HandlerMethod newHandlerMethod) {
         if (isDuplicate(newHandlerMethod, name)) {
             throw new DuplicateHandlerException(
                     format("Can't register %s because a command handler method %s has " +
@@ -67,10 +88,11 @@ public class HandlerRegistry {
 
         logger.debug("Registering handler {}, {}", name, newHandlerMethod.toString());
 
-        if (newHandlerMethod.isDirect()) {
+        if (newHandlerMethod.isDirect() || !handlerMethods.containsKey(name)) {
+            if (ActionNamePatterns.isPattern(name)) {
+                actionNamePatterns = actionNamePatterns.with(name, newHandlerMethod);
+            }
             handlerMethods.put(name, newHandlerMethod);
-        } else {
-            handlerMethods.putIfAbsent(name, newHandlerMethod);
         }
     }
 
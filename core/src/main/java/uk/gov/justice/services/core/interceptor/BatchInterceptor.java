@@ -0,0 +1,25 @@
+package uk.gov.justice.services.core.interceptor;
+
+import java.util.List;
+
+/**
+ * An {@link Interceptor} that can process a batch of {@link InterceptorContext} in one call.
+ *
+ * When a batch reaches an interceptor that is not a BatchInterceptor, the remainder of the chain
+ * is processed one context at a time, so batch interceptors should be given a higher priority
+ * than per context interceptors in the chain. The dispatch to the handler at the end of the chain
+ * is always one call per context. The LocalAuditInterceptor is batch aware and audits the inputs
+ * and the outputs of a batch with one call each.
+ */
+public interface BatchInterceptor extends Interceptor {
+
+    /**
+     * Process the batch of contexts, calling {@link BatchInterceptorChain#processNextBatch(List)}
+     * to continue down the chain.
+     *
+     * @param interceptorContexts   the batch of contexts to process
+     * @param batchInterceptorChain the remainder of the chain
+     * @return the resulting contexts, in the same order as the given contexts
+     */
+    List<InterceptorContext> processBatch(final List<InterceptorContext> interceptorContexts, final BatchInterceptorChain batchInterceptorChain);
+}
@@ -0,0 +1,18 @@
+package uk.gov.justice.services.core.interceptor;
+
+import java.util.List;
+
+/**
+ * An interceptor chain that can pass a batch of {@link InterceptorContext} to the next interceptor
+ * in one call.
+ */
+public interface BatchInterceptorChain {
+
+    /**
+     * Process the batch of contexts with the next interceptor in the chain.
+     *
+     * @param interceptorContexts the batch of contexts to process
+     * @return the resulting contexts, in the same order as the given contexts
+     */
+    List<InterceptorContext> processNextBatch(final List<InterceptorContext> interceptorContexts);
+}
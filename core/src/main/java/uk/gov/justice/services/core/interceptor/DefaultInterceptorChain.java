@@ -1,13 +1,16 @@
 package uk.gov.justice.services.core.interceptor;
 
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.stream.Collectors.toList;
 
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
-public class DefaultInterceptorChain implements InterceptorChain {
+public class DefaultInterceptorChain implements InterceptorChain, BatchInterceptorChain {
 
     private Deque<Interceptor> interceptors;
     private Target target;
@@ -32,8 +35,52 @@ public class DefaultInterceptorChain implements InterceptorChain {
         }
     }
 
+    /**
+     * Process a batch of contexts. Consecutive {@link BatchInterceptor}s receive the whole batch,
+     * the first interceptor that is not batch aware processes the remainder of the chain per
+     * context.
+     *
+     * @param interceptorContexts the batch of contexts to process
+     * @return the resulting contexts, in the same order as the given contexts
+     */
+    @Override
+    public List<InterceptorContext> processNextBatch(final List<InterceptorContext> interceptorContexts) {
+        if (interceptors.isEmpty()) {
+            return interceptorContexts.stream()
+                    .map(target::process)
+                    .collect(toList());
+        }
+
+        final Interceptor interceptor = interceptors.peek();
+
+        if (interceptor instanceof BatchInterceptor) {
+            interceptors.poll();
+            return ((BatchInterceptor) interceptor).processBatch(interceptorContexts, copyOfDefaultInterceptorChain());
+        }
+
+        return interceptorContexts.stream()
+                .map(interceptorContext -> copyOfInterceptorChain().processNext(interceptorContext))
+                .collect(toList());
+    }
+
+    /**
+     * Process the remainder of the chain on the given executor, releasing the calling thread.
+     *
+     * @param interceptorContext the context to process
+     * @param executor           the executor to run the chain on
+     * @return a completion stage of the resulting context
+     */
+    public CompletionStage<InterceptorContext> processNextAsync(final InterceptorContext interceptorContext, final Executor executor) {
+        final InterceptorChain interceptorChain = copyOfInterceptorChain();
+        return supplyAsync(() -> interceptorChain.processNext(interceptorContext), executor);
+    }
+
     @SuppressWarnings("unchecked")
     private InterceptorChain copyOfInterceptorChain() {
+        return copyOfDefaultInterceptorChain();
+    }
+
+    private DefaultInterceptorChain copyOfDefaultInterceptorChain() {
         return new DefaultInterceptorChain(new LinkedList<>(interceptors), target);
     }
 }
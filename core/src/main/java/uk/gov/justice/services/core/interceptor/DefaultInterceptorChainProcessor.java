@@ -1,8 +1,13 @@
 package uk.gov.justice.services.core.interceptor;
 
+import static java.util.stream.Collectors.toList;
+
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 public class DefaultInterceptorChainProcessor implements InterceptorChainProcessor {
@@ -26,6 +31,41 @@ public class DefaultInterceptorChainProcessor implements InterceptorChainProcess
                 .outputEnvelope();
     }
 
+    /**
+     * Process a batch of contexts through the interceptor chain, allowing {@link BatchInterceptor}s
+     * to handle the whole batch in one call, such as the LocalAuditInterceptor auditing the batch
+     * with one call. Interceptors that are not batch aware, and the dispatch to the handler, still
+     * process one context at a time.
+     *
+     * @param interceptorContexts the batch of contexts to process
+     * @return the output envelopes, in the same order as the given contexts
+     */
+    public List<Optional<JsonEnvelope>> processBatch(final List<InterceptorContext> interceptorContexts) {
+        interceptorContexts.forEach(interceptorContext -> interceptorContext.setInputParameter("component", component));
+
+        return new DefaultInterceptorChain(interceptorCache.getInterceptors(component), targetOf(dispatch))
+                .processNextBatch(interceptorContexts)
+                .stream()
+                .map(InterceptorContext::outputEnvelope)
+                .collect(toList());
+    }
+
+    /**
+     * Process the interceptor chain and dispatch on the given executor, releasing the calling
+     * thread.
+     *
+     * @param interceptorContext the context to process
+     * @param executor           the executor to run the chain on
+     * @return a completion stage of the output envelope, if any
+     */
+    public CompletionStage<Optional<JsonEnvelope>> processAsync(final InterceptorContext interceptorContext, final Executor executor) {
+        interceptorContext.setInputParameter("component", component);
+
+        return new DefaultInterceptorChain(interceptorCache.getInterceptors(component), targetOf(dispatch))
+                .processNextAsync(interceptorContext, executor)
+                .thenApply(InterceptorContext::outputEnvelope);
+    }
+
     private Target targetOf(final Function<JsonEnvelope, JsonEnvelope> dispatch) {
         return interceptorContext -> interceptorContext.copyWithOutput(dispatch.apply(interceptorContext.inputEnvelope()));
     }
@@ -0,0 +1,154 @@
+package uk.gov.justice.services.core.interceptor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+/**
+ * A single thread running the tasks submitted to it one at a time, in the order they were
+ * submitted.
+ *
+ * At most 'depth' tasks wait in the lane; submitting to a full lane blocks the caller until a
+ * task has been taken or the lane is shut down, so a slow lane pushes back on whoever is feeding
+ * it. A task that throws does not stop the lane. If the lane's thread is interrupted, the tasks
+ * still waiting are abandoned rather than left waiting forever.
+ */
+class DispatchLane {
+
+    private static final Logger LOGGER = getLogger(DispatchLane.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+    private final BlockingQueue<QueuedTask> queue;
+    private final AtomicLong processedCount = new AtomicLong();
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    DispatchLane(final int depth, final ThreadFactory threadFactory) {
+        this.queue = new ArrayBlockingQueue<>(depth);
+        this.thread = threadFactory.newThread(this::run);
+        this.thread.start();
+    }
+
+    /**
+     * @param task    the task to run on the lane
+     * @param abandon called with the reason if the task is never run because the lane stopped
+     * @throws InterruptedException       if interrupted while waiting for room in the lane
+     * @throws RejectedExecutionException if the lane has been shut down
+     */
+    void submit(final Runnable task, final Consumer<Exception> abandon) throws InterruptedException {
+        final QueuedTask queuedTask = new QueuedTask(task, abandon, System.nanoTime());
+
+        while (running) {
+            if (queue.offer(queuedTask, POLL_TIMEOUT_MILLIS, MILLISECONDS)) {
+                // the lane may have stopped, and drained its queue, while the task was being queued
+                if (!running && queue.remove(queuedTask)) {
+                    break;
+                }
+                return;
+            }
+        }
+
+        throw new RejectedExecutionException("Dispatch lane has been shut down");
+    }
+
+    /**
+     * @return the number of tasks waiting in the lane
+     */
+    int depth() {
+        return queue.size();
+    }
+
+    /**
+     * @return how long the oldest task waiting in the lane has been waiting, in milliseconds
+     */
+    long lagInMillis() {
+        final QueuedTask oldest = queue.peek();
+        return oldest == null ? 0L : NANOSECONDS.toMillis(System.nanoTime() - oldest.queuedAt);
+    }
+
+    /**
+     * @return the number of tasks the lane has run
+     */
+    long processedCount() {
+        return processedCount.get();
+    }
+
+    /**
+     * Stops accepting tasks. The tasks already waiting are run before the lane's thread exits.
+     */
+    void shutdown() {
+        running = false;
+    }
+
+    /**
+     * @param timeoutMillis the longest time to wait
+     * @return true if the lane's thread has exited
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitTermination(final long timeoutMillis) throws InterruptedException {
+        thread.join(timeoutMillis);
+        return !thread.isAlive();
+    }
+
+    private void run() {
+        try {
+            while (running || !queue.isEmpty()) {
+                final QueuedTask queuedTask = queue.poll(POLL_TIMEOUT_MILLIS, MILLISECONDS);
+
+                if (queuedTask != null) {
+                    runTask(queuedTask);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            abandonWaitingTasks();
+        }
+    }
+
+    private void runTask(final QueuedTask queuedTask) {
+        try {
+            queuedTask.task.run();
+        } catch (final Throwable e) {
+            LOGGER.error("Dispatch lane task failed", e);
+        } finally {
+            processedCount.incrementAndGet();
+        }
+    }
+
+    private void abandonWaitingTasks() {
+        QueuedTask queuedTask;
+        while ((queuedTask = queue.poll()) != null) {
+            try {
+                queuedTask.abandon.accept(new RejectedExecutionException("Dispatch lane stopped before the task was run"));
+            } catch (final Throwable e) {
+                LOGGER.error("Failed to abandon dispatch lane task", e);
+            }
+        }
+    }
+
+    private static class QueuedTask {
+
+        private final Runnable task;
+        private final Consumer<Exception> abandon;
+        private final long queuedAt;
+
+        private QueuedTask(final Runnable task, final Consumer<Exception> abandon, final long queuedAt) {
+            this.task = task;
+            this.abandon = abandon;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
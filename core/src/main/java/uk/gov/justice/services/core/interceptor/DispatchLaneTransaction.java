@@ -0,0 +1,23 @@
+package uk.gov.justice.services.core.interceptor;
+
+import static javax.transaction.Transactional.TxType.REQUIRES_NEW;
+
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.Optional;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.transaction.Transactional;
+
+/**
+ * Processes an envelope taken from a dispatch lane in a transaction of its own, as the lanes run
+ * outside the transaction of the caller that submitted the envelope.
+ */
+@ApplicationScoped
+public class DispatchLaneTransaction {
+
+    @Transactional(REQUIRES_NEW)
+    public Optional<JsonEnvelope> process(final InterceptorChainProcessor interceptorChainProcessor, final InterceptorContext interceptorContext) {
+        return interceptorChainProcessor.process(interceptorContext);
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.justice.services.core.interceptor;
+
+import java.util.Map;
+
+import javax.management.MXBean;
+
+/**
+ * Exposes the state of the ordered lanes of a {@link StreamPartitionedInterceptorChainProcessor}.
+ */
+@MXBean
+public interface DispatchLanesMBean {
+
+    /**
+     * @return the number of lanes
+     */
+    int getLaneCount();
+
+    /**
+     * @return the number of envelopes waiting in each lane, by lane name
+     */
+    Map<String, Integer> getLaneDepths();
+
+    /**
+     * @return how long the oldest envelope waiting in each lane has been waiting in milliseconds,
+     * by lane name
+     */
+    Map<String, Long> getLaneLagsInMillis();
+
+    /**
+     * @return the number of envelopes each lane has processed, by lane name
+     */
+    Map<String, Long> getProcessedCounts();
+}
@@ -5,8 +5,13 @@ import static uk.gov.justice.services.core.annotation.ServiceComponentLocation.L
 import static uk.gov.justice.services.messaging.logging.LoggerUtils.trace;
 
 import uk.gov.justice.services.common.annotation.ComponentNameExtractor;
+import uk.gov.justice.services.core.dispatcher.BulkheadExecutor;
+import uk.gov.justice.services.core.dispatcher.Bulkheads;
 import uk.gov.justice.services.core.dispatcher.Dispatcher;
 import uk.gov.justice.services.core.dispatcher.DispatcherCache;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.function.Function;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
@@ -31,8 +36,12 @@ public class InterceptorChainProcessorProducer {
     @Inject
     private ComponentNameExtractor componentNameExtractor;
 
+    @Inject
+    private Bulkheads bulkheads;
+
     /**
-     * Produces an interceptor chain processor for the provided injection point.
+     * Produces an interceptor chain processor for the provided injection point, dispatching to
+     * the handlers of its component in the bulkhead of the component.
      *
      * @param injectionPoint class where the {@link InterceptorChainProcessor} is being injected
      * @return the interceptor chain processor
@@ -42,14 +51,20 @@ public class InterceptorChainProcessorProducer {
         trace(logger, () -> format("Interceptor Chain Processor provided for %s", injectionPoint.getClass().getName()));
 
         final String component = componentNameExtractor.componentFrom(injectionPoint);
-        return new DefaultInterceptorChainProcessor(interceptorCache, dispatcherCache.dispatcherFor(injectionPoint)::dispatch, component);
+        return new DefaultInterceptorChainProcessor(interceptorCache, inBulkheadOf(component, dispatcherCache.dispatcherFor(injectionPoint)::dispatch), component);
     }
 
     public InterceptorChainProcessor produceLocalProcessor(final String component) {
         trace(logger, () -> format("Interceptor Chain Processor provided for %s", component));
 
         final Dispatcher dispatcher = dispatcherCache.dispatcherFor(component, LOCAL);
-        return new DefaultInterceptorChainProcessor(interceptorCache, dispatcher::dispatch, component);
+        return new DefaultInterceptorChainProcessor(interceptorCache, inBulkheadOf(component, dispatcher::dispatch), component);
+    }
+
+    private Function<JsonEnvelope, JsonEnvelope> inBulkheadOf(final String component, final Function<JsonEnvelope, JsonEnvelope> dispatch) {
+        final BulkheadExecutor bulkhead = bulkheads.executorFor(component);
+
+        return envelope -> bulkhead.supply(() -> dispatch.apply(envelope));
     }
 
 }
\ No newline at end of file
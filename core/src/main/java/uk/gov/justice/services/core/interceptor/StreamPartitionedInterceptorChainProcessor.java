@@ -0,0 +1,224 @@
+package uk.gov.justice.services.core.interceptor;
+
+import static java.lang.Math.floorMod;
+import static java.lang.String.format;
+
+import uk.gov.justice.services.core.interceptor.exception.StreamProcessingHaltedException;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.Metadata;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Processes envelopes through an {@link InterceptorChainProcessor} on a fixed number of ordered
+ * lanes, each run by its own thread.
+ *
+ * The lane of an envelope is chosen from the hash of its stream id, so the envelopes of one stream
+ * are always processed one at a time and in the order they were submitted, while the envelopes of
+ * different streams are processed in parallel. Envelopes without a stream id are spread over the
+ * lanes by their id and have no ordering guarantee.
+ *
+ * Each lane holds at most 'laneDepth' waiting envelopes; submitting to a full lane blocks the
+ * caller until the lane catches up or is shut down. An envelope still waiting when its lane stops
+ * fails its stage with a {@link RejectedExecutionException}.
+ *
+ * A failure processing an envelope fails the returned stage of that envelope, and the stages of
+ * every envelope of the same stream submitted before the failure are failed with a
+ * {@link StreamProcessingHaltedException} without being processed, so that no envelope of a stream
+ * is processed after an earlier one has failed. Envelopes of the stream submitted after the
+ * failure, such as the redelivered failed envelope, are processed as normal, as are the envelopes
+ * of other streams on the lane.
+ *
+ * Envelopes are processed outside the caller's thread and transaction, so the caller must not
+ * consider an envelope consumed when {@link #process} returns. This does not fit a message-driven
+ * bean, whose message is acknowledged when onMessage returns: an adapter must instead receive
+ * messages itself, on a single thread per destination so that they are submitted in delivery
+ * order, in a session using the broker's individual acknowledgement mode, and pass
+ * {@code message::acknowledge} as the acknowledgement to
+ * {@link #process(InterceptorContext, Runnable)}. JMS CLIENT_ACKNOWLEDGE must not be used, as it
+ * acknowledges every message the session has delivered. Once a stage has failed the adapter should
+ * recover its session, so that the failed envelope and the rest of its stream are redelivered in
+ * order.
+ */
+public class StreamPartitionedInterceptorChainProcessor implements DispatchLanesMBean {
+
+    private static final String LANE_NAME_FORMAT = "lane-%d";
+
+    private final InterceptorChainProcessor interceptorChainProcessor;
+    private final DispatchLane[] lanes;
+    private final AtomicLong submissions = new AtomicLong();
+    private final Map<UUID, Long> failedStreams = new ConcurrentHashMap<>();
+
+    /**
+     * @param interceptorChainProcessor the processor to run on the lanes
+     * @param laneCount                 the number of lanes
+     * @param laneDepth                 the number of envelopes that can wait in each lane
+     * @param threadFactory             creates the thread of each lane
+     */
+    public StreamPartitionedInterceptorChainProcessor(final InterceptorChainProcessor interceptorChainProcessor,
+                                                      final int laneCount,
+                                                      final int laneDepth,
+                                                      final ThreadFactory threadFactory) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException(format("Lane count must be at least 1, not %d", laneCount));
+        }
+
+        if (laneDepth < 1) {
+            throw new IllegalArgumentException(format("Lane depth must be at least 1, not %d", laneDepth));
+        }
+
+        this.interceptorChainProcessor = interceptorChainProcessor;
+        this.lanes = new DispatchLane[laneCount];
+
+        for (int lane = 0; lane < laneCount; lane++) {
+            lanes[lane] = new DispatchLane(laneDepth, threadFactory);
+        }
+    }
+
+    /**
+     * Queue the context on the lane of its envelope's stream, blocking while that lane is full.
+     *
+     * @param interceptorContext the context to process
+     * @return a completion stage of the output envelope, if any, completed on the lane's thread
+     */
+    public CompletionStage<Optional<JsonEnvelope>> process(final InterceptorContext interceptorContext) {
+        return process(interceptorContext, () -> {
+        });
+    }
+
+    /**
+     * Queue the context on the lane of its envelope's stream, blocking while that lane is full,
+     * and acknowledge it on the lane once processed. The acknowledgement is not run if processing
+     * fails, so that the envelope can be redelivered, and the lane does not start on the next
+     * envelope of the stream until it has run. Nor is it run for an envelope that is not processed
+     * because an earlier envelope of its stream failed.
+     *
+     * @param interceptorContext the context to process
+     * @param acknowledgement    acknowledges the envelope to its consumer
+     * @return a completion stage of the output envelope, if any, completed on the lane's thread
+     * after the acknowledgement
+     */
+    public CompletionStage<Optional<JsonEnvelope>> process(final InterceptorContext interceptorContext, final Runnable acknowledgement) {
+        final CompletableFuture<Optional<JsonEnvelope>> output = new CompletableFuture<>();
+        final JsonEnvelope envelope = interceptorContext.inputEnvelope();
+        final Optional<UUID> streamId = envelope.metadata().streamId();
+        final long submission = submissions.incrementAndGet();
+
+        try {
+            lanes[laneOf(envelope)].submit(() -> {
+                if (streamId.isPresent() && failedBefore(streamId.get(), submission)) {
+                    output.completeExceptionally(new StreamProcessingHaltedException(format(
+                            "Envelope '%s' was not processed as an earlier envelope of stream '%s' failed",
+                            envelope.metadata().id(),
+                            streamId.get())));
+                    return;
+                }
+
+                try {
+                    final Optional<JsonEnvelope> outputEnvelope = interceptorChainProcessor.process(interceptorContext);
+                    acknowledgement.run();
+                    streamId.ifPresent(failedStreams::remove);
+                    output.complete(outputEnvelope);
+                } catch (final Throwable e) {
+                    streamId.ifPresent(id -> failedStreams.put(id, submissions.get()));
+                    output.completeExceptionally(e);
+                }
+            }, output::completeExceptionally);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            output.completeExceptionally(e);
+        } catch (final RejectedExecutionException e) {
+            output.completeExceptionally(e);
+        }
+
+        return output;
+    }
+
+    /**
+     * The envelopes of a stream are all processed on the lane of the stream, so a stream can only
+     * fail on that lane's thread, one envelope at a time.
+     *
+     * @param streamId   the stream of an envelope
+     * @param submission the order in which the envelope was submitted
+     * @return true if an envelope of the stream failed after this envelope was submitted
+     */
+    private boolean failedBefore(final UUID streamId, final long submission) {
+        final Long lastSubmissionAtFailure = failedStreams.get(streamId);
+        return lastSubmissionAtFailure != null && submission <= lastSubmissionAtFailure;
+    }
+
+    /**
+     * @param envelope the envelope to process
+     * @return the index of the lane the envelope is processed on
+     */
+    int laneOf(final JsonEnvelope envelope) {
+        final Metadata metadata = envelope.metadata();
+        final int hash = metadata.streamId()
+                .map(Object::hashCode)
+                .orElseGet(() -> metadata.id().hashCode());
+
+        return floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    /**
+     * Stops accepting envelopes and waits for the lanes to process those already waiting.
+     *
+     * @param timeoutMillis the longest time to wait for each lane
+     * @return true if every lane finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(final long timeoutMillis) throws InterruptedException {
+        for (final DispatchLane lane : lanes) {
+            lane.shutdown();
+        }
+
+        boolean terminated = true;
+        for (final DispatchLane lane : lanes) {
+            terminated &= lane.awaitTermination(timeoutMillis);
+        }
+
+        return terminated;
+    }
+
+    @Override
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    @Override
+    public Map<String, Integer> getLaneDepths() {
+        final Map<String, Integer> depths = new LinkedHashMap<>();
+        for (int lane = 0; lane < lanes.length; lane++) {
+            depths.put(format(LANE_NAME_FORMAT, lane), lanes[lane].depth());
+        }
+        return depths;
+    }
+
+    @Override
+    public Map<String, Long> getLaneLagsInMillis() {
+        return byLane(DispatchLane::lagInMillis);
+    }
+
+    @Override
+    public Map<String, Long> getProcessedCounts() {
+        return byLane(DispatchLane::processedCount);
+    }
+
+    private Map<String, Long> byLane(final ToLongFunction<DispatchLane> value) {
+        final Map<String, Long> values = new LinkedHashMap<>();
+        for (int lane = 0; lane < lanes.length; lane++) {
+            values.put(format(LANE_NAME_FORMAT, lane), value.applyAsLong(lanes[lane]));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,102 @@
+package uk.gov.justice.services.core.interceptor;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.String.format;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedThreadFactory;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+
+/**
+ * Creates and caches a {@link StreamPartitionedInterceptorChainProcessor} for each component,
+ * registering its lane metrics with the platform MBean server under the name of the service
+ * context. Each envelope is processed on its lane in a new transaction, committed before the
+ * envelope is acknowledged.
+ *
+ * The number of lanes and the number of envelopes that can wait in each lane are set with the
+ * global values 'dispatcher.stream.lanes' (default 4) and 'dispatcher.stream.lane.depth'
+ * (default 1000).
+ */
+@ApplicationScoped
+public class StreamPartitionedInterceptorChainProcessorProducer {
+
+    private static final String DOMAIN_NAME = "uk.gov.justice.services.framework.dispatch";
+    private static final String MBEAN_NAME_FORMAT = "dispatch-lanes-%s";
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30_000L;
+
+    @Resource
+    ManagedThreadFactory managedThreadFactory;
+
+    @Inject
+    InterceptorChainProcessorProducer interceptorChainProcessorProducer;
+
+    @Inject
+    DispatchLaneTransaction dispatchLaneTransaction;
+
+    @Inject
+    @GlobalValue(key = "dispatcher.stream.lanes", defaultValue = "4")
+    String laneCount;
+
+    @Inject
+    @GlobalValue(key = "dispatcher.stream.lane.depth", defaultValue = "1000")
+    String laneDepth;
+
+    @Inject
+    ContextMBeanRegistrar contextMBeanRegistrar;
+
+    @Inject
+    Logger logger;
+
+    private final Map<String, StreamPartitionedInterceptorChainProcessor> processors = new ConcurrentHashMap<>();
+    private final Map<String, ObjectName> registeredObjectNames = new ConcurrentHashMap<>();
+
+    /**
+     * @param component the component to process envelopes for
+     * @return the stream partitioned processor of the component
+     */
+    public StreamPartitionedInterceptorChainProcessor produceProcessor(final String component) {
+        return processors.computeIfAbsent(component, this::createProcessor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        registeredObjectNames.values().forEach(contextMBeanRegistrar::unregister);
+        registeredObjectNames.clear();
+
+        processors.forEach((component, processor) -> {
+            try {
+                if (!processor.shutdown(SHUTDOWN_TIMEOUT_MILLIS)) {
+                    logger.warn(format("Dispatch lanes of component '%s' did not finish processing within %d ms", component, SHUTDOWN_TIMEOUT_MILLIS));
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        processors.clear();
+    }
+
+    private StreamPartitionedInterceptorChainProcessor createProcessor(final String component) {
+        final InterceptorChainProcessor localProcessor = interceptorChainProcessorProducer.produceLocalProcessor(component);
+        final StreamPartitionedInterceptorChainProcessor processor = new StreamPartitionedInterceptorChainProcessor(
+                interceptorContext -> dispatchLaneTransaction.process(localProcessor, interceptorContext),
+                parseInt(laneCount),
+                parseInt(laneDepth),
+                managedThreadFactory);
+
+        contextMBeanRegistrar.register(processor, DOMAIN_NAME, format(MBEAN_NAME_FORMAT, component))
+                .ifPresent(objectName -> registeredObjectNames.put(component, objectName));
+
+        return processor;
+    }
+}
@@ -0,0 +1,9 @@
+package uk.gov.justice.services.core.interceptor.exception;
+
+public class StreamProcessingHaltedException extends RuntimeException {
+    private static final long serialVersionUID = 4263958275150219644L;
+
+    public StreamProcessingHaltedException(final String message) {
+        super(message);
+    }
+}
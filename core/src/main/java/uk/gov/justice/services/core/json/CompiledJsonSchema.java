@@ -0,0 +1,47 @@
+package uk.gov.justice.services.core.json;
+
+import static uk.gov.justice.services.core.json.JsonSchemaCompiler.Verdict.VALID;
+
+import uk.gov.justice.services.core.json.JsonSchemaCompiler.Validator;
+import uk.gov.justice.services.core.json.JsonSchemaCompiler.Verdict;
+
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+
+/**
+ * A JSON schema together with the validator compiled from it by the {@link JsonSchemaCompiler}.
+ *
+ * Payloads the compiled validator finds valid are accepted without interpreting the schema. Any
+ * other payload is validated by the schema itself, so the violations reported are exactly those
+ * of the interpreted validation.
+ */
+public class CompiledJsonSchema {
+
+    private final Schema schema;
+    private final Validator validator;
+
+    CompiledJsonSchema(final Schema schema, final Validator validator) {
+        this.schema = schema;
+        this.validator = validator;
+    }
+
+    /**
+     * Validate a JSON payload, as parsed by org.json, against the schema.
+     *
+     * @param subject the payload to validate
+     * @throws ValidationException if the payload is not valid
+     */
+    public void validate(final Object subject) {
+        if (verdictOf(subject) != VALID) {
+            schema.validate(subject);
+        }
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    Verdict verdictOf(final Object subject) {
+        return validator.validate(subject);
+    }
+}
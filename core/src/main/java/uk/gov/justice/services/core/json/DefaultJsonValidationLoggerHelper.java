@@ -1,8 +1,8 @@
 package uk.gov.justice.services.core.json;
 
 import static java.lang.String.join;
-import static javax.json.Json.createArrayBuilder;
-import static javax.json.Json.createObjectBuilder;
+import static uk.gov.justice.services.messaging.JsonFactories.createArrayBuilder;
+import static uk.gov.justice.services.messaging.JsonFactories.createObjectBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
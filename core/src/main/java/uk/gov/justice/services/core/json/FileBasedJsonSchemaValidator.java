@@ -6,7 +6,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
-import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
 import org.json.JSONObject;
 
@@ -16,7 +15,7 @@ import org.json.JSONObject;
 @ApplicationScoped
 public class FileBasedJsonSchemaValidator {
 
-    private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
+    private final Map<String, CompiledJsonSchema> schemas = new ConcurrentHashMap<>();
 
     @Inject
     private JsonSchemaLoader jsonSchemaLoader;
@@ -29,7 +28,8 @@ public class FileBasedJsonSchemaValidator {
 
     /**
      * Validate a JSON payload against the correct schema for the given message type name. If the
-     * JSON contains metadata, this is removed first. Schemas are cached for reuse.
+     * JSON contains metadata, this is removed first. Schemas are compiled when first loaded and
+     * cached for reuse.
      *
      * @param envelopeJson the payload to validate
      * @param actionName   the message type name
@@ -46,7 +46,7 @@ public class FileBasedJsonSchemaValidator {
         }
     }
 
-    private Schema schemaOf(final String actionName) {
-        return schemas.computeIfAbsent(actionName, jsonSchemaLoader::loadSchema);
+    private CompiledJsonSchema schemaOf(final String actionName) {
+        return schemas.computeIfAbsent(actionName, name -> JsonSchemaCompiler.compile(jsonSchemaLoader.loadSchema(name)));
     }
 }
@@ -0,0 +1,462 @@
+package uk.gov.justice.services.core.json;
+
+import static uk.gov.justice.services.core.json.JsonSchemaCompiler.Verdict.INVALID;
+import static uk.gov.justice.services.core.json.JsonSchemaCompiler.Verdict.UNKNOWN;
+import static java.util.Arrays.asList;
+import static uk.gov.justice.services.core.json.JsonSchemaCompiler.Verdict.VALID;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.everit.json.schema.ArraySchema;
+import org.everit.json.schema.BooleanSchema;
+import org.everit.json.schema.CombinedSchema;
+import org.everit.json.schema.EmptySchema;
+import org.everit.json.schema.EnumSchema;
+import org.everit.json.schema.FormatValidator;
+import org.everit.json.schema.NotSchema;
+import org.everit.json.schema.NullSchema;
+import org.everit.json.schema.NumberSchema;
+import org.everit.json.schema.ObjectSchema;
+import org.everit.json.schema.ReferenceSchema;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.StringSchema;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Compiles the object graph of a JSON schema into a tree of validators specialised to the
+ * keywords each schema actually uses, so that validating a payload does no more than the checks
+ * the schema asks for.
+ *
+ * A compiled validator gives one of three verdicts: {@link Verdict#VALID} and
+ * {@link Verdict#INVALID} agree exactly with the interpreted schema, and {@link Verdict#UNKNOWN}
+ * is given where the schema uses a keyword the compiler does not handle, such as
+ * patternProperties, dependencies, uniqueItems or multipleOf. Object, array, string and number
+ * schemas are compiled only if every keyword they set is one the compiler handles, so keywords
+ * added by later versions of the schema library, such as propertyNames or contains, give no
+ * verdict rather than being ignored. Only a payload found valid skips the interpreted schema; see
+ * {@link CompiledJsonSchema}.
+ *
+ * References are compiled once, so recursive schemas compile to a cyclic validator.
+ */
+public class JsonSchemaCompiler {
+
+    private static final Validator ANY = subject -> VALID;
+    private static final Validator UNSUPPORTED = subject -> UNKNOWN;
+
+    private static final Set<String> OBJECT_KEYWORDS = new HashSet<>(asList(
+            "getRequiredProperties", "getMinProperties", "getMaxProperties", "getPropertySchemas", "getSchemaOfAdditionalProperties"));
+    private static final Set<String> ARRAY_KEYWORDS = new HashSet<>(asList(
+            "getMinItems", "getMaxItems", "getAllItemSchema", "getItemSchemas", "getSchemaOfAdditionalItems"));
+    private static final Set<String> STRING_KEYWORDS = new HashSet<>(asList(
+            "getMinLength", "getMaxLength", "getPattern", "getRegexpPattern", "getFormatValidator"));
+    private static final Set<String> NUMBER_KEYWORDS = new HashSet<>(asList(
+            "getMinimum", "getMaximum", "getMultipleOf"));
+
+    private final Map<Schema, Validator> references = new IdentityHashMap<>();
+
+    private JsonSchemaCompiler() {
+    }
+
+    /**
+     * @param schema the schema to compile
+     * @return the schema and its compiled validator
+     */
+    public static CompiledJsonSchema compile(final Schema schema) {
+        return new CompiledJsonSchema(schema, new JsonSchemaCompiler().compileSchema(schema));
+    }
+
+    private Validator compileSchema(final Schema schema) {
+        if (schema instanceof ObjectSchema) {
+            return setsOnly(schema, OBJECT_KEYWORDS) ? compileObject((ObjectSchema) schema) : UNSUPPORTED;
+        }
+        if (schema instanceof StringSchema) {
+            return setsOnly(schema, STRING_KEYWORDS) ? compileString((StringSchema) schema) : UNSUPPORTED;
+        }
+        if (schema instanceof NumberSchema) {
+            return setsOnly(schema, NUMBER_KEYWORDS) ? compileNumber((NumberSchema) schema) : UNSUPPORTED;
+        }
+        if (schema instanceof ArraySchema) {
+            return setsOnly(schema, ARRAY_KEYWORDS) ? compileArray((ArraySchema) schema) : UNSUPPORTED;
+        }
+        if (schema instanceof CombinedSchema) {
+            return compileCombined((CombinedSchema) schema);
+        }
+        if (schema instanceof ReferenceSchema) {
+            return compileReference((ReferenceSchema) schema);
+        }
+        if (schema instanceof EnumSchema) {
+            return compileEnum((EnumSchema) schema);
+        }
+        if (schema instanceof NotSchema) {
+            final Validator mustNotMatch = compileSchema(((NotSchema) schema).getMustNotMatch());
+            return subject -> not(mustNotMatch.validate(subject));
+        }
+        if (schema instanceof BooleanSchema) {
+            return subject -> subject instanceof Boolean ? VALID : INVALID;
+        }
+        if (schema instanceof NullSchema) {
+            return subject -> subject == null || JSONObject.NULL.equals(subject) ? VALID : INVALID;
+        }
+        if (schema instanceof EmptySchema) {
+            return ANY;
+        }
+
+        return UNSUPPORTED;
+    }
+
+    private Validator compileObject(final ObjectSchema schema) {
+        final boolean requiresObject = schema.requiresObject();
+        final String[] requiredProperties = schema.getRequiredProperties().toArray(new String[0]);
+        final int minProperties = valueOr(schema.getMinProperties(), 0);
+        final int maxProperties = valueOr(schema.getMaxProperties(), Integer.MAX_VALUE);
+
+        final Map<String, Schema> propertySchemas = schema.getPropertySchemas();
+        final String[] propertyNames = propertySchemas.keySet().toArray(new String[0]);
+        final Validator[] propertyValidators = new Validator[propertyNames.length];
+        for (int index = 0; index < propertyNames.length; index++) {
+            propertyValidators[index] = compileSchema(propertySchemas.get(propertyNames[index]));
+        }
+
+        final Set<String> declaredProperties = new HashSet<>(propertySchemas.keySet());
+        final boolean permitsAdditionalProperties = schema.permitsAdditionalProperties();
+        final Validator additionalProperties = schema.getSchemaOfAdditionalProperties() == null
+                ? null
+                : compileSchema(schema.getSchemaOfAdditionalProperties());
+        final boolean checksAdditionalProperties = !permitsAdditionalProperties || additionalProperties != null;
+
+        return subject -> {
+            if (!(subject instanceof JSONObject)) {
+                return requiresObject ? INVALID : VALID;
+            }
+
+            final JSONObject object = (JSONObject) subject;
+            final int length = object.length();
+            if (length < minProperties || length > maxProperties) {
+                return INVALID;
+            }
+
+            for (final String requiredProperty : requiredProperties) {
+                if (!object.has(requiredProperty)) {
+                    return INVALID;
+                }
+            }
+
+            Verdict verdict = VALID;
+            for (int index = 0; index < propertyNames.length && verdict != INVALID; index++) {
+                if (object.has(propertyNames[index])) {
+                    verdict = and(verdict, propertyValidators[index].validate(object.get(propertyNames[index])));
+                }
+            }
+
+            if (checksAdditionalProperties) {
+                for (final String key : object.keySet()) {
+                    if (verdict == INVALID) {
+                        break;
+                    }
+                    if (!declaredProperties.contains(key)) {
+                        verdict = permitsAdditionalProperties
+                                ? and(verdict, additionalProperties.validate(object.get(key)))
+                                : INVALID;
+                    }
+                }
+            }
+
+            return verdict;
+        };
+    }
+
+    private Validator compileString(final StringSchema schema) {
+        final boolean requiresString = schema.requireString();
+        final int minLength = valueOr(schema.getMinLength(), 0);
+        final int maxLength = valueOr(schema.getMaxLength(), Integer.MAX_VALUE);
+        final Pattern pattern = schema.getPattern();
+        final FormatValidator formatValidator = schema.getFormatValidator();
+
+        return subject -> {
+            if (!(subject instanceof String)) {
+                return requiresString ? INVALID : VALID;
+            }
+
+            final String string = (String) subject;
+            final int length = string.codePointCount(0, string.length());
+            if (length < minLength || length > maxLength) {
+                return INVALID;
+            }
+            if (pattern != null && !pattern.matcher(string).find()) {
+                return INVALID;
+            }
+            if (formatValidator != null && formatValidator.validate(string).isPresent()) {
+                return INVALID;
+            }
+
+            return VALID;
+        };
+    }
+
+    private Validator compileNumber(final NumberSchema schema) {
+        final boolean requiresNumber = schema.isRequiresNumber();
+        final boolean requiresInteger = schema.requiresInteger();
+        final Number minimum = schema.getMinimum();
+        final Number maximum = schema.getMaximum();
+        final boolean exclusiveMinimum = schema.isExclusiveMinimum();
+        final boolean exclusiveMaximum = schema.isExclusiveMaximum();
+        final boolean hasMultipleOf = schema.getMultipleOf() != null;
+
+        return subject -> {
+            if (!(subject instanceof Number)) {
+                return requiresNumber ? INVALID : VALID;
+            }
+
+            final double value = ((Number) subject).doubleValue();
+            if (minimum != null && (exclusiveMinimum ? value <= minimum.doubleValue() : value < minimum.doubleValue())) {
+                return INVALID;
+            }
+            if (maximum != null && (exclusiveMaximum ? value >= maximum.doubleValue() : value > maximum.doubleValue())) {
+                return INVALID;
+            }
+
+            if (requiresInteger && !(subject instanceof Integer || subject instanceof Long)) {
+                return UNKNOWN;
+            }
+
+            return hasMultipleOf ? UNKNOWN : VALID;
+        };
+    }
+
+    private Validator compileArray(final ArraySchema schema) {
+        final boolean requiresArray = schema.requiresArray();
+        final int minItems = valueOr(schema.getMinItems(), 0);
+        final int maxItems = valueOr(schema.getMaxItems(), Integer.MAX_VALUE);
+        final Verdict uniqueItems = schema.needsUniqueItems() ? UNKNOWN : VALID;
+
+        final Validator allItems = schema.getAllItemSchema() == null ? null : compileSchema(schema.getAllItemSchema());
+
+        final boolean hasItemSchemas = schema.getItemSchemas() != null;
+        final List<Validator> itemValidators = new ArrayList<>();
+        if (hasItemSchemas) {
+            schema.getItemSchemas().forEach(itemSchema -> itemValidators.add(compileSchema(itemSchema)));
+        }
+        final Validator[] items = itemValidators.toArray(new Validator[0]);
+        final boolean permitsAdditionalItems = schema.permitsAdditionalItems();
+        final Validator additionalItems = schema.getSchemaOfAdditionalItems() == null
+                ? null
+                : compileSchema(schema.getSchemaOfAdditionalItems());
+
+        return subject -> {
+            if (!(subject instanceof JSONArray)) {
+                return requiresArray ? INVALID : VALID;
+            }
+
+            final JSONArray array = (JSONArray) subject;
+            final int length = array.length();
+            if (length < minItems || length > maxItems) {
+                return INVALID;
+            }
+            if (hasItemSchemas && !permitsAdditionalItems && length > items.length) {
+                return INVALID;
+            }
+
+            Verdict verdict = uniqueItems;
+            for (int index = 0; index < length && verdict != INVALID; index++) {
+                if (allItems != null) {
+                    verdict = and(verdict, allItems.validate(array.get(index)));
+                }
+                if (index < items.length) {
+                    verdict = and(verdict, items[index].validate(array.get(index)));
+                } else if (hasItemSchemas && additionalItems != null) {
+                    verdict = and(verdict, additionalItems.validate(array.get(index)));
+                }
+            }
+
+            return verdict;
+        };
+    }
+
+    private Validator compileCombined(final CombinedSchema schema) {
+        final Collection<Schema> subschemas = schema.getSubschemas();
+        final Validator[] validators = new Validator[subschemas.size()];
+        int index = 0;
+        for (final Schema subschema : subschemas) {
+            validators[index++] = compileSchema(subschema);
+        }
+
+        if (schema.getCriterion() == CombinedSchema.ALL_CRITERION) {
+            return subject -> allOf(validators, subject);
+        }
+        if (schema.getCriterion() == CombinedSchema.ANY_CRITERION) {
+            return subject -> anyOf(validators, subject);
+        }
+        if (schema.getCriterion() == CombinedSchema.ONE_CRITERION) {
+            return subject -> oneOf(validators, subject);
+        }
+
+        return UNSUPPORTED;
+    }
+
+    private Validator compileReference(final ReferenceSchema schema) {
+        final Validator compiled = references.get(schema);
+        if (compiled != null) {
+            return compiled;
+        }
+
+        final ReferenceValidator reference = new ReferenceValidator();
+        references.put(schema, reference);
+        reference.referredValidator = schema.getReferredSchema() == null
+                ? UNSUPPORTED
+                : compileSchema(schema.getReferredSchema());
+
+        return reference;
+    }
+
+    private Validator compileEnum(final EnumSchema schema) {
+        final Set<Object> possibleValues = new HashSet<>(schema.getPossibleValues());
+
+        return subject -> {
+            if (subject instanceof String || subject instanceof Boolean) {
+                return possibleValues.contains(subject) ? VALID : INVALID;
+            }
+            return UNKNOWN;
+        };
+    }
+
+    private static Verdict allOf(final Validator[] validators, final Object subject) {
+        Verdict verdict = VALID;
+        for (int index = 0; index < validators.length && verdict != INVALID; index++) {
+            verdict = and(verdict, validators[index].validate(subject));
+        }
+        return verdict;
+    }
+
+    private static Verdict anyOf(final Validator[] validators, final Object subject) {
+        Verdict verdict = INVALID;
+        for (final Validator validator : validators) {
+            final Verdict subschemaVerdict = validator.validate(subject);
+            if (subschemaVerdict == VALID) {
+                return VALID;
+            }
+            if (subschemaVerdict == UNKNOWN) {
+                verdict = UNKNOWN;
+            }
+        }
+        return verdict;
+    }
+
+    private static Verdict oneOf(final Validator[] validators, final Object subject) {
+        int matching = 0;
+        boolean unknown = false;
+        for (final Validator validator : validators) {
+            final Verdict subschemaVerdict = validator.validate(subject);
+            if (subschemaVerdict == VALID && ++matching > 1) {
+                return INVALID;
+            }
+            if (subschemaVerdict == UNKNOWN) {
+                unknown = true;
+            }
+        }
+
+        if (unknown) {
+            return UNKNOWN;
+        }
+        return matching == 1 ? VALID : INVALID;
+    }
+
+    private static Verdict and(final Verdict verdict, final Verdict other) {
+        if (verdict == INVALID || other == INVALID) {
+            return INVALID;
+        }
+        if (verdict == UNKNOWN || other == UNKNOWN) {
+            return UNKNOWN;
+        }
+        return VALID;
+    }
+
+    private static Verdict not(final Verdict verdict) {
+        if (verdict == VALID) {
+            return INVALID;
+        }
+        if (verdict == INVALID) {
+            return VALID;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Checks the keywords of a schema against those the compiler handles, reading each keyword
+     * through the getters the schema class declares so that a keyword this version of the
+     * compiler does not know of is found as well.
+     *
+     * @param schema          the schema to check
+     * @param handledKeywords the getters of the keywords the compiler handles
+     * @return true if the schema sets no keyword other than those handled
+     */
+    private static boolean setsOnly(final Schema schema, final Set<String> handledKeywords) {
+        for (Class<?> type = schema.getClass(); type != Schema.class && type != null; type = type.getSuperclass()) {
+            for (final Method method : type.getDeclaredMethods()) {
+                if (isKeywordGetter(method) && !handledKeywords.contains(method.getName()) && isSet(schema, method)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isKeywordGetter(final Method method) {
+        return method.getName().startsWith("get")
+                && method.getParameterCount() == 0
+                && Modifier.isPublic(method.getModifiers())
+                && !Modifier.isStatic(method.getModifiers());
+    }
+
+    private static boolean isSet(final Schema schema, final Method method) {
+        final Object value;
+        try {
+            value = method.invoke(schema);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            return true;
+        }
+
+        if (value instanceof Collection) {
+            return !((Collection<?>) value).isEmpty();
+        }
+        if (value instanceof Map) {
+            return !((Map<?, ?>) value).isEmpty();
+        }
+        return value != null;
+    }
+
+    private static int valueOr(final Integer value, final int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    enum Verdict {
+        VALID,
+        INVALID,
+        UNKNOWN
+    }
+
+    @FunctionalInterface
+    interface Validator {
+
+        Verdict validate(final Object subject);
+    }
+
+    private static class ReferenceValidator implements Validator {
+
+        private Validator referredValidator;
+
+        @Override
+        public Verdict validate(final Object subject) {
+            return referredValidator.validate(subject);
+        }
+    }
+}
@@ -4,12 +4,13 @@ import uk.gov.justice.schema.service.SchemaCatalogService;
 import uk.gov.justice.services.core.mapping.MediaType;
 import uk.gov.justice.services.core.mapping.SchemaIdMappingCache;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.faces.bean.ApplicationScoped;
 import javax.inject.Inject;
 
-import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
 import org.json.JSONObject;
 
@@ -19,6 +20,8 @@ import org.json.JSONObject;
 @ApplicationScoped
 public class SchemaCatalogAwareJsonSchemaValidator {
 
+    private final Map<String, CompiledJsonSchema> schemas = new ConcurrentHashMap<>();
+
     @Inject
     FileBasedJsonSchemaValidator fileBasedJsonSchemaValidator;
 
@@ -35,6 +38,7 @@ public class SchemaCatalogAwareJsonSchemaValidator {
      * Validate a JSON payload against a schema contained in the schema catalog for the given
      * message type name. If the JSON contains metadata, this is removed first.  If no schema for
      * the media type can be found then it falls back to checking for schemas on the class path.
+     * Schemas are compiled when first found and cached by schema id.
      *
      * @param envelopeJson      the payload to validate
      * @param actionName        the action name
@@ -47,7 +51,7 @@ public class SchemaCatalogAwareJsonSchemaValidator {
 
     private void doValidate(final String envelopeJson, final String actionName, final MediaType mediaType) {
 
-        final Optional<Schema> schema = schemaIdMappingCache.schemaIdFor(mediaType).flatMap(schemaCatalogService::findSchema);
+        final Optional<CompiledJsonSchema> schema = schemaIdMappingCache.schemaIdFor(mediaType).flatMap(this::schemaOf);
 
         if (schema.isPresent()) {
             final JSONObject payload = payloadExtractor.extractPayloadFrom(envelopeJson);
@@ -60,4 +64,15 @@ public class SchemaCatalogAwareJsonSchemaValidator {
             fileBasedJsonSchemaValidator.validateWithoutSchemaCatalog(envelopeJson, actionName);
         }
     }
+
+    private Optional<CompiledJsonSchema> schemaOf(final String schemaId) {
+        final CompiledJsonSchema compiledSchema = schemas.get(schemaId);
+        if (compiledSchema != null) {
+            return Optional.of(compiledSchema);
+        }
+
+        final Optional<CompiledJsonSchema> schema = schemaCatalogService.findSchema(schemaId).map(JsonSchemaCompiler::compile);
+        schema.ifPresent(found -> schemas.put(schemaId, found));
+        return schema;
+    }
 }
@@ -0,0 +1,38 @@
+package uk.gov.justice.services.core.requester;
+
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking variant of {@link Requester}. Requests are dispatched on a separate executor so
+ * the calling thread is not held for the duration of the request.
+ */
+public interface AsyncRequester {
+
+    /**
+     * Request data asynchronously
+     *
+     * @param envelope the envelope containing the request
+     * @return a completion stage of the response envelope
+     */
+    CompletionStage<JsonEnvelope> requestAsync(final Envelope<?> envelope);
+
+    /**
+     * Request data asynchronously, converting the response payload to the given type
+     *
+     * @param envelope the envelope containing the request
+     * @param clazz    the type of the response payload
+     * @return a completion stage of the response envelope
+     */
+    <T> CompletionStage<Envelope<T>> requestAsync(final Envelope<?> envelope, final Class<T> clazz);
+
+    /**
+     * Request data asynchronously as the system user
+     *
+     * @param envelope the envelope containing the request
+     * @return a completion stage of the response envelope
+     */
+    CompletionStage<JsonEnvelope> requestAsAdminAsync(final JsonEnvelope envelope);
+}
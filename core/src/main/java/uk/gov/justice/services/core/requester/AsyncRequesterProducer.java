@@ -0,0 +1,38 @@
+package uk.gov.justice.services.core.requester;
+
+import uk.gov.justice.services.common.annotation.ComponentNameExtractor;
+import uk.gov.justice.services.core.annotation.ServiceComponent;
+import uk.gov.justice.services.core.dispatcher.AsyncDispatcherDelegate;
+import uk.gov.justice.services.core.dispatcher.Bulkheads;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+@ApplicationScoped
+public class AsyncRequesterProducer {
+
+    @Inject
+    RequesterProducer requesterProducer;
+
+    @Inject
+    Bulkheads bulkheads;
+
+    @Inject
+    ComponentNameExtractor componentNameExtractor;
+
+    /**
+     * Produces an asynchronous requester for the {@link ServiceComponent} annotation at the
+     * injection point, whose requests run in the bulkhead of that component.
+     *
+     * @param injectionPoint class where the {@link AsyncRequester} is being injected
+     * @return the asynchronous requester instance
+     */
+    @Produces
+    public AsyncRequester produceAsyncRequester(final InjectionPoint injectionPoint) {
+        return new AsyncDispatcherDelegate(
+                requesterProducer.produceRequester(injectionPoint),
+                bulkheads.executorFor(componentNameExtractor.componentFrom(injectionPoint)));
+    }
+}
@@ -0,0 +1,41 @@
+package uk.gov.justice.services.core.requester;
+
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+/**
+ * A {@link Requester} that answers the requests of the actions cached by the {@link QueryCache}
+ * from the cache. Requests as admin are always dispatched.
+ */
+public class CachingRequester implements Requester {
+
+    private final Requester requester;
+    private final QueryCache queryCache;
+    private final String component;
+
+    public CachingRequester(final Requester requester, final QueryCache queryCache, final String component) {
+        this.requester = requester;
+        this.queryCache = queryCache;
+        this.component = component;
+    }
+
+    @Override
+    public JsonEnvelope request(final Envelope<?> envelope) {
+        return queryCache.request(component, envelope, null, () -> requester.request(envelope));
+    }
+
+    @Override
+    public <T> Envelope<T> request(final Envelope<?> envelope, final Class<T> clazz) {
+        return queryCache.request(component, envelope, clazz, () -> requester.request(envelope, clazz));
+    }
+
+    @Override
+    public JsonEnvelope requestAsAdmin(final JsonEnvelope envelope) {
+        return requester.requestAsAdmin(envelope);
+    }
+
+    @Override
+    public <T> Envelope<T> requestAsAdmin(final Envelope<?> envelope, final Class<T> clazz) {
+        return requester.requestAsAdmin(envelope, clazz);
+    }
+}
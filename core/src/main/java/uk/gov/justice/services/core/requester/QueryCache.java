@@ -0,0 +1,341 @@
+package uk.gov.justice.services.core.requester;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+import static java.util.Arrays.stream;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.derivedMetadataFrom;
+
+import uk.gov.justice.services.common.configuration.GlobalValue;
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+import uk.gov.justice.services.common.util.Clock;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.Metadata;
+import uk.gov.justice.services.messaging.spi.EnvelopeIdGenerator;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.json.JsonValue;
+import javax.management.ObjectName;
+
+/**
+ * Caches the responses of the query actions named in the global value 'requester.cache.actions'
+ * (comma separated; nothing is cached by default) for 'requester.cache.ttl.millis' (default
+ * 1000), which can be overridden per action with 'requester.cache.ttl.millis.by.action', e.g.
+ * 'reference-data.query.courts=60000, reference-data.query.judges=5000'. At most 'requester.cache.max.entries' (default 1000) responses are
+ * kept, evicting the least recently used.
+ *
+ * Requests are identical if they are made by the same component for the same action, user, JSON
+ * payload and response type. Identical requests made while one is being dispatched wait for and
+ * share its response rather than being dispatched again. Requests or responses with a payload that
+ * is not JSON are never cached, as the payload could be modified by the caller it is returned to.
+ *
+ * Only the name and the immutable JSON payload of a response are cached. Each caller answered from
+ * the cache is given a new envelope of that payload, with metadata derived from its own request.
+ */
+@ApplicationScoped
+public class QueryCache implements QueryCacheMBean {
+
+    private static final String TTL_MILLIS = "requester.cache.ttl.millis";
+    private static final String DOMAIN_NAME = "uk.gov.justice.services.framework.requester";
+    private static final String MBEAN_NAME = "query-cache";
+
+    @Inject
+    @GlobalValue(key = "requester.cache.actions", defaultValue = "")
+    String cachedActions;
+
+    @Inject
+    @GlobalValue(key = TTL_MILLIS, defaultValue = "1000")
+    String ttlMillis;
+
+    @Inject
+    @GlobalValue(key = TTL_MILLIS + ".by.action", defaultValue = "")
+    String ttlMillisByAction;
+
+    @Inject
+    @GlobalValue(key = "requester.cache.max.entries", defaultValue = "1000")
+    String maxEntries;
+
+    @Inject
+    ContextMBeanRegistrar contextMBeanRegistrar;
+
+    @Inject
+    Clock clock;
+
+    private final EnvelopeIdGenerator envelopeIdGenerator = EnvelopeIdGenerator.provider();
+    private final Map<String, Long> ttlNanosByAction = new HashMap<>();
+    private final Map<QueryKey, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    private Map<QueryKey, CachedResponse> responses;
+    private Optional<ObjectName> registeredObjectName = Optional.empty();
+
+    @PostConstruct
+    public void initialise() {
+        final int maxSize = parseInt(maxEntries);
+        responses = new LinkedHashMap<QueryKey, CachedResponse>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<QueryKey, CachedResponse> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        final Map<String, String> actionTtlMillis = valuesByAction(ttlMillisByAction);
+        stream(cachedActions.split(","))
+                .map(String::trim)
+                .filter(actionName -> !actionName.isEmpty())
+                .forEach(actionName -> ttlNanosByAction.put(actionName,
+                        MILLISECONDS.toNanos(parseLong(actionTtlMillis.getOrDefault(actionName, ttlMillis)))));
+
+        if (isEnabled()) {
+            registeredObjectName = contextMBeanRegistrar.register(this, DOMAIN_NAME, MBEAN_NAME);
+        }
+    }
+
+    /**
+     * @return true if the responses of any action are cached
+     */
+    public boolean isEnabled() {
+        return !ttlNanosByAction.isEmpty();
+    }
+
+    /**
+     * Answers the request from the cache, from an identical request being dispatched, or by
+     * dispatching it and caching the response.
+     *
+     * @param component    the component making the request
+     * @param envelope     the request
+     * @param responseType the type of the response payload, or null for a JsonEnvelope
+     * @param dispatch     dispatches the request
+     * @param <T>          the type of the response
+     * @return the response
+     */
+    public <T extends Envelope<?>> T request(final String component, final Envelope<?> envelope, final Class<?> responseType, final Supplier<T> dispatch) {
+        final Metadata metadata = envelope.metadata();
+        final Long ttlNanos = ttlNanosByAction.get(metadata.name());
+
+        if (ttlNanos == null || !(envelope.payload() instanceof JsonValue) || !isJson(responseType)) {
+            return dispatch.get();
+        }
+
+        final QueryKey queryKey = new QueryKey(component, metadata.name(), metadata.userId().orElse(null), envelope.payload().toString(), responseType);
+
+        final CachedResponse cachedResponse = cachedResponseOf(queryKey);
+        if (cachedResponse != null) {
+            hitCount.incrementAndGet();
+            return cachedResponse.envelopeFor(envelope, responseType);
+        }
+
+        final CompletableFuture<CachedResponse> response = new CompletableFuture<>();
+        final CompletableFuture<CachedResponse> identicalResponse = inFlight.putIfAbsent(queryKey, response);
+        if (identicalResponse != null) {
+            coalescedCount.incrementAndGet();
+            final CachedResponse sharedResponse = join(identicalResponse);
+            if (sharedResponse == null) {
+                return dispatch.get();
+            }
+            return sharedResponse.envelopeFor(envelope, responseType);
+        }
+
+        missCount.incrementAndGet();
+        final long invalidationsBefore = invalidations.get();
+        try {
+            final T result = dispatch.get();
+            final CachedResponse resultToCache = cacheableResponseOf(result, ttlNanos);
+            if (resultToCache != null) {
+                cache(queryKey, resultToCache, invalidationsBefore);
+            }
+            response.complete(resultToCache);
+            return result;
+        } catch (final RuntimeException | Error e) {
+            response.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(queryKey, response);
+        }
+    }
+
+    @Override
+    public void invalidate(final String actionName) {
+        synchronized (responses) {
+            invalidations.incrementAndGet();
+            responses.keySet().removeIf(queryKey -> queryKey.actionName.equals(actionName));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (responses) {
+            invalidations.incrementAndGet();
+            responses.clear();
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    @Override
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    @Override
+    public int getSize() {
+        synchronized (responses) {
+            return responses.size();
+        }
+    }
+
+    @PreDestroy
+    public void unregister() {
+        registeredObjectName.ifPresent(contextMBeanRegistrar::unregister);
+        registeredObjectName = Optional.empty();
+    }
+
+    private Map<String, String> valuesByAction(final String valuesByAction) {
+        final Map<String, String> values = new HashMap<>();
+        stream(valuesByAction.split(","))
+                .map(String::trim)
+                .filter(actionValue -> actionValue.contains("="))
+                .forEach(actionValue -> {
+                    final int separator = actionValue.indexOf('=');
+                    values.put(actionValue.substring(0, separator).trim(), actionValue.substring(separator + 1).trim());
+                });
+
+        return values;
+    }
+
+    private CachedResponse cachedResponseOf(final QueryKey queryKey) {
+        synchronized (responses) {
+            final CachedResponse cachedResponse = responses.get(queryKey);
+
+            if (cachedResponse != null && System.nanoTime() - cachedResponse.expiresAt >= 0L) {
+                responses.remove(queryKey);
+                return null;
+            }
+
+            return cachedResponse;
+        }
+    }
+
+    private CachedResponse cacheableResponseOf(final Envelope<?> response, final long ttlNanos) {
+        if (response == null || !(response.payload() instanceof JsonValue)) {
+            return null;
+        }
+
+        return new CachedResponse(response.metadata().name(), (JsonValue) response.payload(), System.nanoTime() + ttlNanos);
+    }
+
+    private void cache(final QueryKey queryKey, final CachedResponse response, final long invalidationsBefore) {
+        synchronized (responses) {
+            if (invalidations.get() == invalidationsBefore) {
+                responses.put(queryKey, response);
+            }
+        }
+    }
+
+    private boolean isJson(final Class<?> responseType) {
+        return responseType == null || JsonValue.class.isAssignableFrom(responseType);
+    }
+
+    private CachedResponse join(final CompletableFuture<CachedResponse> response) {
+        try {
+            return response.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private class CachedResponse {
+
+        private final String name;
+        private final JsonValue payload;
+        private final long expiresAt;
+
+        private CachedResponse(final String name, final JsonValue payload, final long expiresAt) {
+            this.name = name;
+            this.payload = payload;
+            this.expiresAt = expiresAt;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T envelopeFor(final Envelope<?> request, final Class<?> responseType) {
+            final Metadata metadata = derivedMetadataFrom(request.metadata(), envelopeIdGenerator.nextId(), name, clock.now());
+
+            if (responseType == null) {
+                return (T) JsonEnvelope.envelopeFrom(metadata, payload);
+            }
+
+            return (T) Envelope.envelopeFrom(metadata, payload);
+        }
+    }
+
+    private static class QueryKey {
+
+        private final String component;
+        private final String actionName;
+        private final String userId;
+        private final String payload;
+        private final Class<?> responseType;
+        private final int hashCode;
+
+        private QueryKey(final String component, final String actionName, final String userId, final String payload, final Class<?> responseType) {
+            this.component = component;
+            this.actionName = actionName;
+            this.userId = userId;
+            this.payload = payload;
+            this.responseType = responseType;
+            this.hashCode = Objects.hash(component, actionName, userId, payload, responseType);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final QueryKey that = (QueryKey) o;
+            return hashCode == that.hashCode &&
+                    Objects.equals(component, that.component) &&
+                    Objects.equals(actionName, that.actionName) &&
+                    Objects.equals(userId, that.userId) &&
+                    Objects.equals(payload, that.payload) &&
+                    Objects.equals(responseType, that.responseType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.justice.services.core.requester;
+
+import javax.management.MXBean;
+
+/**
+ * Exposes the counts of the {@link QueryCache} and allows its entries to be invalidated.
+ */
+@MXBean
+public interface QueryCacheMBean {
+
+    /**
+     * @return the number of requests answered from the cache
+     */
+    long getHitCount();
+
+    /**
+     * @return the number of requests dispatched because no response was cached
+     */
+    long getMissCount();
+
+    /**
+     * @return the number of requests that waited for an identical request already being dispatched
+     */
+    long getCoalescedCount();
+
+    /**
+     * @return the number of cached responses, including any that have expired but not been evicted
+     */
+    int getSize();
+
+    /**
+     * Removes the cached responses of an action.
+     *
+     * @param actionName the name of the action
+     */
+    void invalidate(final String actionName);
+
+    /**
+     * Removes every cached response.
+     */
+    void invalidateAll();
+}
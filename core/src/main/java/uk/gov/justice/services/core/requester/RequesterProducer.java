@@ -1,5 +1,6 @@
 package uk.gov.justice.services.core.requester;
 
+import uk.gov.justice.services.common.annotation.ComponentNameExtractor;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.dispatcher.DispatcherCache;
 import uk.gov.justice.services.core.dispatcher.DispatcherDelegate;
@@ -15,6 +16,7 @@ import uk.gov.justice.services.core.json.JsonSchemaValidator;
 import uk.gov.justice.services.core.mapping.NameToMediaTypeConverter;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.inject.Inject;
@@ -55,9 +57,16 @@ public class RequesterProducer {
     @Inject
     JsonEnvelopeRepacker jsonEnvelopeRepacker;
 
+    @Inject
+    Instance<QueryCache> queryCache;
+
+    @Inject
+    ComponentNameExtractor componentNameExtractor;
+
     /**
      * Produces the correct implementation of a requester depending on the {@link ServiceComponent}
-     * annotation at the injection point.
+     * annotation at the injection point, answering cached queries from the {@link QueryCache} if it
+     * is deployed and any are configured.
      *
      * @param injectionPoint class where the {@link Requester} is being injected
      * @return the correct requester instance
@@ -79,11 +88,17 @@ public class RequesterProducer {
                 mediaTypeProvider,
                 envelopeInspector);
 
-        return new DispatcherDelegate(
+        final DispatcherDelegate dispatcherDelegate = new DispatcherDelegate(
                 dispatcherCache.dispatcherFor(injectionPoint),
                 systemUserUtil,
                 requestResponseEnvelopeValidator,
                 envelopePayloadTypeConverter,
                 jsonEnvelopeRepacker);
+
+        if (!queryCache.isUnsatisfied() && queryCache.get().isEnabled()) {
+            return new CachingRequester(dispatcherDelegate, queryCache.get(), componentNameExtractor.componentFrom(injectionPoint));
+        }
+
+        return dispatcherDelegate;
     }
 }
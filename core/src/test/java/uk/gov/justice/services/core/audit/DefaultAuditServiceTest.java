@@ -1,5 +1,9 @@
 package uk.gov.justice.services.core.audit;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -71,6 +75,43 @@ public class DefaultAuditServiceTest {
         verify(auditClient, never()).auditEntry(jsonEnvelope, COMPONENT);
     }
 
+    @Test
+    public void shouldAuditTheNonBlacklistedActionsOfABatchInOneCallToABatchAuditClient() throws Exception {
+        final BatchAuditClient batchAuditClient = mock(BatchAuditClient.class);
+        final JsonEnvelope otherJsonEnvelope = mock(JsonEnvelope.class);
+        final Metadata otherMetadata = mock(Metadata.class);
+        when(otherJsonEnvelope.metadata()).thenReturn(otherMetadata);
+        when(otherMetadata.name()).thenReturn("some-action");
+
+        auditService.auditClient = batchAuditClient;
+        initialisePattern(".*\\.action");
+
+        auditService.audit(asList(jsonEnvelope, otherJsonEnvelope), COMPONENT);
+
+        verify(batchAuditClient).auditEntries(singletonList(otherJsonEnvelope), COMPONENT);
+        verify(batchAuditClient, never()).auditEntry(any(JsonEnvelope.class), any(String.class));
+    }
+
+    @Test
+    public void shouldAuditEachEnvelopeOfABatchIfTheAuditClientHasNoBatchCall() throws Exception {
+        initialisePattern("");
+
+        auditService.audit(asList(jsonEnvelope, jsonEnvelope), COMPONENT);
+
+        verify(auditClient, times(2)).auditEntry(jsonEnvelope, COMPONENT);
+    }
+
+    @Test
+    public void shouldNotCallTheAuditClientIfEveryActionOfABatchIsBlacklisted() throws Exception {
+        final BatchAuditClient batchAuditClient = mock(BatchAuditClient.class);
+        auditService.auditClient = batchAuditClient;
+        initialisePattern(".*\\.action");
+
+        auditService.audit(singletonList(jsonEnvelope), COMPONENT);
+
+        verify(batchAuditClient, never()).auditEntries(any(), any(String.class));
+    }
+
     private void initialisePattern(final String pattern) {
         auditService.auditBlacklist = pattern;
         auditService.initialise();
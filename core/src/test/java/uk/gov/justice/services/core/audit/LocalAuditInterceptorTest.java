@@ -1,6 +1,12 @@
 package uk.gov.justice.services.core.audit;
 
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
 import static uk.gov.justice.services.core.interceptor.InterceptorContext.interceptorContextWithInput;
 
@@ -15,6 +21,7 @@ import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.List;
 
 import javax.inject.Inject;
 
@@ -76,6 +83,41 @@ public class LocalAuditInterceptorTest {
         verify(auditService).audit(outputEnvelope, UNKNOWN_COMPONENT);
     }
 
+    @Test
+    public void shouldAuditEachInputAndOutputOfABatch() throws Exception {
+        final JsonEnvelope inputEnvelope_2 = mock(JsonEnvelope.class);
+        final InterceptorContext inputContext_1 = interceptorContextWithInput(inputEnvelope);
+        final InterceptorContext inputContext_2 = interceptorContextWithInput(inputEnvelope_2);
+        inputContext_1.setInputParameter("component", COMPONENT);
+        inputContext_2.setInputParameter("component", COMPONENT);
+
+        final List<InterceptorContext> outputContexts = ((DefaultInterceptorChain) interceptorChain)
+                .processNextBatch(asList(inputContext_1, inputContext_2));
+
+        assertThat(outputContexts.size(), is(2));
+        verify(auditService).audit(inputEnvelope, COMPONENT);
+        verify(auditService).audit(inputEnvelope_2, COMPONENT);
+        verify(auditService, times(2)).audit(outputEnvelope, COMPONENT);
+    }
+
+    @Test
+    public void shouldAuditTheInputsAndOutputsOfABatchWithOneCallEach() throws Exception {
+        final BatchAuditService batchAuditService = mock(BatchAuditService.class);
+        localAuditInterceptor.auditService = batchAuditService;
+
+        final JsonEnvelope inputEnvelope_2 = mock(JsonEnvelope.class);
+        final InterceptorContext inputContext_1 = interceptorContextWithInput(inputEnvelope);
+        final InterceptorContext inputContext_2 = interceptorContextWithInput(inputEnvelope_2);
+        inputContext_1.setInputParameter("component", COMPONENT);
+        inputContext_2.setInputParameter("component", COMPONENT);
+
+        ((DefaultInterceptorChain) interceptorChain).processNextBatch(asList(inputContext_1, inputContext_2));
+
+        verify(batchAuditService).audit(asList(inputEnvelope, inputEnvelope_2), COMPONENT);
+        verify(batchAuditService).audit(asList(outputEnvelope, outputEnvelope), COMPONENT);
+        verifyNoMoreInteractions(batchAuditService);
+    }
+
     @Adapter(COMMAND_API)
     public static class TestCommandLocal {
         @Inject
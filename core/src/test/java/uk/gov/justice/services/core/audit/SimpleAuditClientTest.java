@@ -1,6 +1,7 @@
 package uk.gov.justice.services.core.audit;
 
 import static com.jayway.jsonassert.JsonAssert.with;
+import static java.util.Arrays.asList;
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -60,4 +61,28 @@ public class SimpleAuditClientTest {
                 .assertEquals("component", COMPONENT)
                 .assertEquals("envelope.propertyName", propertyValue);
     }
+
+    @Test
+    public void shouldLogTheAuditEntriesOfABatchAsOneMessage() throws Exception {
+
+        final String serviceContextName = "the-service-context-name";
+        final JsonEnvelope envelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope envelope_2 = mock(JsonEnvelope.class);
+
+        when(envelope_1.toString()).thenReturn(new JSONObject().put("propertyName", "value 1").toString());
+        when(envelope_2.toString()).thenReturn(new JSONObject().put("propertyName", "value 2").toString());
+        when(serviceContextNameProvider.getServiceContextName()).thenReturn(serviceContextName);
+
+        simpleAuditClient.auditEntries(asList(envelope_1, envelope_2), COMPONENT);
+
+        final ArgumentCaptor<String> argumentCaptor = forClass(String.class);
+
+        verify(logger).info(argumentCaptor.capture());
+
+        with(argumentCaptor.getValue())
+                .assertEquals("serviceContext", serviceContextName)
+                .assertEquals("component", COMPONENT)
+                .assertEquals("envelopes[0].propertyName", "value 1")
+                .assertEquals("envelopes[1].propertyName", "value 2");
+    }
 }
@@ -0,0 +1,149 @@
+package uk.gov.justice.services.core.concurrency;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = MILLISECONDS.toNanos(10L);
+    private static final long SLOW = MILLISECONDS.toNanos(100L);
+
+    @Test
+    public void shouldAdmitRequestsUpToTheLimit() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0, 0L);
+
+        assertThat(limiter.acquire(), is(true));
+        assertThat(limiter.acquire(), is(true));
+        assertThat(limiter.acquire(), is(false));
+
+        assertThat(limiter.getInFlight(), is(2));
+        assertThat(limiter.getRejectedCount(), is(1L));
+    }
+
+    @Test
+    public void shouldAdmitAQueuedRequestWhenARequestIsReleased() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1, SECONDS.toMillis(5L));
+        limiter.acquire();
+
+        final CompletableFuture<Boolean> queuedRequest = CompletableFuture.supplyAsync(() -> acquire(limiter));
+        while (limiter.getQueued() == 0) {
+            Thread.sleep(1L);
+        }
+        limiter.release(FAST);
+
+        assertThat(queuedRequest.get(5, SECONDS), is(true));
+        assertThat(limiter.getQueued(), is(0));
+        assertThat(limiter.getInFlight(), is(1));
+    }
+
+    @Test
+    public void shouldRejectAQueuedRequestThatTimesOut() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1, 10L);
+        limiter.acquire();
+
+        assertThat(limiter.acquire(), is(false));
+        assertThat(limiter.getQueued(), is(0));
+        assertThat(limiter.getRejectedCount(), is(1L));
+    }
+
+    @Test
+    public void shouldRejectRequestsWhenTheQueueIsFull() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0, SECONDS.toMillis(5L));
+        limiter.acquire();
+
+        assertThat(limiter.acquire(), is(false));
+    }
+
+    @Test
+    public void shouldRaiseTheLimitWhileLatencyHoldsUnderLoad() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 0L);
+
+        runAtLimit(limiter, FAST, 50);
+
+        assertThat(limiter.getLimit(), is(greaterThan(10)));
+    }
+
+    @Test
+    public void shouldNotRaiseTheLimitWhileLightlyLoaded() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 0L);
+
+        for (int request = 0; request < 50; request++) {
+            limiter.acquire();
+            limiter.release(FAST);
+        }
+
+        assertThat(limiter.getLimit(), is(10));
+    }
+
+    @Test
+    public void shouldLowerTheLimitWhenLatencyRises() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100, 0, 0L);
+
+        runAtLimit(limiter, FAST, 20);
+        final int limitBeforeSlowdown = limiter.getLimit();
+        runAtLimit(limiter, SLOW, 20);
+
+        assertThat(limiter.getLimit(), is(lessThan(limitBeforeSlowdown)));
+        assertThat(limiter.getShortTermLatencyMillis(), is(greaterThan(limiter.getLongTermLatencyMillis())));
+    }
+
+    @Test
+    public void shouldKeepTheLimitWithinItsBounds() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 2, 8, 0, 0L);
+
+        runAtLimit(limiter, FAST, 100);
+        assertThat(limiter.getLimit(), is(8));
+
+        runAtLimit(limiter, SECONDS.toNanos(10L), 100);
+        assertThat(limiter.getLimit(), is(2));
+    }
+
+    @Test
+    public void shouldNotAdaptTheLimitToFailedRequests() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 0L);
+
+        for (int round = 0; round < 20; round++) {
+            while (limiter.acquire()) {
+            }
+            for (int request = 0; request < 10; request++) {
+                limiter.release();
+            }
+        }
+
+        assertThat(limiter.getLimit(), is(10));
+        assertThat(limiter.getInFlight(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireAMinimumLimitOfAtLeastOne() throws Exception {
+        new AdaptiveConcurrencyLimiter(1, 0, 1, 0, 0L);
+    }
+
+    private void runAtLimit(final AdaptiveConcurrencyLimiter limiter, final long latencyNanos, final int rounds) throws InterruptedException {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.acquire()) {
+                admitted++;
+            }
+            for (int request = 0; request < admitted; request++) {
+                limiter.release(latencyNanos);
+            }
+        }
+    }
+
+    private boolean acquire(final AdaptiveConcurrencyLimiter limiter) {
+        try {
+            return limiter.acquire();
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
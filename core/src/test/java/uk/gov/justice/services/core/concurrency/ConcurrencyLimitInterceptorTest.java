@@ -0,0 +1,105 @@
+package uk.gov.justice.services.core.concurrency;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.common.concurrency.ConcurrencyLimitExceededException;
+import uk.gov.justice.services.core.interceptor.InterceptorChain;
+import uk.gov.justice.services.core.interceptor.InterceptorContext;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConcurrencyLimitInterceptorTest {
+
+    private static final String COMPONENT = "COMMAND_API";
+
+    @Mock
+    private ConcurrencyLimiters concurrencyLimiters;
+
+    @Mock
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Mock
+    private InterceptorContext interceptorContext;
+
+    @Mock
+    private InterceptorContext resultContext;
+
+    @Mock
+    private InterceptorChain interceptorChain;
+
+    @InjectMocks
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Before
+    public void setup() {
+        when(interceptorContext.getComponentName()).thenReturn(COMPONENT);
+        when(concurrencyLimiters.limiterFor(COMPONENT)).thenReturn(limiter);
+    }
+
+    @Test
+    public void shouldProcessTheRestOfTheChainAndReleaseWithItsLatencyIfAdmitted() throws Exception {
+        when(limiter.acquire()).thenReturn(true);
+        when(interceptorChain.processNext(interceptorContext)).thenReturn(resultContext);
+
+        assertThat(concurrencyLimitInterceptor.process(interceptorContext, interceptorChain), is(resultContext));
+
+        verify(limiter).release(anyLong());
+    }
+
+    @Test
+    public void shouldThrowExceptionAndNotProcessTheChainIfRejected() throws Exception {
+        when(limiter.acquire()).thenReturn(false);
+        when(limiter.getLimit()).thenReturn(5);
+
+        try {
+            concurrencyLimitInterceptor.process(interceptorContext, interceptorChain);
+            fail("Expected the request to be rejected");
+        } catch (final ConcurrencyLimitExceededException e) {
+            assertThat(e.getMessage(), is("Component 'COMMAND_API' is at its concurrency limit of 5"));
+        }
+
+        verify(interceptorChain, never()).processNext(interceptorContext);
+        verify(limiter, never()).release();
+        verify(limiter, never()).release(anyLong());
+    }
+
+    @Test
+    public void shouldReleaseWithoutLatencyIfTheChainFails() throws Exception {
+        final RuntimeException failure = new RuntimeException("Handler failed");
+        when(limiter.acquire()).thenReturn(true);
+        when(interceptorChain.processNext(interceptorContext)).thenThrow(failure);
+
+        try {
+            concurrencyLimitInterceptor.process(interceptorContext, interceptorChain);
+            fail("Expected the failure of the chain to be rethrown");
+        } catch (final RuntimeException e) {
+            assertThat(e, is(failure));
+        }
+
+        verify(limiter).release();
+        verify(limiter, never()).release(anyLong());
+    }
+
+    @Test(expected = ConcurrencyLimitExceededException.class)
+    public void shouldThrowExceptionIfInterruptedWhileQueued() throws Exception {
+        when(limiter.acquire()).thenThrow(new InterruptedException());
+
+        try {
+            concurrencyLimitInterceptor.process(interceptorContext, interceptorChain);
+        } finally {
+            assertThat(Thread.interrupted(), is(true));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.justice.services.core.concurrency;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+
+import java.util.Optional;
+
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConcurrencyLimitersTest {
+
+    @Mock
+    private ContextMBeanRegistrar contextMBeanRegistrar;
+
+    @InjectMocks
+    private ConcurrencyLimiters concurrencyLimiters;
+
+    @Before
+    public void setup() {
+        concurrencyLimiters.initialLimit = "20";
+        concurrencyLimiters.minLimit = "1";
+        concurrencyLimiters.maxLimit = "200";
+        concurrencyLimiters.maxQueueSize = "50";
+        concurrencyLimiters.queueTimeoutMillis = "500";
+
+        when(contextMBeanRegistrar.register(any(), any(String.class), any(String.class))).thenReturn(Optional.empty());
+    }
+
+    @Test
+    public void shouldCreateOneLimiterPerComponentWithTheConfiguredLimit() throws Exception {
+        final AdaptiveConcurrencyLimiter commandApiLimiter = concurrencyLimiters.limiterFor("COMMAND_API");
+
+        assertThat(concurrencyLimiters.limiterFor("COMMAND_API"), is(sameInstance(commandApiLimiter)));
+        assertThat(concurrencyLimiters.limiterFor("QUERY_API"), is(not(sameInstance(commandApiLimiter))));
+        assertThat(commandApiLimiter.getLimit(), is(20));
+    }
+
+    @Test
+    public void shouldRegisterAndUnregisterTheLimiterOfEachComponent() throws Exception {
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.concurrency:type=people-command-api-concurrency-limit-COMMAND_API");
+
+        when(contextMBeanRegistrar.register(any(AdaptiveConcurrencyLimiter.class), any(String.class), any(String.class))).thenReturn(Optional.of(objectName));
+
+        final AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.limiterFor("COMMAND_API");
+        verify(contextMBeanRegistrar).register(limiter, "uk.gov.justice.services.framework.concurrency", "concurrency-limit-COMMAND_API");
+
+        concurrencyLimiters.unregister();
+        verify(contextMBeanRegistrar).unregister(objectName);
+    }
+}
@@ -0,0 +1,129 @@
+package uk.gov.justice.services.core.dispatcher;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.core.requester.Requester;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncDispatcherDelegateTest {
+
+    @Mock
+    private Requester requester;
+
+    @Mock
+    private Executor executor;
+
+    private AsyncDispatcherDelegate asyncDispatcherDelegate;
+
+    @Before
+    public void setUp() throws Exception {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        asyncDispatcherDelegate = new AsyncDispatcherDelegate(requester, executor);
+    }
+
+    @Test
+    public void shouldRequestOnTheExecutor() throws Exception {
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+        final JsonEnvelope response = mock(JsonEnvelope.class);
+
+        when(requester.request(envelope)).thenReturn(response);
+
+        assertThat(asyncDispatcherDelegate.requestAsync(envelope).toCompletableFuture().get(), is(response));
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldRequestWithPayloadTypeOnTheExecutor() throws Exception {
+        final Envelope<Object> envelope = mock(Envelope.class);
+        final Envelope<String> response = mock(Envelope.class);
+
+        when(requester.request(envelope, String.class)).thenReturn(response);
+
+        assertThat(asyncDispatcherDelegate.requestAsync(envelope, String.class).toCompletableFuture().get(), is(response));
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldRequestAsAdminOnTheExecutor() throws Exception {
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+        final JsonEnvelope response = mock(JsonEnvelope.class);
+
+        when(requester.requestAsAdmin(envelope)).thenReturn(response);
+
+        assertThat(asyncDispatcherDelegate.requestAsAdminAsync(envelope).toCompletableFuture().get(), is(response));
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldFailTheResponseIfTheExecutorRejectsTheRequest() throws Exception {
+        final RejectedExecutionException rejection = new RejectedExecutionException("Executor is full");
+        doThrow(rejection).when(executor).execute(any(Runnable.class));
+
+        final CompletableFuture<JsonEnvelope> response = asyncDispatcherDelegate.requestAsync(mock(JsonEnvelope.class)).toCompletableFuture();
+
+        try {
+            response.get();
+            fail("Expected the request to be rejected");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(rejection));
+        }
+    }
+
+    @Test
+    public void shouldRequestInTheBulkhead() throws Exception {
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+        final JsonEnvelope response = mock(JsonEnvelope.class);
+        final BulkheadExecutor bulkheadExecutor = new BulkheadExecutor("QUERY_API", executor, 1, 0, 0L);
+
+        when(requester.request(envelope)).thenReturn(response);
+
+        assertThat(new AsyncDispatcherDelegate(requester, bulkheadExecutor).requestAsync(envelope).toCompletableFuture().get(5, SECONDS), is(response));
+        assertThat(bulkheadExecutor.getCompletedCount(), is(1L));
+    }
+
+    @Test
+    public void shouldFailTheResponseWithoutBlockingIfTheBulkheadIsFull() throws Exception {
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+        final BulkheadExecutor bulkheadExecutor = new BulkheadExecutor("QUERY_API", runnable -> {
+        }, 1, 0, SECONDS.toMillis(5L));
+        final AsyncDispatcherDelegate bulkheadDelegate = new AsyncDispatcherDelegate(requester, bulkheadExecutor);
+
+        bulkheadDelegate.requestAsync(envelope);
+        final CompletableFuture<JsonEnvelope> response = bulkheadDelegate.requestAsync(envelope).toCompletableFuture();
+
+        assertThat(response.isCompletedExceptionally(), is(true));
+        try {
+            response.get();
+            fail("Expected the request to be rejected");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause().getMessage(), is("Bulkhead 'QUERY_API' is full: too many calls are already waiting"));
+        }
+    }
+}
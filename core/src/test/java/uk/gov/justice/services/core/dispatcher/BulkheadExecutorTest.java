@@ -0,0 +1,251 @@
+package uk.gov.justice.services.core.dispatcher;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BulkheadExecutorTest {
+
+    @Mock
+    private Executor rejectingExecutor;
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunCallsOnTheSharedExecutor() throws Exception {
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 2, 0, 0L);
+
+        assertThat(bulkhead.supplyAsync(() -> "response").get(5, SECONDS), is("response"));
+        waitForActiveCallsToFinish(bulkhead);
+        assertThat(bulkhead.getCompletedCount(), is(1L));
+    }
+
+    @Test
+    public void shouldFailTheFutureOfACallThatFailed() throws Exception {
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 1, 0, 0L);
+        final IllegalStateException failure = new IllegalStateException("Request failed");
+
+        assertFailedWith(bulkhead.supplyAsync(() -> {
+            throw failure;
+        }), failure);
+
+        waitForActiveCallsToFinish(bulkhead);
+        assertThat(bulkhead.supplyAsync(() -> "response").get(5, SECONDS), is("response"));
+    }
+
+    @Test
+    public void shouldRejectCallsOverTheConcurrentCallsIfNoneCanWaitWithoutBlocking() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 1, 0, SECONDS.toMillis(5L));
+
+        bulkhead.supplyAsync(() -> await(released));
+
+        final CompletableFuture<String> rejected = bulkhead.supplyAsync(() -> "response");
+
+        assertThat(rejected.isCompletedExceptionally(), is(true));
+        assertRejectedWith(rejected, "Bulkhead 'COMPONENT' is full: too many calls are already waiting");
+        assertThat(bulkhead.getActiveCalls(), is(1));
+        assertThat(bulkhead.getRejectedCount(), is(1L));
+
+        released.countDown();
+    }
+
+    @Test
+    public void shouldNotBlockTheCallerWhileACallWaits() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 1, 1, SECONDS.toMillis(5L));
+
+        bulkhead.supplyAsync(() -> await(released));
+
+        final CompletableFuture<CompletableFuture<String>> submit = CompletableFuture.supplyAsync(() -> bulkhead.supplyAsync(() -> "response"));
+        final CompletableFuture<String> waiting = submit.get(100, MILLISECONDS);
+
+        assertThat(waiting.isDone(), is(false));
+        assertThat(bulkhead.getWaitingCalls(), is(1));
+
+        released.countDown();
+
+        assertThat(waiting.get(5, SECONDS), is("response"));
+        assertThat(bulkhead.getWaitingCalls(), is(0));
+    }
+
+    @Test
+    public void shouldRejectACallThatWaitedTooLong() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 1, 1, 10L);
+
+        bulkhead.supplyAsync(() -> await(released));
+        final CompletableFuture<String> waiting = bulkhead.supplyAsync(() -> "response");
+
+        Thread.sleep(20L);
+        released.countDown();
+
+        assertRejectedWith(waiting, "Bulkhead 'COMPONENT' is full: no call finished within 10 ms");
+        assertThat(bulkhead.getWaitingCalls(), is(0));
+        assertThat(bulkhead.getRejectedCount(), is(1L));
+    }
+
+    @Test
+    public void shouldRejectACallThatWaitedTooLongWhenAnotherCallIsSubmitted() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 1, 1, 10L);
+
+        bulkhead.supplyAsync(() -> await(released));
+        final CompletableFuture<String> expired = bulkhead.supplyAsync(() -> "expired");
+
+        Thread.sleep(20L);
+        final CompletableFuture<String> waiting = bulkhead.supplyAsync(() -> "response");
+
+        assertRejectedWith(expired, "Bulkhead 'COMPONENT' is full: no call finished within 10 ms");
+        assertThat(waiting.isDone(), is(false));
+
+        released.countDown();
+    }
+
+    @Test
+    public void shouldRunWaitingCallsInTheOrderSubmitted() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final StringBuffer order = new StringBuffer();
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 1, 2, SECONDS.toMillis(5L));
+
+        bulkhead.supplyAsync(() -> await(released));
+        final CompletableFuture<StringBuffer> first = bulkhead.supplyAsync(() -> order.append("first "));
+        final CompletableFuture<StringBuffer> second = bulkhead.supplyAsync(() -> order.append("second"));
+
+        released.countDown();
+
+        first.get(5, SECONDS);
+        second.get(5, SECONDS);
+        assertThat(order.toString(), is("first second"));
+    }
+
+    @Test
+    public void shouldReleaseTheCallIfTheSharedExecutorRejectsIt() throws Exception {
+        final RejectedExecutionException rejection = new RejectedExecutionException("Shared executor is full");
+        doThrow(rejection).when(rejectingExecutor).execute(any(Runnable.class));
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", rejectingExecutor, 1, 0, 0L);
+
+        assertFailedWith(bulkhead.supplyAsync(() -> "response"), rejection);
+        assertThat(bulkhead.getActiveCalls(), is(0));
+    }
+
+    @Test
+    public void shouldRunASynchronousCallOnTheCallingThread() throws Exception {
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", rejectingExecutor, 1, 0, 0L);
+        final Thread callingThread = Thread.currentThread();
+
+        assertThat(bulkhead.supply(() -> Thread.currentThread() == callingThread), is(true));
+        assertThat(bulkhead.getActiveCalls(), is(0));
+        assertThat(bulkhead.getCompletedCount(), is(1L));
+    }
+
+    @Test
+    public void shouldRejectASynchronousCallWhileTheBulkheadIsFullIfNoneCanWait() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 1, 0, SECONDS.toMillis(5L));
+
+        bulkhead.supplyAsync(() -> await(released));
+
+        try {
+            bulkhead.supply(() -> "response");
+            fail("Expected the call to be rejected");
+        } catch (final RejectedExecutionException e) {
+            assertThat(e.getMessage(), is("Bulkhead 'COMPONENT' is full: too many calls are already waiting"));
+        }
+
+        released.countDown();
+    }
+
+    @Test
+    public void shouldRejectASynchronousCallThatWaitedTooLong() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 1, 1, 10L);
+
+        bulkhead.supplyAsync(() -> await(released));
+
+        try {
+            bulkhead.supply(() -> "response");
+            fail("Expected the call to be rejected");
+        } catch (final RejectedExecutionException e) {
+            assertThat(e.getMessage(), is("Bulkhead 'COMPONENT' is full: no call finished within 10 ms"));
+        }
+        assertThat(bulkhead.getWaitingCalls(), is(0));
+
+        released.countDown();
+    }
+
+    @Test
+    public void shouldRunASynchronousCallOnceAnotherCallHasFinished() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        final BulkheadExecutor bulkhead = new BulkheadExecutor("COMPONENT", executorService, 1, 1, SECONDS.toMillis(5L));
+
+        bulkhead.supplyAsync(() -> await(released));
+        executorService.submit(released::countDown);
+
+        assertThat(bulkhead.supply(() -> "response"), is("response"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireAtLeastOneConcurrentCall() throws Exception {
+        new BulkheadExecutor("COMPONENT", executorService, 0, 0, 0L);
+    }
+
+    private void assertRejectedWith(final CompletableFuture<?> future, final String message) throws Exception {
+        try {
+            future.get(5, SECONDS);
+            fail("Expected the call to be rejected");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(RejectedExecutionException.class)));
+            assertThat(e.getCause().getMessage(), is(message));
+        }
+    }
+
+    private void assertFailedWith(final CompletableFuture<?> future, final Throwable failure) throws Exception {
+        try {
+            future.get(5, SECONDS);
+            fail("Expected the call to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(failure));
+        }
+    }
+
+    private void waitForActiveCallsToFinish(final BulkheadExecutor bulkhead) throws InterruptedException {
+        while (bulkhead.getActiveCalls() > 0) {
+            Thread.sleep(1L);
+        }
+    }
+
+    private String await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "released";
+    }
+}
@@ -0,0 +1,87 @@
+package uk.gov.justice.services.core.dispatcher;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BulkheadsTest {
+
+    @Mock
+    private DispatcherExecutorProvider dispatcherExecutorProvider;
+
+    @Mock
+    private Executor executor;
+
+    @Mock
+    private ContextMBeanRegistrar contextMBeanRegistrar;
+
+    @InjectMocks
+    private Bulkheads bulkheads;
+
+    @Before
+    public void setup() {
+        bulkheads.maxConcurrentCalls = "25";
+        bulkheads.maxWaitingCalls = "50";
+        bulkheads.maxWaitMillis = "1000";
+        bulkheads.maxConcurrentCallsByComponent = "";
+        bulkheads.maxWaitingCallsByComponent = "";
+        bulkheads.maxWaitMillisByComponent = "";
+
+        when(dispatcherExecutorProvider.getExecutor()).thenReturn(executor);
+        when(contextMBeanRegistrar.register(any(), any(String.class), any(String.class))).thenReturn(Optional.empty());
+    }
+
+    @Test
+    public void shouldCreateOneBulkheadPerComponent() throws Exception {
+        final BulkheadExecutor queryApiBulkhead = bulkheads.executorFor("QUERY_API");
+
+        assertThat(bulkheads.executorFor("QUERY_API"), is(sameInstance(queryApiBulkhead)));
+        assertThat(bulkheads.executorFor("EVENT_LISTENER"), is(not(sameInstance(queryApiBulkhead))));
+        assertThat(queryApiBulkhead.getMaxConcurrentCalls(), is(25));
+        assertThat(queryApiBulkhead.getMaxWaitingCalls(), is(50));
+    }
+
+    @Test
+    public void shouldOverrideTheLimitsOfSomeComponentsWithGlobalValues() throws Exception {
+        bulkheads.maxConcurrentCallsByComponent = "EVENT_LISTENER=5, EVENT_PROCESSOR = 10";
+        bulkheads.maxWaitingCallsByComponent = "EVENT_LISTENER=0";
+
+        assertThat(bulkheads.executorFor("EVENT_LISTENER").getMaxConcurrentCalls(), is(5));
+        assertThat(bulkheads.executorFor("EVENT_LISTENER").getMaxWaitingCalls(), is(0));
+        assertThat(bulkheads.executorFor("EVENT_PROCESSOR").getMaxConcurrentCalls(), is(10));
+        assertThat(bulkheads.executorFor("EVENT_PROCESSOR").getMaxWaitingCalls(), is(50));
+        assertThat(bulkheads.executorFor("QUERY_API").getMaxConcurrentCalls(), is(25));
+    }
+
+    @Test
+    public void shouldRegisterAndUnregisterTheBulkheadOfEachComponent() throws Exception {
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.dispatch:type=people-query-api-bulkhead-QUERY_API");
+
+        when(contextMBeanRegistrar.register(any(BulkheadExecutor.class), any(String.class), any(String.class))).thenReturn(Optional.of(objectName));
+
+        final BulkheadExecutor bulkhead = bulkheads.executorFor("QUERY_API");
+        verify(contextMBeanRegistrar).register(bulkhead, "uk.gov.justice.services.framework.dispatch", "bulkhead-QUERY_API");
+
+        bulkheads.unregister();
+        verify(contextMBeanRegistrar).unregister(objectName);
+    }
+}
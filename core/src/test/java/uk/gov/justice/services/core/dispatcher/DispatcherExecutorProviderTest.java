@@ -0,0 +1,61 @@
+package uk.gov.justice.services.core.dispatcher;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.ExecutorService;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DispatcherExecutorProviderTest {
+
+    @Mock
+    private ManagedExecutorService managedExecutorService;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private DispatcherExecutorProvider dispatcherExecutorProvider;
+
+    @Test
+    public void shouldUseTheManagedExecutorServiceByDefault() throws Exception {
+        dispatcherExecutorProvider.useVirtualThreads = "false";
+        dispatcherExecutorProvider.initialise();
+
+        assertThat(dispatcherExecutorProvider.getExecutor(), is(managedExecutorService));
+    }
+
+    @Test
+    public void shouldProvideAnExecutorWhenVirtualThreadsAreRequested() throws Exception {
+        dispatcherExecutorProvider.useVirtualThreads = "true";
+        dispatcherExecutorProvider.initialise();
+
+        assertThat(dispatcherExecutorProvider.getExecutor(), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldShutDownTheVirtualThreadExecutorButNotTheManagedExecutorService() throws Exception {
+        dispatcherExecutorProvider.useVirtualThreads = "true";
+        dispatcherExecutorProvider.initialise();
+        final boolean virtualThreadsSupported = dispatcherExecutorProvider.getExecutor() != managedExecutorService;
+
+        dispatcherExecutorProvider.shutdown();
+
+        if (virtualThreadsSupported) {
+            assertThat(((ExecutorService) dispatcherExecutorProvider.getExecutor()).isShutdown(), is(true));
+        }
+        verify(managedExecutorService, never()).shutdown();
+    }
+}
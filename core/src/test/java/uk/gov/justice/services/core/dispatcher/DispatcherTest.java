@@ -6,7 +6,13 @@ import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
 import static uk.gov.justice.services.core.annotation.Component.QUERY_API;
 import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
@@ -25,6 +31,8 @@ import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.test.utils.common.envelope.TestEnvelopeRecorder;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 import javax.json.JsonValue;
 
@@ -139,6 +147,40 @@ public class DispatcherTest {
     }
 
 
+    @Test
+    public void shouldNotConvertPayloadsWhenHandlerTakesAndReturnsJsonEnvelope() throws Exception {
+        final EnvelopePayloadTypeConverter typeConverter = mock(EnvelopePayloadTypeConverter.class);
+        final JsonEnvelopeRepacker jsonEnvelopeRepacker = mock(JsonEnvelopeRepacker.class);
+        final Dispatcher dispatcherWithMockConverters = new Dispatcher(handlerRegistry, typeConverter, jsonEnvelopeRepacker);
+
+        final JsonEnvelope envelope = envelopeFrom(metadata, createObjectBuilder().add("aField", "aValue").build());
+
+        dispatcherWithMockConverters.register(new SynchronousTestHandler());
+        final JsonEnvelope response = dispatcherWithMockConverters.dispatch(envelope);
+
+        assertThat(response, sameInstance(envelope));
+        verifyZeroInteractions(typeConverter, jsonEnvelopeRepacker);
+    }
+
+    @Test
+    public void shouldDispatchOnTheGivenExecutor() throws Exception {
+        final SynchronousTestHandler synchronousTestHandler = new SynchronousTestHandler();
+        final Executor executor = mock(Executor.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        final JsonEnvelope envelope = envelopeFrom(metadata, createObjectBuilder().add("aField", "aValue").build());
+
+        dispatcher.register(synchronousTestHandler);
+        final CompletionStage<JsonEnvelope> response = dispatcher.dispatchAsync(envelope, executor);
+
+        assertThat(response.toCompletableFuture().get(), equalTo(envelope));
+        assertThat(synchronousTestHandler.envelope, equalTo(envelope));
+        verify(executor).execute(any(Runnable.class));
+    }
+
     private JsonValue withPayloadOfTestPojo(String payloadId, String payloadName, long payloadVersion) {
         return createObjectBuilder()
                     .add("payloadId", payloadId)
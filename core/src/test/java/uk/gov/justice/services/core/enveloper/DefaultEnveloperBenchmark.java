@@ -0,0 +1,118 @@
+package uk.gov.justice.services.core.enveloper;
+
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.messaging.JsonEnvelope.metadataBuilder;
+
+import uk.gov.justice.services.common.converter.ObjectToJsonValueConverter;
+import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.core.extension.EventFoundEvent;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of deriving event envelopes with the {@link DefaultEnveloper} from a command whose
+ * causation chain is of the given depth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultEnveloperBenchmark {
+
+    private static final String EVENT_NAME = "benchmark.event.something-happened";
+
+    @Param({"1", "10", "100", "1000"})
+    private int causationDepth;
+
+    private Function<Object, JsonEnvelope> withEventMetadata;
+    private Function<Object, JsonEnvelope> withNamedMetadata;
+    private Function<Object, JsonEnvelope> withDerivedEventMetadata;
+
+    @Setup
+    public void setup() {
+        final DefaultEnveloper enveloper = new DefaultEnveloper(
+                new UtcClock(),
+                new ObjectToJsonValueConverter(new ObjectMapperProducer().objectMapper()));
+        enveloper.register(new EventFoundEvent(BenchmarkEvent.class, EVENT_NAME));
+
+        final UUID[] causation = new UUID[causationDepth];
+        for (int index = 0; index < causationDepth; index++) {
+            causation[index] = randomUUID();
+        }
+
+        final JsonEnvelope command = envelopeFrom(
+                metadataBuilder()
+                        .withId(randomUUID())
+                        .withName("benchmark.command.do-something")
+                        .withCausation(causation)
+                        .withUserId(randomUUID().toString())
+                        .withSessionId(randomUUID().toString())
+                        .withClientCorrelationId(randomUUID().toString())
+                        .withStreamId(randomUUID())
+                        .withVersion(1L),
+                createObjectBuilder().add("commandField", "value"));
+
+        withEventMetadata = enveloper.withMetadataFrom(command);
+        withNamedMetadata = enveloper.withMetadataFrom(command, EVENT_NAME);
+        withDerivedEventMetadata = enveloper.withMetadataFrom(withEventMetadata.apply(new BenchmarkEvent()));
+    }
+
+    @Benchmark
+    public JsonEnvelope envelopeRegisteredEvent() {
+        return withEventMetadata.apply(new BenchmarkEvent());
+    }
+
+    @Benchmark
+    public JsonEnvelope envelopeNamedEvent() {
+        return withNamedMetadata.apply(null);
+    }
+
+    @Benchmark
+    public String envelopeAndWriteMetadata() {
+        return withEventMetadata.apply(new BenchmarkEvent()).metadata().asJsonObject().toString();
+    }
+
+    @Benchmark
+    public JsonEnvelope envelopeFromDerivedEvent() {
+        return withDerivedEventMetadata.apply(new BenchmarkEvent());
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DefaultEnveloperBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    public static class BenchmarkEvent {
+
+        private final String field = "value";
+
+        public String getField() {
+            return field;
+        }
+    }
+}
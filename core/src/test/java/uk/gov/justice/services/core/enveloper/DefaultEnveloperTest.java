@@ -120,6 +120,39 @@ public class DefaultEnveloperTest {
         assertThat(event.metadata().causation().get(1), equalTo(COMMAND_UUID));
     }
 
+    @Test
+    public void shouldUseTheEnvelopeIdGeneratorForTheIdOfTheNewEnvelope() throws Exception {
+        final UUID newId = randomUUID();
+        final DefaultEnveloper enveloperWithIdGenerator = new DefaultEnveloper(
+                new UtcClock(),
+                new ObjectToJsonValueConverter(new ObjectMapperProducer().objectMapper()),
+                () -> newId);
+
+        final JsonEnvelope event = enveloperWithIdGenerator.withMetadataFrom(
+                envelopeFrom(
+                        metadataBuilder()
+                                .withId(COMMAND_UUID)
+                                .withName(TEST_EVENT_NAME),
+                        createObjectBuilder()), TEST_NAME)
+                .apply(new TestEvent());
+
+        assertThat(event.metadata().id(), equalTo(newId));
+        assertThat(event.metadata().causation().get(0), equalTo(COMMAND_UUID));
+    }
+
+    @Test
+    public void shouldGenerateTimeOrderedIdsByDefault() throws Exception {
+        final JsonEnvelope event = enveloper.withMetadataFrom(
+                envelopeFrom(
+                        metadataBuilder()
+                                .withId(COMMAND_UUID)
+                                .withName(TEST_EVENT_NAME),
+                        createObjectBuilder()), TEST_NAME)
+                .apply(new TestEvent());
+
+        assertThat(event.metadata().id().version(), equalTo(7));
+    }
+
     @Test
     public void shouldEnvelopeObjectWithoutCausation() throws Exception {
         enveloper.register(new EventFoundEvent(TestEvent.class, TEST_EVENT_NAME));
@@ -0,0 +1,112 @@
+package uk.gov.justice.services.core.extension;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.core.annotation.ServiceComponentLocation.LOCAL;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CollectedEventFirerTest {
+
+    @Mock
+    private BeanManager beanManager;
+
+    @Mock
+    private RegistrationThreadFactoryProvider registrationThreadFactoryProvider;
+
+    @Test
+    public void shouldFireAllEventsInOrderWithSingleRegistrationThread() throws Exception {
+        final StartupTimings startupTimings = new StartupTimings();
+        final ServiceComponentFoundEvent serviceComponentFoundEvent = new ServiceComponentFoundEvent("COMMAND_API", null, LOCAL);
+        final EventFoundEvent eventFoundEvent = new EventFoundEvent(Object.class, "test-event");
+
+        new CollectedEventFirer(1, startupTimings).fire(asList(serviceComponentFoundEvent, eventFoundEvent), beanManager);
+
+        final InOrder inOrder = inOrder(beanManager);
+        inOrder.verify(beanManager).fireEvent(serviceComponentFoundEvent);
+        inOrder.verify(beanManager).fireEvent(eventFoundEvent);
+        assertThat(startupTimings.getPhaseDurationsInMillis().keySet(), hasItems(
+                CollectedEventFirer.REGISTRATION_PHASE_PREFIX + "COMMAND_API",
+                CollectedEventFirer.EVENT_PHASE));
+    }
+
+    @Test
+    public void shouldFireServiceComponentFoundEventsConcurrentlyWithTheDeployingClassLoader() throws Exception {
+        final StartupTimings startupTimings = new StartupTimings();
+        final ServiceComponentFoundEvent commandApiEvent = new ServiceComponentFoundEvent("COMMAND_API", null, LOCAL);
+        final ServiceComponentFoundEvent queryApiEvent = new ServiceComponentFoundEvent("QUERY_API", null, LOCAL);
+        final EventFoundEvent eventFoundEvent = new EventFoundEvent(Object.class, "test-event");
+        final ClassLoader deployingClassLoader = Thread.currentThread().getContextClassLoader();
+        final Set<ClassLoader> classLoaders = ConcurrentHashMap.newKeySet();
+
+        doAnswer(invocationOnMock -> classLoaders.add(Thread.currentThread().getContextClassLoader()))
+                .when(beanManager).fireEvent(commandApiEvent);
+        doAnswer(invocationOnMock -> classLoaders.add(Thread.currentThread().getContextClassLoader()))
+                .when(beanManager).fireEvent(queryApiEvent);
+
+        final List<Object> events = asList(commandApiEvent, eventFoundEvent, queryApiEvent);
+        new CollectedEventFirer(2, startupTimings).fire(events, beanManager);
+
+        verify(beanManager).fireEvent(eventFoundEvent);
+        verify(beanManager).fireEvent(commandApiEvent);
+        verify(beanManager).fireEvent(queryApiEvent);
+        assertThat(classLoaders.size(), is(1));
+        assertThat(classLoaders.iterator().next(), sameInstance(deployingClassLoader));
+        assertThat(startupTimings.getPhaseDurationsInMillis().keySet(), hasItems(
+                CollectedEventFirer.REGISTRATION_PHASE_PREFIX + "COMMAND_API",
+                CollectedEventFirer.REGISTRATION_PHASE_PREFIX + "QUERY_API"));
+    }
+
+    @Test
+    public void shouldRegisterOnThreadsFromTheRegistrationThreadFactory() throws Exception {
+        final ServiceComponentFoundEvent commandApiEvent = new ServiceComponentFoundEvent("COMMAND_API", null, LOCAL);
+        final ServiceComponentFoundEvent queryApiEvent = new ServiceComponentFoundEvent("QUERY_API", null, LOCAL);
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        when(registrationThreadFactoryProvider.threadFactory()).thenReturn(runnable -> new Thread(runnable, "managed-registration-thread"));
+        doAnswer(invocationOnMock -> threadNames.add(Thread.currentThread().getName()))
+                .when(beanManager).fireEvent(commandApiEvent);
+        doAnswer(invocationOnMock -> threadNames.add(Thread.currentThread().getName()))
+                .when(beanManager).fireEvent(queryApiEvent);
+
+        new CollectedEventFirer(2, new StartupTimings(), registrationThreadFactoryProvider).fire(asList(commandApiEvent, queryApiEvent), beanManager);
+
+        assertThat(threadNames, contains("managed-registration-thread"));
+    }
+
+    @Test
+    public void shouldRethrowRuntimeExceptionFromConcurrentRegistration() throws Exception {
+        final ServiceComponentFoundEvent commandApiEvent = new ServiceComponentFoundEvent("COMMAND_API", null, LOCAL);
+        final IllegalStateException registrationFailure = new IllegalStateException("Duplicate handler");
+
+        doThrow(registrationFailure).when(beanManager).fireEvent(commandApiEvent);
+
+        try {
+            new CollectedEventFirer(2, new StartupTimings()).fire(asList(commandApiEvent), beanManager);
+            fail();
+        } catch (final IllegalStateException e) {
+            assertThat(e, sameInstance(registrationFailure));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package uk.gov.justice.services.core.extension;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
+import static uk.gov.justice.services.core.annotation.Component.COMMAND_HANDLER;
+
+import uk.gov.justice.services.core.annotation.ServiceComponent;
+import uk.gov.justice.services.core.extension.util.TestBean;
+import uk.gov.justice.services.framework.utilities.index.ArchiveIndex;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of finding the service components of a deployment of 5000 beans, two of which are
+ * service components, by scanning every bean and by the component index of the archive the beans
+ * were loaded from.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceComponentScanBenchmark {
+
+    private static final int BEANS = 5000;
+
+    private final ServiceComponentScanner serviceComponentScanner = new ServiceComponentScanner();
+
+    private BeanManager beanManager;
+    private ArchiveIndex noIndex;
+    private ArchiveIndex componentIndex;
+
+    @Setup
+    public void setup() {
+        final Set<Bean<Object>> beans = new HashSet<>();
+        for (int i = 0; i < BEANS - 2; i++) {
+            beans.add(TestBean.of(PlainBean.class));
+        }
+
+        final Bean<Object> commandApi = TestBean.of(BenchmarkCommandApi.class);
+        final Bean<Object> commandHandler = TestBean.of(BenchmarkCommandHandler.class);
+        beans.add(commandApi);
+        beans.add(commandHandler);
+
+        beanManager = mock(BeanManager.class);
+        doReturn(beans).when(beanManager).getBeans(eq(Object.class), any());
+        doReturn(singleton(commandApi)).when(beanManager).getBeans(eq(BenchmarkCommandApi.class), any());
+        doReturn(singleton(commandHandler)).when(beanManager).getBeans(eq(BenchmarkCommandHandler.class), any());
+
+        final Set<String> classNames = new HashSet<>();
+        classNames.add(BenchmarkCommandApi.class.getName());
+        classNames.add(BenchmarkCommandHandler.class.getName());
+
+        final Set<String> archives = singleton(archiveRootOf(ServiceComponentScanBenchmark.class));
+
+        noIndex = new ArchiveIndex(emptySet(), emptySet(), archives);
+        componentIndex = new ArchiveIndex(classNames, archives, archives);
+    }
+
+    @Benchmark
+    public List<Bean<?>> scanAllBeans() {
+        return serviceComponentScanner.serviceComponentBeansFrom(beanManager, noIndex).collect(toList());
+    }
+
+    @Benchmark
+    public List<Bean<?>> componentIndex() {
+        return serviceComponentScanner.serviceComponentBeansFrom(beanManager, componentIndex).collect(toList());
+    }
+
+    private static String archiveRootOf(final Class<?> type) {
+        final String classFile = type.getName().replace('.', '/') + ".class";
+        final String location = type.getClassLoader().getResource(classFile).toExternalForm();
+        return location.substring(0, location.length() - classFile.length());
+    }
+
+    public static class PlainBean {
+    }
+
+    @ServiceComponent(COMMAND_API)
+    public static class BenchmarkCommandApi {
+    }
+
+    @ServiceComponent(COMMAND_HANDLER)
+    public static class BenchmarkCommandHandler {
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ServiceComponentScanBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -2,18 +2,26 @@ package uk.gov.justice.services.core.extension;
 
 import static com.jayway.jsonassert.impl.matcher.IsCollectionWithSize.hasSize;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_CONTROLLER;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_HANDLER;
 import static uk.gov.justice.services.core.annotation.Component.QUERY_API;
 import static uk.gov.justice.services.core.annotation.Component.QUERY_VIEW;
+import static uk.gov.justice.services.framework.utilities.index.ComponentIndex.SERVICE_COMPONENTS_INDEX;
 
 import uk.gov.justice.domain.annotation.Event;
 import uk.gov.justice.services.adapter.direct.SynchronousDirectAdapter;
@@ -26,6 +34,8 @@ import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.annotation.ServiceComponentLocation;
 import uk.gov.justice.services.core.extension.util.EmptyAfterDeploymentValidation;
 import uk.gov.justice.services.core.extension.util.TestBean;
+import uk.gov.justice.services.framework.utilities.index.ArchiveIndex;
+import uk.gov.justice.services.framework.utilities.index.ComponentIndex;
 
 import java.util.HashSet;
 
@@ -58,11 +68,14 @@ public class ServiceComponentScannerTest {
     @Mock
     private BeanManager beanManager;
 
+    @Mock
+    private StartupTimingsMBeanRegistrar startupTimingsMBeanRegistrar;
+
     private ServiceComponentScanner serviceComponentScanner;
 
     @Before
     public void setup() {
-        serviceComponentScanner = new ServiceComponentScanner();
+        serviceComponentScanner = new ServiceComponentScanner(new ComponentIndex(), startupTimingsMBeanRegistrar);
     }
 
     @Test
@@ -145,6 +158,102 @@ public class ServiceComponentScannerTest {
         verify(beanManager, never()).fireEvent(any());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldOnlyExamineIndexedClassesOfAnArchiveWithAComponentIndex() throws Exception {
+        final ComponentIndex componentIndex = mock(ComponentIndex.class);
+        final ArchiveIndex archiveIndex = mock(ArchiveIndex.class);
+        final ArgumentCaptor<ServiceComponentFoundEvent> captor = ArgumentCaptor.forClass(ServiceComponentFoundEvent.class);
+
+        when(componentIndex.indexFrom(eq(SERVICE_COMPONENTS_INDEX), any(ClassLoader.class))).thenReturn(archiveIndex);
+        when(archiveIndex.hasIndexedArchives()).thenReturn(true);
+        when(archiveIndex.classNames()).thenReturn(singleton(TestCommandApiHandler.class.getName()));
+        when(archiveIndex.isIndexed(TestCommandApiHandler.class)).thenReturn(true);
+        when(archiveIndex.isIndexed(TestCommandController.class)).thenReturn(true);
+        mockBeanManagerGetBeansWith(TestBean.of(TestCommandApiHandler.class), TestBean.of(TestCommandController.class));
+
+        new ServiceComponentScanner(componentIndex, startupTimingsMBeanRegistrar).afterDeploymentValidation(NOT_USED_AFTER_DEPLOYMENT_VALIDATION, beanManager);
+
+        verify(beanManager).getBeans(eq(TestCommandApiHandler.class), any());
+        verify(beanManager, never()).getBeans(eq(Object.class), any());
+        verify(beanManager).fireEvent(captor.capture());
+        assertThat(captor.getAllValues(), hasSize(1));
+        assertThat(captor.getValue().getHandlerBean().getBeanClass(), equalTo(TestCommandApiHandler.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldScanTheBeansOfArchivesWithoutAComponentIndex() throws Exception {
+        final ComponentIndex componentIndex = mock(ComponentIndex.class);
+        final ArchiveIndex archiveIndex = mock(ArchiveIndex.class);
+        final ArgumentCaptor<ServiceComponentFoundEvent> captor = ArgumentCaptor.forClass(ServiceComponentFoundEvent.class);
+
+        when(componentIndex.indexFrom(eq(SERVICE_COMPONENTS_INDEX), any(ClassLoader.class))).thenReturn(archiveIndex);
+        when(archiveIndex.hasIndexedArchives()).thenReturn(true);
+        when(archiveIndex.hasUnindexedArchives()).thenReturn(true);
+        when(archiveIndex.classNames()).thenReturn(singleton(TestCommandApiHandler.class.getName()));
+        when(archiveIndex.isIndexed(TestCommandApiHandler.class)).thenReturn(true);
+        when(archiveIndex.isIndexed(TestFrameworkComponent.class)).thenReturn(false);
+        mockBeanManagerGetBeansWith(TestBean.of(TestCommandApiHandler.class), TestBean.of(TestFrameworkComponent.class));
+
+        new ServiceComponentScanner(componentIndex, startupTimingsMBeanRegistrar).afterDeploymentValidation(NOT_USED_AFTER_DEPLOYMENT_VALIDATION, beanManager);
+
+        verify(beanManager, times(2)).fireEvent(captor.capture());
+        assertThat(captor.getAllValues(), hasSize(2));
+        assertThat(captor.getAllValues().stream()
+                        .map(event -> ((ServiceComponentFoundEvent) event).getHandlerBean().getBeanClass())
+                        .collect(toList()),
+                hasItems(TestCommandApiHandler.class, TestFrameworkComponent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldRegisterServiceComponentsMissingFromAStaleComponentIndex() throws Exception {
+        final ComponentIndex componentIndex = mock(ComponentIndex.class);
+        final ArchiveIndex archiveIndex = mock(ArchiveIndex.class);
+        final ArgumentCaptor<ServiceComponentFoundEvent> captor = ArgumentCaptor.forClass(ServiceComponentFoundEvent.class);
+        final ServiceComponentScanner scanner = new ServiceComponentScanner(componentIndex, startupTimingsMBeanRegistrar);
+
+        when(componentIndex.indexFrom(eq(SERVICE_COMPONENTS_INDEX), any(ClassLoader.class))).thenReturn(archiveIndex);
+        when(archiveIndex.hasIndexedArchives()).thenReturn(true);
+        when(archiveIndex.classNames()).thenReturn(singleton(TestCommandApiHandler.class.getName()));
+        when(archiveIndex.isIndexed(TestCommandController.class)).thenReturn(true);
+        doReturn(annotatedType).when(processAnnotatedType).getAnnotatedType();
+        doReturn(TestCommandController.class).when(annotatedType).getJavaClass();
+        mockBeanManagerGetBeansWith(TestBean.of(TestCommandApiHandler.class), TestBean.of(TestCommandController.class));
+
+        scanner.processAnnotatedType(processAnnotatedType);
+        scanner.afterDeploymentValidation(NOT_USED_AFTER_DEPLOYMENT_VALIDATION, beanManager);
+
+        verify(beanManager, never()).getBeans(eq(Object.class), any());
+        verify(beanManager, times(2)).fireEvent(captor.capture());
+        assertThat(captor.getAllValues().stream()
+                        .map(event -> ((ServiceComponentFoundEvent) event).getHandlerBean().getBeanClass())
+                        .collect(toList()),
+                hasItems(TestCommandApiHandler.class, TestCommandController.class));
+    }
+
+    @Test
+    public void shouldRecordStartupTimingsAndRegisterThemAfterDeploymentValidation() throws Exception {
+        mockBeanManagerGetBeansWith(TestBean.of(TestCommandApiHandler.class));
+
+        serviceComponentScanner.afterDeploymentValidation(NOT_USED_AFTER_DEPLOYMENT_VALIDATION, beanManager);
+
+        final StartupTimings startupTimings = serviceComponentScanner.startupTimings();
+        assertThat(startupTimings.getPhaseDurationsInMillis().keySet(), hasItems(
+                ServiceComponentScanner.SCAN_PHASE,
+                CollectedEventFirer.REGISTRATION_PHASE_PREFIX + COMMAND_API,
+                ServiceComponentScanner.REGISTRATION_PHASE));
+        verify(startupTimingsMBeanRegistrar).register(startupTimings, beanManager);
+    }
+
+    @Test
+    public void shouldUnregisterStartupTimingsBeforeShutdown() throws Exception {
+        serviceComponentScanner.beforeShutdown(null);
+
+        verify(startupTimingsMBeanRegistrar).unregister();
+    }
+
     @SuppressWarnings("serial")
     private void mockBeanManagerGetBeansWith(final Bean<Object>... handlers) {
         doReturn(new HashSet<>(asList(handlers))).when(beanManager).getBeans(any(), any());
@@ -0,0 +1,74 @@
+package uk.gov.justice.services.core.extension;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.core.extension.StartupTimingsMBeanRegistrar.DOMAIN_NAME;
+import static uk.gov.justice.services.core.extension.StartupTimingsMBeanRegistrar.MBEAN_NAME;
+
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+import uk.gov.justice.services.framework.utilities.cdi.CdiInstanceResolver;
+import uk.gov.justice.services.framework.utilities.cdi.UnresolvableCdiInstanceException;
+
+import java.util.Optional;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StartupTimingsMBeanRegistrarTest {
+
+    @Mock
+    private CdiInstanceResolver cdiInstanceResolver;
+
+    @Mock
+    private MBeanServer mBeanServer;
+
+    @Mock
+    private BeanManager beanManager;
+
+    @Mock
+    private ContextMBeanRegistrar contextMBeanRegistrar;
+
+    private StartupTimingsMBeanRegistrar startupTimingsMBeanRegistrar;
+
+    @Before
+    public void setup() {
+        startupTimingsMBeanRegistrar = new StartupTimingsMBeanRegistrar(cdiInstanceResolver, mBeanServer);
+    }
+
+    @Test
+    public void shouldRegisterUnderTheServiceContextNameAndUnregisterFromTheMBeanServer() throws Exception {
+        final StartupTimings startupTimings = new StartupTimings();
+        final ObjectName objectName = new ObjectName(DOMAIN_NAME + ":type=my-context-" + MBEAN_NAME);
+
+        when(cdiInstanceResolver.getInstanceOf(ContextMBeanRegistrar.class, beanManager)).thenReturn(contextMBeanRegistrar);
+        when(contextMBeanRegistrar.register(startupTimings, DOMAIN_NAME, MBEAN_NAME)).thenReturn(Optional.of(objectName));
+        when(mBeanServer.isRegistered(objectName)).thenReturn(true);
+
+        startupTimingsMBeanRegistrar.register(startupTimings, beanManager);
+        startupTimingsMBeanRegistrar.unregister();
+
+        verify(mBeanServer).unregisterMBean(objectName);
+    }
+
+    @Test
+    public void shouldNotFailTheDeploymentIfTheContextMBeanRegistrarCannotBeResolved() throws Exception {
+        final ObjectName objectName = new ObjectName(DOMAIN_NAME + ":type=my-context-" + MBEAN_NAME);
+
+        when(cdiInstanceResolver.getInstanceOf(ContextMBeanRegistrar.class, beanManager))
+                .thenThrow(new UnresolvableCdiInstanceException("Failed to find class in CDI", new RuntimeException()));
+
+        startupTimingsMBeanRegistrar.register(new StartupTimings(), beanManager);
+        startupTimingsMBeanRegistrar.unregister();
+
+        verify(mBeanServer, never()).unregisterMBean(objectName);
+    }
+}
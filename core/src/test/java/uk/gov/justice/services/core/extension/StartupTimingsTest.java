@@ -0,0 +1,43 @@
+package uk.gov.justice.services.core.extension;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+public class StartupTimingsTest {
+
+    @Test
+    public void shouldReturnPhaseDurationsInTheOrderTheyWereRecorded() throws Exception {
+        final StartupTimings startupTimings = new StartupTimings();
+
+        startupTimings.record("scan", 10L);
+        startupTimings.record("registration", 20L);
+
+        assertThat(startupTimings.getPhaseDurationsInMillis().keySet(), contains("scan", "registration"));
+    }
+
+    @Test
+    public void shouldAddDurationsRecordedForTheSamePhase() throws Exception {
+        final StartupTimings startupTimings = new StartupTimings();
+
+        startupTimings.record("registration", 20L);
+        startupTimings.record("registration", 5L);
+
+        assertThat(startupTimings.getPhaseDurationsInMillis().get("registration"), is(25L));
+    }
+
+    @Test
+    public void shouldReturnACopyOfThePhaseDurations() throws Exception {
+        final StartupTimings startupTimings = new StartupTimings();
+        startupTimings.record("scan", 10L);
+
+        final Map<String, Long> phaseDurations = startupTimings.getPhaseDurationsInMillis();
+        startupTimings.record("registration", 20L);
+
+        assertThat(phaseDurations.size(), is(1));
+    }
+}
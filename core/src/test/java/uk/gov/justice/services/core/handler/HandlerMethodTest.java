@@ -183,6 +183,22 @@ public class HandlerMethodTest {
         assertThat(new HandlerMethod(handler, method(handler, "handles"), JsonEnvelope.class).isDirect(), is(true));
     }
 
+    @Test
+    public void shouldIdentifyJsonEnvelopeParameterAndReturnType() throws Exception {
+        assertThat(syncHandlerInstance().hasJsonEnvelopeParameter(), is(true));
+        assertThat(syncHandlerInstance().hasJsonEnvelopeOrVoidReturnType(), is(true));
+        assertThat(asyncHandlerInstance().hasJsonEnvelopeParameter(), is(true));
+        assertThat(asyncHandlerInstance().hasJsonEnvelopeOrVoidReturnType(), is(true));
+    }
+
+    @Test
+    public void shouldIdentifyPojoEnvelopeParameterAndReturnType() throws Exception {
+        assertThat(syncPojoHandlerInstance().hasJsonEnvelopeParameter(), is(false));
+        assertThat(syncPojoHandlerInstance().hasJsonEnvelopeOrVoidReturnType(), is(false));
+        assertThat(asyncPojoHandlerInstance().hasJsonEnvelopeParameter(), is(false));
+        assertThat(asyncPojoHandlerInstance().hasJsonEnvelopeOrVoidReturnType(), is(true));
+    }
+
     private HandlerMethod asyncHandlerInstance() {
         return new HandlerMethod(asynchronousCommandHandler, method(new AsynchronousCommandHandler(), "handles"), Void.TYPE);
     }
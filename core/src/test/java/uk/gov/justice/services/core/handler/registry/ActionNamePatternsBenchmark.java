@@ -0,0 +1,115 @@
+package uk.gov.justice.services.core.handler.registry;
+
+import static java.lang.String.format;
+
+import uk.gov.justice.services.core.handler.HandlerMethod;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of resolving action names as the {@link HandlerRegistry} does: an exact name lookup
+ * followed, on a miss, by a search of the {@link ActionNamePatterns} of the given number of
+ * contexts, one of which has a pattern of several wildcards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActionNamePatternsBenchmark {
+
+    private static final int ACTIONS_PER_CONTEXT = 100;
+
+    @Param({"10", "100"})
+    private int contexts;
+
+    private final Map<String, HandlerMethod> handlerMethods = new ConcurrentHashMap<>();
+    private ActionNamePatterns actionNamePatterns = new ActionNamePatterns();
+
+    @Setup
+    public void setup() throws Exception {
+        final HandlerMethod handlerMethod = new HandlerMethod(
+                new BenchmarkHandler(),
+                BenchmarkHandler.class.getMethod("handle", JsonEnvelope.class),
+                void.class);
+
+        for (int context = 0; context < contexts; context++) {
+            for (int action = 0; action < ACTIONS_PER_CONTEXT; action++) {
+                handlerMethods.put(format("context%d.command.action-%d", context, action), handlerMethod);
+            }
+            actionNamePatterns = actionNamePatterns.with(format("context%d.events.*", context), handlerMethod);
+        }
+
+        actionNamePatterns = actionNamePatterns
+                .with("*.audit.*.*.*.recorded", handlerMethod)
+                .with("*.deleted", handlerMethod)
+                .with("*", handlerMethod);
+    }
+
+    @Benchmark
+    public HandlerMethod exactName() {
+        return find("context1.command.action-50");
+    }
+
+    @Benchmark
+    public HandlerMethod prefixPattern() {
+        return find("context1.events.something-happened");
+    }
+
+    @Benchmark
+    public HandlerMethod suffixPattern() {
+        return find("context1.people.person.deleted");
+    }
+
+    @Benchmark
+    public HandlerMethod severalWildcardsPattern() {
+        return find("context1.audit.people.person.address.postcode.town.recorded");
+    }
+
+    @Benchmark
+    public HandlerMethod severalWildcardsMiss() {
+        return find("context1.audit.people.person.address.postcode.town.recorded.again");
+    }
+
+    @Benchmark
+    public HandlerMethod catchAllPattern() {
+        return find("other.events.something-happened");
+    }
+
+    private HandlerMethod find(final String name) {
+        final HandlerMethod handlerMethod = handlerMethods.get(name);
+        return handlerMethod != null ? handlerMethod : actionNamePatterns.find(name);
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ActionNamePatternsBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    public static class BenchmarkHandler {
+
+        public void handle(final JsonEnvelope envelope) {
+        }
+    }
+}
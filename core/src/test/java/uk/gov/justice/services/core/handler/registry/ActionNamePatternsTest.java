@@ -0,0 +1,160 @@
+package uk.gov.justice.services.core.handler.registry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import uk.gov.justice.services.core.handler.HandlerMethod;
+import uk.gov.justice.services.core.handler.registry.exception.DuplicateHandlerException;
+import uk.gov.justice.services.core.handler.registry.exception.InvalidHandlerException;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ActionNamePatternsTest {
+
+    @Mock
+    private HandlerMethod catchAllHandler;
+
+    @Mock
+    private HandlerMethod prefixHandler;
+
+    @Mock
+    private HandlerMethod longerPrefixHandler;
+
+    @Mock
+    private HandlerMethod suffixHandler;
+
+    @Mock
+    private HandlerMethod otherHandler;
+
+    @Test
+    public void shouldMatchEveryActionWithTheCatchAllPattern() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns().with("*", catchAllHandler);
+
+        assertThat(patterns.find("context.events.something-happened"), is(sameInstance(catchAllHandler)));
+        assertThat(patterns.find("single"), is(sameInstance(catchAllHandler)));
+    }
+
+    @Test
+    public void shouldMatchOneOrMoreSegmentsWithAWildcard() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns()
+                .with("context.events.*", prefixHandler)
+                .with("*.deleted", suffixHandler);
+
+        assertThat(patterns.find("context.events.something-happened"), is(sameInstance(prefixHandler)));
+        assertThat(patterns.find("context.events.nested.something-happened"), is(sameInstance(prefixHandler)));
+        assertThat(patterns.find("people.person.deleted"), is(sameInstance(suffixHandler)));
+        assertThat(patterns.find("deleted"), is(nullValue()));
+        assertThat(patterns.find("context.events"), is(nullValue()));
+        assertThat(patterns.find("context.commands.do-something"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldMatchAWildcardInTheMiddleOfAPattern() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns().with("context.*.deleted", otherHandler);
+
+        assertThat(patterns.find("context.events.deleted"), is(sameInstance(otherHandler)));
+        assertThat(patterns.find("context.events.person.deleted"), is(sameInstance(otherHandler)));
+        assertThat(patterns.find("context.deleted"), is(nullValue()));
+        assertThat(patterns.find("context.events.deleted.again"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldMatchSeveralWildcardsInAPattern() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns()
+                .with("*.audit.*.*.recorded", otherHandler)
+                .with("*", catchAllHandler);
+
+        assertThat(patterns.find("context.audit.person.address.recorded"), is(sameInstance(otherHandler)));
+        assertThat(patterns.find("context.audit.person.address.audit.person.address.recorded"), is(sameInstance(otherHandler)));
+        assertThat(patterns.find("context.audit.person.recorded"), is(sameInstance(catchAllHandler)));
+        assertThat(patterns.find("context.audit.person.address.recorded.again"), is(sameInstance(catchAllHandler)));
+    }
+
+    @Test(timeout = 5000)
+    public void shouldNotTryEveryWayOfSplittingALongActionNameBetweenWildcards() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns().with("*.*.*.*.*.*.*.*.*.*.deleted", otherHandler);
+
+        final StringBuilder actionName = new StringBuilder("context");
+        for (int segment = 0; segment < 40; segment++) {
+            actionName.append(".segment");
+        }
+
+        assertThat(patterns.find(actionName.toString()), is(nullValue()));
+        assertThat(patterns.find(actionName.append(".deleted").toString()), is(sameInstance(otherHandler)));
+    }
+
+    @Test
+    public void shouldUseThePatternWithTheMostLiteralSegments() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns()
+                .with("*", catchAllHandler)
+                .with("context.*", prefixHandler)
+                .with("context.events.*", longerPrefixHandler);
+
+        assertThat(patterns.find("context.events.something-happened"), is(sameInstance(longerPrefixHandler)));
+        assertThat(patterns.find("context.commands.do-something"), is(sameInstance(prefixHandler)));
+        assertThat(patterns.find("other.events.something-happened"), is(sameInstance(catchAllHandler)));
+    }
+
+    @Test
+    public void shouldUseThePatternWithTheLongestLiteralPrefixIfAsManyLiteralSegments() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns()
+                .with("*.deleted", suffixHandler)
+                .with("context.*", prefixHandler);
+
+        assertThat(patterns.find("context.deleted"), is(sameInstance(prefixHandler)));
+        assertThat(patterns.find("other.deleted"), is(sameInstance(suffixHandler)));
+    }
+
+    @Test
+    public void shouldReplaceTheHandlerOfTheSamePattern() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns()
+                .with("context.*", prefixHandler)
+                .with("context.*", otherHandler);
+
+        assertThat(patterns.find("context.something"), is(sameInstance(otherHandler)));
+    }
+
+    @Test
+    public void shouldNotChangeTheTrieThatWasAddedTo() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns().with("context.*", prefixHandler);
+
+        patterns.with("*", catchAllHandler);
+
+        assertThat(patterns.find("other.something"), is(nullValue()));
+    }
+
+    @Test(expected = DuplicateHandlerException.class)
+    public void shouldRejectPatternsAsSpecificThatCanMatchTheSameAction() throws Exception {
+        new ActionNamePatterns()
+                .with("context.*.deleted.*", prefixHandler)
+                .with("context.*.*.deleted", otherHandler);
+    }
+
+    @Test
+    public void shouldAllowPatternsAsSpecificThatCannotMatchTheSameAction() throws Exception {
+        final ActionNamePatterns patterns = new ActionNamePatterns()
+                .with("context.*.deleted", prefixHandler)
+                .with("other.*.deleted", otherHandler);
+
+        assertThat(patterns.find("context.person.deleted"), is(sameInstance(prefixHandler)));
+        assertThat(patterns.find("other.person.deleted"), is(sameInstance(otherHandler)));
+    }
+
+    @Test(expected = InvalidHandlerException.class)
+    public void shouldRejectAWildcardThatIsNotAWholeSegment() throws Exception {
+        new ActionNamePatterns().with("context.events.person-*", prefixHandler);
+    }
+
+    @Test
+    public void shouldRecogniseActionNamePatterns() throws Exception {
+        assertThat(ActionNamePatterns.isPattern("*"), is(true));
+        assertThat(ActionNamePatterns.isPattern("context.events.*"), is(true));
+        assertThat(ActionNamePatterns.isPattern("context.events.something-happened"), is(false));
+    }
+}
@@ -16,6 +16,7 @@ import uk.gov.justice.services.core.annotation.FrameworkComponent;
 import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.handler.HandlerMethod;
+import uk.gov.justice.services.core.handler.exception.MissingHandlerException;
 import uk.gov.justice.services.core.handler.registry.exception.DuplicateHandlerException;
 import uk.gov.justice.services.core.handler.registry.exception.InvalidHandlerException;
 import uk.gov.justice.services.messaging.JsonEnvelope;
@@ -93,6 +94,38 @@ public class HandlerRegistryTest {
     }
 
 
+    @Test
+    public void shouldReturnMethodOfTheMostSpecificPatternHandler() {
+        final TestAllEventsHandler testAllEventsHandler = new TestAllEventsHandler();
+        final TestCommandPrefixHandler testCommandPrefixHandler = new TestCommandPrefixHandler();
+
+        createRegistryWith(testAllEventsHandler, testCommandPrefixHandler);
+        final HandlerMethod handlerMethod = registry.get("test.command.other-command");
+
+        assertHandlerMethodInvokesHandler(handlerMethod, testCommandPrefixHandler);
+        assertThat(testAllEventsHandler.firstRecordedEnvelope(), nullValue());
+
+        assertLogStatement("test.command.*");
+    }
+
+    @Test
+    public void namedHandlerShouldTakePriorityOverPatternHandler() {
+        final TestCommandPrefixHandler testCommandPrefixHandler = new TestCommandPrefixHandler();
+        final TestCommandHandler testCommandHandler = new TestCommandHandler();
+
+        createRegistryWith(testCommandPrefixHandler, testCommandHandler);
+        final HandlerMethod handlerMethod = registry.get(COMMAND_NAME);
+
+        assertHandlerMethodInvokesHandler(handlerMethod, testCommandHandler);
+        assertThat(testCommandPrefixHandler.firstRecordedEnvelope(), nullValue());
+    }
+
+    @Test(expected = MissingHandlerException.class)
+    public void shouldThrowExceptionIfNoHandlerOrPatternMatches() {
+        createRegistryWith(new TestCommandPrefixHandler());
+        registry.get("test.event.something-happened");
+    }
+
     @Test
     public void directHandlerShouldReplaceNonDirectHandler() {
         TestComponentAHandler testComponentAHandler = new TestComponentAHandler();
@@ -269,6 +302,16 @@ public class HandlerRegistryTest {
 
     }
 
+    @ServiceComponent(COMMAND_HANDLER)
+    public static class TestCommandPrefixHandler extends TestEnvelopeRecorder {
+
+        @Handles("test.command.*")
+        public void handle(JsonEnvelope envelope) {
+            record(envelope);
+        }
+
+    }
+
     @FrameworkComponent("COMPONENT_A")
     public static class TestComponentAHandler extends TestEnvelopeRecorder {
         @Handles(COMMAND_NAME)
@@ -1,5 +1,7 @@
 package uk.gov.justice.services.core.interceptor;
 
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -9,6 +11,7 @@ import static uk.gov.justice.services.core.interceptor.InterceptorContext.interc
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -62,6 +65,26 @@ public class DefaultInterceptorChainProcessorTest {
         assertThat(result, is(Optional.empty()));
     }
 
+    @Test
+    public void shouldProcessBatchOfInterceptorContexts() throws Exception {
+
+        final JsonEnvelope inputEnvelope_1 = mock(JsonEnvelope.class);
+        final JsonEnvelope inputEnvelope_2 = mock(JsonEnvelope.class);
+        final JsonEnvelope outputEnvelope = mock(JsonEnvelope.class);
+        final String component = "component";
+
+        when(interceptorCache.getInterceptors(component)).thenReturn(interceptors());
+        when(dispatch.apply(inputEnvelope_1)).thenReturn(outputEnvelope);
+        when(dispatch.apply(inputEnvelope_2)).thenReturn(null);
+
+        final DefaultInterceptorChainProcessor interceptorChainProcessor = new DefaultInterceptorChainProcessor(interceptorCache, dispatch, component);
+        final List<Optional<JsonEnvelope>> results = interceptorChainProcessor.processBatch(asList(
+                interceptorContextWithInput(inputEnvelope_1),
+                interceptorContextWithInput(inputEnvelope_2)));
+
+        assertThat(results, contains(Optional.of(outputEnvelope), Optional.<JsonEnvelope>empty()));
+    }
+
     private LinkedList<Interceptor> interceptors() {
         final LinkedList<Interceptor> interceptors = new LinkedList<>();
         interceptors.add(new TestInterceptor());
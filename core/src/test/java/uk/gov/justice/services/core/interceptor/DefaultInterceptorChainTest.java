@@ -1,14 +1,22 @@
 package uk.gov.justice.services.core.interceptor;
 
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import uk.gov.justice.services.test.utils.common.stream.StreamCloseSpy;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 import org.junit.Before;
@@ -82,6 +90,68 @@ public class DefaultInterceptorChainTest {
 
     }
 
+    @Test
+    public void shouldProcessNextInterceptorInTheQueueOnTheGivenExecutor() throws Exception {
+
+        final InterceptorContext interceptorContext = mock(InterceptorContext.class);
+        final Executor executor = mock(Executor.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        final CompletionStage<InterceptorContext> result = new DefaultInterceptorChain(interceptors, new TestTarget())
+                .processNextAsync(interceptorContext, executor);
+
+        assertThat(result.toCompletableFuture().get(), is(interceptorContext));
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldPassTheWholeBatchToABatchInterceptor() throws Exception {
+        final TestBatchInterceptor batchInterceptor = new TestBatchInterceptor();
+        final LinkedList<Interceptor> batchInterceptors = new LinkedList<>();
+        batchInterceptors.offer(batchInterceptor);
+        batchInterceptors.offer(new TestInterceptor());
+
+        final InterceptorContext interceptorContext_1 = mock(InterceptorContext.class);
+        final InterceptorContext interceptorContext_2 = mock(InterceptorContext.class);
+
+        final List<InterceptorContext> results = new DefaultInterceptorChain(batchInterceptors, new TestTarget())
+                .processNextBatch(asList(interceptorContext_1, interceptorContext_2));
+
+        assertThat(batchInterceptor.batchSizes, contains(2));
+        assertThat(results, contains(interceptorContext_1, interceptorContext_2));
+    }
+
+    @Test
+    public void shouldProcessABatchPerContextWhenInterceptorIsNotBatchAware() throws Exception {
+
+        final InterceptorContext interceptorContext_1 = mock(InterceptorContext.class);
+        final InterceptorContext interceptorContext_2 = mock(InterceptorContext.class);
+
+        final List<InterceptorContext> results = new DefaultInterceptorChain(interceptors, new TestTarget())
+                .processNextBatch(asList(interceptorContext_1, interceptorContext_2));
+
+        assertThat(results, contains(interceptorContext_1, interceptorContext_2));
+    }
+
+    public static class TestBatchInterceptor implements BatchInterceptor {
+
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        @Override
+        public List<InterceptorContext> processBatch(final List<InterceptorContext> interceptorContexts, final BatchInterceptorChain batchInterceptorChain) {
+            batchSizes.add(interceptorContexts.size());
+            return batchInterceptorChain.processNextBatch(interceptorContexts);
+        }
+
+        @Override
+        public InterceptorContext process(final InterceptorContext interceptorContext, final InterceptorChain interceptorChain) {
+            return interceptorChain.processNext(interceptorContext);
+        }
+    }
+
     public static class TestInterceptor implements Interceptor {
 
         @Override
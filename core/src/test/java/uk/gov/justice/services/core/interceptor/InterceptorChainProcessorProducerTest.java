@@ -4,6 +4,7 @@ import static java.util.UUID.randomUUID;
 import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.core.annotation.Component.EVENT_LISTENER;
 import static uk.gov.justice.services.core.annotation.Component.QUERY_API;
@@ -18,6 +19,8 @@ import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
 import uk.gov.justice.services.core.annotation.Adapter;
 import uk.gov.justice.services.core.annotation.DirectAdapter;
 import uk.gov.justice.services.core.annotation.Handles;
+import uk.gov.justice.services.core.dispatcher.BulkheadExecutor;
+import uk.gov.justice.services.core.dispatcher.Bulkheads;
 import uk.gov.justice.services.core.dispatcher.DispatcherCache;
 import uk.gov.justice.services.core.dispatcher.DispatcherFactory;
 import uk.gov.justice.services.core.dispatcher.EnvelopePayloadTypeConverter;
@@ -54,6 +57,9 @@ public class InterceptorChainProcessorProducerTest {
     @Mock
     private Logger logger;
 
+    @Mock
+    private Bulkheads bulkheads;
+
     @InjectMocks
     private InterceptorChainProcessorProducer interceptorChainProcessorProducer;
 
@@ -73,6 +79,9 @@ public class InterceptorChainProcessorProducerTest {
 
         setField(interceptorChainProcessorProducer, "dispatcherCache", dispatcherCache);
 
+        when(bulkheads.executorFor("EVENT_LISTENER")).thenReturn(new BulkheadExecutor("EVENT_LISTENER", Runnable::run, 1, 0, 0L));
+        when(bulkheads.executorFor("QUERY_API")).thenReturn(new BulkheadExecutor("QUERY_API", Runnable::run, 1, 0, 0L));
+
         envelopeRecordingInterceptor.reset();
     }
 
@@ -90,6 +99,7 @@ public class InterceptorChainProcessorProducerTest {
 
         assertThat(envelopeRecordingInterceptor.firstRecordedEnvelope(), is(dispatchedEnvelope));
         assertThat(envelopeRecordingHandler.firstRecordedEnvelope(), is(dispatchedEnvelope));
+        verify(bulkheads).executorFor("EVENT_LISTENER");
     }
 
     @Test
@@ -0,0 +1,120 @@
+package uk.gov.justice.services.core.interceptor;
+
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.core.interceptor.InterceptorContext.interceptorContextWithInput;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.messaging.JsonEnvelope.metadataBuilder;
+
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.Optional;
+
+import javax.enterprise.concurrent.ManagedThreadFactory;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StreamPartitionedInterceptorChainProcessorProducerTest {
+
+    @Mock
+    private ManagedThreadFactory managedThreadFactory;
+
+    @Mock
+    private InterceptorChainProcessorProducer interceptorChainProcessorProducer;
+
+    @Mock
+    private InterceptorChainProcessor interceptorChainProcessor;
+
+    @Mock
+    private DispatchLaneTransaction dispatchLaneTransaction;
+
+    @Mock
+    private ContextMBeanRegistrar contextMBeanRegistrar;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private StreamPartitionedInterceptorChainProcessorProducer producer;
+
+    @Before
+    public void setup() {
+        producer.laneCount = "3";
+        producer.laneDepth = "10";
+
+        when(managedThreadFactory.newThread(any(Runnable.class))).thenAnswer(invocation -> new Thread((Runnable) invocation.getArguments()[0]));
+        when(interceptorChainProcessorProducer.produceLocalProcessor(any(String.class))).thenReturn(interceptorChainProcessor);
+        when(contextMBeanRegistrar.register(any(), any(String.class), any(String.class))).thenReturn(Optional.empty());
+    }
+
+    @After
+    public void shutdown() {
+        producer.shutdown();
+    }
+
+    @Test
+    public void shouldProduceOneProcessorPerComponentWithTheConfiguredLanes() throws Exception {
+        final StreamPartitionedInterceptorChainProcessor eventListenerProcessor = producer.produceProcessor("EVENT_LISTENER");
+        final StreamPartitionedInterceptorChainProcessor eventProcessorProcessor = producer.produceProcessor("EVENT_PROCESSOR");
+
+        assertThat(producer.produceProcessor("EVENT_LISTENER"), is(sameInstance(eventListenerProcessor)));
+        assertThat(eventProcessorProcessor, is(not(sameInstance(eventListenerProcessor))));
+        assertThat(eventListenerProcessor.getLaneCount(), is(3));
+    }
+
+    @Test
+    public void shouldProcessEachEnvelopeInATransactionOfItsOwn() throws Exception {
+        final JsonEnvelope envelope = envelopeFrom(
+                metadataBuilder()
+                        .withId(randomUUID())
+                        .withName("test.event.something-happened")
+                        .withStreamId(randomUUID()),
+                createObjectBuilder());
+        final InterceptorContext interceptorContext = interceptorContextWithInput(envelope);
+
+        when(dispatchLaneTransaction.process(interceptorChainProcessor, interceptorContext)).thenReturn(Optional.of(envelope));
+
+        final Optional<JsonEnvelope> output = producer.produceProcessor("EVENT_LISTENER")
+                .process(interceptorContext)
+                .toCompletableFuture()
+                .get(5, SECONDS);
+
+        assertThat(output, is(Optional.of(envelope)));
+    }
+
+    @Test
+    public void shouldRegisterTheLanesOfEachComponentWithTheMBeanServer() throws Exception {
+        final StreamPartitionedInterceptorChainProcessor processor = producer.produceProcessor("EVENT_LISTENER");
+
+        verify(contextMBeanRegistrar).register(processor, "uk.gov.justice.services.framework.dispatch", "dispatch-lanes-EVENT_LISTENER");
+    }
+
+    @Test
+    public void shouldUnregisterTheLanesWhenShutDown() throws Exception {
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.dispatch:type=people-event-listener-dispatch-lanes-EVENT_LISTENER");
+        when(contextMBeanRegistrar.register(any(StreamPartitionedInterceptorChainProcessor.class), any(String.class), any(String.class))).thenReturn(Optional.of(objectName));
+        producer.produceProcessor("EVENT_LISTENER");
+
+        producer.shutdown();
+
+        verify(contextMBeanRegistrar).unregister(objectName);
+    }
+}
@@ -0,0 +1,423 @@
+package uk.gov.justice.services.core.interceptor;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.synchronizedList;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.Executors.defaultThreadFactory;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.core.interceptor.InterceptorContext.interceptorContextWithInput;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.messaging.JsonEnvelope.metadataBuilder;
+
+import uk.gov.justice.services.core.interceptor.exception.StreamProcessingHaltedException;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StreamPartitionedInterceptorChainProcessorTest {
+
+    @Mock
+    private InterceptorChainProcessor interceptorChainProcessor;
+
+    private StreamPartitionedInterceptorChainProcessor processor;
+
+    @After
+    public void shutdown() throws Exception {
+        if (processor != null) {
+            processor.shutdown(5_000L);
+        }
+    }
+
+    @Test
+    public void shouldProcessTheEnvelopesOfAStreamInOrder() throws Exception {
+        final List<JsonEnvelope> processed = synchronizedList(new ArrayList<>());
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenAnswer(invocation -> {
+            final JsonEnvelope envelope = ((InterceptorContext) invocation.getArguments()[0]).inputEnvelope();
+            processed.add(envelope);
+            return Optional.of(envelope);
+        });
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 4, 10, defaultThreadFactory());
+
+        final UUID streamId = randomUUID();
+        final List<JsonEnvelope> envelopes = new ArrayList<>();
+        final List<CompletableFuture<Optional<JsonEnvelope>>> outputs = new ArrayList<>();
+        for (int index = 0; index < 100; index++) {
+            final JsonEnvelope envelope = envelopeWithStreamId(streamId);
+            envelopes.add(envelope);
+            outputs.add(processor.process(interceptorContextWithInput(envelope)).toCompletableFuture());
+        }
+
+        for (int index = 0; index < envelopes.size(); index++) {
+            assertThat(outputs.get(index).get(5, SECONDS), is(Optional.of(envelopes.get(index))));
+        }
+        assertThat(processed, is(envelopes));
+    }
+
+    @Test
+    public void shouldProcessTheEnvelopesOfDifferentStreamsInParallel() throws Exception {
+        final CountDownLatch blockedStreamReleased = new CountDownLatch(1);
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 2, 10, defaultThreadFactory());
+
+        final JsonEnvelope blockedEnvelope = envelopeWithStreamId(randomUUID());
+        JsonEnvelope otherEnvelope = envelopeWithStreamId(randomUUID());
+        while (processor.laneOf(otherEnvelope) == processor.laneOf(blockedEnvelope)) {
+            otherEnvelope = envelopeWithStreamId(randomUUID());
+        }
+
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenAnswer(invocation -> {
+            final JsonEnvelope envelope = ((InterceptorContext) invocation.getArguments()[0]).inputEnvelope();
+            if (envelope == blockedEnvelope) {
+                blockedStreamReleased.await();
+            }
+            return Optional.of(envelope);
+        });
+
+        final CompletableFuture<Optional<JsonEnvelope>> blockedOutput = processor.process(interceptorContextWithInput(blockedEnvelope)).toCompletableFuture();
+        final CompletableFuture<Optional<JsonEnvelope>> otherOutput = processor.process(interceptorContextWithInput(otherEnvelope)).toCompletableFuture();
+
+        assertThat(otherOutput.get(5, SECONDS), is(Optional.of(otherEnvelope)));
+        assertThat(blockedOutput.isDone(), is(false));
+
+        blockedStreamReleased.countDown();
+
+        assertThat(blockedOutput.get(5, SECONDS), is(Optional.of(blockedEnvelope)));
+    }
+
+    @Test
+    public void shouldBlockTheCallerWhileTheLaneIsFull() throws Exception {
+        final CountDownLatch processingStarted = new CountDownLatch(1);
+        final CountDownLatch processingReleased = new CountDownLatch(1);
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenAnswer(invocation -> {
+            processingStarted.countDown();
+            processingReleased.await();
+            return Optional.empty();
+        });
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 1, defaultThreadFactory());
+
+        processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID())));
+        processingStarted.await(5, SECONDS);
+        processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID())));
+
+        final CompletableFuture<Void> blockedSubmit = CompletableFuture.runAsync(() ->
+                processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID()))));
+
+        try {
+            blockedSubmit.get(200, MILLISECONDS);
+            fail("Expected the caller to be blocked while the lane is full");
+        } catch (final TimeoutException expected) {
+            assertThat(processor.getLaneDepths().get("lane-0"), is(1));
+        }
+
+        processingReleased.countDown();
+
+        blockedSubmit.get(5, SECONDS);
+    }
+
+    @Test
+    public void shouldFailTheRestOfAStreamWaitingBehindAnEnvelopeThatFailedWithoutProcessingIt() throws Exception {
+        final UUID streamId = randomUUID();
+        final JsonEnvelope failingEnvelope = envelopeWithStreamId(streamId);
+        final JsonEnvelope nextEnvelope = envelopeWithStreamId(streamId);
+        final JsonEnvelope otherStreamEnvelope = envelopeWithStreamId(randomUUID());
+        final IllegalStateException failure = new IllegalStateException("Handler failed");
+        final CountDownLatch releaseFailure = new CountDownLatch(1);
+        final Runnable acknowledgement = mock(Runnable.class);
+        final List<JsonEnvelope> processed = synchronizedList(new ArrayList<>());
+
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenAnswer(invocation -> {
+            final JsonEnvelope envelope = ((InterceptorContext) invocation.getArguments()[0]).inputEnvelope();
+            processed.add(envelope);
+            if (envelope == failingEnvelope) {
+                releaseFailure.await(5, SECONDS);
+                throw failure;
+            }
+            return Optional.of(envelope);
+        });
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 10, defaultThreadFactory());
+
+        final CompletableFuture<Optional<JsonEnvelope>> failedOutput = processor.process(interceptorContextWithInput(failingEnvelope)).toCompletableFuture();
+        final CompletableFuture<Optional<JsonEnvelope>> nextOutput = processor.process(interceptorContextWithInput(nextEnvelope), acknowledgement).toCompletableFuture();
+        final CompletableFuture<Optional<JsonEnvelope>> otherStreamOutput = processor.process(interceptorContextWithInput(otherStreamEnvelope)).toCompletableFuture();
+        releaseFailure.countDown();
+
+        assertThat(otherStreamOutput.get(5, SECONDS), is(Optional.of(otherStreamEnvelope)));
+        try {
+            failedOutput.get(5, SECONDS);
+            fail("Expected the processing of the envelope to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(failure));
+        }
+        try {
+            nextOutput.get(5, SECONDS);
+            fail("Expected the rest of the stream to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(StreamProcessingHaltedException.class)));
+        }
+
+        assertThat(processed, is(asList(failingEnvelope, otherStreamEnvelope)));
+        verify(acknowledgement, never()).run();
+    }
+
+    @Test
+    public void shouldProcessTheEnvelopesOfAStreamSubmittedAfterItFailed() throws Exception {
+        final UUID streamId = randomUUID();
+        final JsonEnvelope failingEnvelope = envelopeWithStreamId(streamId);
+        final JsonEnvelope redeliveredEnvelope = envelopeWithStreamId(streamId);
+        final IllegalStateException failure = new IllegalStateException("Handler failed");
+
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenThrow(failure).thenReturn(Optional.of(redeliveredEnvelope));
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 10, defaultThreadFactory());
+
+        try {
+            processor.process(interceptorContextWithInput(failingEnvelope)).toCompletableFuture().get(5, SECONDS);
+            fail("Expected the processing of the envelope to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(failure));
+        }
+
+        assertThat(processor.process(interceptorContextWithInput(redeliveredEnvelope)).toCompletableFuture().get(5, SECONDS), is(Optional.of(redeliveredEnvelope)));
+    }
+
+    @Test
+    public void shouldAcknowledgeAnEnvelopeOnlyOnceProcessed() throws Exception {
+        final List<String> events = synchronizedList(new ArrayList<>());
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenAnswer(invocation -> {
+            events.add("processed");
+            return Optional.empty();
+        });
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 10, defaultThreadFactory());
+
+        processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID())), () -> events.add("acknowledged"))
+                .toCompletableFuture()
+                .get(5, SECONDS);
+
+        assertThat(events, is(asList("processed", "acknowledged")));
+    }
+
+    @Test
+    public void shouldNotAcknowledgeAnEnvelopeThatFailed() throws Exception {
+        final Runnable acknowledgement = mock(Runnable.class);
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenThrow(new IllegalStateException("Handler failed"));
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 10, defaultThreadFactory());
+
+        final CompletableFuture<Optional<JsonEnvelope>> output = processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID())), acknowledgement).toCompletableFuture();
+
+        try {
+            output.get(5, SECONDS);
+            fail("Expected the processing of the envelope to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+        }
+        verify(acknowledgement, never()).run();
+    }
+
+    @Test
+    public void shouldFailTheStageOfAnEnvelopeThatThrewAnErrorAndCarryOnWithOtherStreams() throws Exception {
+        final JsonEnvelope failingEnvelope = envelopeWithStreamId(randomUUID());
+        final JsonEnvelope nextEnvelope = envelopeWithStreamId(randomUUID());
+        final AssertionError error = new AssertionError("Handler failed");
+
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenAnswer(invocation -> {
+            final JsonEnvelope envelope = ((InterceptorContext) invocation.getArguments()[0]).inputEnvelope();
+            if (envelope == failingEnvelope) {
+                throw error;
+            }
+            return Optional.of(envelope);
+        });
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 10, defaultThreadFactory());
+
+        final CompletableFuture<Optional<JsonEnvelope>> failedOutput = processor.process(interceptorContextWithInput(failingEnvelope)).toCompletableFuture();
+        final CompletableFuture<Optional<JsonEnvelope>> nextOutput = processor.process(interceptorContextWithInput(nextEnvelope)).toCompletableFuture();
+
+        assertThat(nextOutput.get(5, SECONDS), is(Optional.of(nextEnvelope)));
+        try {
+            failedOutput.get(5, SECONDS);
+            fail("Expected the processing of the envelope to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(error));
+        }
+    }
+
+    @Test
+    public void shouldFailTheStagesOfWaitingEnvelopesIfTheLaneIsInterrupted() throws Exception {
+        final List<Thread> laneThreads = synchronizedList(new ArrayList<>());
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable);
+            laneThreads.add(thread);
+            return thread;
+        };
+        final CountDownLatch processingStarted = new CountDownLatch(1);
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenAnswer(invocation -> {
+            processingStarted.countDown();
+            Thread.sleep(60_000L);
+            return Optional.empty();
+        });
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 10, threadFactory);
+
+        final CompletableFuture<Optional<JsonEnvelope>> interruptedOutput = processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID()))).toCompletableFuture();
+        processingStarted.await(5, SECONDS);
+        final CompletableFuture<Optional<JsonEnvelope>> waitingOutput = processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID()))).toCompletableFuture();
+
+        laneThreads.get(0).interrupt();
+
+        try {
+            interruptedOutput.get(5, SECONDS);
+            fail("Expected the processing of the interrupted envelope to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(InterruptedException.class)));
+        }
+        try {
+            waitingOutput.get(5, SECONDS);
+            fail("Expected the waiting envelope to be abandoned");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(RejectedExecutionException.class)));
+        }
+    }
+
+    @Test
+    public void shouldRejectACallerBlockedOnAFullLaneWhenShutDown() throws Exception {
+        final CountDownLatch processingStarted = new CountDownLatch(1);
+        final CountDownLatch processingReleased = new CountDownLatch(1);
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenAnswer(invocation -> {
+            processingStarted.countDown();
+            processingReleased.await();
+            return Optional.empty();
+        });
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 1, defaultThreadFactory());
+
+        processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID())));
+        processingStarted.await(5, SECONDS);
+        processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID())));
+
+        final CompletableFuture<CompletableFuture<Optional<JsonEnvelope>>> blockedSubmit = CompletableFuture.supplyAsync(() ->
+                processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID()))).toCompletableFuture());
+
+        try {
+            blockedSubmit.get(200, MILLISECONDS);
+            fail("Expected the caller to be blocked while the lane is full");
+        } catch (final TimeoutException expected) {
+            final CompletableFuture<Boolean> shutdown = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return processor.shutdown(5_000L);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertThat(blockedSubmit.get(5, SECONDS).isCompletedExceptionally(), is(true));
+
+            processingReleased.countDown();
+            assertThat(shutdown.get(5, SECONDS), is(true));
+        }
+    }
+
+    @Test
+    public void shouldSpreadEnvelopesWithoutAStreamIdOverTheLanes() throws Exception {
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 4, 10, defaultThreadFactory());
+
+        final int firstLane = processor.laneOf(envelopeWithoutStreamId());
+        boolean spread = false;
+        for (int index = 0; index < 100 && !spread; index++) {
+            spread = processor.laneOf(envelopeWithoutStreamId()) != firstLane;
+        }
+
+        assertThat(spread, is(true));
+    }
+
+    @Test
+    public void shouldCountTheEnvelopesProcessedOnEachLane() throws Exception {
+        when(interceptorChainProcessor.process(any(InterceptorContext.class))).thenReturn(Optional.empty());
+
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 3, 10, defaultThreadFactory());
+
+        final JsonEnvelope envelope = envelopeWithStreamId(randomUUID());
+        processor.process(interceptorContextWithInput(envelope)).toCompletableFuture().get(5, SECONDS);
+        processor.process(interceptorContextWithInput(envelope)).toCompletableFuture().get(5, SECONDS);
+        processor.shutdown(5_000L);
+
+        final String lane = "lane-" + processor.laneOf(envelope);
+        assertThat(processor.getLaneCount(), is(3));
+        assertThat(processor.getProcessedCounts().keySet().size(), is(3));
+        assertThat(processor.getProcessedCounts().get(lane), is(2L));
+        assertThat(processor.getLaneDepths().get(lane), is(0));
+        assertThat(processor.getLaneLagsInMillis().get(lane), is(0L));
+    }
+
+    @Test
+    public void shouldRejectEnvelopesOnceShutDown() throws Exception {
+        processor = new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 1, defaultThreadFactory());
+        processor.shutdown(5_000L);
+
+        final CompletableFuture<Optional<JsonEnvelope>> output = processor.process(interceptorContextWithInput(envelopeWithStreamId(randomUUID()))).toCompletableFuture();
+
+        assertThat(output.isCompletedExceptionally(), is(true));
+        try {
+            output.get();
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(RejectedExecutionException.class)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireAtLeastOneLane() throws Exception {
+        new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 0, 1, defaultThreadFactory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireRoomForAtLeastOneEnvelopeInEachLane() throws Exception {
+        new StreamPartitionedInterceptorChainProcessor(interceptorChainProcessor, 1, 0, defaultThreadFactory());
+    }
+
+    private JsonEnvelope envelopeWithStreamId(final UUID streamId) {
+        return envelopeFrom(
+                metadataBuilder()
+                        .withId(randomUUID())
+                        .withName("test.event.something-happened")
+                        .withStreamId(streamId),
+                createObjectBuilder());
+    }
+
+    private JsonEnvelope envelopeWithoutStreamId() {
+        return envelopeFrom(
+                metadataBuilder()
+                        .withId(randomUUID())
+                        .withName("test.command.do-something"),
+                createObjectBuilder());
+    }
+}
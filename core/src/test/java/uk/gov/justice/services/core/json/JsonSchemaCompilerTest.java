@@ -0,0 +1,204 @@
+package uk.gov.justice.services.core.json;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static uk.gov.justice.services.core.json.JsonSchemaCompiler.Verdict.INVALID;
+import static uk.gov.justice.services.core.json.JsonSchemaCompiler.Verdict.UNKNOWN;
+import static uk.gov.justice.services.core.json.JsonSchemaCompiler.Verdict.VALID;
+
+import java.io.InputStream;
+import java.util.List;
+
+import org.everit.json.schema.EmptySchema;
+import org.everit.json.schema.ObjectSchema;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link JsonSchemaCompiler} class.
+ */
+public class JsonSchemaCompilerTest {
+
+    private static final String HEARING_SCHEMA = "/json/benchmark/example.command.create-hearing.json";
+    private static final String HEARING_PAYLOAD = "/json/benchmark/example.command.create-hearing-payload.json";
+
+    @Test
+    public void shouldFindAValidPayloadValidWithoutInterpretingTheSchema() throws Exception {
+        final CompiledJsonSchema compiledSchema = JsonSchemaCompiler.compile(SchemaLoader.load(resource(HEARING_SCHEMA)));
+
+        assertThat(compiledSchema.verdictOf(resource(HEARING_PAYLOAD)), is(VALID));
+    }
+
+    @Test
+    public void shouldReportTheSameViolationsAsTheSchemaForAnInvalidPayload() throws Exception {
+        final Schema schema = SchemaLoader.load(resource(HEARING_SCHEMA));
+        final CompiledJsonSchema compiledSchema = JsonSchemaCompiler.compile(schema);
+
+        final JSONObject payload = resource(HEARING_PAYLOAD);
+        payload.getJSONArray("hearingDays").getJSONObject(0).put("durationMinutes", 0);
+        payload.getJSONObject("courtCentre").put("name", "");
+        payload.put("unexpected", true);
+
+        assertThat(compiledSchema.verdictOf(payload), is(INVALID));
+        assertThat(violationsOf(compiledSchema, payload), is(violationsOf(schema, payload)));
+    }
+
+    @Test
+    public void shouldFindAPayloadMatchingMoreThanOneSubschemaOfOneOfInvalid() throws Exception {
+        final Schema schema = schemaOf("{'oneOf': [{'type': 'string'}, {'type': 'string', 'maxLength': 5}]}");
+        final CompiledJsonSchema compiledSchema = JsonSchemaCompiler.compile(schema);
+
+        assertThat(compiledSchema.verdictOf("longer than five"), is(VALID));
+        assertThat(compiledSchema.verdictOf("short"), is(INVALID));
+        assertThat(compiledSchema.verdictOf(5), is(INVALID));
+    }
+
+    @Test
+    public void shouldCompileAllOfAnyOfAndNot() throws Exception {
+        final CompiledJsonSchema compiledSchema = JsonSchemaCompiler.compile(schemaOf("{" +
+                "'allOf': [{'type': 'string'}, {'not': {'enum': ['forbidden']}}]," +
+                "'anyOf': [{'minLength': 3}, {'pattern': '^x'}]" +
+                "}"));
+
+        assertThat(compiledSchema.verdictOf("allowed"), is(VALID));
+        assertThat(compiledSchema.verdictOf("xy"), is(VALID));
+        assertThat(compiledSchema.verdictOf("ab"), is(INVALID));
+        assertThat(compiledSchema.verdictOf("forbidden"), is(INVALID));
+        assertThat(compiledSchema.verdictOf(true), is(INVALID));
+    }
+
+    @Test
+    public void shouldCompileRecursiveSchemas() throws Exception {
+        final CompiledJsonSchema compiledSchema = JsonSchemaCompiler.compile(schemaOf("{" +
+                "'type': 'object'," +
+                "'properties': {'name': {'type': 'string'}, 'children': {'type': 'array', 'items': {'$ref': '#'}}}," +
+                "'required': ['name']" +
+                "}"));
+
+        assertThat(compiledSchema.verdictOf(new JSONObject("{'name': 'a', 'children': [{'name': 'b', 'children': [{'name': 'c'}]}]}")), is(VALID));
+        assertThat(compiledSchema.verdictOf(new JSONObject("{'name': 'a', 'children': [{'name': 'b', 'children': [{}]}]}")), is(INVALID));
+    }
+
+    @Test
+    public void shouldGiveNoVerdictForKeywordsThatAreNotCompiledAndFallBackToTheSchema() throws Exception {
+        final Schema schema = schemaOf("{'type': 'array', 'uniqueItems': true}");
+        final CompiledJsonSchema compiledSchema = JsonSchemaCompiler.compile(schema);
+
+        final Object validPayload = new JSONObject("{'items': [1, 2]}").get("items");
+        final Object invalidPayload = new JSONObject("{'items': [1, 1]}").get("items");
+
+        assertThat(compiledSchema.verdictOf(validPayload), is(UNKNOWN));
+        assertThat(compiledSchema.verdictOf(invalidPayload), is(UNKNOWN));
+
+        compiledSchema.validate(validPayload);
+        assertThat(violationsOf(compiledSchema, invalidPayload), is(violationsOf(schema, invalidPayload)));
+    }
+
+    @Test
+    public void shouldAgreeWithTheSchemaForKeywordsOfLaterDrafts() throws Exception {
+        final Schema schema = schemaOf("{" +
+                "'$schema': 'http://json-schema.org/draft-06/schema#'," +
+                "'type': 'object'," +
+                "'propertyNames': {'pattern': '^[a-z]+$'}," +
+                "'properties': {'courts': {'type': 'array', 'contains': {'type': 'string'}}}" +
+                "}");
+        final CompiledJsonSchema compiledSchema = JsonSchemaCompiler.compile(schema);
+
+        assertAgreesWithTheSchema(compiledSchema, schema, new JSONObject("{'courts': ['Lewes', 1]}"));
+        assertAgreesWithTheSchema(compiledSchema, schema, new JSONObject("{'Courts': ['Lewes']}"));
+        assertAgreesWithTheSchema(compiledSchema, schema, new JSONObject("{'courts': [1, 2]}"));
+    }
+
+    @Test
+    public void shouldGiveNoVerdictForASchemaSettingAKeywordThatIsNotHandled() throws Exception {
+        final ObjectSchema handledSchema = ObjectSchema.builder().build();
+
+        assertThat(JsonSchemaCompiler.compile(handledSchema).verdictOf(new JSONObject()), is(VALID));
+        assertThat(JsonSchemaCompiler.compile(new ObjectSchemaOfALaterDraft()).verdictOf(new JSONObject()), is(UNKNOWN));
+    }
+
+    @Test
+    public void shouldFallBackToTheSchemaForSchemaTypesThatAreNotCompiled() throws Exception {
+        final Schema schema = mock(Schema.class);
+        final JSONObject payload = new JSONObject();
+
+        JsonSchemaCompiler.compile(schema).validate(payload);
+
+        verify(schema).validate(payload);
+    }
+
+    private static void assertAgreesWithTheSchema(final CompiledJsonSchema compiledSchema, final Schema schema, final Object payload) {
+        final boolean valid = isValid(schema, payload);
+
+        assertThat(isValid(compiledSchema, payload), is(valid));
+        if (compiledSchema.verdictOf(payload) != UNKNOWN) {
+            assertThat(compiledSchema.verdictOf(payload), is(valid ? VALID : INVALID));
+        }
+    }
+
+    private static boolean isValid(final Schema schema, final Object payload) {
+        try {
+            schema.validate(payload);
+            return true;
+        } catch (final ValidationException e) {
+            return false;
+        }
+    }
+
+    private static boolean isValid(final CompiledJsonSchema compiledSchema, final Object payload) {
+        try {
+            compiledSchema.validate(payload);
+            return true;
+        } catch (final ValidationException e) {
+            return false;
+        }
+    }
+
+    private static List<String> violationsOf(final Schema schema, final Object payload) {
+        try {
+            schema.validate(payload);
+        } catch (final ValidationException e) {
+            return e.getAllMessages();
+        }
+        throw new AssertionError("Expected the payload to be invalid");
+    }
+
+    private static List<String> violationsOf(final CompiledJsonSchema compiledSchema, final Object payload) {
+        try {
+            compiledSchema.validate(payload);
+            fail();
+        } catch (final ValidationException e) {
+            return e.getAllMessages();
+        }
+        return null;
+    }
+
+    private static Schema schemaOf(final String json) {
+        return SchemaLoader.load(new JSONObject(json));
+    }
+
+    private JSONObject resource(final String name) throws Exception {
+        try (final InputStream inputStream = getClass().getResourceAsStream(name)) {
+            return new JSONObject(new JSONTokener(inputStream));
+        }
+    }
+
+    public static class ObjectSchemaOfALaterDraft extends ObjectSchema {
+
+        private ObjectSchemaOfALaterDraft() {
+            super(ObjectSchema.builder());
+        }
+
+        @SuppressWarnings("unused")
+        public Schema getSchemaOfALaterKeyword() {
+            return EmptySchema.INSTANCE;
+        }
+    }
+}
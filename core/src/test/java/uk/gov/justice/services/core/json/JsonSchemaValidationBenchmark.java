@@ -0,0 +1,72 @@
+package uk.gov.justice.services.core.json;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of validating a valid command payload by interpreting its schema and by the
+ * validator the {@link JsonSchemaCompiler} compiles from it. The schema describes defendants as
+ * oneOf a person or an organisation, with the ids, dates and addresses shared through $refs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSchemaValidationBenchmark {
+
+    private Schema schema;
+    private CompiledJsonSchema compiledSchema;
+    private JSONObject payload;
+
+    @Setup
+    public void setup() throws Exception {
+        schema = SchemaLoader.load(resource("/json/benchmark/example.command.create-hearing.json"));
+        compiledSchema = JsonSchemaCompiler.compile(schema);
+        payload = resource("/json/benchmark/example.command.create-hearing-payload.json");
+    }
+
+    @Benchmark
+    public JSONObject interpreted() {
+        schema.validate(payload);
+        return payload;
+    }
+
+    @Benchmark
+    public JSONObject compiled() {
+        compiledSchema.validate(payload);
+        return payload;
+    }
+
+    private JSONObject resource(final String name) throws Exception {
+        try (final InputStream inputStream = getClass().getResourceAsStream(name)) {
+            return new JSONObject(new JSONTokener(inputStream));
+        }
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSchemaValidationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -8,6 +8,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -68,6 +69,30 @@ public class SchemaCatalogAwareJsonSchemaValidatorTest {
         verifyZeroInteractions(fileBasedJsonSchemaValidator);
     }
 
+    @Test
+    public void shouldCompileEachSchemaFromTheCatalogOnlyOnce() throws Exception {
+
+        final String uri = "http://space.time.gov.uk/mind/command/api/initiate-warp-speed.json";
+        final String actionName = "command.api.initiate-warp-speed";
+        final Optional<String> schemaId = of(uri);
+        final MediaType mediaType = new MediaType("application", "vnd.mind.command.initiate-warp-speed+json");
+
+        final String envelopeJson = "{\"envelope\": \"json\"}";
+
+        final Schema schema = mock(Schema.class);
+        final JSONObject payload = mock(JSONObject.class);
+
+        when(schemaIdMappingCache.schemaIdFor(mediaType)).thenReturn(schemaId);
+        when(schemaCatalogService.findSchema(uri)).thenReturn(of(schema));
+        when(payloadExtractor.extractPayloadFrom(envelopeJson)).thenReturn(payload);
+
+        schemaCatalogAwareJsonSchemaValidator.validate(envelopeJson, actionName, of(mediaType));
+        schemaCatalogAwareJsonSchemaValidator.validate(envelopeJson, actionName, of(mediaType));
+
+        verify(schemaCatalogService, times(1)).findSchema(uri);
+        verify(schema, times(2)).validate(payload);
+    }
+
     @Test
     public void shouldFallBackToFileBasedSchemaValidationIfNoSchemaFoundInTheCatalogCache() throws Exception {
 
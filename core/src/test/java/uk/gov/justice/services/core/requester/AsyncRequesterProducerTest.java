@@ -0,0 +1,55 @@
+package uk.gov.justice.services.core.requester;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.common.annotation.ComponentNameExtractor;
+import uk.gov.justice.services.core.dispatcher.BulkheadExecutor;
+import uk.gov.justice.services.core.dispatcher.Bulkheads;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncRequesterProducerTest {
+
+    @Mock
+    private RequesterProducer requesterProducer;
+
+    @Mock
+    private Bulkheads bulkheads;
+
+    @Mock
+    private ComponentNameExtractor componentNameExtractor;
+
+    @InjectMocks
+    private AsyncRequesterProducer asyncRequesterProducer;
+
+    @Test
+    public void shouldProduceARequesterThatRequestsInTheBulkheadOfTheComponent() throws Exception {
+        final InjectionPoint injectionPoint = mock(InjectionPoint.class);
+        final Requester requester = mock(Requester.class);
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+        final JsonEnvelope response = mock(JsonEnvelope.class);
+        final BulkheadExecutor bulkheadExecutor = new BulkheadExecutor("QUERY_API", Runnable::run, 1, 0, 0L);
+
+        when(requesterProducer.produceRequester(injectionPoint)).thenReturn(requester);
+        when(componentNameExtractor.componentFrom(injectionPoint)).thenReturn("QUERY_API");
+        when(bulkheads.executorFor("QUERY_API")).thenReturn(bulkheadExecutor);
+        when(requester.request(envelope)).thenReturn(response);
+
+        final AsyncRequester asyncRequester = asyncRequesterProducer.produceAsyncRequester(injectionPoint);
+
+        assertThat(asyncRequester.requestAsync(envelope).toCompletableFuture().get(5, SECONDS), is(response));
+        assertThat(bulkheadExecutor.getCompletedCount(), is(1L));
+    }
+}
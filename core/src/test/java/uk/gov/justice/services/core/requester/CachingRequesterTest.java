@@ -0,0 +1,81 @@
+package uk.gov.justice.services.core.requester;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingRequesterTest {
+
+    private static final String COMPONENT = "QUERY_API";
+
+    @Mock
+    private Requester requester;
+
+    @Mock
+    private QueryCache queryCache;
+
+    @Mock
+    private JsonEnvelope request;
+
+    @Mock
+    private JsonEnvelope response;
+
+    @Mock
+    private Envelope<String> typedResponse;
+
+    private CachingRequester cachingRequester;
+
+    @Before
+    public void setup() {
+        cachingRequester = new CachingRequester(requester, queryCache, COMPONENT);
+
+        when(queryCache.request(eq(COMPONENT), eq(request), any(), any(Supplier.class))).thenAnswer(invocation ->
+                ((Supplier<?>) invocation.getArguments()[3]).get());
+    }
+
+    @Test
+    public void shouldRequestThroughTheQueryCache() throws Exception {
+        when(requester.request(request)).thenReturn(response);
+
+        assertThat(cachingRequester.request(request), is(response));
+
+        verify(queryCache).request(eq(COMPONENT), eq(request), (Class<?>) isNull(), any(Supplier.class));
+    }
+
+    @Test
+    public void shouldRequestTypedResponsesThroughTheQueryCache() throws Exception {
+        when(requester.request(request, String.class)).thenReturn(typedResponse);
+
+        assertThat(cachingRequester.request(request, String.class), is(typedResponse));
+
+        verify(queryCache).request(eq(COMPONENT), eq(request), eq(String.class), any(Supplier.class));
+    }
+
+    @Test
+    public void shouldAlwaysDispatchRequestsAsAdmin() throws Exception {
+        when(requester.requestAsAdmin(request)).thenReturn(response);
+        when(requester.requestAsAdmin(request, String.class)).thenReturn(typedResponse);
+
+        assertThat(cachingRequester.requestAsAdmin(request), is(response));
+        assertThat(cachingRequester.requestAsAdmin(request, String.class), is(typedResponse));
+
+        verifyZeroInteractions(queryCache);
+    }
+}
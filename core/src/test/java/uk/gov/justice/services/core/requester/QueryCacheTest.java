@@ -0,0 +1,360 @@
+package uk.gov.justice.services.core.requester;
+
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.messaging.JsonEnvelope.metadataBuilder;
+
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+import uk.gov.justice.services.common.util.Clock;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.Metadata;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.json.JsonObject;
+import javax.management.ObjectName;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QueryCacheTest {
+
+    private static final String COMPONENT = "QUERY_API";
+    private static final String CACHED_ACTION = "reference-data.query.courts";
+    private static final String OTHER_CACHED_ACTION = "reference-data.query.judges";
+    private static final String UNCACHED_ACTION = "people.query.person";
+
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("2018-06-01T10:15:30Z");
+
+    @Mock
+    private ContextMBeanRegistrar contextMBeanRegistrar;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private QueryCache queryCache;
+
+    private final AtomicInteger dispatchCount = new AtomicInteger();
+
+    @Before
+    public void setup() {
+        queryCache.cachedActions = CACHED_ACTION + ", " + OTHER_CACHED_ACTION;
+        queryCache.ttlMillis = "60000";
+        queryCache.ttlMillisByAction = "";
+        queryCache.maxEntries = "1000";
+
+        when(contextMBeanRegistrar.register(any(), any(String.class), any(String.class))).thenReturn(Optional.empty());
+        when(clock.now()).thenReturn(NOW);
+    }
+
+    @Test
+    public void shouldAnswerIdenticalRequestsFromTheCache() throws Exception {
+        queryCache.initialise();
+
+        final JsonEnvelope response = request(CACHED_ACTION, "user", "Croydon");
+        final JsonEnvelope identicalRequest = envelope(CACHED_ACTION, "user", "Croydon");
+
+        assertResponseTo(identicalRequest, queryCache.request(COMPONENT, identicalRequest, null, dispatch()), response);
+        assertThat(dispatchCount.get(), is(1));
+        assertThat(queryCache.getHitCount(), is(1L));
+        assertThat(queryCache.getMissCount(), is(1L));
+        assertThat(queryCache.getSize(), is(1));
+    }
+
+    @Test
+    public void shouldDispatchRequestsForDifferentUsersOrPayloads() throws Exception {
+        queryCache.initialise();
+
+        request(CACHED_ACTION, "user", "Croydon");
+        request(CACHED_ACTION, "other user", "Croydon");
+        request(CACHED_ACTION, "user", "Lewes");
+
+        assertThat(dispatchCount.get(), is(3));
+    }
+
+    @Test
+    public void shouldAlwaysDispatchActionsThatAreNotCached() throws Exception {
+        queryCache.initialise();
+
+        request(UNCACHED_ACTION, "user", "Croydon");
+        request(UNCACHED_ACTION, "user", "Croydon");
+
+        assertThat(dispatchCount.get(), is(2));
+        assertThat(queryCache.getMissCount(), is(0L));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldAlwaysDispatchRequestsWithPayloadsThatAreNotJson() throws Exception {
+        queryCache.initialise();
+
+        final Envelope<String> envelope = mock(Envelope.class);
+        final Metadata metadata = mock(Metadata.class);
+        when(envelope.metadata()).thenReturn(metadata);
+        when(envelope.payload()).thenReturn("Croydon");
+        when(metadata.name()).thenReturn(CACHED_ACTION);
+
+        queryCache.request(COMPONENT, envelope, null, dispatch());
+        queryCache.request(COMPONENT, envelope, null, dispatch());
+
+        assertThat(dispatchCount.get(), is(2));
+    }
+
+    @Test
+    public void shouldDispatchAgainOnceTheResponseHasExpired() throws Exception {
+        queryCache.ttlMillisByAction = OTHER_CACHED_ACTION + "=0";
+        queryCache.initialise();
+
+        request(OTHER_CACHED_ACTION, "user", "Croydon");
+        request(OTHER_CACHED_ACTION, "user", "Croydon");
+
+        assertThat(dispatchCount.get(), is(2));
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedResponseWhenFull() throws Exception {
+        queryCache.maxEntries = "2";
+        queryCache.initialise();
+
+        request(CACHED_ACTION, "user", "Croydon");
+        request(CACHED_ACTION, "user", "Lewes");
+        request(CACHED_ACTION, "user", "Croydon");
+        request(CACHED_ACTION, "user", "Hove");
+
+        assertThat(queryCache.getSize(), is(2));
+
+        request(CACHED_ACTION, "user", "Croydon");
+        request(CACHED_ACTION, "user", "Lewes");
+
+        assertThat(dispatchCount.get(), is(4));
+    }
+
+    @Test
+    public void shouldShareTheDispatchOfIdenticalRequestsInFlight() throws Exception {
+        queryCache.initialise();
+
+        final CountDownLatch dispatchStarted = new CountDownLatch(1);
+        final CountDownLatch dispatchReleased = new CountDownLatch(1);
+        final JsonEnvelope request = envelope(CACHED_ACTION, "user", "Croydon");
+        final JsonEnvelope response = envelope(CACHED_ACTION, "user", "response");
+
+        final CompletableFuture<JsonEnvelope> firstRequest = CompletableFuture.supplyAsync(() ->
+                queryCache.request(COMPONENT, request, null, () -> {
+                    dispatchStarted.countDown();
+                    await(dispatchReleased);
+                    dispatchCount.incrementAndGet();
+                    return response;
+                }));
+        dispatchStarted.await(5, SECONDS);
+
+        final JsonEnvelope identical = envelope(CACHED_ACTION, "user", "Croydon");
+        final CompletableFuture<JsonEnvelope> identicalRequest = CompletableFuture.supplyAsync(() ->
+                queryCache.request(COMPONENT, identical, null, dispatch()));
+        while (queryCache.getCoalescedCount() == 0L) {
+            Thread.sleep(1L);
+        }
+        dispatchReleased.countDown();
+
+        assertThat(firstRequest.get(5, SECONDS), is(sameInstance(response)));
+        assertResponseTo(identical, identicalRequest.get(5, SECONDS), response);
+        assertThat(dispatchCount.get(), is(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldAnswerIdenticalRequestsForJsonPayloadsFromTheCache() throws Exception {
+        queryCache.initialise();
+
+        final JsonEnvelope request = envelope(CACHED_ACTION, "user", "Croydon");
+        final Supplier<Envelope<JsonObject>> dispatch = () -> {
+            dispatchCount.incrementAndGet();
+            return (Envelope) envelope("response", "user", "response");
+        };
+
+        final Envelope<JsonObject> response = queryCache.request(COMPONENT, request, JsonObject.class, dispatch);
+        final Envelope<JsonObject> cachedResponse = queryCache.request(COMPONENT, request, JsonObject.class, dispatch);
+
+        assertThat(cachedResponse.payload(), is(response.payload()));
+        assertThat(cachedResponse.metadata().name(), is("response"));
+        assertThat(cachedResponse.metadata().causation(), contains(request.metadata().id()));
+        assertThat(dispatchCount.get(), is(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldAlwaysDispatchRequestsForPayloadsThatAreNotJson() throws Exception {
+        queryCache.initialise();
+
+        final Envelope<String> response = mock(Envelope.class);
+        final Supplier<Envelope<String>> dispatch = () -> {
+            dispatchCount.incrementAndGet();
+            return response;
+        };
+
+        queryCache.request(COMPONENT, envelope(CACHED_ACTION, "user", "Croydon"), String.class, dispatch);
+        queryCache.request(COMPONENT, envelope(CACHED_ACTION, "user", "Croydon"), String.class, dispatch);
+
+        assertThat(dispatchCount.get(), is(2));
+        assertThat(queryCache.getSize(), is(0));
+    }
+
+    @Test
+    public void shouldNotCacheResponsesWithoutAPayload() throws Exception {
+        queryCache.initialise();
+
+        final Supplier<JsonEnvelope> dispatch = () -> {
+            dispatchCount.incrementAndGet();
+            return null;
+        };
+
+        queryCache.request(COMPONENT, envelope(CACHED_ACTION, "user", "Croydon"), null, dispatch);
+        queryCache.request(COMPONENT, envelope(CACHED_ACTION, "user", "Croydon"), null, dispatch);
+
+        assertThat(dispatchCount.get(), is(2));
+        assertThat(queryCache.getSize(), is(0));
+    }
+
+    @Test
+    public void shouldNotCacheFailedRequests() throws Exception {
+        queryCache.initialise();
+
+        final IllegalStateException failure = new IllegalStateException("Query failed");
+        try {
+            queryCache.request(COMPONENT, envelope(CACHED_ACTION, "user", "Croydon"), null, () -> {
+                throw failure;
+            });
+            fail("Expected the failure to be rethrown");
+        } catch (final IllegalStateException e) {
+            assertThat(e, is(failure));
+        }
+
+        request(CACHED_ACTION, "user", "Croydon");
+
+        assertThat(dispatchCount.get(), is(1));
+    }
+
+    @Test
+    public void shouldInvalidateTheResponsesOfAnAction() throws Exception {
+        queryCache.initialise();
+
+        request(CACHED_ACTION, "user", "Croydon");
+        request(OTHER_CACHED_ACTION, "user", "Croydon");
+
+        queryCache.invalidate(CACHED_ACTION);
+
+        request(CACHED_ACTION, "user", "Croydon");
+        request(OTHER_CACHED_ACTION, "user", "Croydon");
+
+        assertThat(dispatchCount.get(), is(3));
+    }
+
+    @Test
+    public void shouldNotCacheAResponseDispatchedBeforeAnInvalidation() throws Exception {
+        queryCache.initialise();
+
+        queryCache.request(COMPONENT, envelope(CACHED_ACTION, "user", "Croydon"), null, () -> {
+            queryCache.invalidate(CACHED_ACTION);
+            return dispatch().get();
+        });
+
+        assertThat(queryCache.getSize(), is(0));
+    }
+
+    @Test
+    public void shouldInvalidateEveryResponse() throws Exception {
+        queryCache.initialise();
+
+        request(CACHED_ACTION, "user", "Croydon");
+        request(OTHER_CACHED_ACTION, "user", "Croydon");
+
+        queryCache.invalidateAll();
+
+        assertThat(queryCache.getSize(), is(0));
+    }
+
+    @Test
+    public void shouldRegisterWithTheMBeanServerIfEnabled() throws Exception {
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.requester:type=people-query-api-query-cache");
+
+        when(contextMBeanRegistrar.register(queryCache, "uk.gov.justice.services.framework.requester", "query-cache")).thenReturn(Optional.of(objectName));
+
+        queryCache.initialise();
+
+        assertThat(queryCache.isEnabled(), is(true));
+        verify(contextMBeanRegistrar).register(queryCache, "uk.gov.justice.services.framework.requester", "query-cache");
+
+        queryCache.unregister();
+        verify(contextMBeanRegistrar).unregister(objectName);
+    }
+
+    @Test
+    public void shouldBeDisabledIfNoActionsAreCached() throws Exception {
+        queryCache.cachedActions = "";
+        queryCache.initialise();
+
+        assertThat(queryCache.isEnabled(), is(false));
+        verify(contextMBeanRegistrar, never()).register(any(), any(String.class), any(String.class));
+    }
+
+    private void assertResponseTo(final JsonEnvelope request, final JsonEnvelope cachedResponse, final JsonEnvelope response) {
+        assertThat(cachedResponse, is(not(sameInstance(response))));
+        assertThat(cachedResponse.payload(), is(response.payload()));
+        assertThat(cachedResponse.metadata().name(), is(response.metadata().name()));
+        assertThat(cachedResponse.metadata().id(), is(not(response.metadata().id())));
+        assertThat(cachedResponse.metadata().causation(), contains(request.metadata().id()));
+        assertThat(cachedResponse.metadata().createdAt().map(ZonedDateTime::toInstant), is(Optional.of(NOW.toInstant())));
+    }
+
+    private JsonEnvelope request(final String actionName, final String userId, final String court) {
+        return queryCache.request(COMPONENT, envelope(actionName, userId, court), null, dispatch());
+    }
+
+    private Supplier<JsonEnvelope> dispatch() {
+        return () -> {
+            dispatchCount.incrementAndGet();
+            return envelope("response", "user", "response");
+        };
+    }
+
+    private JsonEnvelope envelope(final String actionName, final String userId, final String court) {
+        return envelopeFrom(
+                metadataBuilder()
+                        .withId(randomUUID())
+                        .withName(actionName)
+                        .withUserId(userId),
+                createObjectBuilder().add("court", court));
+    }
+
+    private void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
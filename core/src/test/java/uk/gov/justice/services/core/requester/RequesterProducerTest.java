@@ -1,10 +1,12 @@
 package uk.gov.justice.services.core.requester;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import uk.gov.justice.services.common.annotation.ComponentNameExtractor;
 import uk.gov.justice.services.core.dispatcher.Dispatcher;
 import uk.gov.justice.services.core.dispatcher.DispatcherCache;
 import uk.gov.justice.services.core.dispatcher.DispatcherDelegate;
@@ -21,6 +23,7 @@ import uk.gov.justice.services.core.mapping.NameToMediaTypeConverter;
 
 import java.lang.reflect.Field;
 
+import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.spi.InjectionPoint;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -63,6 +66,12 @@ public class RequesterProducerTest {
     @Mock
     JsonEnvelopeRepacker jsonEnvelopeRepacker;
 
+    @Mock
+    Instance<QueryCache> queryCacheInstance;
+
+    @Mock
+    ComponentNameExtractor componentNameExtractor;
+
     @InjectMocks
     private RequesterProducer requesterProducer;
 
@@ -73,6 +82,7 @@ public class RequesterProducerTest {
         final Dispatcher dispatcher = mock(Dispatcher.class);
 
         when(dispatcherCache.dispatcherFor(injectionPoint)).thenReturn(dispatcher);
+        when(queryCacheInstance.isUnsatisfied()).thenReturn(true);
 
         final DispatcherDelegate dispatcherDelegate = (DispatcherDelegate) requesterProducer.produceRequester(injectionPoint);
 
@@ -96,6 +106,40 @@ public class RequesterProducerTest {
         assertThat(privateField("envelopeValidationExceptionHandler", envelopeValidator, EnvelopeValidationExceptionHandler.class), is(envelopeValidationExceptionHandler));
     }
 
+    @Test
+    public void shouldProduceCachingRequesterIfQueryCacheIsEnabled() throws Exception {
+
+        final InjectionPoint injectionPoint = mock(InjectionPoint.class);
+        final Dispatcher dispatcher = mock(Dispatcher.class);
+
+        final QueryCache queryCache = mock(QueryCache.class);
+
+        when(dispatcherCache.dispatcherFor(injectionPoint)).thenReturn(dispatcher);
+        when(queryCacheInstance.get()).thenReturn(queryCache);
+        when(queryCache.isEnabled()).thenReturn(true);
+        when(componentNameExtractor.componentFrom(injectionPoint)).thenReturn("QUERY_API");
+
+        final Requester requester = requesterProducer.produceRequester(injectionPoint);
+
+        assertThat(requester, is(instanceOf(CachingRequester.class)));
+        assertThat(privateField("queryCache", requester, QueryCache.class), is(queryCache));
+        assertThat(privateField("component", requester, String.class), is("QUERY_API"));
+        assertThat(privateField("requester", requester, Requester.class), is(instanceOf(DispatcherDelegate.class)));
+    }
+
+    @Test
+    public void shouldProduceDispatcherDelegateIfQueryCacheIsNotEnabled() throws Exception {
+
+        final InjectionPoint injectionPoint = mock(InjectionPoint.class);
+        final QueryCache queryCache = mock(QueryCache.class);
+
+        when(dispatcherCache.dispatcherFor(injectionPoint)).thenReturn(mock(Dispatcher.class));
+        when(queryCacheInstance.get()).thenReturn(queryCache);
+        when(queryCache.isEnabled()).thenReturn(false);
+
+        assertThat(requesterProducer.produceRequester(injectionPoint), is(instanceOf(DispatcherDelegate.class)));
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T privateField(final String fieldName, final Object object, @SuppressWarnings("unused") final Class<T> clazz) throws Exception {
 
@@ -0,0 +1,101 @@
+package uk.gov.justice.services.framework.index.processor;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.StandardLocation.CLASS_OUTPUT;
+import static uk.gov.justice.services.framework.utilities.index.ComponentIndex.SERVICE_COMPONENTS_INDEX;
+import static uk.gov.justice.services.framework.utilities.index.ComponentIndex.SYSTEM_COMMAND_HANDLERS_INDEX;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
+
+/**
+ * Annotation processor that writes an index of service components and system command handlers at
+ * compile time, so that they can be registered at deployment without scanning every CDI bean.
+ *
+ * To use, add this artifact as a provided dependency of the modules that contain service
+ * components or system command handlers. Both index files are always written, even when empty, so
+ * an archive built with the processor is known to be fully indexed. The classes of archives built
+ * without it are still found by scanning their beans at deployment.
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    static final String SERVICE_COMPONENT = "uk.gov.justice.services.core.annotation.ServiceComponent";
+    static final String FRAMEWORK_COMPONENT = "uk.gov.justice.services.core.annotation.FrameworkComponent";
+    static final String CUSTOM_SERVICE_COMPONENT = "uk.gov.justice.services.core.annotation.CustomServiceComponent";
+    static final String HANDLES_SYSTEM_COMMAND = "uk.gov.justice.services.jmx.command.HandlesSystemCommand";
+
+    private static final Set<String> INDEXED_ANNOTATIONS = new HashSet<>(asList(
+            SERVICE_COMPONENT,
+            FRAMEWORK_COMPONENT,
+            CUSTOM_SERVICE_COMPONENT,
+            HANDLES_SYSTEM_COMMAND));
+
+    private final Set<String> serviceComponents = new TreeSet<>();
+    private final Set<String> systemCommandHandlers = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+
+        annotations.stream()
+                .filter(annotation -> INDEXED_ANNOTATIONS.contains(annotation.getQualifiedName().toString()))
+                .forEach(annotation -> {
+                    final boolean handlesSystemCommand = annotation.getQualifiedName().contentEquals(HANDLES_SYSTEM_COMMAND);
+
+                    roundEnvironment.getElementsAnnotatedWith(annotation).forEach(element -> {
+                        if (handlesSystemCommand) {
+                            systemCommandHandlers.add(binaryNameOf(element.getEnclosingElement()));
+                        } else if (element.getKind().isClass()) {
+                            serviceComponents.add(binaryNameOf(element));
+                        }
+                    });
+                });
+
+        if (roundEnvironment.processingOver()) {
+            writeIndex(SERVICE_COMPONENTS_INDEX, serviceComponents);
+            writeIndex(SYSTEM_COMMAND_HANDLERS_INDEX, systemCommandHandlers);
+        }
+
+        return false;
+    }
+
+    private String binaryNameOf(final Element element) {
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString();
+    }
+
+    private void writeIndex(final String indexFile, final Set<String> classNames) {
+
+        try {
+            final FileObject fileObject = processingEnv.getFiler().createResource(CLASS_OUTPUT, "", indexFile);
+
+            try (final Writer writer = new OutputStreamWriter(fileObject.openOutputStream(), UTF_8)) {
+                for (final String className : classNames) {
+                    writer.write(className);
+                    writer.write("\n");
+                }
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(ERROR, format("Failed to write component index '%s': %s", indexFile, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.justice.services.framework.index.processor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import static uk.gov.justice.services.framework.utilities.index.ComponentIndex.SERVICE_COMPONENTS_INDEX;
+import static uk.gov.justice.services.framework.utilities.index.ComponentIndex.SYSTEM_COMMAND_HANDLERS_INDEX;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ComponentIndexProcessorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldIndexServiceComponentsAndSystemCommandHandlers() throws Exception {
+
+        final File outputDirectory = temporaryFolder.newFolder();
+
+        final boolean compiled = compile(outputDirectory, asList(
+                source("uk.gov.justice.services.core.annotation.ServiceComponent",
+                        "package uk.gov.justice.services.core.annotation; public @interface ServiceComponent { String value(); }"),
+                source("uk.gov.justice.services.core.annotation.FrameworkComponent",
+                        "package uk.gov.justice.services.core.annotation; public @interface FrameworkComponent { String value(); }"),
+                source("uk.gov.justice.services.jmx.command.HandlesSystemCommand",
+                        "package uk.gov.justice.services.jmx.command; public @interface HandlesSystemCommand { String value(); }"),
+                source("example.CommandApi",
+                        "package example; @uk.gov.justice.services.core.annotation.ServiceComponent(\"COMMAND_API\") public class CommandApi { " +
+                                "@uk.gov.justice.services.core.annotation.FrameworkComponent(\"CUSTOM\") public static class Nested {} }"),
+                source("example.CatchupHandler",
+                        "package example; public class CatchupHandler { " +
+                                "@uk.gov.justice.services.jmx.command.HandlesSystemCommand(\"CATCHUP\") public void catchup() {} " +
+                                "@uk.gov.justice.services.jmx.command.HandlesSystemCommand(\"REBUILD\") public void rebuild() {} }")
+        ));
+
+        assertThat(compiled, is(true));
+
+        assertThat(readIndex(outputDirectory, SERVICE_COMPONENTS_INDEX), contains("example.CommandApi", "example.CommandApi$Nested"));
+        assertThat(readIndex(outputDirectory, SYSTEM_COMMAND_HANDLERS_INDEX), contains("example.CatchupHandler"));
+    }
+
+    @Test
+    public void shouldWriteAnEmptyIndexIfNothingIsFound() throws Exception {
+
+        final File outputDirectory = temporaryFolder.newFolder();
+
+        final boolean compiled = compile(outputDirectory, singletonList(
+                source("example.PlainClass", "package example; public class PlainClass {}")));
+
+        assertThat(compiled, is(true));
+        assertThat(readIndex(outputDirectory, SERVICE_COMPONENTS_INDEX), is(empty()));
+        assertThat(readIndex(outputDirectory, SYSTEM_COMMAND_HANDLERS_INDEX), is(empty()));
+    }
+
+    private boolean compile(final File outputDirectory, final List<JavaFileObject> sources) throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, singletonList(outputDirectory));
+
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, null, null, sources);
+            task.setProcessors(singletonList(new ComponentIndexProcessor()));
+
+            return task.call();
+        }
+    }
+
+    private List<String> readIndex(final File outputDirectory, final String indexFile) throws Exception {
+        final Path indexPath = outputDirectory.toPath().resolve(indexFile);
+        return Files.readAllLines(indexPath, UTF_8);
+    }
+
+    private JavaFileObject source(final String className, final String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
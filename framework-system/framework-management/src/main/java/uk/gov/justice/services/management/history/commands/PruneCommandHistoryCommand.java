@@ -0,0 +1,13 @@
+package uk.gov.justice.services.management.history.commands;
+
+import uk.gov.justice.services.jmx.api.command.BaseSystemCommand;
+
+public class PruneCommandHistoryCommand extends BaseSystemCommand {
+
+    public static final String PRUNE_COMMAND_HISTORY = "PRUNE_COMMAND_HISTORY";
+    public static final String DESCRIPTION = "Deletes the status and progress history of system commands that finished before the retention period.";
+
+    public PruneCommandHistoryCommand() {
+        super(PRUNE_COMMAND_HISTORY, DESCRIPTION);
+    }
+}
@@ -0,0 +1,90 @@
+package uk.gov.justice.services.management.history.handler;
+
+import static java.lang.String.format;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_COMPLETE;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_FAILED;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_IN_PROGRESS;
+import static uk.gov.justice.services.management.history.commands.PruneCommandHistoryCommand.PRUNE_COMMAND_HISTORY;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.jmx.command.HandlesSystemCommand;
+import uk.gov.justice.services.jmx.state.events.SystemCommandStateChangedEvent;
+import uk.gov.justice.services.jmx.state.persistence.SystemCommandProgressRepository;
+import uk.gov.justice.services.jmx.state.persistence.SystemCommandStatusRepository;
+import uk.gov.justice.services.management.history.commands.PruneCommandHistoryCommand;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+
+/**
+ * Deletes the history of system commands that finished more than
+ * {@value #RETENTION_DAYS_PROPERTY} days ago (default {@value #DEFAULT_RETENTION_DAYS}).
+ */
+public class PruneCommandHistoryHandler {
+
+    static final String RETENTION_DAYS_PROPERTY = "system.command.history.retention.days";
+    static final int DEFAULT_RETENTION_DAYS = 90;
+
+    @Inject
+    private SystemCommandStatusRepository systemCommandStatusRepository;
+
+    @Inject
+    private SystemCommandProgressRepository systemCommandProgressRepository;
+
+    @Inject
+    private Event<SystemCommandStateChangedEvent> systemCommandStateChangedEventFirer;
+
+    @Inject
+    private UtcClock clock;
+
+    @Inject
+    private Logger logger;
+
+    @HandlesSystemCommand(PRUNE_COMMAND_HISTORY)
+    public void pruneCommandHistory(final PruneCommandHistoryCommand pruneCommandHistoryCommand, final UUID commandId) {
+
+        final int retentionDays = Integer.getInteger(RETENTION_DAYS_PROPERTY, DEFAULT_RETENTION_DAYS);
+        final ZonedDateTime startedAt = clock.now();
+        final ZonedDateTime cutOff = startedAt.minusDays(retentionDays);
+
+        systemCommandStateChangedEventFirer.fire(new SystemCommandStateChangedEvent(
+                commandId,
+                pruneCommandHistoryCommand,
+                COMMAND_IN_PROGRESS,
+                startedAt,
+                format("Pruning system command history older than %d days", retentionDays)
+        ));
+
+        try {
+            final int statusesDeleted = systemCommandStatusRepository.deleteCommandsFinishedBefore(cutOff);
+            final int progressDeleted = systemCommandProgressRepository.deleteUpdatedBefore(cutOff);
+
+            final String message = format("Pruned %d system command status(es) and %d progress record(s) older than %s", statusesDeleted, progressDeleted, cutOff);
+            logger.info(message);
+
+            systemCommandStateChangedEventFirer.fire(new SystemCommandStateChangedEvent(
+                    commandId,
+                    pruneCommandHistoryCommand,
+                    COMMAND_COMPLETE,
+                    clock.now(),
+                    message
+            ));
+        } catch (final RuntimeException e) {
+            final String message = format("Failed to prune system command history: %s: %s", e.getClass().getSimpleName(), e.getMessage());
+            logger.error(message, e);
+
+            systemCommandStateChangedEventFirer.fire(new SystemCommandStateChangedEvent(
+                    commandId,
+                    pruneCommandHistoryCommand,
+                    COMMAND_FAILED,
+                    clock.now(),
+                    message
+            ));
+        }
+    }
+}
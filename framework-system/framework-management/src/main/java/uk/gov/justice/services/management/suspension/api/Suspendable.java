@@ -1,11 +1,16 @@
 package uk.gov.justice.services.management.suspension.api;
 
+import static java.util.Collections.emptySet;
+
 import uk.gov.justice.services.management.suspension.commands.SuspensionCommand;
 
+import java.util.Set;
 import java.util.UUID;
 
 public interface Suspendable {
 
+    long DEFAULT_TIMEOUT_IN_SECONDS = 300L;
+
     default String getName() {
         return this.getClass().getSimpleName();
     }
@@ -18,6 +23,39 @@ public interface Suspendable {
         return false;
     }
 
+    /**
+     * The names of the Suspendables that must be suspended before this one (and are unsuspended after
+     * it). Suspendables with no dependency between them are suspended concurrently.
+     *
+     * @return the names of the Suspendables this Suspendable depends on
+     */
+    default Set<String> getDependencies() {
+        return emptySet();
+    }
+
+    /**
+     * Whether this Suspendable may be suspended and unsuspended concurrently with the other
+     * Suspendables of its stage, on the managed executor and in a transaction of its own. By
+     * default Suspendables are run one after another, on the thread and in the transaction of the
+     * suspension command.
+     *
+     * @return true to opt in to running concurrently
+     */
+    default boolean canRunConcurrently() {
+        return false;
+    }
+
+    /**
+     * How long suspending or unsuspending is allowed to take before it is interrupted, whether
+     * or not the Suspendable runs concurrently. Can be overridden at runtime with the system
+     * property 'suspension.timeout.seconds.&lt;name&gt;'
+     *
+     * @return the timeout in seconds
+     */
+    default long getTimeoutInSeconds() {
+        return DEFAULT_TIMEOUT_IN_SECONDS;
+    }
+
     default SuspensionResult suspend(final UUID commandId, final SuspensionCommand suspensionCommand) throws SuspensionFailedException {
         throw new UnsupportedOperationException("Method not implemented");
     }
@@ -1,5 +1,6 @@
 package uk.gov.justice.services.management.suspension.api;
 
+import static java.time.Duration.ZERO;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_COMPLETE;
@@ -8,6 +9,7 @@ import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_FAILED
 import uk.gov.justice.services.jmx.api.command.SystemCommand;
 import uk.gov.justice.services.jmx.api.domain.CommandState;
 
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +22,7 @@ public class SuspensionResult {
     private final UUID commandId;
     private final SystemCommand systemCommand;
     private final Optional<Throwable> exception;
+    private final Duration duration;
 
     private SuspensionResult(
             final String suspendableName,
@@ -27,13 +30,15 @@ public class SuspensionResult {
             final CommandState commandState,
             final UUID commandId,
             final SystemCommand systemCommand,
-            final Optional<Throwable> exception) {
+            final Optional<Throwable> exception,
+            final Duration duration) {
         this.suspendableName = suspendableName;
         this.message = message;
         this.commandState = commandState;
         this.commandId = commandId;
         this.systemCommand = systemCommand;
         this.exception = exception;
+        this.duration = duration;
     }
 
     public static SuspensionResult suspensionSucceeded(
@@ -48,7 +53,8 @@ public class SuspensionResult {
                 COMMAND_COMPLETE,
                 commandId,
                 systemCommand,
-                empty()
+                empty(),
+                ZERO
         );
     }
 
@@ -64,7 +70,8 @@ public class SuspensionResult {
                 COMMAND_FAILED,
                 commandId,
                 systemCommand,
-                empty()
+                empty(),
+                ZERO
         );
     }
 
@@ -81,7 +88,24 @@ public class SuspensionResult {
                 COMMAND_FAILED,
                 commandId,
                 systemCommand,
-                of(exception)
+                of(exception),
+                ZERO
+        );
+    }
+
+    /**
+     * @param duration how long the Suspendable took to run
+     * @return a copy of this SuspensionResult with the duration set
+     */
+    public SuspensionResult withDuration(final Duration duration) {
+        return new SuspensionResult(
+                suspendableName,
+                message,
+                commandState,
+                commandId,
+                systemCommand,
+                exception,
+                duration
         );
     }
 
@@ -109,6 +133,10 @@ public class SuspensionResult {
         return exception;
     }
 
+    public Duration getDuration() {
+        return duration;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -119,12 +147,13 @@ public class SuspensionResult {
                 commandState == that.commandState &&
                 Objects.equals(commandId, that.commandId) &&
                 Objects.equals(systemCommand, that.systemCommand) &&
-                Objects.equals(exception, that.exception);
+                Objects.equals(exception, that.exception) &&
+                Objects.equals(duration, that.duration);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(suspendableName, message, commandState, commandId, systemCommand, exception);
+        return Objects.hash(suspendableName, message, commandState, commandId, systemCommand, exception, duration);
     }
 
     @Override
@@ -136,6 +165,7 @@ public class SuspensionResult {
                 ", commandId=" + commandId +
                 ", systemCommand=" + systemCommand +
                 ", exception=" + exception +
+                ", duration=" + duration +
                 '}';
     }
 }
@@ -1,10 +1,13 @@
 package uk.gov.justice.services.management.suspension.executors;
 
+import static java.lang.String.format;
+import static uk.gov.justice.services.management.suspension.api.SuspensionResult.suspensionFailed;
 import static uk.gov.justice.services.management.suspension.api.SuspensionResult.suspensionSucceeded;
 
 import uk.gov.justice.services.management.suspension.api.Suspendable;
 import uk.gov.justice.services.management.suspension.api.SuspensionResult;
 import uk.gov.justice.services.management.suspension.commands.SuspensionCommand;
+import uk.gov.justice.services.messaging.jms.DrainResult;
 
 import java.util.UUID;
 
@@ -30,19 +33,48 @@ public class CommandApiSuspender implements Suspendable {
         return true;
     }
 
+    /**
+     * The Command API is suspended by switching the in-memory envelope sender, and unsuspended by
+     * sending the stored commands in a transaction of their own, so it needs nothing from the
+     * transaction of the suspension command.
+     */
+    @Override
+    public boolean canRunConcurrently() {
+        return true;
+    }
+
     @Override
     public SuspensionResult suspend(final UUID commandId, final SuspensionCommand suspensionCommand) {
 
         logger.info("Suspending Command API");
 
-        commandApiSuspensionBean.suspend();
+        final DrainResult drainResult = commandApiSuspensionBean.suspend();
+
+        if (!drainResult.isDrained()) {
+            final String message = format(
+                    "Command API suspended but %d of %d in-flight envelope(s) were still being sent after %d ms",
+                    drainResult.getInFlightRemaining(),
+                    drainResult.getInFlightAtStart(),
+                    drainResult.getDrainTimeMillis());
+
+            logger.error(message);
+
+            return suspensionFailed(
+                    getName(),
+                    commandId,
+                    message,
+                    suspensionCommand
+            );
+        }
 
         logger.info("Suspension of Command API complete");
 
         return suspensionSucceeded(
                 getName(),
                 commandId,
-                "Command API suspended with no errors",
+                format("Command API suspended with no errors. %d in-flight envelope(s) drained in %d ms",
+                        drainResult.getInFlightAtStart(),
+                        drainResult.getDrainTimeMillis()),
                 suspensionCommand
         );
     }
@@ -52,7 +84,28 @@ public class CommandApiSuspender implements Suspendable {
 
         logger.info("Unsuspending Command API");
 
-        commandApiSuspensionBean.unsuspend();
+        commandApiSuspensionBean.sendStoredCommands();
+
+        final DrainResult drainResult = commandApiSuspensionBean.unsuspend();
+
+        commandApiSuspensionBean.sendStoredCommands();
+
+        if (!drainResult.isDrained()) {
+            final String message = format(
+                    "Command API unsuspended but %d of %d command(s) being stored had not been committed after %d ms and remain stored",
+                    drainResult.getInFlightRemaining(),
+                    drainResult.getInFlightAtStart(),
+                    drainResult.getDrainTimeMillis());
+
+            logger.error(message);
+
+            return suspensionFailed(
+                    getName(),
+                    commandId,
+                    message,
+                    suspensionCommand
+            );
+        }
 
         logger.info("Unsuspension of Command API complete");
 
@@ -1,10 +1,12 @@
 package uk.gov.justice.services.management.suspension.executors;
 
+import static java.lang.Long.getLong;
+import static javax.transaction.Transactional.TxType.NOT_SUPPORTED;
 import static javax.transaction.Transactional.TxType.REQUIRED;
 
-import uk.gov.justice.services.common.polling.MultiIteratingPoller;
-import uk.gov.justice.services.common.polling.MultiIteratingPollerFactory;
+import uk.gov.justice.services.messaging.jms.DrainResult;
 import uk.gov.justice.services.messaging.jms.EnvelopeSenderSelector;
+import uk.gov.justice.services.messaging.jms.StoredCommandDrainCoordinator;
 import uk.gov.justice.services.shuttering.domain.StoredCommand;
 import uk.gov.justice.services.shuttering.persistence.StoredCommandRepository;
 
@@ -17,11 +19,8 @@ import javax.transaction.Transactional;
 @Stateless
 public class CommandApiSuspensionBean {
 
-    private static final int POLLER_RETRY_COUNT = 2;
-    private static final long POLLER_DELAY_INTERVAL_MILLIS = 100;
-
-    private static final int NUMBER_OF_POLLING_ITERATIONS = 2;
-    private static final long WAIT_TIME_BETWEEN_ITERATIONS_MILLIS = 100;
+    public static final String DRAIN_TIMEOUT_PROPERTY = "suspension.command.api.drain.timeout.millis";
+    private static final long DEFAULT_DRAIN_TIMEOUT_MILLIS = 10_000L;
 
     @Inject
     private EnvelopeSenderSelector envelopeSenderSelector;
@@ -33,33 +32,37 @@ public class CommandApiSuspensionBean {
     private StoredCommandSender storedCommandSender;
 
     @Inject
-    private MultiIteratingPollerFactory multiIteratingPollerFactory;
+    private StoredCommandDrainCoordinator storedCommandDrainCoordinator;
 
-    public void suspend() {
+    public DrainResult suspend() {
         envelopeSenderSelector.setSuspended(true);
-    }
 
-    @Transactional(REQUIRED)
-    public void unsuspend() {
+        return envelopeSenderSelector.awaitInFlightSends(drainTimeoutMillis());
+    }
 
-        getCommandsAndSend();
+    /**
+     * Unsuspends and then waits for the commands that were being stored at the time of
+     * unsuspension to commit. Runs outside of any transaction, so that no transaction of the
+     * caller is held open for the length of the wait.
+     *
+     * @return the number of commands being stored when unsuspended and how long they took to commit
+     */
+    @Transactional(NOT_SUPPORTED)
+    public DrainResult unsuspend() {
 
         envelopeSenderSelector.setSuspended(false);
 
-        final MultiIteratingPoller multiIteratingPoller = multiIteratingPollerFactory.create(
-                POLLER_RETRY_COUNT,
-                POLLER_DELAY_INTERVAL_MILLIS,
-                NUMBER_OF_POLLING_ITERATIONS,
-                WAIT_TIME_BETWEEN_ITERATIONS_MILLIS);
-        
-        multiIteratingPoller.pollUntilTrue(this::getCommandsAndSend);
+        return storedCommandDrainCoordinator.awaitPendingStores(drainTimeoutMillis());
     }
 
-    private boolean getCommandsAndSend() {
+    @Transactional(REQUIRED)
+    public void sendStoredCommands() {
         try (final Stream<StoredCommand> storedCommandStream = storedCommandRepository.streamStoredCommands()) {
             storedCommandStream.forEach(storedCommandSender::sendAndDelete);
         }
+    }
 
-        return true;
+    private long drainTimeoutMillis() {
+        return getLong(DRAIN_TIMEOUT_PROPERTY, DEFAULT_DRAIN_TIMEOUT_MILLIS);
     }
 }
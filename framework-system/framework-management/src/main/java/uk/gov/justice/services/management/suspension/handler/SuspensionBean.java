@@ -13,6 +13,7 @@ import uk.gov.justice.services.management.suspension.process.SuspendablesRunner;
 import uk.gov.justice.services.management.suspension.process.SuspensionPostProcess;
 import uk.gov.justice.services.management.suspension.process.SuspensionResultsMapper;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -52,11 +53,13 @@ public class SuspensionBean {
 
         logger.info(format("Running %s", systemCommandName));
 
+        final ZonedDateTime startedAt = clock.now();
+
         systemCommandStateChangedEventFirer.fire(new SystemCommandStateChangedEvent(
                 commandId,
                 suspensionCommand,
                 COMMAND_IN_PROGRESS,
-                clock.now(),
+                startedAt,
                 format("%s started", systemCommandName)
         ));
 
@@ -75,9 +78,9 @@ public class SuspensionBean {
                 failureResults.size()));
 
         if (failureResults.isEmpty()) {
-            suspensionPostProcess.completeSuspensionSuccessfully(successfulResults, commandId, suspensionCommand);
+            suspensionPostProcess.completeSuspensionSuccessfully(successfulResults, commandId, suspensionCommand, startedAt);
         } else {
-            suspensionPostProcess.completeSuspensionWithFailures(failureResults, commandId, suspensionCommand);
+            suspensionPostProcess.completeSuspensionWithFailures(failureResults, commandId, suspensionCommand, startedAt);
         }
     }
 }
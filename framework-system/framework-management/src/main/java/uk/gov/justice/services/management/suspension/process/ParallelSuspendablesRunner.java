@@ -0,0 +1,243 @@
+package uk.gov.justice.services.management.suspension.process;
+
+import static java.lang.Long.getLong;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import uk.gov.justice.services.management.suspension.api.Suspendable;
+import uk.gov.justice.services.management.suspension.api.SuspensionResult;
+import uk.gov.justice.services.management.suspension.commands.SuspensionCommand;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+
+/**
+ * Runs stages of Suspendables one after another.
+ *
+ * By default the Suspendables of a stage are run one after another on the calling thread, in the
+ * transaction of the suspension command. Suspendables that opt in with
+ * {@link Suspendable#canRunConcurrently()} are run concurrently with them on the managed executor,
+ * each in a transaction of its own and with the MDC of the calling thread.
+ *
+ * Every Suspendable is held to its timeout. A concurrent Suspendable that has not started within
+ * its timeout is reported as failed and never run. Any Suspendable that has started but not finished
+ * within its timeout is interrupted, and its result is reported once it has actually finished. A
+ * concurrent Suspendable that ignores the interrupt is waited for for at most
+ * 'suspension.interrupt.grace.seconds' more, after which it is reported as failed and the next
+ * stage is allowed to start. The failure of one Suspendable does not stop the others from running.
+ */
+public class ParallelSuspendablesRunner {
+
+    public static final String TIMEOUT_PROPERTY_PREFIX = "suspension.timeout.seconds.";
+    public static final String INTERRUPT_GRACE_PROPERTY = "suspension.interrupt.grace.seconds";
+
+    private static final long DEFAULT_INTERRUPT_GRACE_IN_SECONDS = 30L;
+
+    @Resource
+    private ManagedExecutorService managedExecutorService;
+
+    @Resource
+    private ManagedScheduledExecutorService managedScheduledExecutorService;
+
+    @Inject
+    private SuspendableTransactionBean suspendableTransactionBean;
+
+    @Inject
+    private SuspensionFailedHandler suspensionFailedHandler;
+
+    @Inject
+    private Logger logger;
+
+    public List<SuspensionResult> run(
+            final UUID commandId,
+            final SuspensionCommand suspensionCommand,
+            final List<List<Suspendable>> stages,
+            final Function<Suspendable, SuspensionResult> suspensionFunction) {
+
+        final List<SuspensionResult> results = new ArrayList<>();
+
+        for (final List<Suspendable> stage : stages) {
+            results.addAll(runStage(commandId, suspensionCommand, stage, suspensionFunction));
+        }
+
+        return results;
+    }
+
+    private List<SuspensionResult> runStage(
+            final UUID commandId,
+            final SuspensionCommand suspensionCommand,
+            final List<Suspendable> stage,
+            final Function<Suspendable, SuspensionResult> suspensionFunction) {
+
+        final long submittedAt = System.nanoTime();
+
+        final Map<Suspendable, SuspendableTask> tasks = new HashMap<>();
+        final Map<Suspendable, Future<SuspensionResult>> futures = new HashMap<>();
+        for (final Suspendable suspendable : stage) {
+            if (suspendable.canRunConcurrently()) {
+                final SuspendableTask task = new SuspendableTask(
+                        suspendable,
+                        concurrentSuspendable -> suspendableTransactionBean.run(concurrentSuspendable, suspensionFunction));
+                tasks.put(suspendable, task);
+                futures.put(suspendable, managedExecutorService.submit(task));
+            }
+        }
+
+        final Map<Suspendable, SuspensionResult> sequentialResults = new HashMap<>();
+        for (final Suspendable suspendable : stage) {
+            if (!suspendable.canRunConcurrently()) {
+                sequentialResults.put(suspendable, timed(suspensionCommand, suspendable, suspensionFunction));
+            }
+        }
+
+        final List<SuspensionResult> results = new ArrayList<>(stage.size());
+        for (final Suspendable suspendable : stage) {
+            if (suspendable.canRunConcurrently()) {
+                results.add(awaitResult(commandId, suspensionCommand, suspendable, tasks.get(suspendable), futures.get(suspendable), submittedAt));
+            } else {
+                results.add(sequentialResults.get(suspendable));
+            }
+        }
+
+        return results;
+    }
+
+    private SuspensionResult timed(
+            final SuspensionCommand suspensionCommand,
+            final Suspendable suspendable,
+            final Function<Suspendable, SuspensionResult> suspensionFunction) {
+
+        final long timeoutInSeconds = timeoutInSecondsOf(suspendable);
+        final SuspendableWatchdog watchdog = new SuspendableWatchdog(Thread.currentThread(), () -> logger.warn(format(
+                "%s of '%s' did not complete within %d seconds. Interrupting it",
+                suspensionCommand.getName(),
+                suspendable.getName(),
+                timeoutInSeconds)));
+        final ScheduledFuture<?> expiry = managedScheduledExecutorService.schedule(watchdog, timeoutInSeconds, SECONDS);
+
+        final long startedAt = System.nanoTime();
+        try {
+            final SuspensionResult suspensionResult = suspensionFunction.apply(suspendable);
+
+            return suspensionResult.withDuration(Duration.ofNanos(System.nanoTime() - startedAt));
+        } finally {
+            expiry.cancel(false);
+            watchdog.finish();
+        }
+    }
+
+    private SuspensionResult awaitResult(
+            final UUID commandId,
+            final SuspensionCommand suspensionCommand,
+            final Suspendable suspendable,
+            final SuspendableTask task,
+            final Future<SuspensionResult> future,
+            final long submittedAt) {
+
+        final long timeoutInSeconds = timeoutInSecondsOf(suspendable);
+        final long remainingNanos = SECONDS.toNanos(timeoutInSeconds) - (System.nanoTime() - submittedAt);
+
+        try {
+            return future.get(Math.max(remainingNanos, 0L), NANOSECONDS);
+        } catch (final TimeoutException e) {
+            if (task.abandonIfNotStarted()) {
+                future.cancel(false);
+                return failed(commandId, suspensionCommand, suspendable, new TimeoutException(format(
+                        "%s of '%s' did not start within %d seconds",
+                        suspensionCommand.getName(),
+                        suspendable.getName(),
+                        timeoutInSeconds)), submittedAt);
+            }
+
+            logger.warn(format(
+                    "%s of '%s' did not complete within %d seconds. Interrupting it and waiting for it to finish",
+                    suspensionCommand.getName(),
+                    suspendable.getName(),
+                    timeoutInSeconds));
+
+            task.interruptIfRunning();
+            return awaitFinished(commandId, suspensionCommand, suspendable, future, submittedAt);
+        } catch (final ExecutionException e) {
+            return failed(commandId, suspensionCommand, suspendable, e.getCause(), submittedAt);
+        } catch (final InterruptedException e) {
+            final SuspensionResult suspensionResult;
+            if (task.abandonIfNotStarted()) {
+                future.cancel(false);
+                suspensionResult = failed(commandId, suspensionCommand, suspendable, e, submittedAt);
+            } else {
+                task.interruptIfRunning();
+                suspensionResult = awaitFinished(commandId, suspensionCommand, suspendable, future, submittedAt);
+            }
+            Thread.currentThread().interrupt();
+            return suspensionResult;
+        }
+    }
+
+    private SuspensionResult awaitFinished(
+            final UUID commandId,
+            final SuspensionCommand suspensionCommand,
+            final Suspendable suspendable,
+            final Future<SuspensionResult> future,
+            final long submittedAt) {
+
+        final long graceInSeconds = getLong(INTERRUPT_GRACE_PROPERTY, DEFAULT_INTERRUPT_GRACE_IN_SECONDS);
+        final long deadline = System.nanoTime() + SECONDS.toNanos(graceInSeconds);
+
+        boolean interrupted = false;
+
+        try {
+            while (true) {
+                try {
+                    return future.get(Math.max(deadline - System.nanoTime(), 0L), NANOSECONDS);
+                } catch (final ExecutionException e) {
+                    return failed(commandId, suspensionCommand, suspendable, e.getCause(), submittedAt);
+                } catch (final TimeoutException e) {
+                    return failed(commandId, suspensionCommand, suspendable, new TimeoutException(format(
+                            "%s of '%s' did not finish within %d seconds of being interrupted and may still be running",
+                            suspensionCommand.getName(),
+                            suspendable.getName(),
+                            graceInSeconds)), submittedAt);
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private SuspensionResult failed(
+            final UUID commandId,
+            final SuspensionCommand suspensionCommand,
+            final Suspendable suspendable,
+            final Throwable exception,
+            final long submittedAt) {
+
+        return suspensionFailedHandler
+                .onSuspensionFailed(commandId, suspensionCommand, suspendable, exception)
+                .withDuration(Duration.ofNanos(System.nanoTime() - submittedAt));
+    }
+
+    private long timeoutInSecondsOf(final Suspendable suspendable) {
+        return getLong(TIMEOUT_PROPERTY_PREFIX + suspendable.getName(), suspendable.getTimeoutInSeconds());
+    }
+}
@@ -0,0 +1,71 @@
+package uk.gov.justice.services.management.suspension.process;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import uk.gov.justice.services.management.suspension.api.Suspendable;
+import uk.gov.justice.services.management.suspension.api.SuspensionFailedException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sorts Suspendables into stages using their declared dependencies. All Suspendables in a stage
+ * can be run concurrently once every earlier stage has completed. Dependencies on Suspendables
+ * that are not being run are ignored.
+ */
+public class SuspendableDependencySorter {
+
+    public List<List<Suspendable>> inSuspensionOrder(final List<Suspendable> suspendables) throws SuspensionFailedException {
+
+        final Set<String> names = suspendables.stream()
+                .map(Suspendable::getName)
+                .collect(toSet());
+
+        final List<List<Suspendable>> stages = new ArrayList<>();
+        final Set<String> completed = new HashSet<>();
+        List<Suspendable> remaining = new ArrayList<>(suspendables);
+
+        while (!remaining.isEmpty()) {
+            final List<Suspendable> stage = remaining.stream()
+                    .filter(suspendable -> allDependenciesCompleted(suspendable, names, completed))
+                    .collect(toList());
+
+            if (stage.isEmpty()) {
+                throw new SuspensionFailedException(format(
+                        "Circular dependency found between Suspendables %s",
+                        remaining.stream().map(Suspendable::getName).collect(toList())));
+            }
+
+            stage.forEach(suspendable -> completed.add(suspendable.getName()));
+            remaining = remaining.stream()
+                    .filter(suspendable -> !stage.contains(suspendable))
+                    .collect(toList());
+
+            stages.add(stage);
+        }
+
+        return stages;
+    }
+
+    public List<List<Suspendable>> inUnsuspensionOrder(final List<Suspendable> suspendables) throws SuspensionFailedException {
+
+        final List<List<Suspendable>> stages = inSuspensionOrder(suspendables);
+        final List<List<Suspendable>> reversed = new ArrayList<>(stages.size());
+
+        for (int index = stages.size() - 1; index >= 0; index--) {
+            reversed.add(stages.get(index));
+        }
+
+        return reversed;
+    }
+
+    private boolean allDependenciesCompleted(final Suspendable suspendable, final Set<String> names, final Set<String> completed) {
+        return suspendable.getDependencies().stream()
+                .filter(names::contains)
+                .allMatch(completed::contains);
+    }
+}
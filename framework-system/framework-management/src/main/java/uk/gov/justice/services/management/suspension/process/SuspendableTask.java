@@ -0,0 +1,99 @@
+package uk.gov.justice.services.management.suspension.process;
+
+import uk.gov.justice.services.management.suspension.api.Suspendable;
+import uk.gov.justice.services.management.suspension.api.SuspensionResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import org.slf4j.MDC;
+
+/**
+ * Suspends or unsuspends one Suspendable on the managed executor, with the MDC of the thread that
+ * submitted it.
+ *
+ * The task knows whether it has started, so that one which has not yet started when its timeout
+ * expires can be abandoned, and one which has can be interrupted and waited for.
+ */
+class SuspendableTask implements Callable<SuspensionResult> {
+
+    private enum State {PENDING, RUNNING, FINISHED, ABANDONED}
+
+    private final Suspendable suspendable;
+    private final Function<Suspendable, SuspensionResult> suspensionFunction;
+    private final Map<String, String> mdc;
+
+    private State state = State.PENDING;
+    private Thread thread;
+
+    SuspendableTask(final Suspendable suspendable, final Function<Suspendable, SuspensionResult> suspensionFunction) {
+        this.suspendable = suspendable;
+        this.suspensionFunction = suspensionFunction;
+        this.mdc = MDC.getCopyOfContextMap();
+    }
+
+    @Override
+    public SuspensionResult call() {
+
+        if (!start()) {
+            return null;
+        }
+
+        final Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+        setMdc(mdc);
+
+        try {
+            final long startedAt = System.nanoTime();
+            final SuspensionResult suspensionResult = suspensionFunction.apply(suspendable);
+
+            return suspensionResult.withDuration(Duration.ofNanos(System.nanoTime() - startedAt));
+        } finally {
+            setMdc(previousMdc);
+            finish();
+        }
+    }
+
+    /**
+     * @return true if the task had not started and now never will
+     */
+    synchronized boolean abandonIfNotStarted() {
+        if (state == State.PENDING) {
+            state = State.ABANDONED;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized void interruptIfRunning() {
+        if (state == State.RUNNING) {
+            thread.interrupt();
+        }
+    }
+
+    private synchronized boolean start() {
+        if (state != State.PENDING) {
+            return false;
+        }
+        state = State.RUNNING;
+        thread = Thread.currentThread();
+        return true;
+    }
+
+    private synchronized void finish() {
+        state = State.FINISHED;
+        thread = null;
+
+        // an interrupt that arrived as the task finished must not leak to the next task of the thread
+        Thread.interrupted();
+    }
+
+    private static void setMdc(final Map<String, String> contextMap) {
+        if (contextMap == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(contextMap);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package uk.gov.justice.services.management.suspension.process;
+
+import static javax.transaction.Transactional.TxType.REQUIRES_NEW;
+
+import uk.gov.justice.services.management.suspension.api.Suspendable;
+import uk.gov.justice.services.management.suspension.api.SuspensionResult;
+
+import java.util.function.Function;
+
+import javax.ejb.Stateless;
+import javax.transaction.Transactional;
+
+/**
+ * Suspends or unsuspends a Suspendable that runs concurrently in a transaction of its own, as it
+ * runs outside the transaction of the suspension command.
+ */
+@Stateless
+public class SuspendableTransactionBean {
+
+    @Transactional(REQUIRES_NEW)
+    public SuspensionResult run(final Suspendable suspendable, final Function<Suspendable, SuspensionResult> suspensionFunction) {
+        return suspensionFunction.apply(suspendable);
+    }
+}
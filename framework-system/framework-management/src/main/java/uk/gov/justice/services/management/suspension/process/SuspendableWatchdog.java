@@ -0,0 +1,40 @@
+package uk.gov.justice.services.management.suspension.process;
+
+/**
+ * Interrupts a Suspendable running on the thread of the suspension command if it has not finished
+ * within its timeout.
+ *
+ * The watchdog is run once the timeout has expired and {@link #finish()} is called when the
+ * Suspendable has finished, whether or not the watchdog has run, so that an interrupt of an expired
+ * watchdog never leaks to whatever the thread does next.
+ */
+class SuspendableWatchdog implements Runnable {
+
+    private final Thread thread;
+    private final Runnable onExpiry;
+
+    private boolean finished = false;
+    private boolean expired = false;
+
+    SuspendableWatchdog(final Thread thread, final Runnable onExpiry) {
+        this.thread = thread;
+        this.onExpiry = onExpiry;
+    }
+
+    @Override
+    public synchronized void run() {
+        if (!finished) {
+            expired = true;
+            onExpiry.run();
+            thread.interrupt();
+        }
+    }
+
+    synchronized void finish() {
+        finished = true;
+
+        if (expired) {
+            Thread.interrupted();
+        }
+    }
+}
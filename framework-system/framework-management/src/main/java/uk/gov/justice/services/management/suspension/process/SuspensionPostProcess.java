@@ -9,6 +9,8 @@ import uk.gov.justice.services.jmx.state.events.SystemCommandStateChangedEvent;
 import uk.gov.justice.services.management.suspension.api.SuspensionResult;
 import uk.gov.justice.services.management.suspension.commands.SuspensionCommand;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,47 +33,59 @@ public class SuspensionPostProcess {
     @Inject
     private Logger logger;
 
-    public void completeSuspensionSuccessfully(final List<SuspensionResult> successfulResults, final UUID commandId, final SuspensionCommand suspensionCommand) {
+    public void completeSuspensionSuccessfully(
+            final List<SuspensionResult> successfulResults,
+            final UUID commandId,
+            final SuspensionCommand suspensionCommand,
+            final ZonedDateTime startedAt) {
 
         final String suspensionCommandName = suspensionCommand.getName();
+        final ZonedDateTime completedAt = clock.now();
 
-        final List<String> suspendablesNames = suspensionResultsMapper.getSuspendablesNames(successfulResults);
+        final List<String> suspendablesNames = suspensionResultsMapper.getSuspendablesNamesWithDurations(successfulResults);
 
         final String message = format(
-                "%s completed successfully for %s",
+                "%s completed successfully in %d ms for %s",
                 suspensionCommandName,
+                Duration.between(startedAt, completedAt).toMillis(),
                 suspendablesNames);
 
         systemCommandStateChangedEventFirer.fire(new SystemCommandStateChangedEvent(
                 commandId,
                 suspensionCommand,
                 COMMAND_COMPLETE,
-                clock.now(),
+                completedAt,
                 message
         ));
     }
 
-    public void completeSuspensionWithFailures(final List<SuspensionResult> failureResults, final UUID commandId, final SuspensionCommand suspensionCommand) {
+    public void completeSuspensionWithFailures(
+            final List<SuspensionResult> failureResults,
+            final UUID commandId,
+            final SuspensionCommand suspensionCommand,
+            final ZonedDateTime startedAt) {
 
         final String suspensionCommandName = suspensionCommand.getName();
+        final ZonedDateTime completedAt = clock.now();
 
         logger.error(format("%s failed with the following %d errors:", suspensionCommandName, failureResults.size()));
 
         failureResults.forEach(suspensionResult -> logger.error(format("%s Error: %s", suspensionCommandName, suspensionResult.getMessage())));
 
         final List<String> suspendablesNames = suspensionResultsMapper
-                .getSuspendablesNames(failureResults);
+                .getSuspendablesNamesWithDurations(failureResults);
 
         final String message = format(
-                "%s failed. The following Suspendables failed: %s",
+                "%s failed in %d ms. The following Suspendables failed: %s",
                 suspensionCommandName,
+                Duration.between(startedAt, completedAt).toMillis(),
                 suspendablesNames);
 
         systemCommandStateChangedEventFirer.fire(new SystemCommandStateChangedEvent(
                 commandId,
                 suspensionCommand,
                 COMMAND_FAILED,
-                clock.now(),
+                completedAt,
                 message
         ));
     }
@@ -1,5 +1,6 @@
 package uk.gov.justice.services.management.suspension.process;
 
+import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_COMPLETE;
 import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_FAILED;
@@ -29,4 +30,10 @@ public class SuspensionResultsMapper {
                 .map(SuspensionResult::getSuspendableName)
                 .collect(toList());
     }
+
+    public List<String> getSuspendablesNamesWithDurations(final List<SuspensionResult> suspensionResults) {
+        return suspensionResults.stream()
+                .map(suspensionResult -> format("%s (%d ms)", suspensionResult.getSuspendableName(), suspensionResult.getDuration().toMillis()))
+                .collect(toList());
+    }
 }
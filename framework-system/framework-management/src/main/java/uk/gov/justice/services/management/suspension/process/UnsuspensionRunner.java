@@ -4,6 +4,7 @@ import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
 import uk.gov.justice.services.management.suspension.api.Suspendable;
+import uk.gov.justice.services.management.suspension.api.SuspensionFailedException;
 import uk.gov.justice.services.management.suspension.api.SuspensionResult;
 import uk.gov.justice.services.management.suspension.commands.SuspensionCommand;
 
@@ -22,14 +23,34 @@ public class UnsuspensionRunner {
     @Inject
     private SuspensionFailedHandler suspensionFailedHandler;
 
+    @Inject
+    private SuspendableDependencySorter suspendableDependencySorter;
+
+    @Inject
+    private ParallelSuspendablesRunner parallelSuspendablesRunner;
+
     @Inject
     private Logger logger;
 
     public List<SuspensionResult> runUsuspension(final UUID commandId, final SuspensionCommand suspensionCommand) {
-        return suspendablesProvider.getSuspendables().stream()
+        final List<Suspendable> suspendables = suspendablesProvider.getSuspendables().stream()
                 .filter(Suspendable::shouldUnsuspend)
-                .map(suspendable -> unsuspend(commandId, suspensionCommand, suspendable))
                 .collect(toList());
+
+        final List<List<Suspendable>> stages;
+        try {
+            stages = suspendableDependencySorter.inUnsuspensionOrder(suspendables);
+        } catch (final SuspensionFailedException e) {
+            return suspendables.stream()
+                    .map(suspendable -> suspensionFailedHandler.onSuspensionFailed(commandId, suspensionCommand, suspendable, e))
+                    .collect(toList());
+        }
+
+        return parallelSuspendablesRunner.run(
+                commandId,
+                suspensionCommand,
+                stages,
+                suspendable -> unsuspend(commandId, suspensionCommand, suspendable));
     }
 
     private SuspensionResult unsuspend(final UUID commandId, final SuspensionCommand suspensionCommand, final Suspendable suspendable) {
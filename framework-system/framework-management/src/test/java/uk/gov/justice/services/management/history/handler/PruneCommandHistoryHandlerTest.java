@@ -0,0 +1,125 @@
+package uk.gov.justice.services.management.history.handler;
+
+import static java.time.ZoneOffset.UTC;
+import static java.time.ZonedDateTime.of;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_COMPLETE;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_FAILED;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_IN_PROGRESS;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.jmx.state.events.SystemCommandStateChangedEvent;
+import uk.gov.justice.services.jmx.state.persistence.SystemCommandProgressRepository;
+import uk.gov.justice.services.jmx.state.persistence.SystemCommandStatusPersistenceException;
+import uk.gov.justice.services.jmx.state.persistence.SystemCommandStatusRepository;
+import uk.gov.justice.services.management.history.commands.PruneCommandHistoryCommand;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import javax.enterprise.event.Event;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PruneCommandHistoryHandlerTest {
+
+    @Mock
+    private SystemCommandStatusRepository systemCommandStatusRepository;
+
+    @Mock
+    private SystemCommandProgressRepository systemCommandProgressRepository;
+
+    @Mock
+    private Event<SystemCommandStateChangedEvent> systemCommandStateChangedEventFirer;
+
+    @Mock
+    private UtcClock clock;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private PruneCommandHistoryHandler pruneCommandHistoryHandler;
+
+    @Captor
+    private ArgumentCaptor<SystemCommandStateChangedEvent> systemCommandStateChangedEventCaptor;
+
+    @Test
+    public void shouldDeleteHistoryOlderThanTheRetentionPeriod() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final PruneCommandHistoryCommand pruneCommandHistoryCommand = new PruneCommandHistoryCommand();
+        final ZonedDateTime startedAt = of(2019, 11, 7, 15, 22, 25, 0, UTC);
+        final ZonedDateTime completeAt = startedAt.plusSeconds(2);
+        final ZonedDateTime cutOff = startedAt.minusDays(90);
+
+        when(clock.now()).thenReturn(startedAt, completeAt);
+        when(systemCommandStatusRepository.deleteCommandsFinishedBefore(cutOff)).thenReturn(23);
+        when(systemCommandProgressRepository.deleteUpdatedBefore(cutOff)).thenReturn(2);
+
+        pruneCommandHistoryHandler.pruneCommandHistory(pruneCommandHistoryCommand, commandId);
+
+        final InOrder inOrder = inOrder(systemCommandStateChangedEventFirer, systemCommandStatusRepository, logger);
+
+        inOrder.verify(systemCommandStateChangedEventFirer).fire(systemCommandStateChangedEventCaptor.capture());
+        inOrder.verify(systemCommandStatusRepository).deleteCommandsFinishedBefore(cutOff);
+        inOrder.verify(logger).info("Pruned 23 system command status(es) and 2 progress record(s) older than 2019-08-09T15:22:25Z");
+        inOrder.verify(systemCommandStateChangedEventFirer).fire(systemCommandStateChangedEventCaptor.capture());
+
+        final List<SystemCommandStateChangedEvent> allValues = systemCommandStateChangedEventCaptor.getAllValues();
+
+        final SystemCommandStateChangedEvent startEvent = allValues.get(0);
+        final SystemCommandStateChangedEvent completeEvent = allValues.get(1);
+
+        assertThat(startEvent.getCommandId(), is(commandId));
+        assertThat(startEvent.getCommandState(), is(COMMAND_IN_PROGRESS));
+        assertThat(startEvent.getSystemCommand(), is(pruneCommandHistoryCommand));
+        assertThat(startEvent.getStatusChangedAt(), is(startedAt));
+        assertThat(startEvent.getMessage(), is("Pruning system command history older than 90 days"));
+
+        assertThat(completeEvent.getCommandId(), is(commandId));
+        assertThat(completeEvent.getCommandState(), is(COMMAND_COMPLETE));
+        assertThat(completeEvent.getStatusChangedAt(), is(completeAt));
+        assertThat(completeEvent.getMessage(), is("Pruned 23 system command status(es) and 2 progress record(s) older than 2019-08-09T15:22:25Z"));
+    }
+
+    @Test
+    public void shouldFireCommandFailedIfPruningFails() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final PruneCommandHistoryCommand pruneCommandHistoryCommand = new PruneCommandHistoryCommand();
+        final ZonedDateTime startedAt = of(2019, 11, 7, 15, 22, 25, 0, UTC);
+        final ZonedDateTime failedAt = startedAt.plusSeconds(2);
+        final SystemCommandStatusPersistenceException persistenceException = new SystemCommandStatusPersistenceException("Ooops", null);
+
+        when(clock.now()).thenReturn(startedAt, failedAt);
+        when(systemCommandStatusRepository.deleteCommandsFinishedBefore(startedAt.minusDays(90))).thenThrow(persistenceException);
+
+        pruneCommandHistoryHandler.pruneCommandHistory(pruneCommandHistoryCommand, commandId);
+
+        verify(logger).error("Failed to prune system command history: SystemCommandStatusPersistenceException: Ooops", persistenceException);
+        verify(systemCommandStateChangedEventFirer, times(2)).fire(systemCommandStateChangedEventCaptor.capture());
+
+        final SystemCommandStateChangedEvent failedEvent = systemCommandStateChangedEventCaptor.getAllValues().get(1);
+
+        assertThat(failedEvent.getCommandState(), is(COMMAND_FAILED));
+        assertThat(failedEvent.getStatusChangedAt(), is(failedAt));
+        assertThat(failedEvent.getMessage(), is("Failed to prune system command history: SystemCommandStatusPersistenceException: Ooops"));
+    }
+}
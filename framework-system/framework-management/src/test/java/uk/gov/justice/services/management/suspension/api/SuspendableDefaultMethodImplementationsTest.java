@@ -33,6 +33,21 @@ public class SuspendableDefaultMethodImplementationsTest {
         assertThat(new SuspendableWithNoImplementations().shouldUnsuspend(), is(false));
     }
 
+    @Test
+    public void shouldHaveNoDependenciesByDefault() throws Exception {
+        assertThat(new SuspendableWithNoImplementations().getDependencies().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldNotRunConcurrentlyByDefault() throws Exception {
+        assertThat(new SuspendableWithNoImplementations().canRunConcurrently(), is(false));
+    }
+
+    @Test
+    public void shouldUseTheDefaultTimeoutByDefault() throws Exception {
+        assertThat(new SuspendableWithNoImplementations().getTimeoutInSeconds(), is(300L));
+    }
+
     @Test
     public void shouldThrowUnsupportedOperationExceptionBuDefaultForShutter() throws Exception {
 
@@ -6,10 +6,14 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_COMPLETE;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_FAILED;
 
 import uk.gov.justice.services.management.suspension.api.SuspensionResult;
 import uk.gov.justice.services.management.suspension.commands.SuspensionCommand;
+import uk.gov.justice.services.messaging.jms.DrainResult;
 
 import java.util.UUID;
 
@@ -45,18 +49,26 @@ public class CommandApiSuspenderTest {
         assertThat(commandApiSuspender.shouldUnsuspend(), is(true));
     }
 
+    @Test
+    public void shouldRunConcurrentlyWithTheOtherSuspendables() throws Exception {
+
+        assertThat(commandApiSuspender.canRunConcurrently(), is(true));
+    }
+
     @Test
     public void shouldCallTheCommandApiSuspensionBeanAndShutter() throws Exception {
 
         final UUID commandId = randomUUID();
         final SuspensionCommand suspensionCommand = mock(SuspensionCommand.class);
 
+        when(commandApiSuspensionBean.suspend()).thenReturn(new DrainResult(3, 0, 25L));
+
         final SuspensionResult suspensionResult = commandApiSuspender.suspend(commandId, suspensionCommand);
 
         assertThat(suspensionResult.getCommandId(), is(commandId));
         assertThat(suspensionResult.getCommandState(), is(COMMAND_COMPLETE));
         assertThat(suspensionResult.getSystemCommand(), is(suspensionCommand));
-        assertThat(suspensionResult.getMessage(), is("Command API suspended with no errors"));
+        assertThat(suspensionResult.getMessage(), is("Command API suspended with no errors. 3 in-flight envelope(s) drained in 25 ms"));
         assertThat(suspensionResult.getSuspendableName(), is("CommandApiSuspender"));
         assertThat(suspensionResult.getException(), is(empty()));
 
@@ -67,12 +79,33 @@ public class CommandApiSuspenderTest {
         inOrder.verify(logger).info("Suspension of Command API complete");
     }
 
+    @Test
+    public void shouldFailIfInFlightEnvelopesHaveNotDrainedWhenSuspending() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = mock(SuspensionCommand.class);
+
+        when(commandApiSuspensionBean.suspend()).thenReturn(new DrainResult(3, 1, 10_000L));
+
+        final SuspensionResult suspensionResult = commandApiSuspender.suspend(commandId, suspensionCommand);
+
+        assertThat(suspensionResult.getCommandId(), is(commandId));
+        assertThat(suspensionResult.getCommandState(), is(COMMAND_FAILED));
+        assertThat(suspensionResult.getSystemCommand(), is(suspensionCommand));
+        assertThat(suspensionResult.getMessage(), is("Command API suspended but 1 of 3 in-flight envelope(s) were still being sent after 10000 ms"));
+        assertThat(suspensionResult.getSuspendableName(), is("CommandApiSuspender"));
+
+        verify(logger).error("Command API suspended but 1 of 3 in-flight envelope(s) were still being sent after 10000 ms");
+    }
+
     @Test
     public void shouldCallCommandApiSuspensionBeanAndUnsuspend() throws Exception {
 
         final UUID commandId = randomUUID();
         final SuspensionCommand suspensionCommand = mock(SuspensionCommand.class);
 
+        when(commandApiSuspensionBean.unsuspend()).thenReturn(new DrainResult(0, 0, 0L));
+
         final SuspensionResult suspensionResult = commandApiSuspender.unsuspend(commandId, suspensionCommand);
 
         assertThat(suspensionResult.getCommandId(), is(commandId));
@@ -85,7 +118,26 @@ public class CommandApiSuspenderTest {
         final InOrder inOrder = inOrder(logger, commandApiSuspensionBean);
 
         inOrder.verify(logger).info("Unsuspending Command API");
+        inOrder.verify(commandApiSuspensionBean).sendStoredCommands();
         inOrder.verify(commandApiSuspensionBean).unsuspend();
+        inOrder.verify(commandApiSuspensionBean).sendStoredCommands();
         inOrder.verify(logger).info("Unsuspension of Command API complete");
     }
+
+    @Test
+    public void shouldFailIfCommandsBeingStoredHaveNotCommittedWhenUnsuspending() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = mock(SuspensionCommand.class);
+
+        when(commandApiSuspensionBean.unsuspend()).thenReturn(new DrainResult(2, 1, 10_000L));
+
+        final SuspensionResult suspensionResult = commandApiSuspender.unsuspend(commandId, suspensionCommand);
+
+        assertThat(suspensionResult.getCommandId(), is(commandId));
+        assertThat(suspensionResult.getCommandState(), is(COMMAND_FAILED));
+        assertThat(suspensionResult.getMessage(), is("Command API unsuspended but 1 of 2 command(s) being stored had not been committed after 10000 ms and remain stored"));
+
+        verify(logger).error("Command API unsuspended but 1 of 2 command(s) being stored had not been committed after 10000 ms and remain stored");
+    }
 }
@@ -93,7 +93,7 @@ public class SuspensionBeanTest {
         inOrder.verify(logger).info("Running SHUTTER");
         inOrder.verify(systemCommandStateChangedEventFirer).fire(systemCommandStateChangedEventCaptor.capture());
         inOrder.verify(logger).info("SHUTTER ran with 1 success(es) and 0 error(s)");
-        inOrder.verify(suspensionPostProcess).completeSuspensionSuccessfully(successfulResults, commandId, suspensionCommand);
+        inOrder.verify(suspensionPostProcess).completeSuspensionSuccessfully(successfulResults, commandId, suspensionCommand, stateChangedAt);
     }
 
     @Test
@@ -131,6 +131,6 @@ public class SuspensionBeanTest {
         inOrder.verify(logger).info("Running SHUTTER");
         inOrder.verify(systemCommandStateChangedEventFirer).fire(systemCommandStateChangedEventCaptor.capture());
         inOrder.verify(logger).info("SHUTTER ran with 1 success(es) and 1 error(s)");
-        inOrder.verify(suspensionPostProcess).completeSuspensionWithFailures(failureResults, commandId, suspensionCommand);
+        inOrder.verify(suspensionPostProcess).completeSuspensionWithFailures(failureResults, commandId, suspensionCommand, stateChangedAt);
     }
 }
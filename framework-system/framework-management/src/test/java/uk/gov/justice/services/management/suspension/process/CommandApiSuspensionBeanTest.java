@@ -1,20 +1,20 @@
 package uk.gov.justice.services.management.suspension.process;
 
 import static java.util.stream.Stream.of;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
-import uk.gov.justice.services.common.polling.MultiIteratingPollerFactory;
 import uk.gov.justice.services.management.suspension.executors.CommandApiSuspensionBean;
 import uk.gov.justice.services.management.suspension.executors.StoredCommandSender;
+import uk.gov.justice.services.messaging.jms.DrainResult;
 import uk.gov.justice.services.messaging.jms.EnvelopeSenderSelector;
+import uk.gov.justice.services.messaging.jms.StoredCommandDrainCoordinator;
 import uk.gov.justice.services.shuttering.domain.StoredCommand;
 import uk.gov.justice.services.shuttering.persistence.StoredCommandRepository;
-import uk.gov.justice.services.test.utils.common.polling.DummyMultiIteratingPoller;
-
-import java.util.stream.Stream;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,44 +36,56 @@ public class CommandApiSuspensionBeanTest {
     private StoredCommandSender storedCommandSender;
 
     @Mock
-    private MultiIteratingPollerFactory multiIteratingPollerFactory;
+    private StoredCommandDrainCoordinator storedCommandDrainCoordinator;
 
     @InjectMocks
     private CommandApiSuspensionBean commandApiSuspensionBean;
 
     @Test
-    public void shouldSetSuspendedToTrue() throws Exception {
+    public void shouldSetSuspendedToTrueAndWaitForInFlightEnvelopesToBeSent() throws Exception {
+
+        final DrainResult drainResult = new DrainResult(2, 0, 12L);
+
+        when(envelopeSenderSelector.awaitInFlightSends(10_000L)).thenReturn(drainResult);
 
-        commandApiSuspensionBean.suspend();
+        assertThat(commandApiSuspensionBean.suspend(), is(drainResult));
 
-        verify(envelopeSenderSelector).setSuspended(true);
+        final InOrder inOrder = inOrder(envelopeSenderSelector);
+
+        inOrder.verify(envelopeSenderSelector).setSuspended(true);
+        inOrder.verify(envelopeSenderSelector).awaitInFlightSends(10_000L);
     }
 
-    @SuppressWarnings("unchecked")
     @Test
-    public void shouldDrainTheShutteringCommandQueueAndSetShutteredToFalse() throws Exception {
+    public void shouldSetShutteredToFalseAndWaitForCommandsBeingStoredToCommit() throws Exception {
+
+        final DrainResult drainResult = new DrainResult(2, 0, 5L);
+
+        when(storedCommandDrainCoordinator.awaitPendingStores(10_000L)).thenReturn(drainResult);
+
+        assertThat(commandApiSuspensionBean.unsuspend(), is(drainResult));
+
+        final InOrder inOrder = inOrder(envelopeSenderSelector, storedCommandDrainCoordinator);
+
+        inOrder.verify(envelopeSenderSelector).setSuspended(false);
+        inOrder.verify(storedCommandDrainCoordinator).awaitPendingStores(10_000L);
+        verifyZeroInteractions(storedCommandRepository, storedCommandSender);
+    }
+
+    @Test
+    public void shouldDrainTheShutteringCommandQueue() throws Exception {
 
         final StoredCommand storedCommand_1 = mock(StoredCommand.class);
         final StoredCommand storedCommand_2 = mock(StoredCommand.class);
-        final StoredCommand storedCommand_3 = mock(StoredCommand.class);
-        final StoredCommand storedCommand_4 = mock(StoredCommand.class);
 
-        final Stream<StoredCommand> shutteredCommands_1 = of(storedCommand_1, storedCommand_2);
-        final Stream<StoredCommand> shutteredCommands_2 = of(storedCommand_3, storedCommand_4);
+        when(storedCommandRepository.streamStoredCommands()).thenReturn(of(storedCommand_1, storedCommand_2));
 
-        when(storedCommandRepository.streamStoredCommands()).thenReturn(shutteredCommands_1, shutteredCommands_2);
-        when(multiIteratingPollerFactory.create(2, 100L, 2, 100L)).thenReturn(new DummyMultiIteratingPoller());
+        commandApiSuspensionBean.sendStoredCommands();
 
-        commandApiSuspensionBean.unsuspend();
-
-        final InOrder inOrder = inOrder(storedCommandSender, envelopeSenderSelector);
+        final InOrder inOrder = inOrder(storedCommandSender);
 
         inOrder.verify(storedCommandSender).sendAndDelete(storedCommand_1);
         inOrder.verify(storedCommandSender).sendAndDelete(storedCommand_2);
-        inOrder.verify(envelopeSenderSelector).setSuspended(false);
-        inOrder.verify(storedCommandSender).sendAndDelete(storedCommand_3);
-        inOrder.verify(storedCommandSender).sendAndDelete(storedCommand_4);
+        verifyZeroInteractions(envelopeSenderSelector, storedCommandDrainCoordinator);
     }
-
-
 }
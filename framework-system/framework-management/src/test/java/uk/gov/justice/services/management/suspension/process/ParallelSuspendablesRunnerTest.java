@@ -0,0 +1,402 @@
+package uk.gov.justice.services.management.suspension.process;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.management.suspension.api.SuspensionResult.suspensionFailed;
+import static uk.gov.justice.services.management.suspension.api.SuspensionResult.suspensionSucceeded;
+
+import uk.gov.justice.services.management.suspension.api.Suspendable;
+import uk.gov.justice.services.management.suspension.api.SuspensionResult;
+import uk.gov.justice.services.management.suspension.commands.SuspendCommand;
+import uk.gov.justice.services.management.suspension.commands.SuspensionCommand;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParallelSuspendablesRunnerTest {
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+
+    @Mock
+    private ManagedExecutorService managedExecutorService;
+
+    @Mock
+    private ManagedScheduledExecutorService managedScheduledExecutorService;
+
+    @Mock
+    private SuspendableTransactionBean suspendableTransactionBean;
+
+    @Mock
+    private SuspensionFailedHandler suspensionFailedHandler;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private ParallelSuspendablesRunner parallelSuspendablesRunner;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void runInTransactionBean() {
+        when(suspendableTransactionBean.run(any(Suspendable.class), any(Function.class))).thenAnswer(invocationOnMock -> {
+            final Suspendable suspendable = (Suspendable) invocationOnMock.getArguments()[0];
+            final Function<Suspendable, SuspensionResult> suspensionFunction = (Function<Suspendable, SuspensionResult>) invocationOnMock.getArguments()[1];
+            return suspensionFunction.apply(suspendable);
+        });
+        when(managedScheduledExecutorService.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocationOnMock ->
+                scheduledExecutorService.schedule(
+                        (Runnable) invocationOnMock.getArguments()[0],
+                        (Long) invocationOnMock.getArguments()[1],
+                        (TimeUnit) invocationOnMock.getArguments()[2]));
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executorService.shutdownNow();
+        scheduledExecutorService.shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    public void shouldRunSuspendablesOneAfterAnotherOnTheCallingThreadByDefault() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = new SuspendCommand();
+
+        final Suspendable suspendable_1 = suspendable("Suspendable 1");
+        final Suspendable suspendable_2 = suspendable("Suspendable 2");
+        final Suspendable suspendable_3 = suspendable("Suspendable 3");
+
+        final List<String> runOrder = new ArrayList<>();
+        final Thread callingThread = Thread.currentThread();
+
+        final List<SuspensionResult> results = parallelSuspendablesRunner.run(
+                commandId,
+                suspensionCommand,
+                asList(asList(suspendable_1, suspendable_2), singletonList(suspendable_3)),
+                suspendable -> {
+                    assertThat(Thread.currentThread(), is(callingThread));
+                    runOrder.add(suspendable.getName());
+                    return suspensionSucceeded(suspendable.getName(), commandId, "Suspended", suspensionCommand);
+                });
+
+        assertThat(runOrder, is(asList("Suspendable 1", "Suspendable 2", "Suspendable 3")));
+        assertThat(results.size(), is(3));
+        assertThat(results.get(0).getSuspendableName(), is("Suspendable 1"));
+        assertThat(results.get(1).getSuspendableName(), is("Suspendable 2"));
+        assertThat(results.get(2).getSuspendableName(), is("Suspendable 3"));
+        assertThat(results.get(0).getDuration(), is(notNullValue()));
+
+        verifyZeroInteractions(managedExecutorService, suspendableTransactionBean);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRunSuspendablesThatOptInOnTheExecutorInTheirOwnTransactionWithTheMdcOfTheCallingThread() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = new SuspendCommand();
+
+        final Suspendable suspendable_1 = concurrentSuspendable("Suspendable 1");
+        final Suspendable suspendable_2 = suspendable("Suspendable 2");
+
+        final Thread callingThread = Thread.currentThread();
+        final List<String> mdcValues = new ArrayList<>();
+
+        when(managedExecutorService.submit(any(Callable.class))).thenAnswer(invocationOnMock ->
+                executorService.submit((Callable<SuspensionResult>) invocationOnMock.getArguments()[0]));
+
+        MDC.put("requestData", "{\"serviceContext\":\"test\"}");
+
+        final List<SuspensionResult> results = parallelSuspendablesRunner.run(
+                commandId,
+                suspensionCommand,
+                singletonList(asList(suspendable_1, suspendable_2)),
+                suspendable -> {
+                    if (suspendable == suspendable_1) {
+                        assertThat(Thread.currentThread(), is(not(callingThread)));
+                        mdcValues.add(MDC.get("requestData"));
+                    }
+                    return suspensionSucceeded(suspendable.getName(), commandId, "Suspended", suspensionCommand);
+                });
+
+        assertThat(results.size(), is(2));
+        assertThat(results.get(0).getSuspendableName(), is("Suspendable 1"));
+        assertThat(results.get(1).getSuspendableName(), is("Suspendable 2"));
+        assertThat(mdcValues, is(singletonList("{\"serviceContext\":\"test\"}")));
+
+        verify(suspendableTransactionBean).run(eq(suspendable_1), any(Function.class));
+        verify(suspendableTransactionBean, never()).run(eq(suspendable_2), any(Function.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFailASuspendableThatHasNotStartedWithinItsTimeout() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = new SuspendCommand();
+        final Suspendable suspendable = concurrentSuspendable("Suspendable 1");
+        final Future<SuspensionResult> future = mock(Future.class);
+        final SuspensionResult failureResult = suspensionFailed("Suspendable 1", commandId, "Timed out", suspensionCommand);
+
+        when(managedExecutorService.submit(any(Callable.class))).thenReturn(future);
+        when(future.get(anyLong(), any(TimeUnit.class))).thenThrow(new TimeoutException());
+        when(suspensionFailedHandler.onSuspensionFailed(eq(commandId), eq(suspensionCommand), eq(suspendable), any(TimeoutException.class))).thenReturn(failureResult);
+
+        final List<SuspensionResult> results = parallelSuspendablesRunner.run(
+                commandId,
+                suspensionCommand,
+                singletonList(singletonList(suspendable)),
+                s -> suspensionSucceeded(s.getName(), commandId, "Suspended", suspensionCommand));
+
+        assertThat(results.size(), is(1));
+        assertThat(results.get(0).getSuspendableName(), is("Suspendable 1"));
+        assertThat(results.get(0).getMessage(), is("Timed out"));
+
+        final ArgumentCaptor<TimeoutException> timeoutExceptionCaptor = ArgumentCaptor.forClass(TimeoutException.class);
+
+        verify(future).cancel(false);
+        verify(suspensionFailedHandler).onSuspensionFailed(eq(commandId), eq(suspensionCommand), eq(suspendable), timeoutExceptionCaptor.capture());
+
+        assertThat(timeoutExceptionCaptor.getValue().getMessage(), is("SUSPEND of 'Suspendable 1' did not start within 300 seconds"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldInterruptARunningSuspendableThatTimesOutAndReportItsResultOnceItHasFinished() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = new SuspendCommand();
+        final Suspendable suspendable = concurrentSuspendable("Slow Suspendable");
+        final CountDownLatch neverReleased = new CountDownLatch(1);
+
+        when(managedExecutorService.submit(any(Callable.class))).thenAnswer(invocationOnMock ->
+                executorService.submit((Callable<SuspensionResult>) invocationOnMock.getArguments()[0]));
+
+        System.setProperty("suspension.timeout.seconds.Slow Suspendable", "1");
+        final List<SuspensionResult> results;
+        try {
+            results = parallelSuspendablesRunner.run(
+                    commandId,
+                    suspensionCommand,
+                    singletonList(singletonList(suspendable)),
+                    s -> {
+                        try {
+                            neverReleased.await();
+                            return suspensionSucceeded(s.getName(), commandId, "Suspended", suspensionCommand);
+                        } catch (final InterruptedException e) {
+                            return suspensionFailed(s.getName(), commandId, "Stopped when interrupted", suspensionCommand, e);
+                        }
+                    });
+        } finally {
+            System.clearProperty("suspension.timeout.seconds.Slow Suspendable");
+        }
+
+        assertThat(results.size(), is(1));
+        assertThat(results.get(0).getMessage(), is("Stopped when interrupted"));
+
+        verify(logger).warn("SUSPEND of 'Slow Suspendable' did not complete within 1 seconds. Interrupting it and waiting for it to finish");
+        verifyZeroInteractions(suspensionFailedHandler);
+    }
+
+    @Test
+    public void shouldInterruptASuspendableRunningOnTheCallingThreadThatTimesOut() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = new SuspendCommand();
+        final Suspendable suspendable = suspendable("Slow Suspendable");
+        final CountDownLatch neverReleased = new CountDownLatch(1);
+
+        System.setProperty("suspension.timeout.seconds.Slow Suspendable", "1");
+        final List<SuspensionResult> results;
+        try {
+            results = parallelSuspendablesRunner.run(
+                    commandId,
+                    suspensionCommand,
+                    singletonList(singletonList(suspendable)),
+                    s -> {
+                        try {
+                            neverReleased.await();
+                            return suspensionSucceeded(s.getName(), commandId, "Suspended", suspensionCommand);
+                        } catch (final InterruptedException e) {
+                            return suspensionFailed(s.getName(), commandId, "Stopped when interrupted", suspensionCommand, e);
+                        }
+                    });
+        } finally {
+            System.clearProperty("suspension.timeout.seconds.Slow Suspendable");
+        }
+
+        assertThat(results.size(), is(1));
+        assertThat(results.get(0).getMessage(), is("Stopped when interrupted"));
+        assertThat(Thread.currentThread().isInterrupted(), is(false));
+
+        verify(logger).warn("SUSPEND of 'Slow Suspendable' did not complete within 1 seconds. Interrupting it");
+        verifyZeroInteractions(managedExecutorService, suspensionFailedHandler);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFailARunningSuspendableThatDoesNotFinishWithinTheGracePeriodOnceInterrupted() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = new SuspendCommand();
+        final Suspendable suspendable = concurrentSuspendable("Stubborn Suspendable");
+        final CountDownLatch released = new CountDownLatch(1);
+        final SuspensionResult failureResult = suspensionFailed("Stubborn Suspendable", commandId, "Still running", suspensionCommand);
+
+        when(managedExecutorService.submit(any(Callable.class))).thenAnswer(invocationOnMock ->
+                executorService.submit((Callable<SuspensionResult>) invocationOnMock.getArguments()[0]));
+        when(suspensionFailedHandler.onSuspensionFailed(eq(commandId), eq(suspensionCommand), eq(suspendable), any(TimeoutException.class))).thenReturn(failureResult);
+
+        System.setProperty("suspension.timeout.seconds.Stubborn Suspendable", "1");
+        System.setProperty("suspension.interrupt.grace.seconds", "1");
+        final List<SuspensionResult> results;
+        try {
+            results = parallelSuspendablesRunner.run(
+                    commandId,
+                    suspensionCommand,
+                    singletonList(singletonList(suspendable)),
+                    s -> {
+                        while (true) {
+                            try {
+                                released.await();
+                                return suspensionSucceeded(s.getName(), commandId, "Suspended", suspensionCommand);
+                            } catch (final InterruptedException ignored) {
+                                // keeps running regardless
+                            }
+                        }
+                    });
+        } finally {
+            released.countDown();
+            System.clearProperty("suspension.timeout.seconds.Stubborn Suspendable");
+            System.clearProperty("suspension.interrupt.grace.seconds");
+        }
+
+        assertThat(results.size(), is(1));
+        assertThat(results.get(0).getMessage(), is("Still running"));
+
+        final ArgumentCaptor<TimeoutException> timeoutExceptionCaptor = ArgumentCaptor.forClass(TimeoutException.class);
+
+        verify(suspensionFailedHandler).onSuspensionFailed(eq(commandId), eq(suspensionCommand), eq(suspendable), timeoutExceptionCaptor.capture());
+
+        assertThat(timeoutExceptionCaptor.getValue().getMessage(), is("SUSPEND of 'Stubborn Suspendable' did not finish within 1 seconds of being interrupted and may still be running"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldAllowTheTimeoutOfASuspendableToBeOverriddenBySystemProperty() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = new SuspendCommand();
+        final Suspendable suspendable = concurrentSuspendable("Slow Suspendable");
+        final Future<SuspensionResult> future = mock(Future.class);
+        final SuspensionResult failureResult = suspensionFailed("Slow Suspendable", commandId, "Timed out", suspensionCommand);
+
+        when(managedExecutorService.submit(any(Callable.class))).thenReturn(future);
+        when(future.get(anyLong(), any(TimeUnit.class))).thenThrow(new TimeoutException());
+        when(suspensionFailedHandler.onSuspensionFailed(eq(commandId), eq(suspensionCommand), eq(suspendable), any(TimeoutException.class))).thenReturn(failureResult);
+
+        System.setProperty("suspension.timeout.seconds.Slow Suspendable", "5");
+        try {
+            parallelSuspendablesRunner.run(
+                    commandId,
+                    suspensionCommand,
+                    singletonList(singletonList(suspendable)),
+                    s -> suspensionSucceeded(s.getName(), commandId, "Suspended", suspensionCommand));
+        } finally {
+            System.clearProperty("suspension.timeout.seconds.Slow Suspendable");
+        }
+
+        final ArgumentCaptor<TimeoutException> timeoutExceptionCaptor = ArgumentCaptor.forClass(TimeoutException.class);
+
+        verify(suspensionFailedHandler).onSuspensionFailed(eq(commandId), eq(suspensionCommand), eq(suspendable), timeoutExceptionCaptor.capture());
+
+        assertThat(timeoutExceptionCaptor.getValue().getMessage(), is("SUSPEND of 'Slow Suspendable' did not start within 5 seconds"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFailASuspendableWhoseTaskFailed() throws Exception {
+
+        final NullPointerException nullPointerException = new NullPointerException("Ooops");
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = new SuspendCommand();
+        final Suspendable suspendable = concurrentSuspendable("Suspendable 1");
+        final Future<SuspensionResult> future = mock(Future.class);
+        final SuspensionResult failureResult = suspensionFailed("Suspendable 1", commandId, "Failed", suspensionCommand, nullPointerException);
+
+        when(managedExecutorService.submit(any(Callable.class))).thenReturn(future);
+        when(future.get(anyLong(), any(TimeUnit.class))).thenThrow(new ExecutionException(nullPointerException));
+        when(suspensionFailedHandler.onSuspensionFailed(commandId, suspensionCommand, suspendable, nullPointerException)).thenReturn(failureResult);
+
+        final List<SuspensionResult> results = parallelSuspendablesRunner.run(
+                commandId,
+                suspensionCommand,
+                singletonList(singletonList(suspendable)),
+                s -> suspensionSucceeded(s.getName(), commandId, "Suspended", suspensionCommand));
+
+        assertThat(results.size(), is(1));
+        assertThat(results.get(0).getMessage(), is("Failed"));
+        assertThat(results.get(0).getException().get(), is(nullPointerException));
+    }
+
+    private Suspendable suspendable(final String name) {
+
+        final Suspendable suspendable = mock(Suspendable.class, name);
+
+        when(suspendable.getName()).thenReturn(name);
+        when(suspendable.getTimeoutInSeconds()).thenReturn(300L);
+
+        return suspendable;
+    }
+
+    private Suspendable concurrentSuspendable(final String name) {
+
+        final Suspendable suspendable = suspendable(name);
+
+        when(suspendable.canRunConcurrently()).thenReturn(true);
+
+        return suspendable;
+    }
+}
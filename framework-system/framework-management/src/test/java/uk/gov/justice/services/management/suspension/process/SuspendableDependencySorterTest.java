@@ -0,0 +1,110 @@
+package uk.gov.justice.services.management.suspension.process;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.management.suspension.api.Suspendable;
+import uk.gov.justice.services.management.suspension.api.SuspensionFailedException;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SuspendableDependencySorterTest {
+
+    @InjectMocks
+    private SuspendableDependencySorter suspendableDependencySorter;
+
+    @Test
+    public void shouldPutSuspendablesWithNoDependenciesIntoASingleStage() throws Exception {
+
+        final Suspendable suspendable_1 = suspendable("Suspendable 1");
+        final Suspendable suspendable_2 = suspendable("Suspendable 2");
+
+        final List<List<Suspendable>> stages = suspendableDependencySorter.inSuspensionOrder(asList(suspendable_1, suspendable_2));
+
+        assertThat(stages, is(singletonList(asList(suspendable_1, suspendable_2))));
+    }
+
+    @Test
+    public void shouldRunSuspendablesAfterTheSuspendablesTheyDependOn() throws Exception {
+
+        final Suspendable suspendable_1 = suspendable("Suspendable 1", "Suspendable 2");
+        final Suspendable suspendable_2 = suspendable("Suspendable 2", "Suspendable 3");
+        final Suspendable suspendable_3 = suspendable("Suspendable 3");
+        final Suspendable suspendable_4 = suspendable("Suspendable 4");
+
+        final List<List<Suspendable>> stages = suspendableDependencySorter.inSuspensionOrder(asList(
+                suspendable_1,
+                suspendable_2,
+                suspendable_3,
+                suspendable_4));
+
+        assertThat(stages, is(asList(
+                asList(suspendable_3, suspendable_4),
+                singletonList(suspendable_2),
+                singletonList(suspendable_1))));
+    }
+
+    @Test
+    public void shouldReverseTheStagesForUnsuspension() throws Exception {
+
+        final Suspendable suspendable_1 = suspendable("Suspendable 1", "Suspendable 2");
+        final Suspendable suspendable_2 = suspendable("Suspendable 2");
+        final Suspendable suspendable_3 = suspendable("Suspendable 3");
+
+        final List<List<Suspendable>> stages = suspendableDependencySorter.inUnsuspensionOrder(asList(
+                suspendable_1,
+                suspendable_2,
+                suspendable_3));
+
+        assertThat(stages, is(asList(
+                singletonList(suspendable_1),
+                asList(suspendable_2, suspendable_3))));
+    }
+
+    @Test
+    public void shouldIgnoreDependenciesOnSuspendablesThatAreNotBeingRun() throws Exception {
+
+        final Suspendable suspendable_1 = suspendable("Suspendable 1", "Some Other Suspendable");
+
+        final List<List<Suspendable>> stages = suspendableDependencySorter.inSuspensionOrder(singletonList(suspendable_1));
+
+        assertThat(stages, is(singletonList(singletonList(suspendable_1))));
+    }
+
+    @Test
+    public void shouldFailIfTheDependenciesAreCircular() throws Exception {
+
+        final Suspendable suspendable_1 = suspendable("Suspendable 1", "Suspendable 2");
+        final Suspendable suspendable_2 = suspendable("Suspendable 2", "Suspendable 1");
+        final Suspendable suspendable_3 = suspendable("Suspendable 3");
+
+        try {
+            suspendableDependencySorter.inSuspensionOrder(asList(suspendable_1, suspendable_2, suspendable_3));
+            fail();
+        } catch (final SuspensionFailedException expected) {
+            assertThat(expected.getMessage(), is("Circular dependency found between Suspendables [Suspendable 1, Suspendable 2]"));
+        }
+    }
+
+    private Suspendable suspendable(final String name, final String... dependencies) {
+
+        final Suspendable suspendable = mock(Suspendable.class, name);
+
+        when(suspendable.getName()).thenReturn(name);
+        when(suspendable.getDependencies()).thenReturn(new HashSet<>(asList(dependencies)));
+
+        return suspendable;
+    }
+}
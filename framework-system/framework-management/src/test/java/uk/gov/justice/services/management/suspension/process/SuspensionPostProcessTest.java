@@ -58,15 +58,16 @@ public class SuspensionPostProcessTest {
     public void shouldFireCompletedEventIfSuspensionWasSuccessful() throws Exception {
 
         final UUID commandId = randomUUID();
-        final ZonedDateTime stateChangedAt = new UtcClock().now();
+        final ZonedDateTime startedAt = new UtcClock().now();
+        final ZonedDateTime stateChangedAt = startedAt.plusNanos(1_500_000_000L);
         final SuspensionCommand suspensionCommand = new SuspendCommand();
         final List<SuspensionResult> successfulResults = asList(mock(SuspensionResult.class), mock(SuspensionResult.class));
-        final List<String> suspendableNames = asList("Suspendable_1", "Suspendable_2");
+        final List<String> suspendableNames = asList("Suspendable_1 (1200 ms)", "Suspendable_2 (300 ms)");
 
-        when(suspensionResultsMapper.getSuspendablesNames(successfulResults)).thenReturn(suspendableNames);
+        when(suspensionResultsMapper.getSuspendablesNamesWithDurations(successfulResults)).thenReturn(suspendableNames);
         when(clock.now()).thenReturn(stateChangedAt);
 
-        suspensionPostProcess.completeSuspensionSuccessfully(successfulResults, commandId, suspensionCommand);
+        suspensionPostProcess.completeSuspensionSuccessfully(successfulResults, commandId, suspensionCommand, startedAt);
 
         verify(systemCommandStateChangedEventFirer).fire(systemCommandStateChangedEventCaptor.capture());
 
@@ -76,26 +77,27 @@ public class SuspensionPostProcessTest {
         assertThat(stateChangedEvent.getSystemCommand(), is(suspensionCommand));
         assertThat(stateChangedEvent.getCommandState(), is(COMMAND_COMPLETE));
         assertThat(stateChangedEvent.getStatusChangedAt(), is(stateChangedAt));
-        assertThat(stateChangedEvent.getMessage(), is("SUSPEND completed successfully for [Suspendable_1, Suspendable_2]"));
+        assertThat(stateChangedEvent.getMessage(), is("SUSPEND completed successfully in 1500 ms for [Suspendable_1 (1200 ms), Suspendable_2 (300 ms)]"));
     }
 
     @Test
     public void shouldFireFailedEventIfSuspensionFailed() throws Exception {
 
         final UUID commandId = randomUUID();
-        final ZonedDateTime stateChangedAt = new UtcClock().now();
+        final ZonedDateTime startedAt = new UtcClock().now();
+        final ZonedDateTime stateChangedAt = startedAt.plusNanos(250_000_000L);
         final SuspensionCommand suspensionCommand = new SuspendCommand();
         final SuspensionResult failureResult_1 = mock(SuspensionResult.class);
         final SuspensionResult failureResult_2 = mock(SuspensionResult.class);
         final List<SuspensionResult> unsuccessfulResults = asList(failureResult_1, failureResult_2);
-        final List<String> suspendableNames = asList("Suspendable_1", "Suspendable_2");
+        final List<String> suspendableNames = asList("Suspendable_1 (200 ms)", "Suspendable_2 (250 ms)");
 
         when(failureResult_1.getMessage()).thenReturn("failure 1");
         when(failureResult_2.getMessage()).thenReturn("failure 2");
-        when(suspensionResultsMapper.getSuspendablesNames(unsuccessfulResults)).thenReturn(suspendableNames);
+        when(suspensionResultsMapper.getSuspendablesNamesWithDurations(unsuccessfulResults)).thenReturn(suspendableNames);
         when(clock.now()).thenReturn(stateChangedAt);
 
-        suspensionPostProcess.completeSuspensionWithFailures(unsuccessfulResults, commandId, suspensionCommand);
+        suspensionPostProcess.completeSuspensionWithFailures(unsuccessfulResults, commandId, suspensionCommand, startedAt);
 
         final InOrder inOrder = inOrder(logger, systemCommandStateChangedEventFirer);
 
@@ -110,6 +112,6 @@ public class SuspensionPostProcessTest {
         assertThat(stateChangedEvent.getSystemCommand(), is(suspensionCommand));
         assertThat(stateChangedEvent.getCommandState(), is(COMMAND_FAILED));
         assertThat(stateChangedEvent.getStatusChangedAt(), is(stateChangedAt));
-        assertThat(stateChangedEvent.getMessage(), is("SUSPEND failed. The following Suspendables failed: [Suspendable_1, Suspendable_2]"));
+        assertThat(stateChangedEvent.getMessage(), is("SUSPEND failed in 250 ms. The following Suspendables failed: [Suspendable_1 (200 ms), Suspendable_2 (250 ms)]"));
     }
 }
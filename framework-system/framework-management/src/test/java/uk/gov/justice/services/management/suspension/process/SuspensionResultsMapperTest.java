@@ -1,5 +1,7 @@
 package uk.gov.justice.services.management.suspension.process;
 
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofMillis;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
@@ -98,4 +100,22 @@ public class SuspensionResultsMapperTest {
         assertThat(shutteringExecutorNames, hasItem("Executor name 3"));
         assertThat(shutteringExecutorNames, hasItem("Executor name 4"));
     }
+
+    @Test
+    public void shouldGetAListOfSuspendableNamesWithTheirDurations() throws Exception {
+
+        final SuspensionResult suspensionResult_1 = mock(SuspensionResult.class);
+        final SuspensionResult suspensionResult_2 = mock(SuspensionResult.class);
+
+        when(suspensionResult_1.getSuspendableName()).thenReturn("Suspendable 1");
+        when(suspensionResult_2.getSuspendableName()).thenReturn("Suspendable 2");
+        when(suspensionResult_1.getDuration()).thenReturn(ofMillis(1234));
+        when(suspensionResult_2.getDuration()).thenReturn(ZERO);
+
+        final List<String> suspendablesNames = suspensionResultsMapper.getSuspendablesNamesWithDurations(asList(
+                suspensionResult_1,
+                suspensionResult_2));
+
+        assertThat(suspendablesNames, is(asList("Suspendable 1 (1234 ms)", "Suspendable 2 (0 ms)")));
+    }
 }
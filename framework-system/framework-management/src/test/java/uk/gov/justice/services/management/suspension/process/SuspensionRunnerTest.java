@@ -1,27 +1,36 @@
 package uk.gov.justice.services.management.suspension.process;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.management.suspension.api.Suspendable;
+import uk.gov.justice.services.management.suspension.api.SuspensionFailedException;
 import uk.gov.justice.services.management.suspension.api.SuspensionResult;
 import uk.gov.justice.services.management.suspension.commands.SuspendCommand;
 import uk.gov.justice.services.management.suspension.commands.SuspensionCommand;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.slf4j.Logger;
 
@@ -34,12 +43,25 @@ public class SuspensionRunnerTest {
     @Mock
     private SuspensionFailedHandler suspensionFailedHandler;
 
+    @Spy
+    private SuspendableDependencySorter suspendableDependencySorter = new SuspendableDependencySorter();
+
+    @Mock
+    private ParallelSuspendablesRunner parallelSuspendablesRunner;
+
     @Mock
     private Logger logger;
 
     @InjectMocks
     private SuspensionRunner suspensionRunner;
 
+    @Before
+    @SuppressWarnings("unchecked")
+    public void runStagesInSequence() {
+        when(parallelSuspendablesRunner.run(any(UUID.class), any(SuspensionCommand.class), any(List.class), any(Function.class)))
+                .thenAnswer(this::runInSequence);
+    }
+
     @Test
     public void shouldRunSuspensionOnSuspenderIfTheItSupportsIt() throws Exception {
 
@@ -128,4 +150,49 @@ public class SuspensionRunnerTest {
         assertThat(suspensionResults, hasItem(failureResult));
         assertThat(suspensionResults, hasItem(suspensionResult_3));
     }
+
+    @Test
+    public void shouldFailAllSuspendablesIfTheirDependenciesAreCircular() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final SuspensionCommand suspensionCommand = new SuspendCommand();
+
+        final Suspendable suspendable_1 = mock(Suspendable.class);
+        final Suspendable suspendable_2 = mock(Suspendable.class);
+
+        final SuspensionResult failureResult_1 = mock(SuspensionResult.class);
+        final SuspensionResult failureResult_2 = mock(SuspensionResult.class);
+
+        when(suspendablesProvider.getSuspendables()).thenReturn(asList(suspendable_1, suspendable_2));
+
+        when(suspendable_1.shouldSuspend()).thenReturn(true);
+        when(suspendable_2.shouldSuspend()).thenReturn(true);
+        when(suspendable_1.getName()).thenReturn("Suspendable 1");
+        when(suspendable_2.getName()).thenReturn("Suspendable 2");
+        when(suspendable_1.getDependencies()).thenReturn(singleton("Suspendable 2"));
+        when(suspendable_2.getDependencies()).thenReturn(singleton("Suspendable 1"));
+
+        when(suspensionFailedHandler.onSuspensionFailed(eq(commandId), eq(suspensionCommand), eq(suspendable_1), any(SuspensionFailedException.class))).thenReturn(failureResult_1);
+        when(suspensionFailedHandler.onSuspensionFailed(eq(commandId), eq(suspensionCommand), eq(suspendable_2), any(SuspensionFailedException.class))).thenReturn(failureResult_2);
+
+        final List<SuspensionResult> suspensionResults = suspensionRunner.runSuspension(commandId, suspensionCommand);
+
+        assertThat(suspensionResults, is(asList(failureResult_1, failureResult_2)));
+
+        verify(suspendableDependencySorter).inSuspensionOrder(asList(suspendable_1, suspendable_2));
+        verify(suspendable_1, never()).suspend(commandId, suspensionCommand);
+        verify(suspendable_2, never()).suspend(commandId, suspensionCommand);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SuspensionResult> runInSequence(final InvocationOnMock invocationOnMock) {
+
+        final List<List<Suspendable>> stages = (List<List<Suspendable>>) invocationOnMock.getArguments()[2];
+        final Function<Suspendable, SuspensionResult> suspensionFunction = (Function<Suspendable, SuspensionResult>) invocationOnMock.getArguments()[3];
+
+        return stages.stream()
+                .flatMap(List::stream)
+                .map(suspensionFunction)
+                .collect(toList());
+    }
 }
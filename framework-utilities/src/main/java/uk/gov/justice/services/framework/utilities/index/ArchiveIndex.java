@@ -0,0 +1,107 @@
+package uk.gov.justice.services.framework.utilities.index;
+
+import static java.util.stream.Collectors.toSet;
+
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The classes listed in the index files of a deployment, together with the archives those index
+ * files were found in and the bean archives of the deployment.
+ *
+ * An archive built with the framework index processor always contains its index files, even when
+ * they are empty, so the index of an archive is complete. Classes in archives without an index
+ * were not seen by the processor and must still be found by scanning; see
+ * {@link #hasUnindexedArchives()} and {@link #isIndexed(Class)}.
+ */
+public class ArchiveIndex {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private final Set<String> classNames;
+    private final Set<String> indexedArchives;
+    private final Set<String> beanArchives;
+    private final Map<String, Boolean> indexedCodeSources = new ConcurrentHashMap<>();
+
+    /**
+     * @param classNames      the class names listed in the index files
+     * @param indexedArchives the roots of the archives containing an index file, as the external
+     *                        form of their URLs
+     * @param beanArchives    the roots of the bean archives, as the external form of their URLs
+     */
+    public ArchiveIndex(final Set<String> classNames, final Set<String> indexedArchives, final Set<String> beanArchives) {
+        this.classNames = classNames;
+        this.indexedArchives = indexedArchives;
+        this.beanArchives = beanArchives;
+    }
+
+    public Set<String> classNames() {
+        return classNames;
+    }
+
+    public boolean hasIndexedArchives() {
+        return !indexedArchives.isEmpty();
+    }
+
+    /**
+     * Whether any bean archive of the deployment has no index, so its beans have to be scanned.
+     * Only when this is false can the index be used on its own.
+     *
+     * @return true if there is no index or a bean archive without an index file
+     */
+    public boolean hasUnindexedArchives() {
+        return indexedArchives.isEmpty() || !indexedArchives.containsAll(beanArchives);
+    }
+
+    /**
+     * @return the roots of the bean archives without an index file
+     */
+    public Set<String> unindexedArchives() {
+        return beanArchives.stream()
+                .filter(beanArchive -> !indexedArchives.contains(beanArchive))
+                .collect(toSet());
+    }
+
+    /**
+     * Whether the archive the given class was loaded from has an index, so the class is listed in
+     * the index if it is of interest. The answer is cached per code source, so checking every bean
+     * of a deployment looks up each archive once.
+     *
+     * @param type the class
+     * @return true if the archive of the class has an index file
+     */
+    public boolean isIndexed(final Class<?> type) {
+        if (indexedArchives.isEmpty()) {
+            return false;
+        }
+
+        final CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return isInIndexedArchive(type);
+        }
+
+        return indexedCodeSources.computeIfAbsent(
+                codeSource.getLocation().toExternalForm(),
+                location -> isInIndexedArchive(type));
+    }
+
+    private boolean isInIndexedArchive(final Class<?> type) {
+        final ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            return false;
+        }
+
+        final String classFile = type.getName().replace('.', '/') + CLASS_FILE_SUFFIX;
+        final URL classUrl = classLoader.getResource(classFile);
+        if (classUrl == null) {
+            return false;
+        }
+
+        final String location = classUrl.toExternalForm();
+        return location.endsWith(classFile)
+                && indexedArchives.contains(location.substring(0, location.length() - classFile.length()));
+    }
+}
@@ -0,0 +1,84 @@
+package uk.gov.justice.services.framework.utilities.index;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.list;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reads the index of framework classes generated at compile time by the framework index annotation
+ * processor.
+ *
+ * Each index file lists one fully qualified class name per line. Index files with the same name
+ * from all jars on the classpath are merged, and the jars they were found in are recorded. The
+ * bean archives, found from their {@value #BEAN_ARCHIVE_DESCRIPTOR}, are recorded too, so that the
+ * caller only falls back to scanning when a bean archive was built without the processor.
+ */
+public class ComponentIndex {
+
+    public static final String SERVICE_COMPONENTS_INDEX = "META-INF/framework-index/service-components";
+    public static final String SYSTEM_COMMAND_HANDLERS_INDEX = "META-INF/framework-index/system-command-handlers";
+
+    public static final String BEAN_ARCHIVE_DESCRIPTOR = "META-INF/beans.xml";
+
+    private static final String COMMENT = "#";
+
+    /**
+     * Read the class names from all index files with the given name
+     *
+     * @param indexFile   the name of the index file
+     * @param classLoader the class loader to find the index files with
+     * @return the indexed class names, the archives they were indexed in, which are empty if
+     * there is no index, and the bean archives
+     */
+    public ArchiveIndex indexFrom(final String indexFile, final ClassLoader classLoader) {
+
+        try {
+            final Set<String> classNames = new HashSet<>();
+            final Set<String> indexedArchives = new HashSet<>();
+            final Set<String> beanArchives = new HashSet<>();
+
+            for (final URL indexUrl : list(classLoader.getResources(indexFile))) {
+                classNames.addAll(readClassNamesFrom(indexUrl));
+                indexedArchives.add(archiveOf(indexUrl, indexFile));
+            }
+
+            for (final URL beansXmlUrl : list(classLoader.getResources(BEAN_ARCHIVE_DESCRIPTOR))) {
+                beanArchives.add(archiveOf(beansXmlUrl, BEAN_ARCHIVE_DESCRIPTOR));
+            }
+
+            return new ArchiveIndex(classNames, indexedArchives, beanArchives);
+
+        } catch (final IOException e) {
+            throw new ComponentIndexException(format("Failed to read component index '%s'", indexFile), e);
+        }
+    }
+
+    private String archiveOf(final URL indexUrl, final String indexFile) {
+        final String location = indexUrl.toExternalForm();
+        return location.endsWith(indexFile) ? location.substring(0, location.length() - indexFile.length()) : location;
+    }
+
+    private Set<String> readClassNamesFrom(final URL indexUrl) throws IOException {
+
+        final Set<String> classNames = new HashSet<>();
+
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(indexUrl.openStream(), UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String className = line.trim();
+                if (!className.isEmpty() && !className.startsWith(COMMENT)) {
+                    classNames.add(className);
+                }
+            }
+        }
+
+        return classNames;
+    }
+}
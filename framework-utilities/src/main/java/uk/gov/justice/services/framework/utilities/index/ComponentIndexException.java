@@ -0,0 +1,8 @@
+package uk.gov.justice.services.framework.utilities.index;
+
+public class ComponentIndexException extends RuntimeException {
+
+    public ComponentIndexException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,51 @@
+package uk.gov.justice.services.framework.utilities.index;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class ArchiveIndexTest {
+
+    private static final String INDEXED_ARCHIVE = "file:/deployment/indexed.jar!/";
+    private static final String UNINDEXED_ARCHIVE = "file:/deployment/unindexed.jar!/";
+
+    @Test
+    public void shouldHaveNoUnindexedArchivesIfEveryBeanArchiveHasAnIndex() throws Exception {
+
+        final ArchiveIndex archiveIndex = new ArchiveIndex(
+                singleton("uk.gov.justice.services.example.FirstComponent"),
+                singleton(INDEXED_ARCHIVE),
+                singleton(INDEXED_ARCHIVE));
+
+        assertThat(archiveIndex.hasIndexedArchives(), is(true));
+        assertThat(archiveIndex.hasUnindexedArchives(), is(false));
+        assertThat(archiveIndex.unindexedArchives(), is(empty()));
+    }
+
+    @Test
+    public void shouldReportTheBeanArchivesWithoutAnIndex() throws Exception {
+
+        final ArchiveIndex archiveIndex = new ArchiveIndex(
+                singleton("uk.gov.justice.services.example.FirstComponent"),
+                singleton(INDEXED_ARCHIVE),
+                newHashSet(INDEXED_ARCHIVE, UNINDEXED_ARCHIVE));
+
+        assertThat(archiveIndex.hasUnindexedArchives(), is(true));
+        assertThat(archiveIndex.unindexedArchives(), contains(UNINDEXED_ARCHIVE));
+    }
+
+    @Test
+    public void shouldTreatEveryArchiveAsUnindexedIfThereIsNoIndex() throws Exception {
+
+        final ArchiveIndex archiveIndex = new ArchiveIndex(emptySet(), emptySet(), emptySet());
+
+        assertThat(archiveIndex.hasIndexedArchives(), is(false));
+        assertThat(archiveIndex.hasUnindexedArchives(), is(true));
+    }
+}
@@ -0,0 +1,50 @@
+package uk.gov.justice.services.framework.utilities.index;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class ComponentIndexTest {
+
+    private final ComponentIndex componentIndex = new ComponentIndex();
+
+    @Test
+    public void shouldReadClassNamesFromTheIndexIgnoringCommentsAndBlankLines() throws Exception {
+
+        final ArchiveIndex archiveIndex = componentIndex.indexFrom(
+                "META-INF/test-framework-index/test-components",
+                getClass().getClassLoader());
+
+        assertThat(archiveIndex.hasIndexedArchives(), is(true));
+        assertThat(archiveIndex.classNames(), containsInAnyOrder(
+                "uk.gov.justice.services.example.FirstComponent",
+                "uk.gov.justice.services.example.SecondComponent"));
+    }
+
+    @Test
+    public void shouldReturnAnEmptyIndexIfThereIsNoIndex() throws Exception {
+
+        final ArchiveIndex archiveIndex = componentIndex.indexFrom(
+                "META-INF/test-framework-index/missing-index",
+                getClass().getClassLoader());
+
+        assertThat(archiveIndex.hasIndexedArchives(), is(false));
+        assertThat(archiveIndex.classNames(), is(empty()));
+        assertThat(archiveIndex.isIndexed(ComponentIndexTest.class), is(false));
+    }
+
+    @Test
+    public void shouldOnlyTreatClassesInAnArchiveWithAnIndexAsIndexed() throws Exception {
+
+        final ArchiveIndex archiveIndex = componentIndex.indexFrom(
+                "META-INF/test-framework-index/test-components",
+                getClass().getClassLoader());
+
+        assertThat(archiveIndex.isIndexed(ComponentIndexTest.class), is(true));
+        assertThat(archiveIndex.isIndexed(Test.class), is(false));
+        assertThat(archiveIndex.isIndexed(String.class), is(false));
+    }
+}
@@ -0,0 +1,11 @@
+package uk.gov.justice.services.jmx.api;
+
+/**
+ * Thrown by a system command handler that stops because its command has been cancelled.
+ */
+public class SystemCommandCancelledException extends SystemCommandException {
+
+    public SystemCommandCancelledException(final String message) {
+        super(message);
+    }
+}
@@ -4,5 +4,6 @@ public enum CommandState {
     COMMAND_RECEIVED,
     COMMAND_IN_PROGRESS,
     COMMAND_COMPLETE,
-    COMMAND_FAILED
+    COMMAND_FAILED,
+    COMMAND_CANCELLED
 }
@@ -0,0 +1,102 @@
+package uk.gov.justice.services.jmx.api.domain;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The progress of a long running system command, as last reported by its handler.
+ */
+public class SystemCommandProgress implements Serializable {
+
+    public static final long UNKNOWN_TOTAL = -1L;
+
+    private final UUID commandId;
+    private final String systemCommand;
+    private final long itemsProcessed;
+    private final long totalItemsEstimate;
+    private final double itemsPerSecond;
+    private final boolean cancelRequested;
+    private final ZonedDateTime updatedAt;
+
+    public SystemCommandProgress(
+            final UUID commandId,
+            final String systemCommand,
+            final long itemsProcessed,
+            final long totalItemsEstimate,
+            final double itemsPerSecond,
+            final boolean cancelRequested,
+            final ZonedDateTime updatedAt) {
+        this.commandId = commandId;
+        this.systemCommand = systemCommand;
+        this.itemsProcessed = itemsProcessed;
+        this.totalItemsEstimate = totalItemsEstimate;
+        this.itemsPerSecond = itemsPerSecond;
+        this.cancelRequested = cancelRequested;
+        this.updatedAt = updatedAt;
+    }
+
+    public UUID getCommandId() {
+        return commandId;
+    }
+
+    public String getSystemCommandName() {
+        return systemCommand;
+    }
+
+    public long getItemsProcessed() {
+        return itemsProcessed;
+    }
+
+    /**
+     * @return the estimated total number of items, or {@link #UNKNOWN_TOTAL} if not known
+     */
+    public long getTotalItemsEstimate() {
+        return totalItemsEstimate;
+    }
+
+    public double getItemsPerSecond() {
+        return itemsPerSecond;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public ZonedDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SystemCommandProgress)) return false;
+        final SystemCommandProgress that = (SystemCommandProgress) o;
+        return itemsProcessed == that.itemsProcessed &&
+                totalItemsEstimate == that.totalItemsEstimate &&
+                Double.compare(that.itemsPerSecond, itemsPerSecond) == 0 &&
+                cancelRequested == that.cancelRequested &&
+                Objects.equals(commandId, that.commandId) &&
+                Objects.equals(systemCommand, that.systemCommand) &&
+                Objects.equals(updatedAt, that.updatedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(commandId, systemCommand, itemsProcessed, totalItemsEstimate, itemsPerSecond, cancelRequested, updatedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "SystemCommandProgress{" +
+                "commandId=" + commandId +
+                ", systemCommand=" + systemCommand +
+                ", itemsProcessed=" + itemsProcessed +
+                ", totalItemsEstimate=" + totalItemsEstimate +
+                ", itemsPerSecond=" + itemsPerSecond +
+                ", cancelRequested=" + cancelRequested +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
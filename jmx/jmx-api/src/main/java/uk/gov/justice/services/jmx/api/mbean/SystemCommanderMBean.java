@@ -1,6 +1,7 @@
 package uk.gov.justice.services.jmx.api.mbean;
 
 import uk.gov.justice.services.jmx.api.command.SystemCommandDetails;
+import uk.gov.justice.services.jmx.api.domain.SystemCommandProgress;
 import uk.gov.justice.services.jmx.api.domain.SystemCommandStatus;
 
 import java.util.List;
@@ -14,4 +15,6 @@ public interface SystemCommanderMBean {
     UUID call(final String systemCommandName);
     List<SystemCommandDetails> listCommands();
     SystemCommandStatus getCommandStatus(UUID commandId);
+    SystemCommandProgress getCommandProgress(UUID commandId);
+    void cancel(UUID commandId);
 }
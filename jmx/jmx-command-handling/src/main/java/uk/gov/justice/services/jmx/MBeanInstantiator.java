@@ -5,6 +5,7 @@ import static java.lang.String.format;
 import uk.gov.justice.services.jmx.api.mbean.SystemCommander;
 import uk.gov.justice.services.jmx.api.name.CommandMBeanNameProvider;
 import uk.gov.justice.services.jmx.api.name.ObjectNameException;
+import uk.gov.justice.services.jmx.command.SystemCommandScanner;
 import uk.gov.justice.services.jmx.util.ContextNameProvider;
 
 import javax.annotation.PostConstruct;
@@ -37,15 +38,21 @@ public class MBeanInstantiator {
     @Inject
     private CommandMBeanNameProvider commandMBeanNameProvider;
 
+    @Inject
+    private SystemCommandScanner systemCommandScanner;
+
     @Inject
     private Logger logger;
 
+    private ObjectName objectName;
+
     @PostConstruct
     public void registerSystemCommanderMBean() {
 
-        final String contextName = contextNameProvider.getContextName();
+        // build the command registry at startup rather than on the first JMX call
+        systemCommandScanner.findCommands();
 
-        final ObjectName objectName = commandMBeanNameProvider.create(contextName);
+        final ObjectName objectName = objectName();
 
         if (!mbeanServer.isRegistered(objectName)) {
             register(objectName);
@@ -55,14 +62,21 @@ public class MBeanInstantiator {
     @PreDestroy
     public void unregisterMBeans() {
 
-        final String contextName = contextNameProvider.getContextName();
-        final ObjectName objectName = commandMBeanNameProvider.create(contextName);
+        final ObjectName objectName = objectName();
 
         if (mbeanServer.isRegistered(objectName)) {
             unregister(objectName);
         }
     }
 
+    private ObjectName objectName() {
+        if (objectName == null) {
+            objectName = commandMBeanNameProvider.create(contextNameProvider.getContextName());
+        }
+
+        return objectName;
+    }
+
     private void register(final ObjectName objectName) {
         try {
 
@@ -7,12 +7,16 @@ import uk.gov.justice.services.jmx.api.CommandNotFoundException;
 import uk.gov.justice.services.jmx.api.UnrunnableSystemCommandException;
 import uk.gov.justice.services.jmx.api.command.SystemCommand;
 import uk.gov.justice.services.jmx.api.command.SystemCommandDetails;
+import uk.gov.justice.services.jmx.api.domain.SystemCommandProgress;
 import uk.gov.justice.services.jmx.api.domain.SystemCommandStatus;
 import uk.gov.justice.services.jmx.command.CommandConverter;
 import uk.gov.justice.services.jmx.command.SystemCommandLocator;
 import uk.gov.justice.services.jmx.command.SystemCommandScanner;
 import uk.gov.justice.services.jmx.runner.AsynchronousCommandRunner;
+import uk.gov.justice.services.jmx.runner.RunningSystemCommands;
+import uk.gov.justice.services.jmx.state.lock.SystemCommandInProgressGuard;
 import uk.gov.justice.services.jmx.state.observers.SystemCommandStateBean;
+import uk.gov.justice.services.jmx.state.progress.SystemCommandProgressReporter;
 
 import java.util.List;
 import java.util.UUID;
@@ -35,6 +39,15 @@ public class SystemCommander implements SystemCommanderMBean {
     @Inject
     private SystemCommandStateBean systemCommandStateBean;
 
+    @Inject
+    private SystemCommandInProgressGuard systemCommandInProgressGuard;
+
+    @Inject
+    private SystemCommandProgressReporter systemCommandProgressReporter;
+
+    @Inject
+    private RunningSystemCommands runningSystemCommands;
+
     @Inject
     private CommandConverter commandConverter;
 
@@ -50,11 +63,16 @@ public class SystemCommander implements SystemCommanderMBean {
                 .forName(systemCommandName)
                 .orElseThrow(() -> new UnrunnableSystemCommandException(format("The system command '%s' is not supported on this context.", systemCommandName)));
 
-        if (systemCommandStateBean.commandInProgress(systemCommand)) {
+        if (!systemCommandInProgressGuard.tryAcquire(systemCommand)) {
             throw new UnrunnableSystemCommandException(format("Cannot run system command '%s'. A previous call to that command is still in progress.", systemCommand.getName()));
         }
 
-        return asynchronousCommandRunner.run(systemCommand);
+        try {
+            return asynchronousCommandRunner.run(systemCommand);
+        } catch (final RuntimeException e) {
+            systemCommandInProgressGuard.release(systemCommand);
+            throw e;
+        }
     }
 
     @Override
@@ -72,4 +90,22 @@ public class SystemCommander implements SystemCommanderMBean {
                 .getCommandStatus(commandId)
                 .orElseThrow(() -> new CommandNotFoundException(format("No SystemCommand found with id %s", commandId)));
     }
+
+    @Override
+    public SystemCommandProgress getCommandProgress(final UUID commandId) {
+
+        return systemCommandProgressReporter
+                .getProgress(commandId)
+                .orElseThrow(() -> new CommandNotFoundException(format("No progress reported for SystemCommand with id %s", commandId)));
+    }
+
+    @Override
+    public void cancel(final UUID commandId) {
+
+        logger.info(format("Received request to cancel System Command with id %s", commandId));
+
+        if (!runningSystemCommands.cancel(commandId)) {
+            throw new CommandNotFoundException(format("No SystemCommand with id %s is running on this context", commandId));
+        }
+    }
 }
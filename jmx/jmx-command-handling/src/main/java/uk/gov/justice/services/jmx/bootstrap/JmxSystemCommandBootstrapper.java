@@ -1,13 +1,23 @@
 package uk.gov.justice.services.jmx.bootstrap;
 
+import static java.util.Collections.synchronizedSet;
+
+import uk.gov.justice.services.jmx.command.HandlesSystemCommand;
+
+import java.util.HashSet;
+import java.util.Set;
+
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.AfterDeploymentValidation;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.WithAnnotations;
 
 public class JmxSystemCommandBootstrapper implements Extension {
 
     private final ObjectFactory objectFactory;
+    private final Set<Class<?>> handlerTypes = synchronizedSet(new HashSet<>());
 
     public JmxSystemCommandBootstrapper() {
         this(new ObjectFactory());
@@ -17,7 +27,11 @@ public class JmxSystemCommandBootstrapper implements Extension {
         this.objectFactory = objectFactory;
     }
 
+    public <T> void processAnnotatedType(@Observes @WithAnnotations(HandlesSystemCommand.class) final ProcessAnnotatedType<T> pat) {
+        handlerTypes.add(pat.getAnnotatedType().getJavaClass());
+    }
+
     public void afterDeploymentValidation(@Observes final AfterDeploymentValidation event, final BeanManager beanManager) {
-        objectFactory.systemCommandScanner().registerSystemCommands(beanManager);
+        objectFactory.systemCommandScanner().registerSystemCommands(beanManager, new HashSet<>(handlerTypes));
     }
 }
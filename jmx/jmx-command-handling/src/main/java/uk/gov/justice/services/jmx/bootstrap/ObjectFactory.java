@@ -1,6 +1,7 @@
 package uk.gov.justice.services.jmx.bootstrap;
 
 import uk.gov.justice.services.framework.utilities.cdi.CdiInstanceResolver;
+import uk.gov.justice.services.framework.utilities.index.ComponentIndex;
 import uk.gov.justice.services.jmx.bootstrap.blacklist.BlacklistedCommandsFilter;
 import uk.gov.justice.services.jmx.bootstrap.blacklist.BlacklistedCommandsScanner;
 import uk.gov.justice.services.jmx.command.HandlerMethodValidator;
@@ -35,10 +36,15 @@ public class ObjectFactory {
                 blacklistedCommandsFilter());
     }
 
+    public ComponentIndex componentIndex() {
+        return new ComponentIndex();
+    }
+
     public SystemCommandHandlerScanner systemCommandScanner() {
         return new SystemCommandHandlerScanner(
                 systemCommandProxyResolver(),
                 cdiInstanceResolver(),
-                blacklistedCommandsScanner());
+                blacklistedCommandsScanner(),
+                componentIndex());
     }
 }
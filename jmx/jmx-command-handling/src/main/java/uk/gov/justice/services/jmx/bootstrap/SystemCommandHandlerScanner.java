@@ -1,43 +1,70 @@
 package uk.gov.justice.services.jmx.bootstrap;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Stream.concat;
+import static org.slf4j.LoggerFactory.getLogger;
+import static uk.gov.justice.services.framework.utilities.index.ComponentIndex.SYSTEM_COMMAND_HANDLERS_INDEX;
 
 import uk.gov.justice.services.framework.utilities.cdi.CdiInstanceResolver;
+import uk.gov.justice.services.framework.utilities.index.ArchiveIndex;
+import uk.gov.justice.services.framework.utilities.index.ComponentIndex;
 import uk.gov.justice.services.jmx.api.command.SystemCommand;
+import uk.gov.justice.services.jmx.bootstrap.blacklist.BlacklistedCommands;
 import uk.gov.justice.services.jmx.bootstrap.blacklist.BlacklistedCommandsScanner;
 import uk.gov.justice.services.jmx.command.SystemCommandHandlerProxy;
 import uk.gov.justice.services.jmx.command.SystemCommandStore;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 
+import org.slf4j.Logger;
+
+/**
+ * Finds the system command handlers of a deployment and stores a proxy for each of their handler
+ * methods.
+ *
+ * When every bean archive was built with the framework index processor, only the handlers listed
+ * in the index, and any handler types seen by the container but missing from a stale index, are
+ * looked up. The beans of the deployment are only enumerated when a bean archive has no index.
+ */
 public class SystemCommandHandlerScanner {
 
+    private static final Logger LOGGER = getLogger(SystemCommandHandlerScanner.class);
+
     private final SystemCommandProxyResolver systemCommandProxyResolver;
     private final CdiInstanceResolver cdiInstanceResolver;
     private final BlacklistedCommandsScanner blacklistedCommandsScanner;
+    private final ComponentIndex componentIndex;
 
     public SystemCommandHandlerScanner(
             final SystemCommandProxyResolver systemCommandProxyResolver,
             final CdiInstanceResolver cdiInstanceResolver,
-            final BlacklistedCommandsScanner blacklistedCommandsScanner) {
+            final BlacklistedCommandsScanner blacklistedCommandsScanner,
+            final ComponentIndex componentIndex) {
         this.systemCommandProxyResolver = systemCommandProxyResolver;
         this.cdiInstanceResolver = cdiInstanceResolver;
         this.blacklistedCommandsScanner = blacklistedCommandsScanner;
+        this.componentIndex = componentIndex;
     }
 
-    public void registerSystemCommands(final BeanManager beanManager) {
-        final Set<Bean<?>> cdiBeans = beanManager.getBeans(Object.class);
+    /**
+     * @param beanManager  the bean manager
+     * @param handlerTypes the types with a system command handler method seen by the container
+     */
+    public void registerSystemCommands(final BeanManager beanManager, final Set<Class<?>> handlerTypes) {
 
         final Set<SystemCommand> blacklistedCommands = blacklistedCommandsScanner.scanForBlacklistedCommands(
-                cdiBeans,
+                beanManager.getBeans(BlacklistedCommands.class),
                 beanManager);
 
-        final List<SystemCommandHandlerProxy> systemCommandHandlerProxies = cdiBeans.stream()
+        final List<SystemCommandHandlerProxy> systemCommandHandlerProxies = systemCommandHandlerBeansFrom(beanManager, handlerTypes).stream()
                 .map(bean -> systemCommandProxyResolver.allCommandProxiesFor(bean, beanManager, blacklistedCommands))
                 .flatMap(Collection::stream)
                 .collect(toList());
@@ -49,4 +76,59 @@ public class SystemCommandHandlerScanner {
 
         systemCommandStore.store(systemCommandHandlerProxies);
     }
+
+    private Set<Bean<?>> systemCommandHandlerBeansFrom(final BeanManager beanManager, final Set<Class<?>> handlerTypes) {
+        final ArchiveIndex archiveIndex = componentIndex.indexFrom(SYSTEM_COMMAND_HANDLERS_INDEX, classLoader());
+
+        if (!archiveIndex.hasIndexedArchives()) {
+            return beanManager.getBeans(Object.class);
+        }
+
+        final Stream<Bean<?>> unindexedBeans = archiveIndex.hasUnindexedArchives()
+                ? beanManager.getBeans(Object.class).stream().filter(bean -> !archiveIndex.isIndexed(bean.getBeanClass()))
+                : Stream.empty();
+
+        return concat(concat(indexedBeansFrom(beanManager, archiveIndex), unlistedBeansFrom(beanManager, archiveIndex, handlerTypes)), unindexedBeans)
+                .collect(toSet());
+    }
+
+    private Stream<Bean<?>> indexedBeansFrom(final BeanManager beanManager, final ArchiveIndex archiveIndex) {
+        return archiveIndex.classNames().stream()
+                .map(this::loadClass)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .flatMap(beanClass -> beansOf(beanManager, beanClass));
+    }
+
+    private Stream<Bean<?>> unlistedBeansFrom(final BeanManager beanManager, final ArchiveIndex archiveIndex, final Set<Class<?>> handlerTypes) {
+        final List<Class<?>> unlistedTypes = handlerTypes.stream()
+                .filter(type -> !archiveIndex.classNames().contains(type.getName()))
+                .collect(toList());
+
+        unlistedTypes.stream()
+                .filter(archiveIndex::isIndexed)
+                .forEach(type -> LOGGER.warn("System command handler {} is missing from the component index of its archive, which is stale or partial. " +
+                        "Rebuild the archive with a clean compile to update the index", type.getName()));
+
+        return unlistedTypes.stream().flatMap(type -> beansOf(beanManager, type));
+    }
+
+    private Stream<Bean<?>> beansOf(final BeanManager beanManager, final Class<?> beanClass) {
+        return beanManager.getBeans(beanClass).stream()
+                .filter(bean -> beanClass.equals(bean.getBeanClass()));
+    }
+
+    private Optional<Class<?>> loadClass(final String className) {
+        try {
+            return Optional.of(Class.forName(className, false, classLoader()));
+        } catch (final ClassNotFoundException e) {
+            LOGGER.warn("Indexed system command handler {} could not be loaded, ignoring", className);
+            return Optional.empty();
+        }
+    }
+
+    private ClassLoader classLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : SystemCommandHandlerScanner.class.getClassLoader();
+    }
 }
@@ -12,9 +12,6 @@ public class SystemCommandLocator {
     private SystemCommandScanner systemCommandScanner;
 
     public Optional<SystemCommand> forName(final String commandName) {
-
-        return systemCommandScanner.findCommands().stream()
-                .filter(systemCommand -> systemCommand.getName().equals(commandName))
-                .findFirst();
+        return systemCommandScanner.findCommand(commandName);
     }
 }
@@ -1,5 +1,8 @@
 package uk.gov.justice.services.jmx.command;
 
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 
 import uk.gov.justice.services.framework.utilities.cdi.CdiInstanceResolver;
@@ -7,8 +10,10 @@ import uk.gov.justice.services.framework.utilities.cdi.CdiProvider;
 import uk.gov.justice.services.jmx.api.command.SystemCommand;
 import uk.gov.justice.services.jmx.bootstrap.blacklist.BlacklistedCommands;
 
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.Bean;
@@ -17,6 +22,10 @@ import javax.enterprise.inject.spi.CDI;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+/**
+ * Finds all non blacklisted {@link SystemCommand}s once and holds them in an immutable registry
+ * indexed by command name.
+ */
 @Singleton
 public class SystemCommandScanner {
 
@@ -29,15 +38,37 @@ public class SystemCommandScanner {
     @Inject
     private BlacklistedCommands blacklistedCommands;
 
-    private final List<SystemCommand> systemCommands = new ArrayList<>();
+    private volatile Map<String, SystemCommand> systemCommandsByName;
 
     public List<SystemCommand> findCommands() {
+        return unmodifiableList(commandsByName().values().stream().collect(toList()));
+    }
+
+    public Optional<SystemCommand> findCommand(final String commandName) {
+        return ofNullable(commandsByName().get(commandName));
+    }
+
+    private Map<String, SystemCommand> commandsByName() {
 
-        if (systemCommands.isEmpty()) {
-            systemCommands.addAll(doFindSystemCommands());
+        Map<String, SystemCommand> commandsByName = systemCommandsByName;
+
+        if (commandsByName == null) {
+            synchronized (this) {
+                if (systemCommandsByName == null) {
+                    systemCommandsByName = indexByName(doFindSystemCommands());
+                }
+                commandsByName = systemCommandsByName;
+            }
         }
 
-        return systemCommands;
+        return commandsByName;
+    }
+
+    private Map<String, SystemCommand> indexByName(final List<SystemCommand> systemCommands) {
+        final Map<String, SystemCommand> commandsByName = new LinkedHashMap<>();
+        systemCommands.forEach(systemCommand -> commandsByName.putIfAbsent(systemCommand.getName(), systemCommand));
+
+        return unmodifiableMap(commandsByName);
     }
 
     private List<SystemCommand> doFindSystemCommands() {
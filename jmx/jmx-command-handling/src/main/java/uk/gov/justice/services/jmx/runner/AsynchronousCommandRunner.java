@@ -27,8 +27,10 @@ public class AsynchronousCommandRunner {
     private SystemCommandRunner systemCommandRunner;
 
     @Inject
-    private UtcClock clock;
+    private RunningSystemCommands runningSystemCommands;
 
+    @Inject
+    private UtcClock clock;
 
     public UUID run(final SystemCommand systemCommand) {
 
@@ -36,11 +38,18 @@ public class AsynchronousCommandRunner {
 
         fireCommandReceived(commandId, systemCommand);
 
-        managedExecutorService.submit(new RunSystemCommandTask(
-                systemCommandRunner,
-                systemCommand,
-                commandId
-        ));
+        runningSystemCommands.received(commandId);
+
+        try {
+            managedExecutorService.submit(new RunSystemCommandTask(
+                    systemCommandRunner,
+                    systemCommand,
+                    commandId
+            ));
+        } catch (final RuntimeException e) {
+            runningSystemCommands.finish(commandId);
+            throw e;
+        }
 
         return commandId;
     }
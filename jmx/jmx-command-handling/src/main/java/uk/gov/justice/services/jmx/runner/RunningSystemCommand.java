@@ -0,0 +1,47 @@
+package uk.gov.justice.services.jmx.runner;
+
+/**
+ * Cancellation state of a single system command between being received and finishing.
+ *
+ * The thread running the command is only interrupted while the command is running on it, so
+ * cancelling a command can never interrupt an unrelated task that later runs on the same
+ * managed thread.
+ */
+public class RunningSystemCommand {
+
+    private boolean cancelRequested = false;
+    private Thread runningThread;
+
+    /**
+     * @param thread the thread that is about to run the command
+     * @return false if the command was cancelled before it started
+     */
+    public synchronized boolean start(final Thread thread) {
+        if (cancelRequested) {
+            return false;
+        }
+
+        runningThread = thread;
+        return true;
+    }
+
+    public synchronized void cancel() {
+        cancelRequested = true;
+
+        if (runningThread != null) {
+            runningThread.interrupt();
+        }
+    }
+
+    public synchronized void finish() {
+        if (runningThread != null) {
+            // clear any interrupt from a cancel, so it does not leak into the next task on this thread
+            Thread.interrupted();
+            runningThread = null;
+        }
+    }
+
+    public synchronized boolean isCancelRequested() {
+        return cancelRequested;
+    }
+}
@@ -0,0 +1,73 @@
+package uk.gov.justice.services.jmx.runner;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Singleton;
+
+/**
+ * Tracks the system commands received by this node that have not yet finished, so that they can
+ * be cancelled.
+ *
+ * Cancelling sets a flag that handlers can check through the
+ * {@link uk.gov.justice.services.jmx.state.progress.SystemCommandProgressReporter} and interrupts the
+ * thread running the command. A command cancelled before it starts is never run.
+ */
+@Singleton
+public class RunningSystemCommands {
+
+    private final Map<UUID, RunningSystemCommand> runningSystemCommands = new ConcurrentHashMap<>();
+
+    public void received(final UUID commandId) {
+        runningSystemCommands.putIfAbsent(commandId, new RunningSystemCommand());
+    }
+
+    /**
+     * Mark the command as running on the current thread
+     *
+     * @param commandId the id of the command
+     * @return false if the command was cancelled before it started and should not be run
+     */
+    public boolean start(final UUID commandId) {
+        return runningSystemCommands
+                .computeIfAbsent(commandId, id -> new RunningSystemCommand())
+                .start(Thread.currentThread());
+    }
+
+    public void finish(final UUID commandId) {
+        final RunningSystemCommand runningSystemCommand = runningSystemCommands.remove(commandId);
+
+        if (runningSystemCommand != null) {
+            runningSystemCommand.finish();
+        }
+    }
+
+    /**
+     * @param commandId the id of the command to cancel
+     * @return false if no command with that id is running on this node
+     */
+    public boolean cancel(final UUID commandId) {
+        final RunningSystemCommand runningSystemCommand = runningSystemCommands.get(commandId);
+
+        if (runningSystemCommand == null) {
+            return false;
+        }
+
+        runningSystemCommand.cancel();
+        return true;
+    }
+
+    /**
+     * @param commandId the id of the command
+     * @return true if the command has been received by this node and has not yet finished
+     */
+    public boolean isRunning(final UUID commandId) {
+        return runningSystemCommands.containsKey(commandId);
+    }
+
+    public boolean isCancelRequested(final UUID commandId) {
+        final RunningSystemCommand runningSystemCommand = runningSystemCommands.get(commandId);
+        return runningSystemCommand != null && runningSystemCommand.isCancelRequested();
+    }
+}
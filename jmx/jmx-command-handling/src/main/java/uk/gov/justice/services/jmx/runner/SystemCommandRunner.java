@@ -2,14 +2,22 @@ package uk.gov.justice.services.jmx.runner;
 
 import static java.lang.String.format;
 import static javax.transaction.Transactional.TxType.NEVER;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_CANCELLED;
 
+import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.framework.utilities.exceptions.StackTraceProvider;
+import uk.gov.justice.services.jmx.api.SystemCommandCancelledException;
 import uk.gov.justice.services.jmx.api.SystemCommandInvocationFailedException;
 import uk.gov.justice.services.jmx.api.command.SystemCommand;
 import uk.gov.justice.services.jmx.command.SystemCommandStore;
+import uk.gov.justice.services.jmx.state.events.SystemCommandStateChangedEvent;
+import uk.gov.justice.services.jmx.state.lock.SystemCommandInProgressGuard;
+import uk.gov.justice.services.jmx.state.progress.SystemCommandProgressReporter;
 
+import java.util.Optional;
 import java.util.UUID;
 
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 
@@ -20,6 +28,21 @@ public class SystemCommandRunner {
     @Inject
     private SystemCommandStore systemCommandStore;
 
+    @Inject
+    private RunningSystemCommands runningSystemCommands;
+
+    @Inject
+    private SystemCommandProgressReporter systemCommandProgressReporter;
+
+    @Inject
+    private SystemCommandInProgressGuard systemCommandInProgressGuard;
+
+    @Inject
+    private Event<SystemCommandStateChangedEvent> systemCommandStateChangedEventFirer;
+
+    @Inject
+    private UtcClock clock;
+
     @Inject
     private StackTraceProvider stackTraceProvider;
 
@@ -30,14 +53,50 @@ public class SystemCommandRunner {
     public void run(final SystemCommand systemCommand, final UUID commandId) {
 
         try {
-            systemCommandStore.findCommandProxy(systemCommand).invokeCommand(systemCommand, commandId);
+            if (runningSystemCommands.start(commandId)) {
+                systemCommandProgressReporter.commandStarted(systemCommand, commandId);
+                systemCommandStore.findCommandProxy(systemCommand).invokeCommand(systemCommand, commandId);
+            } else {
+                cancelled(systemCommand, commandId, format("System Command '%s' with id %s was cancelled before it started", systemCommand.getName(), commandId));
+            }
         } catch (final Throwable e) {
+            final Optional<SystemCommandCancelledException> cancellation = cancellationCausing(e);
+            if (cancellation.isPresent()) {
+                cancelled(systemCommand, commandId, cancellation.get().getMessage());
+                return;
+            }
+
             final String message = format("Failed to run System Command '%s'", systemCommand.getName());
             logger.error(message, e);
 
             throw new SystemCommandInvocationFailedException(
                     message + ". Caused by " + e.getClass().getName() + ": " + e.getMessage(),
                     stackTraceProvider.getStackTrace(e));
+        } finally {
+            runningSystemCommands.finish(commandId);
+            systemCommandProgressReporter.commandFinished(commandId);
+            systemCommandInProgressGuard.release(systemCommand);
+        }
+    }
+
+    private void cancelled(final SystemCommand systemCommand, final UUID commandId, final String message) {
+        logger.info(message);
+
+        systemCommandStateChangedEventFirer.fire(new SystemCommandStateChangedEvent(
+                commandId,
+                systemCommand,
+                COMMAND_CANCELLED,
+                clock.now(),
+                message
+        ));
+    }
+
+    private Optional<SystemCommandCancelledException> cancellationCausing(final Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SystemCommandCancelledException) {
+                return Optional.of((SystemCommandCancelledException) cause);
+            }
         }
+        return Optional.empty();
     }
 }
@@ -0,0 +1,92 @@
+package uk.gov.justice.services.jmx.state.lock;
+
+import static java.lang.String.format;
+
+import uk.gov.justice.services.jmx.api.command.SystemCommand;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+
+/**
+ * Admits at most one run of each system command at a time across the cluster.
+ *
+ * Commands already running on this node are rejected from memory when they are called, without
+ * going to the database. Otherwise a postgres advisory lock is taken on the command name while the
+ * command is called, which fails if the command is running on another node, so the caller is
+ * rejected before the command is queued. The lock is held until the command is released when it
+ * has finished. It belongs to a connection used only for that lock, so it is dropped by the
+ * database if the node dies and no stale 'in progress' state is left behind.
+ */
+@Singleton
+public class SystemCommandInProgressGuard {
+
+    @Inject
+    private SystemCommandLockRepository systemCommandLockRepository;
+
+    @Inject
+    private Logger logger;
+
+    private final Set<String> commandsInProgress = ConcurrentHashMap.newKeySet();
+    private final Map<String, SystemCommandLock> systemCommandLocks = new ConcurrentHashMap<>();
+
+    /**
+     * @param systemCommand the system command to run
+     * @return true if the command may run, false if a previous run is still in progress on this
+     * or another node
+     */
+    public boolean tryAcquire(final SystemCommand systemCommand) {
+
+        final String commandName = systemCommand.getName();
+
+        if (!commandsInProgress.add(commandName)) {
+            return false;
+        }
+
+        try {
+            final Optional<SystemCommandLock> systemCommandLock = systemCommandLockRepository.tryLock(commandName);
+
+            if (systemCommandLock.isPresent()) {
+                systemCommandLocks.put(commandName, systemCommandLock.get());
+                return true;
+            }
+
+            logger.warn(format("System command '%s' is in progress on another node", commandName));
+
+        } catch (final RuntimeException e) {
+            commandsInProgress.remove(commandName);
+            throw e;
+        }
+
+        commandsInProgress.remove(commandName);
+        return false;
+    }
+
+    /**
+     * Release the system command so that it can be run again, logging rather than throwing if
+     * its lock cannot be released as the database drops the lock with the connection anyway
+     *
+     * @param systemCommand the system command that has finished
+     */
+    public void release(final SystemCommand systemCommand) {
+
+        final String commandName = systemCommand.getName();
+
+        try {
+            final SystemCommandLock systemCommandLock = systemCommandLocks.remove(commandName);
+            if (systemCommandLock != null) {
+                systemCommandLockRepository.unlock(systemCommandLock);
+            }
+        } catch (final SystemCommandLockException e) {
+            logger.error(format("Failed to release lock on system command '%s'", commandName), e);
+        } finally {
+            commandsInProgress.remove(commandName);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.justice.services.jmx.state.lock;
+
+import java.sql.Connection;
+
+/**
+ * A cluster wide lock on a system command name. The lock is a postgres session level advisory
+ * lock, so it belongs to the connection that acquired it and is released when it is unlocked on
+ * that connection or the connection is lost.
+ */
+public class SystemCommandLock {
+
+    private final String commandName;
+    private final int lockId;
+    private final Connection connection;
+
+    public SystemCommandLock(final String commandName, final int lockId, final Connection connection) {
+        this.commandName = commandName;
+        this.lockId = lockId;
+        this.connection = connection;
+    }
+
+    public String getCommandName() {
+        return commandName;
+    }
+
+    public int getLockId() {
+        return lockId;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+}
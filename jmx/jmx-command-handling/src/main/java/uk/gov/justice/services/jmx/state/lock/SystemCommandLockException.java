@@ -0,0 +1,8 @@
+package uk.gov.justice.services.jmx.state.lock;
+
+public class SystemCommandLockException extends RuntimeException {
+
+    public SystemCommandLockException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,147 @@
+package uk.gov.justice.services.jmx.state.lock;
+
+import static java.lang.String.format;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static javax.transaction.Transactional.TxType.NOT_SUPPORTED;
+
+import uk.gov.justice.services.jdbc.persistence.SystemJdbcDataSourceProvider;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+/**
+ * Acquires and releases postgres advisory locks on system command names in the system database.
+ *
+ * The locks are keyed on a fixed namespace and the id of the command name in the
+ * {@code system_command_lock} table, so the keys of different commands never collide. Each lock
+ * is a session level lock held by a connection used only for that lock. The connection is taken
+ * with any JTA transaction suspended and stays in auto commit mode, so it is never left idle in a
+ * transaction while the command runs. {@link #unlock} releases the lock explicitly before the
+ * connection goes back to the pool; if that fails the connection is aborted, so a lock can never
+ * be handed to the next user of a pooled connection.
+ */
+public class SystemCommandLockRepository {
+
+    static final int SYSTEM_COMMAND_LOCK_NAMESPACE = 0x53434D44;
+
+    private static final String INSERT_LOCK_ID = "INSERT INTO system_command_lock (command_name) VALUES (?) ON CONFLICT (command_name) DO NOTHING";
+    private static final String SELECT_LOCK_ID = "SELECT lock_id FROM system_command_lock WHERE command_name = ?";
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(?, ?)";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(?, ?)";
+
+    @Inject
+    private SystemJdbcDataSourceProvider systemJdbcDataSourceProvider;
+
+    /**
+     * Try to lock the named system command without waiting. If the lock is acquired, the
+     * connection holding it stays open until the lock is passed to {@link #unlock}, which may be
+     * done on any thread
+     *
+     * @param commandName the name of the system command to lock
+     * @return the lock, or empty if the command is already locked
+     */
+    @Transactional(NOT_SUPPORTED)
+    public Optional<SystemCommandLock> tryLock(final String commandName) {
+
+        final Connection connection = getConnection(commandName);
+
+        try {
+            connection.setAutoCommit(true);
+            final int lockId = lockIdFor(connection, commandName);
+
+            if (advisoryLock(connection, TRY_LOCK, lockId)) {
+                return of(new SystemCommandLock(commandName, lockId, connection));
+            }
+
+            connection.close();
+
+            return empty();
+
+        } catch (final SQLException e) {
+            abortQuietly(connection);
+            throw new SystemCommandLockException(format("Failed to lock system command '%s'", commandName), e);
+        }
+    }
+
+    /**
+     * Release the lock and return the connection that held it to the pool
+     *
+     * @param systemCommandLock the lock to release
+     */
+    @Transactional(NOT_SUPPORTED)
+    public void unlock(final SystemCommandLock systemCommandLock) {
+
+        final Connection connection = systemCommandLock.getConnection();
+
+        try {
+            if (!advisoryLock(connection, UNLOCK, systemCommandLock.getLockId())) {
+                throw new SQLException(format("Lock on system command '%s' was not held by its connection", systemCommandLock.getCommandName()));
+            }
+
+            connection.close();
+
+        } catch (final SQLException e) {
+            abortQuietly(connection);
+            throw new SystemCommandLockException(format("Failed to unlock system command '%s'", systemCommandLock.getCommandName()), e);
+        }
+    }
+
+    private boolean advisoryLock(final Connection connection, final String lockFunction, final int lockId) throws SQLException {
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(lockFunction)) {
+
+            preparedStatement.setInt(1, SYSTEM_COMMAND_LOCK_NAMESPACE);
+            preparedStatement.setInt(2, lockId);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private int lockIdFor(final Connection connection, final String commandName) throws SQLException {
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(INSERT_LOCK_ID)) {
+            preparedStatement.setString(1, commandName);
+            preparedStatement.executeUpdate();
+        }
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(SELECT_LOCK_ID)) {
+            preparedStatement.setString(1, commandName);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new SQLException(format("No lock id found for system command '%s'", commandName));
+                }
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private Connection getConnection(final String commandName) {
+        try {
+            return systemJdbcDataSourceProvider.getDataSource().getConnection();
+        } catch (final SQLException e) {
+            throw new SystemCommandLockException(format("Failed to get connection to lock system command '%s'", commandName), e);
+        }
+    }
+
+    /**
+     * Close the physical connection rather than return it to the pool, as it may still hold a
+     * session level lock
+     */
+    private void abortQuietly(final Connection connection) {
+        try {
+            connection.abort(Runnable::run);
+        } catch (final SQLException | RuntimeException ignored) {
+            // the original failure is more useful than this one
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package uk.gov.justice.services.jmx.state.persistence;
+
+import static java.lang.String.format;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static uk.gov.justice.services.common.converter.ZonedDateTimes.fromSqlTimestamp;
+import static uk.gov.justice.services.common.converter.ZonedDateTimes.toSqlTimestamp;
+
+import uk.gov.justice.services.jdbc.persistence.SystemJdbcDataSourceProvider;
+import uk.gov.justice.services.jmx.api.domain.SystemCommandProgress;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.sql.DataSource;
+
+public class SystemCommandProgressRepository {
+
+    private static final String UPSERT_PROGRESS = "INSERT into system_command_progress (" +
+            "command_id, command_name, items_processed, total_items_estimate, items_per_second, cancel_requested, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (command_id) DO UPDATE SET " +
+            "items_processed = EXCLUDED.items_processed, " +
+            "total_items_estimate = EXCLUDED.total_items_estimate, " +
+            "items_per_second = EXCLUDED.items_per_second, " +
+            "cancel_requested = EXCLUDED.cancel_requested, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String FIND_BY_ID = "SELECT " +
+            "command_id, command_name, items_processed, total_items_estimate, items_per_second, cancel_requested, updated_at " +
+            "FROM system_command_progress " +
+            "WHERE command_id = ?";
+
+    private static final String DELETE_UPDATED_BEFORE = "DELETE FROM system_command_progress " +
+            "WHERE updated_at < ?";
+
+    @Inject
+    private SystemJdbcDataSourceProvider systemJdbcDataSourceProvider;
+
+    public void save(final SystemCommandProgress systemCommandProgress) {
+
+        final DataSource systemDataSource = systemJdbcDataSourceProvider.getDataSource();
+
+        try (final Connection connection = systemDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(UPSERT_PROGRESS)) {
+
+            preparedStatement.setObject(1, systemCommandProgress.getCommandId());
+            preparedStatement.setString(2, systemCommandProgress.getSystemCommandName());
+            preparedStatement.setLong(3, systemCommandProgress.getItemsProcessed());
+            preparedStatement.setLong(4, systemCommandProgress.getTotalItemsEstimate());
+            preparedStatement.setDouble(5, systemCommandProgress.getItemsPerSecond());
+            preparedStatement.setBoolean(6, systemCommandProgress.isCancelRequested());
+            preparedStatement.setTimestamp(7, toSqlTimestamp(systemCommandProgress.getUpdatedAt()));
+
+            preparedStatement.executeUpdate();
+
+        } catch (final SQLException e) {
+            throw new SystemCommandStatusPersistenceException(format("Failed to save SystemCommandProgress for command id %s", systemCommandProgress.getCommandId()), e);
+        }
+    }
+
+    public Optional<SystemCommandProgress> findByCommandId(final UUID commandId) {
+        final DataSource systemDataSource = systemJdbcDataSourceProvider.getDataSource();
+
+        try (final Connection connection = systemDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(FIND_BY_ID)) {
+
+            preparedStatement.setObject(1, commandId);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+
+                if (resultSet.next()) {
+                    return of(toSystemCommandProgress(resultSet));
+                }
+
+                return empty();
+            }
+
+        } catch (final SQLException e) {
+            throw new SystemCommandStatusPersistenceException(format("Failed to find SystemCommandProgress for command id %s", commandId), e);
+        }
+    }
+
+    /**
+     * @param cutOff progress last updated before this time is deleted
+     * @return the number of progress records deleted
+     */
+    public int deleteUpdatedBefore(final ZonedDateTime cutOff) {
+        final DataSource systemDataSource = systemJdbcDataSourceProvider.getDataSource();
+
+        try (final Connection connection = systemDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(DELETE_UPDATED_BEFORE)) {
+
+            preparedStatement.setTimestamp(1, toSqlTimestamp(cutOff));
+
+            return preparedStatement.executeUpdate();
+
+        } catch (final SQLException e) {
+            throw new SystemCommandStatusPersistenceException(format("Failed to delete SystemCommandProgress older than %s", cutOff), e);
+        }
+    }
+
+    private SystemCommandProgress toSystemCommandProgress(final ResultSet resultSet) throws SQLException {
+
+        return new SystemCommandProgress(
+                (UUID) resultSet.getObject("command_id"),
+                resultSet.getString("command_name"),
+                resultSet.getLong("items_processed"),
+                resultSet.getLong("total_items_estimate"),
+                resultSet.getDouble("items_per_second"),
+                resultSet.getBoolean("cancel_requested"),
+                fromSqlTimestamp(resultSet.getTimestamp("updated_at"))
+        );
+    }
+}
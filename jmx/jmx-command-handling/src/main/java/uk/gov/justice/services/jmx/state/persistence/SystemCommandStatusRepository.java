@@ -3,10 +3,14 @@ package uk.gov.justice.services.jmx.state.persistence;
 import static java.lang.String.format;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.services.common.converter.ZonedDateTimes.fromSqlTimestamp;
 import static uk.gov.justice.services.common.converter.ZonedDateTimes.toSqlTimestamp;
 import static uk.gov.justice.services.jmx.api.domain.CommandState.valueOf;
 
+import uk.gov.justice.services.jdbc.persistence.JdbcResultSetStreamer;
+import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapper;
+import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapperFactory;
 import uk.gov.justice.services.jdbc.persistence.SystemJdbcDataSourceProvider;
 import uk.gov.justice.services.jmx.api.command.SystemCommand;
 import uk.gov.justice.services.jmx.api.domain.SystemCommandStatus;
@@ -20,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 import javax.sql.DataSource;
@@ -35,6 +40,21 @@ public class SystemCommandStatusRepository {
             "FROM system_command_status " +
             "ORDER BY status_changed_at";
 
+    private static final String FIND_PAGE = "SELECT " +
+            "command_id, command_name, command_state, status_changed_at, message " +
+            "FROM system_command_status " +
+            "ORDER BY status_changed_at, command_id, command_state " +
+            "LIMIT ? OFFSET ?";
+
+    private static final String DELETE_COMMANDS_FINISHED_BEFORE = "DELETE FROM system_command_status " +
+            "WHERE command_id IN (" +
+            "SELECT command_id FROM (" +
+            "SELECT DISTINCT ON (command_id) command_id, command_state, status_changed_at " +
+            "FROM system_command_status " +
+            "ORDER BY command_id, status_changed_at DESC) latest_status " +
+            "WHERE command_state IN ('COMMAND_COMPLETE', 'COMMAND_FAILED', 'COMMAND_CANCELLED') " +
+            "AND status_changed_at < ?)";
+
     private static final String FIND_ALL_BY_ID = "SELECT " +
             "command_id, command_name, command_state, status_changed_at, message " +
             "FROM system_command_status " +
@@ -58,6 +78,12 @@ public class SystemCommandStatusRepository {
     @Inject
     private SystemJdbcDataSourceProvider systemJdbcDataSourceProvider;
 
+    @Inject
+    private PreparedStatementWrapperFactory preparedStatementWrapperFactory;
+
+    @Inject
+    private JdbcResultSetStreamer jdbcResultSetStreamer;
+
     public void add(final SystemCommandStatus systemCommandStatus) {
 
         final DataSource systemDataSource = systemJdbcDataSourceProvider.getDataSource();
@@ -79,26 +105,91 @@ public class SystemCommandStatusRepository {
     }
 
     public List<SystemCommandStatus> findAll() {
+        try (final Stream<SystemCommandStatus> systemCommandStatuses = streamAll()) {
+            return systemCommandStatuses.collect(toList());
+        }
+    }
+
+    /**
+     * Streams all statuses in the order they changed without loading them all into memory. The
+     * stream holds a database connection open so must be closed after use.
+     *
+     * @return a Stream of all SystemCommandStatuses
+     */
+    public Stream<SystemCommandStatus> streamAll() {
+        final DataSource systemDataSource = systemJdbcDataSourceProvider.getDataSource();
+
+        try {
+            final PreparedStatementWrapper preparedStatementWrapper = preparedStatementWrapperFactory.preparedStatementWrapperOf(
+                    systemDataSource,
+                    FIND_ALL);
+
+            return jdbcResultSetStreamer.streamOf(preparedStatementWrapper, resultSet -> {
+                try {
+                    return toSystemCommandStatus(resultSet);
+                } catch (final SQLException e) {
+                    throw new SystemCommandStatusPersistenceException("Failed to stream SystemCommandStatus", e);
+                }
+            });
+
+        } catch (final SQLException e) {
+            throw new SystemCommandStatusPersistenceException("Failed to stream all SystemCommandStatus", e);
+        }
+    }
+
+    /**
+     * @param pageNumber the zero based page number
+     * @param pageSize   the maximum number of statuses in a page
+     * @return the requested page of statuses in the order they changed
+     */
+    public List<SystemCommandStatus> findPage(final int pageNumber, final int pageSize) {
         final DataSource systemDataSource = systemJdbcDataSourceProvider.getDataSource();
 
         final List<SystemCommandStatus> systemCommandStatuses = new ArrayList<>();
 
         try (final Connection connection = systemDataSource.getConnection();
-             final PreparedStatement preparedStatement = connection.prepareStatement(FIND_ALL);
-             final ResultSet resultSet = preparedStatement.executeQuery()) {
+             final PreparedStatement preparedStatement = connection.prepareStatement(FIND_PAGE)) {
 
-            while (resultSet.next()) {
-                final SystemCommandStatus systemCommandStatus = toSystemCommandStatus(resultSet);
-                systemCommandStatuses.add(systemCommandStatus);
+            preparedStatement.setInt(1, pageSize);
+            preparedStatement.setLong(2, (long) pageNumber * pageSize);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    systemCommandStatuses.add(toSystemCommandStatus(resultSet));
+                }
             }
 
         } catch (final SQLException e) {
-            throw new SystemCommandStatusPersistenceException("Failed to find all SystemCommandStatus", e);
+            throw new SystemCommandStatusPersistenceException(format("Failed to find page %d of SystemCommandStatus", pageNumber), e);
         }
 
         return systemCommandStatuses;
     }
 
+    /**
+     * Deletes the whole history of every finished command whose latest status changed before the
+     * given time, so no command is left with a partial history. A command has finished if its
+     * latest status is COMMAND_COMPLETE, COMMAND_FAILED or COMMAND_CANCELLED; commands that are
+     * still received or in progress are kept however long ago they last changed.
+     *
+     * @param cutOff commands last changed before this time are deleted
+     * @return the number of statuses deleted
+     */
+    public int deleteCommandsFinishedBefore(final ZonedDateTime cutOff) {
+        final DataSource systemDataSource = systemJdbcDataSourceProvider.getDataSource();
+
+        try (final Connection connection = systemDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(DELETE_COMMANDS_FINISHED_BEFORE)) {
+
+            preparedStatement.setTimestamp(1, toSqlTimestamp(cutOff));
+
+            return preparedStatement.executeUpdate();
+
+        } catch (final SQLException e) {
+            throw new SystemCommandStatusPersistenceException(format("Failed to delete SystemCommandStatus older than %s", cutOff), e);
+        }
+    }
+
     public List<SystemCommandStatus> findAllByCommandId(final UUID commandId) {
         final DataSource systemDataSource = systemJdbcDataSourceProvider.getDataSource();
 
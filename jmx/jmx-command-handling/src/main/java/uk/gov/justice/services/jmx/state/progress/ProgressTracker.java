@@ -0,0 +1,95 @@
+package uk.gov.justice.services.jmx.state.progress;
+
+import uk.gov.justice.services.jmx.api.domain.SystemCommandProgress;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The latest progress of one running system command, and when it was last persisted.
+ */
+public class ProgressTracker {
+
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private final UUID commandId;
+    private final String commandName;
+    private final ZonedDateTime startedAt;
+
+    private SystemCommandProgress latestProgress;
+    private ZonedDateTime persistedAt;
+    private boolean persisted = true;
+
+    public ProgressTracker(final UUID commandId, final String commandName, final ZonedDateTime startedAt) {
+        this.commandId = commandId;
+        this.commandName = commandName;
+        this.startedAt = startedAt;
+        this.persistedAt = startedAt;
+    }
+
+    public synchronized SystemCommandProgress update(
+            final long itemsProcessed,
+            final long totalItemsEstimate,
+            final boolean cancelRequested,
+            final ZonedDateTime now) {
+
+        latestProgress = new SystemCommandProgress(
+                commandId,
+                commandName,
+                itemsProcessed,
+                totalItemsEstimate,
+                itemsPerSecond(itemsProcessed, now),
+                cancelRequested,
+                now);
+        persisted = false;
+
+        return latestProgress;
+    }
+
+    /**
+     * @param now                  the current time
+     * @param persistIntervalMillis the minimum time between persisting progress
+     * @return the latest progress if it has not been persisted for at least the given interval
+     */
+    public synchronized Optional<SystemCommandProgress> progressToPersist(final ZonedDateTime now, final long persistIntervalMillis) {
+        if (persisted || millisBetween(persistedAt, now) < persistIntervalMillis) {
+            return Optional.empty();
+        }
+
+        return unpersistedProgress(now);
+    }
+
+    /**
+     * @param now the current time
+     * @return the latest progress if it has changed since it was last persisted
+     */
+    public synchronized Optional<SystemCommandProgress> unpersistedProgress(final ZonedDateTime now) {
+        if (persisted) {
+            return Optional.empty();
+        }
+
+        persisted = true;
+        persistedAt = now;
+
+        return Optional.of(latestProgress);
+    }
+
+    public synchronized Optional<SystemCommandProgress> latestProgress() {
+        return Optional.ofNullable(latestProgress);
+    }
+
+    private double itemsPerSecond(final long itemsProcessed, final ZonedDateTime now) {
+        final long elapsedMillis = millisBetween(startedAt, now);
+
+        if (elapsedMillis <= 0) {
+            return 0.0;
+        }
+
+        return itemsProcessed * MILLIS_PER_SECOND / elapsedMillis;
+    }
+
+    private long millisBetween(final ZonedDateTime from, final ZonedDateTime to) {
+        return to.toInstant().toEpochMilli() - from.toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,144 @@
+package uk.gov.justice.services.jmx.state.progress;
+
+import static java.lang.String.format;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.jmx.api.SystemCommandCancelledException;
+import uk.gov.justice.services.jmx.api.command.SystemCommand;
+import uk.gov.justice.services.jmx.api.domain.SystemCommandProgress;
+import uk.gov.justice.services.jmx.runner.RunningSystemCommands;
+import uk.gov.justice.services.jmx.state.persistence.SystemCommandProgressRepository;
+import uk.gov.justice.services.jmx.state.persistence.SystemCommandStatusPersistenceException;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+
+/**
+ * Inject into a system command handler to report the progress of a long running command and to
+ * check whether the command has been cancelled.
+ *
+ * Progress is held in memory and persisted at most once every {@value #PERSIST_INTERVAL_MILLIS}
+ * milliseconds per command, and once more when the command finishes.
+ */
+@Singleton
+public class SystemCommandProgressReporter {
+
+    static final long PERSIST_INTERVAL_MILLIS = 5_000L;
+
+    @Inject
+    private SystemCommandProgressRepository systemCommandProgressRepository;
+
+    @Inject
+    private RunningSystemCommands runningSystemCommands;
+
+    @Inject
+    private UtcClock clock;
+
+    @Inject
+    private Logger logger;
+
+    private final Map<UUID, ProgressTracker> progressTrackers = new ConcurrentHashMap<>();
+
+    /**
+     * Start tracking the progress of a command, so that its rate of progress is measured from
+     * when it started rather than from its first report
+     *
+     * @param systemCommand the command being run
+     * @param commandId     the id of the command being run
+     */
+    public void commandStarted(final SystemCommand systemCommand, final UUID commandId) {
+        progressTrackers.putIfAbsent(commandId, new ProgressTracker(commandId, systemCommand.getName(), clock.now()));
+    }
+
+    /**
+     * Report how far a running system command has got. Reports for a command that is not running
+     * on this node, such as a late report from a thread the handler left behind, are ignored
+     *
+     * @param systemCommand      the command being run
+     * @param commandId          the id of the command being run
+     * @param itemsProcessed     the number of items processed so far
+     * @param totalItemsEstimate the estimated total number of items, or {@link
+     *                           SystemCommandProgress#UNKNOWN_TOTAL}
+     */
+    public void reportProgress(final SystemCommand systemCommand, final UUID commandId, final long itemsProcessed, final long totalItemsEstimate) {
+
+        if (!runningSystemCommands.isRunning(commandId)) {
+            logger.warn(format("Ignoring progress reported for System Command '%s' with id %s, which is not running", systemCommand.getName(), commandId));
+            return;
+        }
+
+        final ZonedDateTime now = clock.now();
+        final ProgressTracker progressTracker = progressTrackers.computeIfAbsent(
+                commandId,
+                id -> new ProgressTracker(id, systemCommand.getName(), now));
+
+        progressTracker.update(itemsProcessed, totalItemsEstimate, runningSystemCommands.isCancelRequested(commandId), now);
+        progressTracker.progressToPersist(now, PERSIST_INTERVAL_MILLIS).ifPresent(this::save);
+    }
+
+    /**
+     * @param commandId the id of the command being run
+     * @return true if the command has been cancelled and the handler should stop
+     */
+    public boolean isCancelRequested(final UUID commandId) {
+        return runningSystemCommands.isCancelRequested(commandId);
+    }
+
+    /**
+     * @param systemCommand the command being run
+     * @param commandId     the id of the command being run
+     * @throws SystemCommandCancelledException if the command has been cancelled
+     */
+    public void checkNotCancelled(final SystemCommand systemCommand, final UUID commandId) {
+        if (isCancelRequested(commandId)) {
+            throw new SystemCommandCancelledException(format("System Command '%s' with id %s was cancelled", systemCommand.getName(), commandId));
+        }
+    }
+
+    /**
+     * Persist the final progress of a finished command and stop tracking it
+     *
+     * @param commandId the id of the finished command
+     */
+    public void commandFinished(final UUID commandId) {
+        final ProgressTracker progressTracker = progressTrackers.remove(commandId);
+
+        if (progressTracker != null) {
+            progressTracker.unpersistedProgress(clock.now()).ifPresent(this::save);
+        }
+    }
+
+    /**
+     * @param commandId the id of a command
+     * @return the latest progress of a command running on this node, otherwise the last persisted
+     * progress of the command
+     */
+    public Optional<SystemCommandProgress> getProgress(final UUID commandId) {
+        final ProgressTracker progressTracker = progressTrackers.get(commandId);
+
+        if (progressTracker != null) {
+            final Optional<SystemCommandProgress> latestProgress = progressTracker.latestProgress();
+            if (latestProgress.isPresent()) {
+                return latestProgress;
+            }
+        }
+
+        return systemCommandProgressRepository.findByCommandId(commandId);
+    }
+
+    private void save(final SystemCommandProgress systemCommandProgress) {
+        try {
+            systemCommandProgressRepository.save(systemCommandProgress);
+        } catch (final SystemCommandStatusPersistenceException e) {
+            logger.warn(format("Failed to persist progress of System Command '%s'", systemCommandProgress.getSystemCommandName()), e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -13,6 +14,7 @@ import static org.mockito.Mockito.when;
 import uk.gov.justice.services.jmx.api.mbean.SystemCommander;
 import uk.gov.justice.services.jmx.api.name.CommandMBeanNameProvider;
 import uk.gov.justice.services.jmx.api.name.ObjectNameException;
+import uk.gov.justice.services.jmx.command.SystemCommandScanner;
 import uk.gov.justice.services.jmx.util.ContextNameProvider;
 
 import javax.management.MBeanRegistrationException;
@@ -41,6 +43,9 @@ public class MBeanInstantiatorTest {
     @Mock
     private CommandMBeanNameProvider commandMBeanNameProvider;
 
+    @Mock
+    private SystemCommandScanner systemCommandScanner;
+
     @Mock
     private Logger logger;
 
@@ -63,6 +68,37 @@ public class MBeanInstantiatorTest {
         verify(logger).info("Registering SystemCommander MBean using name 'mBeanName'");
     }
 
+    @Test
+    public void shouldBuildTheSystemCommandRegistryOnStartup() throws Exception {
+
+        final String contextName = "my-context";
+        final ObjectName objectName = mock(ObjectName.class, "mBeanName");
+
+        when(contextNameProvider.getContextName()).thenReturn(contextName);
+        when(commandMBeanNameProvider.create(contextName)).thenReturn(objectName);
+
+        mBeanInstantiator.registerSystemCommanderMBean();
+
+        verify(systemCommandScanner).findCommands();
+    }
+
+    @Test
+    public void shouldCreateTheObjectNameOnlyOnce() throws Exception {
+
+        final String contextName = "my-context";
+        final ObjectName objectName = mock(ObjectName.class, "mBeanName");
+
+        when(contextNameProvider.getContextName()).thenReturn(contextName);
+        when(commandMBeanNameProvider.create(contextName)).thenReturn(objectName);
+        when(mbeanServer.isRegistered(objectName)).thenReturn(false, true);
+
+        mBeanInstantiator.registerSystemCommanderMBean();
+        mBeanInstantiator.unregisterMBeans();
+
+        verify(commandMBeanNameProvider, times(1)).create(contextName);
+        verify(mbeanServer).unregisterMBean(objectName);
+    }
+
     @Test
     public void shouldNotRegisterSystemCommanderMBeanIfAlreadyRegistered() throws Exception {
 
@@ -11,19 +11,25 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.jmx.api.CommandNotFoundException;
 import uk.gov.justice.services.jmx.api.UnrunnableSystemCommandException;
 import uk.gov.justice.services.jmx.api.command.SystemCommand;
 import uk.gov.justice.services.jmx.api.command.SystemCommandDetails;
+import uk.gov.justice.services.jmx.api.domain.SystemCommandProgress;
 import uk.gov.justice.services.jmx.api.domain.SystemCommandStatus;
 import uk.gov.justice.services.jmx.command.CommandConverter;
 import uk.gov.justice.services.jmx.command.SystemCommandLocator;
 import uk.gov.justice.services.jmx.command.SystemCommandScanner;
 import uk.gov.justice.services.jmx.command.TestCommand;
 import uk.gov.justice.services.jmx.runner.AsynchronousCommandRunner;
+import uk.gov.justice.services.jmx.runner.RunningSystemCommands;
+import uk.gov.justice.services.jmx.state.lock.SystemCommandInProgressGuard;
 import uk.gov.justice.services.jmx.state.observers.SystemCommandStateBean;
+import uk.gov.justice.services.jmx.state.progress.SystemCommandProgressReporter;
 
 import java.util.List;
 import java.util.UUID;
@@ -51,6 +57,15 @@ public class SystemCommanderTest {
     @Mock
     private SystemCommandStateBean systemCommandStateBean;
 
+    @Mock
+    private SystemCommandInProgressGuard systemCommandInProgressGuard;
+
+    @Mock
+    private SystemCommandProgressReporter systemCommandProgressReporter;
+
+    @Mock
+    private RunningSystemCommands runningSystemCommands;
+
     @Mock
     private CommandConverter commandConverter;
 
@@ -67,14 +82,37 @@ public class SystemCommanderTest {
         final TestCommand testCommand = new TestCommand();
 
         when(systemCommandLocator.forName(testCommand.getName())).thenReturn(of(testCommand));
+        when(systemCommandInProgressGuard.tryAcquire(testCommand)).thenReturn(true);
         when(asynchronousCommandRunner.run(testCommand)).thenReturn(commandId);
 
         assertThat(systemCommander.call("TEST_COMMAND"), is(commandId));
 
-        final InOrder inOrder = inOrder(logger, asynchronousCommandRunner);
+        final InOrder inOrder = inOrder(logger, systemCommandInProgressGuard, asynchronousCommandRunner);
 
         inOrder.verify(logger).info("Received System Command 'TEST_COMMAND'");
+        inOrder.verify(systemCommandInProgressGuard).tryAcquire(testCommand);
         inOrder.verify(asynchronousCommandRunner).run(testCommand);
+        verifyZeroInteractions(systemCommandStateBean);
+    }
+
+    @Test
+    public void shouldReleaseTheSystemCommandIfItFailsToStart() throws Exception {
+
+        final TestCommand testCommand = new TestCommand();
+        final RuntimeException runtimeException = new RuntimeException("Ooops");
+
+        when(systemCommandLocator.forName(testCommand.getName())).thenReturn(of(testCommand));
+        when(systemCommandInProgressGuard.tryAcquire(testCommand)).thenReturn(true);
+        when(asynchronousCommandRunner.run(testCommand)).thenThrow(runtimeException);
+
+        try {
+            systemCommander.call("TEST_COMMAND");
+            fail();
+        } catch (final RuntimeException expected) {
+            assertThat(expected, is(runtimeException));
+        }
+
+        verify(systemCommandInProgressGuard).release(testCommand);
     }
 
     @Test
@@ -98,7 +136,7 @@ public class SystemCommanderTest {
         final TestCommand testCommand = new TestCommand();
 
         when(systemCommandLocator.forName(testCommand.getName())).thenReturn(of(testCommand));
-        when(systemCommandStateBean.commandInProgress(testCommand)).thenReturn(true);
+        when(systemCommandInProgressGuard.tryAcquire(testCommand)).thenReturn(false);
 
         try {
             systemCommander.call("TEST_COMMAND");
@@ -106,6 +144,8 @@ public class SystemCommanderTest {
         } catch (final UnrunnableSystemCommandException expected) {
             assertThat(expected.getMessage(), is("Cannot run system command 'TEST_COMMAND'. A previous call to that command is still in progress."));
         }
+
+        verifyZeroInteractions(asynchronousCommandRunner);
     }
 
     @Test
@@ -161,4 +201,57 @@ public class SystemCommanderTest {
             assertThat(expected.getMessage(), is("No SystemCommand found with id 08fe90e9-c35b-4850-9af2-e5e743f6736e"));
         }
     }
+
+    @Test
+    public void shouldGetSystemCommandProgress() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        final SystemCommandProgress systemCommandProgress = mock(SystemCommandProgress.class);
+        when(systemCommandProgressReporter.getProgress(commandId)).thenReturn(of(systemCommandProgress));
+
+        assertThat(systemCommander.getCommandProgress(commandId), is(systemCommandProgress));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfNoSystemCommandProgressFound() throws Exception {
+
+        final UUID commandId = fromString("08fe90e9-c35b-4850-9af2-e5e743f6736e");
+
+        when(systemCommandProgressReporter.getProgress(commandId)).thenReturn(empty());
+
+        try {
+            systemCommander.getCommandProgress(commandId);
+            fail();
+        } catch (final CommandNotFoundException expected) {
+            assertThat(expected.getMessage(), is("No progress reported for SystemCommand with id 08fe90e9-c35b-4850-9af2-e5e743f6736e"));
+        }
+    }
+
+    @Test
+    public void shouldCancelARunningSystemCommand() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        when(runningSystemCommands.cancel(commandId)).thenReturn(true);
+
+        systemCommander.cancel(commandId);
+
+        verify(runningSystemCommands).cancel(commandId);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfCancelledSystemCommandIsNotRunning() throws Exception {
+
+        final UUID commandId = fromString("08fe90e9-c35b-4850-9af2-e5e743f6736e");
+
+        when(runningSystemCommands.cancel(commandId)).thenReturn(false);
+
+        try {
+            systemCommander.cancel(commandId);
+            fail();
+        } catch (final CommandNotFoundException expected) {
+            assertThat(expected.getMessage(), is("No SystemCommand with id 08fe90e9-c35b-4850-9af2-e5e743f6736e is running on this context"));
+        }
+    }
 }
@@ -2,16 +2,26 @@ package uk.gov.justice.services.jmx.bootstrap;
 
 import static com.google.common.collect.Sets.newHashSet;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.framework.utilities.index.ComponentIndex.SYSTEM_COMMAND_HANDLERS_INDEX;
 
 import uk.gov.justice.services.framework.utilities.cdi.CdiInstanceResolver;
+import uk.gov.justice.services.framework.utilities.index.ArchiveIndex;
+import uk.gov.justice.services.framework.utilities.index.ComponentIndex;
 import uk.gov.justice.services.jmx.api.command.SystemCommand;
+import uk.gov.justice.services.jmx.bootstrap.blacklist.BlacklistedCommands;
 import uk.gov.justice.services.jmx.bootstrap.blacklist.BlacklistedCommandsScanner;
 import uk.gov.justice.services.jmx.command.SystemCommandHandlerProxy;
 import uk.gov.justice.services.jmx.command.SystemCommandStore;
@@ -42,6 +52,9 @@ public class HandlesSystemCommandHandlerScannerTest {
     @Mock
     private BlacklistedCommandsScanner blacklistedCommandsScanner;
 
+    @Mock
+    private ComponentIndex componentIndex;
+
     @InjectMocks
     private SystemCommandHandlerScanner systemCommandHandlerScanner;
 
@@ -63,20 +76,23 @@ public class HandlesSystemCommandHandlerScannerTest {
         final List<SystemCommandHandlerProxy> beanProxies_2 = asList(systemCommandHandlerProxy_2_1, systemCommandHandlerProxy_2_2);
 
         final Set<Bean<?>> cdiBeans = newHashSet(bean_1, bean_2);
+        final Set<Bean<?>> blacklistedCommandsBeans = newHashSet(mock(Bean.class));
         final Set<SystemCommand> blacklistedCommands = newHashSet(mock(SystemCommand.class));
 
         final SystemCommandStore systemCommandStore = mock(SystemCommandStore.class);
 
+        when(componentIndex.indexFrom(eq(SYSTEM_COMMAND_HANDLERS_INDEX), any(ClassLoader.class))).thenReturn(new ArchiveIndex(emptySet(), emptySet(), emptySet()));
         when(beanManager.getBeans(Object.class)).thenReturn(cdiBeans);
+        when(beanManager.getBeans(BlacklistedCommands.class)).thenReturn(blacklistedCommandsBeans);
         when(blacklistedCommandsScanner.scanForBlacklistedCommands(
-                cdiBeans,
+                blacklistedCommandsBeans,
                 beanManager)).thenReturn(blacklistedCommands);
 
         when(systemCommandProxyResolver.allCommandProxiesFor(bean_1, beanManager, blacklistedCommands)).thenReturn(beanProxies_1);
         when(systemCommandProxyResolver.allCommandProxiesFor(bean_2, beanManager, blacklistedCommands)).thenReturn(beanProxies_2);
         when(cdiInstanceResolver.getInstanceOf(SystemCommandStore.class, beanManager)).thenReturn(systemCommandStore);
 
-        systemCommandHandlerScanner.registerSystemCommands(beanManager);
+        systemCommandHandlerScanner.registerSystemCommands(beanManager, emptySet());
 
         final ArgumentCaptor<List> captor = forClass(List.class);
 
@@ -90,5 +106,142 @@ public class HandlesSystemCommandHandlerScannerTest {
         assertThat(proxies, hasItem(systemCommandHandlerProxy_2_1));
         assertThat(proxies, hasItem(systemCommandHandlerProxy_2_2));
     }
-}
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldOnlyLookUpIndexedSystemCommandHandlersIfEveryArchiveIsIndexed() throws Exception {
+
+        final BeanManager beanManager = mock(BeanManager.class);
+        final ArchiveIndex archiveIndex = mock(ArchiveIndex.class);
+
+        final Bean bean_1 = mock(Bean.class);
+
+        final SystemCommandHandlerProxy systemCommandHandlerProxy = mock(SystemCommandHandlerProxy.class);
+
+        final Set<SystemCommand> blacklistedCommands = newHashSet(mock(SystemCommand.class));
+
+        final SystemCommandStore systemCommandStore = mock(SystemCommandStore.class);
+
+        when(bean_1.getBeanClass()).thenReturn(String.class);
+        when(componentIndex.indexFrom(eq(SYSTEM_COMMAND_HANDLERS_INDEX), any(ClassLoader.class))).thenReturn(archiveIndex);
+        when(archiveIndex.hasIndexedArchives()).thenReturn(true);
+        when(archiveIndex.hasUnindexedArchives()).thenReturn(false);
+        when(archiveIndex.classNames()).thenReturn(newHashSet(String.class.getName()));
+        when(beanManager.getBeans(String.class)).thenReturn(newHashSet(bean_1));
+        when(beanManager.getBeans(BlacklistedCommands.class)).thenReturn(emptySet());
+        when(blacklistedCommandsScanner.scanForBlacklistedCommands(
+                emptySet(),
+                beanManager)).thenReturn(blacklistedCommands);
+
+        when(systemCommandProxyResolver.allCommandProxiesFor(bean_1, beanManager, blacklistedCommands)).thenReturn(singletonList(systemCommandHandlerProxy));
+        when(cdiInstanceResolver.getInstanceOf(SystemCommandStore.class, beanManager)).thenReturn(systemCommandStore);
+
+        systemCommandHandlerScanner.registerSystemCommands(beanManager, singleton(String.class));
+
+        final ArgumentCaptor<List> captor = forClass(List.class);
+
+        verify(systemCommandStore).store(captor.capture());
+        verify(beanManager, never()).getBeans(Object.class);
+
+        assertThat(captor.getValue(), is(singletonList(systemCommandHandlerProxy)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldResolveProxiesForSystemCommandHandlersInArchivesWithoutAnIndex() throws Exception {
+
+        final BeanManager beanManager = mock(BeanManager.class);
+        final ArchiveIndex archiveIndex = mock(ArchiveIndex.class);
+
+        final Bean bean_1 = mock(Bean.class);
+        final Bean bean_2 = mock(Bean.class);
+
+        final SystemCommandHandlerProxy systemCommandHandlerProxy_1 = mock(SystemCommandHandlerProxy.class);
+        final SystemCommandHandlerProxy systemCommandHandlerProxy_2 = mock(SystemCommandHandlerProxy.class);
+
+        final Set<Bean<?>> cdiBeans = newHashSet(bean_1, bean_2);
+        final Set<SystemCommand> blacklistedCommands = newHashSet(mock(SystemCommand.class));
+
+        final SystemCommandStore systemCommandStore = mock(SystemCommandStore.class);
+
+        when(bean_1.getBeanClass()).thenReturn(String.class);
+        when(bean_2.getBeanClass()).thenReturn(Integer.class);
+        when(componentIndex.indexFrom(eq(SYSTEM_COMMAND_HANDLERS_INDEX), any(ClassLoader.class))).thenReturn(archiveIndex);
+        when(archiveIndex.hasIndexedArchives()).thenReturn(true);
+        when(archiveIndex.hasUnindexedArchives()).thenReturn(true);
+        when(archiveIndex.classNames()).thenReturn(newHashSet(String.class.getName()));
+        when(archiveIndex.isIndexed(String.class)).thenReturn(true);
+        when(archiveIndex.isIndexed(Integer.class)).thenReturn(false);
+        when(beanManager.getBeans(String.class)).thenReturn(newHashSet(bean_1));
+        when(beanManager.getBeans(Object.class)).thenReturn(cdiBeans);
+        when(beanManager.getBeans(BlacklistedCommands.class)).thenReturn(emptySet());
+        when(blacklistedCommandsScanner.scanForBlacklistedCommands(
+                emptySet(),
+                beanManager)).thenReturn(blacklistedCommands);
+
+        when(systemCommandProxyResolver.allCommandProxiesFor(bean_1, beanManager, blacklistedCommands)).thenReturn(singletonList(systemCommandHandlerProxy_1));
+        when(systemCommandProxyResolver.allCommandProxiesFor(bean_2, beanManager, blacklistedCommands)).thenReturn(singletonList(systemCommandHandlerProxy_2));
+        when(cdiInstanceResolver.getInstanceOf(SystemCommandStore.class, beanManager)).thenReturn(systemCommandStore);
+
+        systemCommandHandlerScanner.registerSystemCommands(beanManager, emptySet());
+
+        final ArgumentCaptor<List> captor = forClass(List.class);
+
+        verify(systemCommandStore).store(captor.capture());
+
+        final List<SystemCommandHandlerProxy> proxies = captor.getValue();
+
+        assertThat(proxies.size(), is(2));
+        assertThat(proxies, hasItem(systemCommandHandlerProxy_1));
+        assertThat(proxies, hasItem(systemCommandHandlerProxy_2));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldResolveProxiesForSystemCommandHandlersMissingFromAStaleIndex() throws Exception {
+
+        final BeanManager beanManager = mock(BeanManager.class);
+        final ArchiveIndex archiveIndex = mock(ArchiveIndex.class);
+
+        final Bean bean_1 = mock(Bean.class);
+        final Bean bean_2 = mock(Bean.class);
+
+        final SystemCommandHandlerProxy systemCommandHandlerProxy_1 = mock(SystemCommandHandlerProxy.class);
+        final SystemCommandHandlerProxy systemCommandHandlerProxy_2 = mock(SystemCommandHandlerProxy.class);
+
+        final Set<SystemCommand> blacklistedCommands = newHashSet(mock(SystemCommand.class));
+
+        final SystemCommandStore systemCommandStore = mock(SystemCommandStore.class);
+
+        when(bean_1.getBeanClass()).thenReturn(String.class);
+        when(bean_2.getBeanClass()).thenReturn(Integer.class);
+        when(componentIndex.indexFrom(eq(SYSTEM_COMMAND_HANDLERS_INDEX), any(ClassLoader.class))).thenReturn(archiveIndex);
+        when(archiveIndex.hasIndexedArchives()).thenReturn(true);
+        when(archiveIndex.hasUnindexedArchives()).thenReturn(false);
+        when(archiveIndex.classNames()).thenReturn(newHashSet(String.class.getName()));
+        when(archiveIndex.isIndexed(Integer.class)).thenReturn(true);
+        when(beanManager.getBeans(String.class)).thenReturn(newHashSet(bean_1));
+        when(beanManager.getBeans(Integer.class)).thenReturn(newHashSet(bean_2));
+        when(beanManager.getBeans(BlacklistedCommands.class)).thenReturn(emptySet());
+        when(blacklistedCommandsScanner.scanForBlacklistedCommands(
+                emptySet(),
+                beanManager)).thenReturn(blacklistedCommands);
+
+        when(systemCommandProxyResolver.allCommandProxiesFor(bean_1, beanManager, blacklistedCommands)).thenReturn(singletonList(systemCommandHandlerProxy_1));
+        when(systemCommandProxyResolver.allCommandProxiesFor(bean_2, beanManager, blacklistedCommands)).thenReturn(singletonList(systemCommandHandlerProxy_2));
+        when(cdiInstanceResolver.getInstanceOf(SystemCommandStore.class, beanManager)).thenReturn(systemCommandStore);
+
+        systemCommandHandlerScanner.registerSystemCommands(beanManager, newHashSet(String.class, Integer.class));
+
+        final ArgumentCaptor<List> captor = forClass(List.class);
+
+        verify(systemCommandStore).store(captor.capture());
+        verify(beanManager, never()).getBeans(Object.class);
+
+        final List<SystemCommandHandlerProxy> proxies = captor.getValue();
+
+        assertThat(proxies.size(), is(2));
+        assertThat(proxies, hasItem(systemCommandHandlerProxy_1));
+        assertThat(proxies, hasItem(systemCommandHandlerProxy_2));
+    }
+}
@@ -1,5 +1,7 @@
 package uk.gov.justice.services.jmx.bootstrap;
 
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
@@ -9,7 +11,9 @@ import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.getValueOfField;
 
 import javax.enterprise.inject.spi.AfterDeploymentValidation;
+import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,7 +41,26 @@ public class JmxHandlesSystemCommandBootstrapperTest {
 
         jmxSystemCommandBootstrapper.afterDeploymentValidation(mock(AfterDeploymentValidation.class), beanManager);
 
-        verify(systemCommandHandlerScanner).registerSystemCommands(beanManager);
+        verify(systemCommandHandlerScanner).registerSystemCommands(beanManager, emptySet());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldPassTheSystemCommandHandlerTypesSeenByTheContainerToTheScanner() throws Exception {
+
+        final SystemCommandHandlerScanner systemCommandHandlerScanner = mock(SystemCommandHandlerScanner.class);
+        final BeanManager beanManager = mock(BeanManager.class);
+        final ProcessAnnotatedType processAnnotatedType = mock(ProcessAnnotatedType.class);
+        final AnnotatedType annotatedType = mock(AnnotatedType.class);
+
+        when(objectFactory.systemCommandScanner()).thenReturn(systemCommandHandlerScanner);
+        when(processAnnotatedType.getAnnotatedType()).thenReturn(annotatedType);
+        when(annotatedType.getJavaClass()).thenReturn(String.class);
+
+        jmxSystemCommandBootstrapper.processAnnotatedType(processAnnotatedType);
+        jmxSystemCommandBootstrapper.afterDeploymentValidation(mock(AfterDeploymentValidation.class), beanManager);
+
+        verify(systemCommandHandlerScanner).registerSystemCommands(beanManager, singleton(String.class));
     }
 
     @Test
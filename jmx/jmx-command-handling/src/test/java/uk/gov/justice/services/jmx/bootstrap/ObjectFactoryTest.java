@@ -40,6 +40,11 @@ public class ObjectFactoryTest {
         assertThat(objectFactory.blacklistedCommandsScanner(), is(notNullValue()));
     }
 
+    @Test
+    public void shouldCreateComponentIndex() throws Exception {
+        assertThat(objectFactory.componentIndex(), is(notNullValue()));
+    }
+
     @Test
     public void shouldCreateBlacklistedCommandsFilter() throws Exception {
         assertThat(objectFactory.blacklistedCommandsFilter(), is(notNullValue()));
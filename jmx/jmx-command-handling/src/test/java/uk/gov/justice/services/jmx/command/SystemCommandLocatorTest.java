@@ -1,6 +1,5 @@
 package uk.gov.justice.services.jmx.command;
 
-import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.is;
@@ -28,38 +27,18 @@ public class SystemCommandLocatorTest {
     @Test
     public void shouldFindCommandByName() throws Exception {
 
-        final SystemCommand systemCommand_1 = mock(SystemCommand.class);
-        final SystemCommand systemCommand_2 = mock(SystemCommand.class);
-        final SystemCommand systemCommand_3 = mock(SystemCommand.class);
+        final SystemCommand systemCommand = mock(SystemCommand.class);
 
-        when(systemCommand_1.getName()).thenReturn("command_1");
-        when(systemCommand_2.getName()).thenReturn("command_2");
-        when(systemCommand_3.getName()).thenReturn("command_3");
+        when(systemCommandScanner.findCommand("command_2")).thenReturn(of(systemCommand));
 
-        when(systemCommandScanner.findCommands()).thenReturn(asList(
-                systemCommand_1,
-                systemCommand_2,
-                systemCommand_3));
-
-        assertThat(systemCommandLocator.forName("command_2"), is(of(systemCommand_2)));
+        assertThat(systemCommandLocator.forName("command_2"), is(of(systemCommand)));
     }
 
 
     @Test
     public void shouldReturnEmptyIfNoCommandFound() throws Exception {
 
-        final SystemCommand systemCommand_1 = mock(SystemCommand.class);
-        final SystemCommand systemCommand_2 = mock(SystemCommand.class);
-        final SystemCommand systemCommand_3 = mock(SystemCommand.class);
-
-        when(systemCommand_1.getName()).thenReturn("command_1");
-        when(systemCommand_2.getName()).thenReturn("command_2");
-        when(systemCommand_3.getName()).thenReturn("command_3");
-
-        when(systemCommandScanner.findCommands()).thenReturn(asList(
-                systemCommand_1,
-                systemCommand_2,
-                systemCommand_3));
+        when(systemCommandScanner.findCommand("other_command")).thenReturn(empty());
 
         assertThat(systemCommandLocator.forName("other_command"), is(empty()));
     }
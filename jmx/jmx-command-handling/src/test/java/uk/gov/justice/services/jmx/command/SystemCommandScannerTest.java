@@ -0,0 +1,111 @@
+package uk.gov.justice.services.jmx.command;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.framework.utilities.cdi.CdiInstanceResolver;
+import uk.gov.justice.services.framework.utilities.cdi.CdiProvider;
+import uk.gov.justice.services.jmx.api.command.SystemCommand;
+import uk.gov.justice.services.jmx.bootstrap.blacklist.BlacklistedCommands;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.CDI;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SystemCommandScannerTest {
+
+    @Mock
+    private CdiProvider cdiProvider;
+
+    @Mock
+    private CdiInstanceResolver cdiInstanceResolver;
+
+    @Mock
+    private BlacklistedCommands blacklistedCommands;
+
+    @Mock
+    private CDI<Object> cdi;
+
+    @Mock
+    private BeanManager beanManager;
+
+    @Mock
+    private Bean<TestCommand> bean;
+
+    @InjectMocks
+    private SystemCommandScanner systemCommandScanner;
+
+    private final TestCommand testCommand = new TestCommand();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final Set<Bean<?>> beans = new HashSet<>(asList(bean));
+
+        when(cdiProvider.getCdi()).thenReturn(cdi);
+        when(cdi.getBeanManager()).thenReturn(beanManager);
+        when(beanManager.getBeans(SystemCommand.class)).thenReturn(beans);
+        when(bean.getBeanClass()).thenReturn((Class) TestCommand.class);
+        when(cdiInstanceResolver.getInstanceOf(TestCommand.class, beanManager)).thenReturn(testCommand);
+    }
+
+    @Test
+    public void shouldFindAllCommands() throws Exception {
+
+        when(blacklistedCommands.getBlackListedCommands()).thenReturn(emptyList());
+
+        final List<SystemCommand> systemCommands = systemCommandScanner.findCommands();
+
+        assertThat(systemCommands.size(), is(1));
+        assertThat(systemCommands.get(0), is(testCommand));
+    }
+
+    @Test
+    public void shouldFindCommandByName() throws Exception {
+
+        when(blacklistedCommands.getBlackListedCommands()).thenReturn(emptyList());
+
+        assertThat(systemCommandScanner.findCommand(TestCommand.TEST_COMMAND), is(of(testCommand)));
+        assertThat(systemCommandScanner.findCommand("UNKNOWN_COMMAND"), is(empty()));
+    }
+
+    @Test
+    public void shouldNotIncludeBlacklistedCommands() throws Exception {
+
+        when(blacklistedCommands.getBlackListedCommands()).thenReturn(asList(testCommand));
+
+        assertThat(systemCommandScanner.findCommands().isEmpty(), is(true));
+        assertThat(systemCommandScanner.findCommand(TestCommand.TEST_COMMAND), is(empty()));
+    }
+
+    @Test
+    public void shouldOnlyScanForCommandsOnce() throws Exception {
+
+        when(blacklistedCommands.getBlackListedCommands()).thenReturn(emptyList());
+
+        systemCommandScanner.findCommands();
+        systemCommandScanner.findCommand(TestCommand.TEST_COMMAND);
+        systemCommandScanner.findCommands();
+
+        verify(beanManager, times(1)).getBeans(SystemCommand.class);
+    }
+}
@@ -2,7 +2,10 @@ package uk.gov.justice.services.jmx.runner;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_RECEIVED;
 import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.getValueOfField;
@@ -15,6 +18,7 @@ import uk.gov.justice.services.jmx.state.observers.SystemCommandStateBean;
 
 import java.time.ZonedDateTime;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.enterprise.concurrent.ManagedExecutorService;
 
@@ -39,6 +43,9 @@ public class AsynchronousCommandRunnerTest {
     @Mock
     private SystemCommandRunner systemCommandRunner;
 
+    @Mock
+    private RunningSystemCommands runningSystemCommands;
+
     @Mock
     private UtcClock clock;
 
@@ -61,9 +68,10 @@ public class AsynchronousCommandRunnerTest {
 
         final UUID commandId = asynchronousCommandRunner.run(systemCommand);
 
-        final InOrder inOrder = inOrder(systemCommandStateBean, managedExecutorService);
+        final InOrder inOrder = inOrder(systemCommandStateBean, runningSystemCommands, managedExecutorService);
 
         inOrder.verify(systemCommandStateBean).addSystemCommandState(systemCommandStatusCaptor.capture());
+        inOrder.verify(runningSystemCommands).received(commandId);
         inOrder.verify(managedExecutorService).submit(runSystemCommandTaskCaptor.capture());
 
 
@@ -81,4 +89,23 @@ public class AsynchronousCommandRunnerTest {
         assertThat(getValueOfField(runSystemCommandTask, "systemCommand", SystemCommand.class), is(systemCommand));
         assertThat(getValueOfField(runSystemCommandTask, "commandId", UUID.class), is(commandId));
     }
+
+    @Test
+    public void shouldStopTrackingTheCommandIfItCannotBeSubmitted() throws Exception {
+
+        final SystemCommand systemCommand = new TestCommand();
+        final RejectedExecutionException rejectedExecutionException = new RejectedExecutionException("Ooops");
+
+        when(clock.now()).thenReturn(new UtcClock().now());
+        when(managedExecutorService.submit(any(RunSystemCommandTask.class))).thenThrow(rejectedExecutionException);
+
+        try {
+            asynchronousCommandRunner.run(systemCommand);
+            fail();
+        } catch (final RejectedExecutionException expected) {
+            assertThat(expected, is(rejectedExecutionException));
+        }
+
+        verify(runningSystemCommands).finish(any(UUID.class));
+    }
 }
@@ -0,0 +1,88 @@
+package uk.gov.justice.services.jmx.runner;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class RunningSystemCommandsTest {
+
+    private final RunningSystemCommands runningSystemCommands = new RunningSystemCommands();
+
+    @Test
+    public void shouldStartAReceivedCommand() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        runningSystemCommands.received(commandId);
+
+        assertThat(runningSystemCommands.start(commandId), is(true));
+        assertThat(runningSystemCommands.isCancelRequested(commandId), is(false));
+
+        runningSystemCommands.finish(commandId);
+    }
+
+    @Test
+    public void shouldNotStartACommandCancelledBeforeItStarted() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        runningSystemCommands.received(commandId);
+
+        assertThat(runningSystemCommands.cancel(commandId), is(true));
+        assertThat(runningSystemCommands.isCancelRequested(commandId), is(true));
+        assertThat(runningSystemCommands.start(commandId), is(false));
+    }
+
+    @Test
+    public void shouldInterruptTheThreadRunningACancelledCommandAndClearTheInterruptWhenFinished() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        runningSystemCommands.received(commandId);
+        runningSystemCommands.start(commandId);
+
+        runningSystemCommands.cancel(commandId);
+
+        assertThat(Thread.currentThread().isInterrupted(), is(true));
+
+        runningSystemCommands.finish(commandId);
+
+        assertThat(Thread.currentThread().isInterrupted(), is(false));
+    }
+
+    @Test
+    public void shouldOnlyTreatACommandAsRunningUntilItFinishes() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        assertThat(runningSystemCommands.isRunning(commandId), is(false));
+
+        runningSystemCommands.received(commandId);
+        runningSystemCommands.start(commandId);
+
+        assertThat(runningSystemCommands.isRunning(commandId), is(true));
+
+        runningSystemCommands.finish(commandId);
+
+        assertThat(runningSystemCommands.isRunning(commandId), is(false));
+    }
+
+    @Test
+    public void shouldNotCancelACommandThatIsNotRunning() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        assertThat(runningSystemCommands.cancel(commandId), is(false));
+
+        runningSystemCommands.received(commandId);
+        runningSystemCommands.start(commandId);
+        runningSystemCommands.finish(commandId);
+
+        assertThat(runningSystemCommands.cancel(commandId), is(false));
+        assertThat(runningSystemCommands.isCancelRequested(commandId), is(false));
+    }
+}
@@ -4,22 +4,38 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_CANCELLED;
 
+import uk.gov.justice.services.common.util.UtcClock;
 import uk.gov.justice.services.framework.utilities.exceptions.StackTraceProvider;
+import uk.gov.justice.services.jmx.api.SystemCommandCancelledException;
 import uk.gov.justice.services.jmx.api.SystemCommandException;
+import uk.gov.justice.services.jmx.api.SystemCommandInvocationException;
 import uk.gov.justice.services.jmx.api.SystemCommandInvocationFailedException;
 import uk.gov.justice.services.jmx.command.SystemCommandHandlerProxy;
 import uk.gov.justice.services.jmx.command.SystemCommandStore;
 import uk.gov.justice.services.jmx.command.TestCommand;
+import uk.gov.justice.services.jmx.state.events.SystemCommandStateChangedEvent;
+import uk.gov.justice.services.jmx.state.lock.SystemCommandInProgressGuard;
+import uk.gov.justice.services.jmx.state.progress.SystemCommandProgressReporter;
 
+import java.time.ZonedDateTime;
 import java.util.UUID;
 
+import javax.enterprise.event.Event;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -31,6 +47,21 @@ public class SystemCommandRunnerTest {
     @Mock
     private SystemCommandStore systemCommandStore;
 
+    @Mock
+    private RunningSystemCommands runningSystemCommands;
+
+    @Mock
+    private SystemCommandProgressReporter systemCommandProgressReporter;
+
+    @Mock
+    private SystemCommandInProgressGuard systemCommandInProgressGuard;
+
+    @Mock
+    private Event<SystemCommandStateChangedEvent> systemCommandStateChangedEventFirer;
+
+    @Mock
+    private UtcClock clock;
+
     @Mock
     private StackTraceProvider stackTraceProvider;
 
@@ -48,11 +79,43 @@ public class SystemCommandRunnerTest {
 
         final SystemCommandHandlerProxy systemCommandHandlerProxy = mock(SystemCommandHandlerProxy.class);
 
+        when(runningSystemCommands.start(commandId)).thenReturn(true);
         when(systemCommandStore.findCommandProxy(testCommand)).thenReturn(systemCommandHandlerProxy);
 
         systemCommandRunner.run(testCommand, commandId);
 
-        verify(systemCommandHandlerProxy).invokeCommand(testCommand, commandId);
+        final InOrder inOrder = inOrder(systemCommandProgressReporter, systemCommandHandlerProxy, systemCommandInProgressGuard);
+        inOrder.verify(systemCommandProgressReporter).commandStarted(testCommand, commandId);
+        inOrder.verify(systemCommandHandlerProxy).invokeCommand(testCommand, commandId);
+        inOrder.verify(systemCommandInProgressGuard).release(testCommand);
+        verify(runningSystemCommands).finish(commandId);
+        verify(systemCommandProgressReporter).commandFinished(commandId);
+    }
+
+    @Test
+    public void shouldNotInvokeTheCommandIfCancelledBeforeItStarted() throws Exception {
+
+        final UUID commandId = UUID.fromString("c6f4e5a1-2a3b-4f2a-9a38-7d1f0e3c5b11");
+        final TestCommand testCommand = new TestCommand();
+        final ZonedDateTime now = new UtcClock().now();
+
+        when(runningSystemCommands.start(commandId)).thenReturn(false);
+        when(clock.now()).thenReturn(now);
+
+        systemCommandRunner.run(testCommand, commandId);
+
+        verifyZeroInteractions(systemCommandStore);
+        verify(systemCommandProgressReporter, never()).commandStarted(testCommand, commandId);
+        verify(logger).info("System Command 'TEST_COMMAND' with id c6f4e5a1-2a3b-4f2a-9a38-7d1f0e3c5b11 was cancelled before it started");
+        verify(systemCommandStateChangedEventFirer).fire(new SystemCommandStateChangedEvent(
+                commandId,
+                testCommand,
+                COMMAND_CANCELLED,
+                now,
+                "System Command 'TEST_COMMAND' with id c6f4e5a1-2a3b-4f2a-9a38-7d1f0e3c5b11 was cancelled before it started"
+        ));
+        verify(runningSystemCommands).finish(commandId);
+        verify(systemCommandInProgressGuard).release(testCommand);
     }
 
     @Test
@@ -65,6 +128,7 @@ public class SystemCommandRunnerTest {
 
         final SystemCommandHandlerProxy systemCommandHandlerProxy = mock(SystemCommandHandlerProxy.class);
 
+        when(runningSystemCommands.start(commandId)).thenReturn(true);
         when(systemCommandStore.findCommandProxy(testCommand)).thenReturn(systemCommandHandlerProxy);
         doThrow(systemCommandException).when(systemCommandHandlerProxy).invokeCommand(testCommand, commandId);
         when(stackTraceProvider.getStackTrace(systemCommandException)).thenReturn(stackTrace);
@@ -77,5 +141,38 @@ public class SystemCommandRunnerTest {
             assertThat(expected.getServerStackTrace(), is(stackTrace));
             assertThat(expected.getCause(), is(nullValue()));
         }
+
+        verify(systemCommandInProgressGuard).release(testCommand);
+    }
+
+    @Test
+    public void shouldReportACommandStoppedByCancellationAsCancelledRatherThanFailed() throws Exception {
+
+        final UUID commandId = UUID.fromString("4d3a8c52-1f0e-4b6a-a7d2-9e5b3c1f8a64");
+        final TestCommand testCommand = new TestCommand();
+        final ZonedDateTime now = new UtcClock().now();
+        final SystemCommandCancelledException cancelledException = new SystemCommandCancelledException("System Command 'TEST_COMMAND' with id 4d3a8c52-1f0e-4b6a-a7d2-9e5b3c1f8a64 was cancelled");
+
+        final SystemCommandHandlerProxy systemCommandHandlerProxy = mock(SystemCommandHandlerProxy.class);
+
+        when(runningSystemCommands.start(commandId)).thenReturn(true);
+        when(systemCommandStore.findCommandProxy(testCommand)).thenReturn(systemCommandHandlerProxy);
+        doThrow(new SystemCommandInvocationException("SystemCommandCancelledException thrown", cancelledException))
+                .when(systemCommandHandlerProxy).invokeCommand(testCommand, commandId);
+        when(clock.now()).thenReturn(now);
+
+        systemCommandRunner.run(testCommand, commandId);
+
+        verify(logger).info("System Command 'TEST_COMMAND' with id 4d3a8c52-1f0e-4b6a-a7d2-9e5b3c1f8a64 was cancelled");
+        verify(logger, never()).error(anyString(), any(Throwable.class));
+        verify(systemCommandStateChangedEventFirer).fire(new SystemCommandStateChangedEvent(
+                commandId,
+                testCommand,
+                COMMAND_CANCELLED,
+                now,
+                "System Command 'TEST_COMMAND' with id 4d3a8c52-1f0e-4b6a-a7d2-9e5b3c1f8a64 was cancelled"
+        ));
+        verify(runningSystemCommands).finish(commandId);
+        verify(systemCommandInProgressGuard).release(testCommand);
     }
 }
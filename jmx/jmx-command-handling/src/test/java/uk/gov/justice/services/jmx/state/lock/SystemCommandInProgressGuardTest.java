@@ -0,0 +1,131 @@
+package uk.gov.justice.services.jmx.state.lock;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.jmx.command.TestCommand.TEST_COMMAND;
+
+import uk.gov.justice.services.jmx.command.TestCommand;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SystemCommandInProgressGuardTest {
+
+    @Mock
+    private SystemCommandLockRepository systemCommandLockRepository;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private SystemCommandInProgressGuard systemCommandInProgressGuard;
+
+    @Test
+    public void shouldRejectACommandAlreadyInProgressOnThisNodeWithoutGoingToTheDatabase() throws Exception {
+
+        final TestCommand testCommand = new TestCommand();
+
+        when(systemCommandLockRepository.tryLock(TEST_COMMAND)).thenReturn(of(mock(SystemCommandLock.class)));
+
+        assertThat(systemCommandInProgressGuard.tryAcquire(testCommand), is(true));
+        assertThat(systemCommandInProgressGuard.tryAcquire(testCommand), is(false));
+
+        verify(systemCommandLockRepository, times(1)).tryLock(TEST_COMMAND);
+    }
+
+    @Test
+    public void shouldRejectACommandLockedElsewhereInTheClusterWhenItIsCalled() throws Exception {
+
+        final TestCommand testCommand = new TestCommand();
+
+        when(systemCommandLockRepository.tryLock(TEST_COMMAND)).thenReturn(empty());
+
+        assertThat(systemCommandInProgressGuard.tryAcquire(testCommand), is(false));
+
+        verify(logger).warn("System command 'TEST_COMMAND' is in progress on another node");
+    }
+
+    @Test
+    public void shouldTryTheClusterLockAgainAfterItWasLockedElsewhere() throws Exception {
+
+        final TestCommand testCommand = new TestCommand();
+
+        when(systemCommandLockRepository.tryLock(TEST_COMMAND)).thenReturn(empty(), of(mock(SystemCommandLock.class)));
+
+        assertThat(systemCommandInProgressGuard.tryAcquire(testCommand), is(false));
+        assertThat(systemCommandInProgressGuard.tryAcquire(testCommand), is(true));
+    }
+
+    @Test
+    public void shouldNotHoldTheCommandIfLockingFails() throws Exception {
+
+        final TestCommand testCommand = new TestCommand();
+        final SystemCommandLockException systemCommandLockException = new SystemCommandLockException("Ooops", null);
+
+        when(systemCommandLockRepository.tryLock(TEST_COMMAND)).thenThrow(systemCommandLockException).thenReturn(of(mock(SystemCommandLock.class)));
+
+        try {
+            systemCommandInProgressGuard.tryAcquire(testCommand);
+            fail();
+        } catch (final SystemCommandLockException expected) {
+            assertThat(expected, is(systemCommandLockException));
+        }
+
+        assertThat(systemCommandInProgressGuard.tryAcquire(testCommand), is(true));
+    }
+
+    @Test
+    public void shouldUnlockTheCommandAndAcquireItAgainOnceReleased() throws Exception {
+
+        final TestCommand testCommand = new TestCommand();
+        final SystemCommandLock systemCommandLock = mock(SystemCommandLock.class);
+
+        when(systemCommandLockRepository.tryLock(TEST_COMMAND)).thenReturn(of(systemCommandLock));
+
+        systemCommandInProgressGuard.tryAcquire(testCommand);
+        systemCommandInProgressGuard.release(testCommand);
+
+        verify(systemCommandLockRepository).unlock(systemCommandLock);
+        assertThat(systemCommandInProgressGuard.tryAcquire(testCommand), is(true));
+    }
+
+    @Test
+    public void shouldLogIfUnlockingFailsAndStillReleaseTheCommand() throws Exception {
+
+        final TestCommand testCommand = new TestCommand();
+        final SystemCommandLock systemCommandLock = mock(SystemCommandLock.class);
+        final SystemCommandLockException systemCommandLockException = new SystemCommandLockException("Ooops", null);
+
+        when(systemCommandLockRepository.tryLock(TEST_COMMAND)).thenReturn(of(systemCommandLock));
+        doThrow(systemCommandLockException).when(systemCommandLockRepository).unlock(systemCommandLock);
+
+        systemCommandInProgressGuard.tryAcquire(testCommand);
+        systemCommandInProgressGuard.release(testCommand);
+
+        verify(logger).error("Failed to release lock on system command 'TEST_COMMAND'", systemCommandLockException);
+        assertThat(systemCommandInProgressGuard.tryAcquire(testCommand), is(true));
+    }
+
+    @Test
+    public void shouldNotUnlockACommandThatWasNeverLocked() throws Exception {
+
+        systemCommandInProgressGuard.release(new TestCommand());
+
+        verify(systemCommandLockRepository, never()).unlock(any(SystemCommandLock.class));
+    }
+}
@@ -0,0 +1,101 @@
+package uk.gov.justice.services.jmx.state.lock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.jmx.command.TestCommand.TEST_COMMAND;
+
+import uk.gov.justice.services.jdbc.persistence.SystemJdbcDataSourceProvider;
+import uk.gov.justice.services.test.utils.persistence.TestJdbcDataSourceProvider;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SystemCommandLockRepositoryIT {
+
+    private final DataSource systemDataSource = new TestJdbcDataSourceProvider().getSystemDataSource("framework");
+
+    @Mock
+    private SystemJdbcDataSourceProvider systemJdbcDataSourceProvider;
+
+    @InjectMocks
+    private SystemCommandLockRepository systemCommandLockRepository;
+
+    @Before
+    public void stubGetDataSource() {
+        when(systemJdbcDataSourceProvider.getDataSource()).thenReturn(systemDataSource);
+    }
+
+    @Test
+    public void shouldOnlyAllowOneLockOnACommandUntilItIsUnlocked() throws Exception {
+
+        final Optional<SystemCommandLock> systemCommandLock = systemCommandLockRepository.tryLock(TEST_COMMAND);
+
+        assertThat(systemCommandLock.isPresent(), is(true));
+        assertThat(systemCommandLockRepository.tryLock(TEST_COMMAND).isPresent(), is(false));
+
+        systemCommandLockRepository.unlock(systemCommandLock.get());
+
+        final Optional<SystemCommandLock> relockedSystemCommandLock = systemCommandLockRepository.tryLock(TEST_COMMAND);
+
+        assertThat(relockedSystemCommandLock.isPresent(), is(true));
+
+        systemCommandLockRepository.unlock(relockedSystemCommandLock.get());
+    }
+
+    @Test
+    public void shouldHoldTheLockOutsideATransactionOnItsConnection() throws Exception {
+
+        final SystemCommandLock systemCommandLock = systemCommandLockRepository.tryLock(TEST_COMMAND).get();
+
+        try {
+            assertThat(systemCommandLock.getConnection().getAutoCommit(), is(true));
+        } finally {
+            systemCommandLockRepository.unlock(systemCommandLock);
+        }
+
+        assertThat(systemCommandLock.getConnection().isClosed(), is(true));
+    }
+
+    @Test
+    public void shouldLockDifferentCommandsIndependently() throws Exception {
+
+        final Optional<SystemCommandLock> systemCommandLock = systemCommandLockRepository.tryLock(TEST_COMMAND);
+        final Optional<SystemCommandLock> otherSystemCommandLock = systemCommandLockRepository.tryLock("OTHER_COMMAND");
+
+        assertThat(systemCommandLock.isPresent(), is(true));
+        assertThat(otherSystemCommandLock.isPresent(), is(true));
+
+        systemCommandLockRepository.unlock(systemCommandLock.get());
+        systemCommandLockRepository.unlock(otherSystemCommandLock.get());
+    }
+
+    @Test
+    public void shouldKeyTheLockOfACommandOnTheSameLockIdEachTime() throws Exception {
+
+        systemCommandLockRepository.unlock(systemCommandLockRepository.tryLock(TEST_COMMAND).get());
+        systemCommandLockRepository.unlock(systemCommandLockRepository.tryLock(TEST_COMMAND).get());
+
+        try (final Connection connection = systemDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement("SELECT COUNT(*) FROM system_command_lock WHERE command_name = ?")) {
+            preparedStatement.setString(1, TEST_COMMAND);
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                assertThat(resultSet.getInt(1), is(1));
+            }
+        }
+    }
+}
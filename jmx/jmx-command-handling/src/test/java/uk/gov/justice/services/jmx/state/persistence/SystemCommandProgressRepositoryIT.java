@@ -0,0 +1,107 @@
+package uk.gov.justice.services.jmx.state.persistence;
+
+import static java.util.Optional.empty;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.jmx.command.TestCommand.TEST_COMMAND;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.jdbc.persistence.SystemJdbcDataSourceProvider;
+import uk.gov.justice.services.jmx.api.domain.SystemCommandProgress;
+import uk.gov.justice.services.test.utils.persistence.TestJdbcDataSourceProvider;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SystemCommandProgressRepositoryIT {
+
+    private final DataSource systemDataSource = new TestJdbcDataSourceProvider().getSystemDataSource("framework");
+
+    @Mock
+    private SystemJdbcDataSourceProvider systemJdbcDataSourceProvider;
+
+    @InjectMocks
+    private SystemCommandProgressRepository systemCommandProgressRepository;
+
+    @Before
+    public void stubGetDataSource() {
+        when(systemJdbcDataSourceProvider.getDataSource()).thenReturn(systemDataSource);
+    }
+
+    @Before
+    public void cleanTable() throws Exception {
+
+        try (final Connection connection = systemDataSource.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement("TRUNCATE system_command_progress")) {
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    @Test
+    public void shouldSaveAndUpdateProgress() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final UUID commandId = randomUUID();
+
+        final SystemCommandProgress firstProgress = new SystemCommandProgress(
+                commandId,
+                TEST_COMMAND,
+                10L,
+                100L,
+                2.5,
+                false,
+                now.minusMinutes(1));
+        final SystemCommandProgress latestProgress = new SystemCommandProgress(
+                commandId,
+                TEST_COMMAND,
+                50L,
+                100L,
+                5.0,
+                true,
+                now);
+
+        systemCommandProgressRepository.save(firstProgress);
+        assertThat(systemCommandProgressRepository.findByCommandId(commandId), is(Optional.of(firstProgress)));
+
+        systemCommandProgressRepository.save(latestProgress);
+        assertThat(systemCommandProgressRepository.findByCommandId(commandId), is(Optional.of(latestProgress)));
+    }
+
+    @Test
+    public void shouldDeleteProgressUpdatedBeforeTheCutOff() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final ZonedDateTime cutOff = now.minusDays(90);
+        final SystemCommandProgress oldProgress = new SystemCommandProgress(randomUUID(), TEST_COMMAND, 10L, 10L, 1.0, false, cutOff.minusDays(1));
+        final SystemCommandProgress recentProgress = new SystemCommandProgress(randomUUID(), TEST_COMMAND, 10L, 10L, 1.0, false, cutOff.plusDays(1));
+
+        systemCommandProgressRepository.save(oldProgress);
+        systemCommandProgressRepository.save(recentProgress);
+
+        assertThat(systemCommandProgressRepository.deleteUpdatedBefore(cutOff), is(1));
+
+        assertThat(systemCommandProgressRepository.findByCommandId(oldProgress.getCommandId()), is(empty()));
+        assertThat(systemCommandProgressRepository.findByCommandId(recentProgress.getCommandId()), is(Optional.of(recentProgress)));
+    }
+
+    @Test
+    public void shouldReturnEmptyIfNoProgressFound() throws Exception {
+
+        assertThat(systemCommandProgressRepository.findByCommandId(randomUUID()), is(empty()));
+    }
+}
@@ -3,15 +3,22 @@ package uk.gov.justice.services.jmx.state.persistence;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_CANCELLED;
 import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_COMPLETE;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_FAILED;
 import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_IN_PROGRESS;
+import static uk.gov.justice.services.jmx.api.domain.CommandState.COMMAND_RECEIVED;
 import static uk.gov.justice.services.jmx.command.TestCommand.TEST_COMMAND;
 
 import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.jdbc.persistence.JdbcResultSetStreamer;
+import uk.gov.justice.services.jdbc.persistence.PreparedStatementWrapperFactory;
 import uk.gov.justice.services.jdbc.persistence.SystemJdbcDataSourceProvider;
 import uk.gov.justice.services.jmx.api.domain.SystemCommandStatus;
 import uk.gov.justice.services.jmx.command.TestCommand;
@@ -23,6 +30,7 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -31,6 +39,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 
@@ -42,6 +51,12 @@ public class SystemCommandStatusRepositoryIT {
     @Mock
     private SystemJdbcDataSourceProvider systemJdbcDataSourceProvider;
 
+    @Spy
+    private PreparedStatementWrapperFactory preparedStatementWrapperFactory = new PreparedStatementWrapperFactory();
+
+    @Spy
+    private JdbcResultSetStreamer jdbcResultSetStreamer = new JdbcResultSetStreamer();
+
     @InjectMocks
     private SystemCommandStatusRepository systemCommandStatusRepository;
 
@@ -99,6 +114,82 @@ public class SystemCommandStatusRepositoryIT {
         assertThat(systemCommandStatuses.get(2), is(catchupCommandStatus_2));
     }
 
+    @Test
+    public void shouldStreamAllStatusesInTheOrderTheyChanged() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final SystemCommandStatus firstStatus = new SystemCommandStatus(randomUUID(), TEST_COMMAND, COMMAND_IN_PROGRESS, now.minusMinutes(10), "first");
+        final SystemCommandStatus secondStatus = new SystemCommandStatus(randomUUID(), TEST_COMMAND, COMMAND_IN_PROGRESS, now.minusMinutes(5), "second");
+
+        systemCommandStatusRepository.add(secondStatus);
+        systemCommandStatusRepository.add(firstStatus);
+
+        try (final Stream<SystemCommandStatus> systemCommandStatuses = systemCommandStatusRepository.streamAll()) {
+            assertThat(systemCommandStatuses.collect(toList()), contains(firstStatus, secondStatus));
+        }
+    }
+
+    @Test
+    public void shouldFindAPageOfStatuses() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final SystemCommandStatus status_1 = new SystemCommandStatus(randomUUID(), TEST_COMMAND, COMMAND_IN_PROGRESS, now.minusMinutes(3), "1");
+        final SystemCommandStatus status_2 = new SystemCommandStatus(randomUUID(), TEST_COMMAND, COMMAND_IN_PROGRESS, now.minusMinutes(2), "2");
+        final SystemCommandStatus status_3 = new SystemCommandStatus(randomUUID(), TEST_COMMAND, COMMAND_IN_PROGRESS, now.minusMinutes(1), "3");
+
+        systemCommandStatusRepository.add(status_1);
+        systemCommandStatusRepository.add(status_2);
+        systemCommandStatusRepository.add(status_3);
+
+        assertThat(systemCommandStatusRepository.findPage(0, 2), contains(status_1, status_2));
+        assertThat(systemCommandStatusRepository.findPage(1, 2), contains(status_3));
+        assertThat(systemCommandStatusRepository.findPage(2, 2).isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldDeleteTheWholeHistoryOfCommandsFinishedBeforeTheCutOff() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final ZonedDateTime cutOff = now.minusDays(90);
+        final UUID oldCommandId = randomUUID();
+        final UUID straddlingCommandId = randomUUID();
+
+        final SystemCommandStatus oldCommandStarted = new SystemCommandStatus(oldCommandId, TEST_COMMAND, COMMAND_IN_PROGRESS, cutOff.minusDays(2), "old started");
+        final SystemCommandStatus oldCommandComplete = new SystemCommandStatus(oldCommandId, TEST_COMMAND, COMMAND_COMPLETE, cutOff.minusDays(1), "old complete");
+        final SystemCommandStatus straddlingCommandStarted = new SystemCommandStatus(straddlingCommandId, TEST_COMMAND, COMMAND_IN_PROGRESS, cutOff.minusDays(1), "straddling started");
+        final SystemCommandStatus straddlingCommandComplete = new SystemCommandStatus(straddlingCommandId, TEST_COMMAND, COMMAND_COMPLETE, cutOff.plusDays(1), "straddling complete");
+
+        systemCommandStatusRepository.add(oldCommandStarted);
+        systemCommandStatusRepository.add(oldCommandComplete);
+        systemCommandStatusRepository.add(straddlingCommandStarted);
+        systemCommandStatusRepository.add(straddlingCommandComplete);
+
+        assertThat(systemCommandStatusRepository.deleteCommandsFinishedBefore(cutOff), is(2));
+
+        assertThat(systemCommandStatusRepository.findAll(), contains(straddlingCommandStarted, straddlingCommandComplete));
+    }
+
+    @Test
+    public void shouldOnlyDeleteCommandsWhoseLatestStatusIsFinished() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final ZonedDateTime cutOff = now.minusDays(90);
+
+        final SystemCommandStatus failedCommand = new SystemCommandStatus(randomUUID(), TEST_COMMAND, COMMAND_FAILED, cutOff.minusDays(4), "failed");
+        final SystemCommandStatus cancelledCommand = new SystemCommandStatus(randomUUID(), TEST_COMMAND, COMMAND_CANCELLED, cutOff.minusDays(3), "cancelled");
+        final SystemCommandStatus receivedCommand = new SystemCommandStatus(randomUUID(), TEST_COMMAND, COMMAND_RECEIVED, cutOff.minusDays(2), "received");
+        final SystemCommandStatus inProgressCommand = new SystemCommandStatus(randomUUID(), TEST_COMMAND, COMMAND_IN_PROGRESS, cutOff.minusDays(1), "in progress");
+
+        systemCommandStatusRepository.add(failedCommand);
+        systemCommandStatusRepository.add(cancelledCommand);
+        systemCommandStatusRepository.add(receivedCommand);
+        systemCommandStatusRepository.add(inProgressCommand);
+
+        assertThat(systemCommandStatusRepository.deleteCommandsFinishedBefore(cutOff), is(2));
+
+        assertThat(systemCommandStatusRepository.findAll(), contains(receivedCommand, inProgressCommand));
+    }
+
     @Test
     public void shouldFindAllStatusesOfACommand() throws Exception {
         final ZonedDateTime now = new UtcClock().now();
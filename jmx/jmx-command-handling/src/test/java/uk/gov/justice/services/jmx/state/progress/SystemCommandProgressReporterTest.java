@@ -0,0 +1,227 @@
+package uk.gov.justice.services.jmx.state.progress;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.jmx.api.SystemCommandCancelledException;
+import uk.gov.justice.services.jmx.api.domain.SystemCommandProgress;
+import uk.gov.justice.services.jmx.command.TestCommand;
+import uk.gov.justice.services.jmx.runner.RunningSystemCommands;
+import uk.gov.justice.services.jmx.state.persistence.SystemCommandProgressRepository;
+import uk.gov.justice.services.jmx.state.persistence.SystemCommandStatusPersistenceException;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SystemCommandProgressReporterTest {
+
+    @Mock
+    private SystemCommandProgressRepository systemCommandProgressRepository;
+
+    @Mock
+    private RunningSystemCommands runningSystemCommands;
+
+    @Mock
+    private UtcClock clock;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private SystemCommandProgressReporter systemCommandProgressReporter;
+
+    @Test
+    public void shouldHoldTheLatestProgressInMemoryAndCalculateThroughput() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final TestCommand testCommand = new TestCommand();
+        final ZonedDateTime startedAt = new UtcClock().now();
+        final ZonedDateTime now = startedAt.plusSeconds(2);
+
+        when(runningSystemCommands.isRunning(commandId)).thenReturn(true);
+        when(clock.now()).thenReturn(startedAt, now);
+
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 0L, 1000L);
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 500L, 1000L);
+
+        final SystemCommandProgress systemCommandProgress = systemCommandProgressReporter.getProgress(commandId).get();
+
+        assertThat(systemCommandProgress.getCommandId(), is(commandId));
+        assertThat(systemCommandProgress.getSystemCommandName(), is("TEST_COMMAND"));
+        assertThat(systemCommandProgress.getItemsProcessed(), is(500L));
+        assertThat(systemCommandProgress.getTotalItemsEstimate(), is(1000L));
+        assertThat(systemCommandProgress.getItemsPerSecond(), is(250.0));
+        assertThat(systemCommandProgress.getUpdatedAt(), is(now));
+
+        verify(systemCommandProgressRepository, never()).findByCommandId(commandId);
+    }
+
+    @Test
+    public void shouldCalculateThroughputFromWhenTheCommandStarted() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final TestCommand testCommand = new TestCommand();
+        final ZonedDateTime startedAt = new UtcClock().now();
+        final ZonedDateTime firstReportAt = startedAt.plusSeconds(4);
+
+        when(runningSystemCommands.isRunning(commandId)).thenReturn(true);
+        when(clock.now()).thenReturn(startedAt, firstReportAt);
+
+        systemCommandProgressReporter.commandStarted(testCommand, commandId);
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 1000L, 2000L);
+
+        assertThat(systemCommandProgressReporter.getProgress(commandId).get().getItemsPerSecond(), is(250.0));
+    }
+
+    @Test
+    public void shouldOnlyPersistProgressOncePerInterval() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final TestCommand testCommand = new TestCommand();
+        final ZonedDateTime startedAt = new UtcClock().now();
+        final ZonedDateTime beforeInterval = startedAt.plusSeconds(1);
+        final ZonedDateTime afterInterval = startedAt.plusNanos((SystemCommandProgressReporter.PERSIST_INTERVAL_MILLIS + 1) * 1_000_000L);
+
+        when(runningSystemCommands.isRunning(commandId)).thenReturn(true);
+        when(clock.now()).thenReturn(startedAt, beforeInterval, afterInterval);
+
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 1L, 10L);
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 2L, 10L);
+
+        verify(systemCommandProgressRepository, never()).save(any(SystemCommandProgress.class));
+
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 3L, 10L);
+
+        final ArgumentCaptor<SystemCommandProgress> progressCaptor = ArgumentCaptor.forClass(SystemCommandProgress.class);
+        verify(systemCommandProgressRepository).save(progressCaptor.capture());
+
+        assertThat(progressCaptor.getValue().getItemsProcessed(), is(3L));
+    }
+
+    @Test
+    public void shouldPersistTheFinalProgressWhenTheCommandFinishes() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final TestCommand testCommand = new TestCommand();
+        final ZonedDateTime startedAt = new UtcClock().now();
+        final SystemCommandProgress persistedProgress = mock(SystemCommandProgress.class);
+
+        when(runningSystemCommands.isRunning(commandId)).thenReturn(true);
+        when(clock.now()).thenReturn(startedAt, startedAt.plusSeconds(1));
+
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 7L, 10L);
+        systemCommandProgressReporter.commandFinished(commandId);
+
+        final ArgumentCaptor<SystemCommandProgress> progressCaptor = ArgumentCaptor.forClass(SystemCommandProgress.class);
+        verify(systemCommandProgressRepository).save(progressCaptor.capture());
+        assertThat(progressCaptor.getValue().getItemsProcessed(), is(7L));
+
+        when(systemCommandProgressRepository.findByCommandId(commandId)).thenReturn(of(persistedProgress));
+
+        assertThat(systemCommandProgressReporter.getProgress(commandId), is(of(persistedProgress)));
+    }
+
+    @Test
+    public void shouldIgnoreProgressReportedAfterTheCommandHasFinished() throws Exception {
+
+        final UUID commandId = UUID.fromString("7a1d2c3b-4e5f-4a6b-8c7d-9e0f1a2b3c4d");
+        final TestCommand testCommand = new TestCommand();
+
+        when(runningSystemCommands.isRunning(commandId)).thenReturn(true, false);
+        when(clock.now()).thenReturn(new UtcClock().now());
+        when(systemCommandProgressRepository.findByCommandId(commandId)).thenReturn(empty());
+
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 1L, 10L);
+        systemCommandProgressReporter.commandFinished(commandId);
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 2L, 10L);
+        systemCommandProgressReporter.commandFinished(commandId);
+
+        verify(systemCommandProgressRepository).save(any(SystemCommandProgress.class));
+        verify(logger).warn("Ignoring progress reported for System Command 'TEST_COMMAND' with id 7a1d2c3b-4e5f-4a6b-8c7d-9e0f1a2b3c4d, which is not running");
+        assertThat(systemCommandProgressReporter.getProgress(commandId), is(empty()));
+    }
+
+    @Test
+    public void shouldNotPersistAnythingWhenACommandThatNeverReportedFinishes() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        systemCommandProgressReporter.commandFinished(commandId);
+
+        verify(systemCommandProgressRepository, never()).save(any(SystemCommandProgress.class));
+    }
+
+    @Test
+    public void shouldReturnEmptyIfNoProgressHasBeenReported() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        when(systemCommandProgressRepository.findByCommandId(commandId)).thenReturn(empty());
+
+        assertThat(systemCommandProgressReporter.getProgress(commandId), is(empty()));
+    }
+
+    @Test
+    public void shouldLogAndCarryOnIfProgressCannotBePersisted() throws Exception {
+
+        final UUID commandId = randomUUID();
+        final TestCommand testCommand = new TestCommand();
+        final SystemCommandStatusPersistenceException persistenceException = new SystemCommandStatusPersistenceException("Ooops", null);
+
+        when(runningSystemCommands.isRunning(commandId)).thenReturn(true);
+        when(clock.now()).thenReturn(new UtcClock().now());
+        doThrow(persistenceException).when(systemCommandProgressRepository).save(any(SystemCommandProgress.class));
+
+        systemCommandProgressReporter.reportProgress(testCommand, commandId, 1L, 10L);
+        systemCommandProgressReporter.commandFinished(commandId);
+
+        verify(logger).warn("Failed to persist progress of System Command 'TEST_COMMAND'", persistenceException);
+    }
+
+    @Test
+    public void shouldThrowSystemCommandCancelledExceptionIfCancelRequested() throws Exception {
+
+        final UUID commandId = UUID.fromString("08fe90e9-c35b-4850-9af2-e5e743f6736e");
+
+        when(runningSystemCommands.isCancelRequested(commandId)).thenReturn(true);
+
+        assertThat(systemCommandProgressReporter.isCancelRequested(commandId), is(true));
+
+        try {
+            systemCommandProgressReporter.checkNotCancelled(new TestCommand(), commandId);
+            fail();
+        } catch (final SystemCommandCancelledException expected) {
+            assertThat(expected.getMessage(), is("System Command 'TEST_COMMAND' with id 08fe90e9-c35b-4850-9af2-e5e743f6736e was cancelled"));
+        }
+    }
+
+    @Test
+    public void shouldNotThrowIfNotCancelled() throws Exception {
+
+        final UUID commandId = randomUUID();
+
+        when(runningSystemCommands.isCancelRequested(commandId)).thenReturn(false);
+
+        systemCommandProgressReporter.checkNotCancelled(new TestCommand(), commandId);
+    }
+}
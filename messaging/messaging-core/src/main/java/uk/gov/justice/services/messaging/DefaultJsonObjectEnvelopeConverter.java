@@ -1,19 +1,18 @@
 package uk.gov.justice.services.messaging;
 
 
-import static javax.json.Json.createObjectBuilder;
 import static javax.json.JsonValue.ValueType.OBJECT;
 import static uk.gov.justice.services.messaging.JsonEnvelope.METADATA;
 import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
 import static uk.gov.justice.services.messaging.JsonEnvelope.metadataFrom;
+import static uk.gov.justice.services.messaging.spi.EnvelopeJsonObject.withMetadataFirst;
+import static uk.gov.justice.services.messaging.spi.EnvelopeJsonObject.withoutMetadata;
 
 import java.io.StringReader;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
-import javax.json.Json;
 import javax.json.JsonObject;
-import javax.json.JsonObjectBuilder;
 import javax.json.JsonValue;
 import javax.json.JsonValue.ValueType;
 
@@ -38,7 +37,7 @@ public class DefaultJsonObjectEnvelopeConverter implements JsonObjectEnvelopeCon
 
     @Override
     public JsonEnvelope asEnvelope(final String jsonString) {
-        return asEnvelope(Json.createReader(new StringReader(jsonString)).readObject());
+        return asEnvelope(JsonFactories.createReader(new StringReader(jsonString)).readObject());
     }
 
 
@@ -50,25 +49,17 @@ public class DefaultJsonObjectEnvelopeConverter implements JsonObjectEnvelopeCon
             throw new IllegalArgumentException("Failed to convert envelope, no metadata present.");
         }
 
-        final JsonObjectBuilder builder = createObjectBuilder();
-        builder.add(METADATA, metadata.asJsonObject());
-
         final ValueType payloadType = envelope.payload().getValueType();
-        if (payloadType == OBJECT) {
-            final JsonObject payloadAsJsonObject = envelope.payloadAsJsonObject();
-            payloadAsJsonObject.keySet().forEach(key -> builder.add(key, payloadAsJsonObject.get(key)));
-        } else {
+        if (payloadType != OBJECT) {
             throw new IllegalArgumentException(String.format("Payload type %s not supported.", payloadType));
         }
 
-        return builder.build();
+        return withMetadataFirst(metadata.asJsonObject(), envelope.payloadAsJsonObject());
     }
 
     @Override
     public JsonValue extractPayloadFromEnvelope(final JsonObject envelope) {
-        final JsonObjectBuilder builder = createObjectBuilder();
-        envelope.keySet().stream().filter(key -> !METADATA.equals(key)).forEach(key -> builder.add(key, envelope.get(key)));
-        return builder.build();
+        return withoutMetadata(envelope);
     }
 
     @Override
@@ -0,0 +1,86 @@
+package uk.gov.justice.services.messaging;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.Reader;
+import java.io.Writer;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonWriter;
+import javax.json.JsonWriterFactory;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+
+import org.slf4j.Logger;
+
+/**
+ * Shared JSON-P factories, created once from a single {@link JsonProvider}.
+ *
+ * The static methods of {@link javax.json.Json} look up the provider with a ServiceLoader on
+ * every call; use these methods on hot paths instead. The provider is the default JSON-P provider
+ * unless the class name of another is set with the {@code framework.json.provider} system
+ * property. A provider that cannot be created is logged and the default provider used instead.
+ */
+public final class JsonFactories {
+
+    public static final String JSON_PROVIDER_PROPERTY = "framework.json.provider";
+
+    private static final Logger LOGGER = getLogger(JsonFactories.class);
+
+    private static final JsonProvider JSON_PROVIDER = loadJsonProvider(System.getProperty(JSON_PROVIDER_PROPERTY));
+    private static final JsonBuilderFactory JSON_BUILDER_FACTORY = JSON_PROVIDER.createBuilderFactory(emptyMap());
+    private static final JsonReaderFactory JSON_READER_FACTORY = JSON_PROVIDER.createReaderFactory(emptyMap());
+    private static final JsonWriterFactory JSON_WRITER_FACTORY = JSON_PROVIDER.createWriterFactory(emptyMap());
+    private static final JsonParserFactory JSON_PARSER_FACTORY = JSON_PROVIDER.createParserFactory(emptyMap());
+
+    private JsonFactories() {
+    }
+
+    public static JsonProvider jsonProvider() {
+        return JSON_PROVIDER;
+    }
+
+    public static JsonBuilderFactory jsonBuilderFactory() {
+        return JSON_BUILDER_FACTORY;
+    }
+
+    public static JsonObjectBuilder createObjectBuilder() {
+        return JSON_BUILDER_FACTORY.createObjectBuilder();
+    }
+
+    public static JsonArrayBuilder createArrayBuilder() {
+        return JSON_BUILDER_FACTORY.createArrayBuilder();
+    }
+
+    public static JsonReader createReader(final Reader reader) {
+        return JSON_READER_FACTORY.createReader(reader);
+    }
+
+    public static JsonWriter createWriter(final Writer writer) {
+        return JSON_WRITER_FACTORY.createWriter(writer);
+    }
+
+    public static JsonParser createParser(final Reader reader) {
+        return JSON_PARSER_FACTORY.createParser(reader);
+    }
+
+    static JsonProvider loadJsonProvider(final String providerClassName) {
+        if (providerClassName == null || providerClassName.isEmpty()) {
+            return JsonProvider.provider();
+        }
+
+        try {
+            return (JsonProvider) Class.forName(providerClassName).getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | ClassCastException | LinkageError e) {
+            LOGGER.error(format("Failed to create JSON provider '%s' set in system property %s. Using the default provider", providerClassName, JSON_PROVIDER_PROPERTY), e);
+            return JsonProvider.provider();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package uk.gov.justice.services.messaging.logging;
 
 import static java.lang.String.join;
-import static javax.json.Json.createObjectBuilder;
 import static javax.ws.rs.core.HttpHeaders.ACCEPT;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static uk.gov.justice.services.common.http.HeaderConstants.CLIENT_CORRELATION_ID;
@@ -10,6 +9,7 @@ import static uk.gov.justice.services.common.http.HeaderConstants.NAME;
 import static uk.gov.justice.services.common.http.HeaderConstants.SESSION_ID;
 import static uk.gov.justice.services.common.http.HeaderConstants.USER_ID;
 import static uk.gov.justice.services.common.log.LoggerConstants.METADATA;
+import static uk.gov.justice.services.messaging.JsonFactories.createObjectBuilder;
 
 import javax.json.JsonObjectBuilder;
 import javax.ws.rs.core.HttpHeaders;
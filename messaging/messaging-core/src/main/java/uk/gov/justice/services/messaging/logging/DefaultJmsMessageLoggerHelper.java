@@ -1,18 +1,50 @@
 package uk.gov.justice.services.messaging.logging;
 
-import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
-import uk.gov.justice.services.messaging.DefaultJsonObjectEnvelopeConverter;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static uk.gov.justice.services.messaging.JsonEnvelope.METADATA;
 
+import uk.gov.justice.services.messaging.JsonFactories;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.zip.GZIPInputStream;
+
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.TextMessage;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
 import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
 
+/**
+ * Extracts the _metadata of a JMS message for trace logging. The message text is read with a
+ * streaming parser that only builds the _metadata object and stops as soon as it has been read,
+ * so the payload is never converted into a JsonObject or copied into an envelope.
+ *
+ * Messages sent in the GZIP_JSON format of messaging-jms are BytesMessages, which are decompressed
+ * only as far as the _metadata. The body of such a message is reset once read, so that it can
+ * still be converted to an envelope afterwards.
+ */
 public final class DefaultJmsMessageLoggerHelper implements JmsMessageLoggerHelper {
 
+    private static final String JMS_HEADER_MESSAGE_FORMAT = "CPPMESSAGEFORMAT";
+    private static final String GZIP_JSON = "GZIP_JSON";
+
     @Override
     public String toJmsTraceString(final Message message) {
         try {
+            if (message instanceof BytesMessage) {
+                return metadataAsJsonObject((BytesMessage) message).toString();
+            }
+
             return metadataAsJsonObject((TextMessage) message).toString();
         } catch (Exception e) {
             return "Could not find: _metadata in message";
@@ -22,9 +54,136 @@ public final class DefaultJmsMessageLoggerHelper implements JmsMessageLoggerHelp
 
     @Override
     public JsonObject metadataAsJsonObject(final TextMessage message) throws JMSException {
-        return new DefaultJsonObjectEnvelopeConverter()
-                .asEnvelope(new StringToJsonObjectConverter().convert(message.getText()))
-                .metadata()
-                .asJsonObject();
+        return metadataOf(new StringReader(message.getText()));
+    }
+
+    private JsonObject metadataAsJsonObject(final BytesMessage message) throws JMSException, IOException {
+        if (!GZIP_JSON.equals(message.getStringProperty(JMS_HEADER_MESSAGE_FORMAT))) {
+            throw new JsonException("Message is not gzip compressed json");
+        }
+
+        message.reset();
+        final byte[] compressed = new byte[(int) message.getBodyLength()];
+        message.readBytes(compressed);
+        message.reset();
+
+        try (final Reader reader = new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(compressed)), UTF_8)) {
+            return metadataOf(reader);
+        }
+    }
+
+    private JsonObject metadataOf(final Reader reader) {
+        try (final JsonParser parser = JsonFactories.createParser(reader)) {
+            if (!parser.hasNext() || parser.next() != Event.START_OBJECT) {
+                throw new JsonException("Message is not a json object");
+            }
+
+            while (parser.hasNext()) {
+                final Event event = parser.next();
+
+                if (event == Event.END_OBJECT) {
+                    break;
+                }
+
+                final boolean isMetadata = METADATA.equals(parser.getString());
+                final Event valueEvent = parser.next();
+
+                if (isMetadata && valueEvent == Event.START_OBJECT) {
+                    return readObject(parser);
+                }
+
+                skipValue(parser, valueEvent);
+            }
+
+            throw new JsonException("No _metadata found in message");
+        }
+    }
+
+    private JsonObject readObject(final JsonParser parser) {
+        final JsonObjectBuilder builder = JsonFactories.createObjectBuilder();
+
+        while (parser.next() != Event.END_OBJECT) {
+            final String key = parser.getString();
+            addValue(builder, key, parser, parser.next());
+        }
+
+        return builder.build();
+    }
+
+    private JsonArray readArray(final JsonParser parser) {
+        final JsonArrayBuilder builder = JsonFactories.createArrayBuilder();
+
+        Event event;
+        while ((event = parser.next()) != Event.END_ARRAY) {
+            addValue(builder, parser, event);
+        }
+
+        return builder.build();
+    }
+
+    private void addValue(final JsonObjectBuilder builder, final String key, final JsonParser parser, final Event event) {
+        switch (event) {
+            case START_OBJECT:
+                builder.add(key, readObject(parser));
+                break;
+            case START_ARRAY:
+                builder.add(key, readArray(parser));
+                break;
+            case VALUE_STRING:
+                builder.add(key, parser.getString());
+                break;
+            case VALUE_NUMBER:
+                builder.add(key, parser.getBigDecimal());
+                break;
+            case VALUE_TRUE:
+                builder.add(key, true);
+                break;
+            case VALUE_FALSE:
+                builder.add(key, false);
+                break;
+            default:
+                builder.addNull(key);
+        }
+    }
+
+    private void addValue(final JsonArrayBuilder builder, final JsonParser parser, final Event event) {
+        switch (event) {
+            case START_OBJECT:
+                builder.add(readObject(parser));
+                break;
+            case START_ARRAY:
+                builder.add(readArray(parser));
+                break;
+            case VALUE_STRING:
+                builder.add(parser.getString());
+                break;
+            case VALUE_NUMBER:
+                builder.add(parser.getBigDecimal());
+                break;
+            case VALUE_TRUE:
+                builder.add(true);
+                break;
+            case VALUE_FALSE:
+                builder.add(false);
+                break;
+            default:
+                builder.addNull();
+        }
+    }
+
+    private void skipValue(final JsonParser parser, final Event valueEvent) {
+        if (valueEvent != Event.START_OBJECT && valueEvent != Event.START_ARRAY) {
+            return;
+        }
+
+        int depth = 1;
+        while (depth > 0) {
+            final Event event = parser.next();
+            if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+                depth++;
+            } else if (event == Event.END_OBJECT || event == Event.END_ARRAY) {
+                depth--;
+            }
+        }
     }
 }
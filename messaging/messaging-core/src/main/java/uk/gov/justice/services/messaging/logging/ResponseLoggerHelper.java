@@ -2,9 +2,10 @@ package uk.gov.justice.services.messaging.logging;
 
 import static uk.gov.justice.services.common.http.HeaderConstants.ID;
 
+import uk.gov.justice.services.messaging.JsonFactories;
+
 import java.util.Optional;
 
-import javax.json.Json;
 import javax.json.JsonObjectBuilder;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -19,7 +20,7 @@ public final class ResponseLoggerHelper {
         final Optional<MediaType> mediaType = Optional.ofNullable(response.getMediaType());
         final Optional<String> cppid = Optional.ofNullable(response.getHeaderString(ID));
 
-        final JsonObjectBuilder builder = Json.createObjectBuilder();
+        final JsonObjectBuilder builder = JsonFactories.createObjectBuilder();
 
         responseCode.ifPresent(integer -> builder.add("ResponseCode", integer));
         mediaType.ifPresent(s -> builder.add("MediaType", s.getType()));
@@ -0,0 +1,145 @@
+package uk.gov.justice.services.messaging.spi;
+
+import uk.gov.justice.services.messaging.JsonFactories;
+
+import java.io.StringWriter;
+import java.util.AbstractList;
+import java.util.List;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+
+/**
+ * An immutable {@link JsonArray} made of the values of a base array followed by one appended
+ * value, sharing the base array rather than copying it. An array is only ever appended to a
+ * base that is not itself an {@link AppendedJsonArray}, so reading a value never goes more than
+ * one level deep.
+ */
+class AppendedJsonArray extends AbstractList<JsonValue> implements JsonArray {
+
+    private final JsonArray base;
+    private final JsonValue appended;
+
+    private AppendedJsonArray(final JsonArray base, final JsonValue appended) {
+        this.base = base;
+        this.appended = appended;
+    }
+
+    static JsonArray append(final JsonArray base, final JsonValue appended) {
+        if (base instanceof AppendedJsonArray) {
+            final JsonArrayBuilder flattened = JsonFactories.createArrayBuilder();
+            base.forEach(flattened::add);
+            return new AppendedJsonArray(flattened.build(), appended);
+        }
+        return new AppendedJsonArray(base, appended);
+    }
+
+    @Override
+    public JsonValue get(final int index) {
+        if (index == base.size()) {
+            return appended;
+        }
+        return base.get(index);
+    }
+
+    @Override
+    public int size() {
+        return base.size() + 1;
+    }
+
+    @Override
+    public JsonObject getJsonObject(final int index) {
+        return (JsonObject) get(index);
+    }
+
+    @Override
+    public JsonArray getJsonArray(final int index) {
+        return (JsonArray) get(index);
+    }
+
+    @Override
+    public JsonNumber getJsonNumber(final int index) {
+        return (JsonNumber) get(index);
+    }
+
+    @Override
+    public JsonString getJsonString(final int index) {
+        return (JsonString) get(index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends JsonValue> List<T> getValuesAs(final Class<T> clazz) {
+        return (List<T>) this;
+    }
+
+    @Override
+    public String getString(final int index) {
+        return getJsonString(index).getString();
+    }
+
+    @Override
+    public String getString(final int index, final String defaultValue) {
+        final JsonValue value = index >= 0 && index < size() ? get(index) : null;
+        return value instanceof JsonString ? ((JsonString) value).getString() : defaultValue;
+    }
+
+    @Override
+    public int getInt(final int index) {
+        return getJsonNumber(index).intValue();
+    }
+
+    @Override
+    public int getInt(final int index, final int defaultValue) {
+        final JsonValue value = index >= 0 && index < size() ? get(index) : null;
+        return value instanceof JsonNumber ? ((JsonNumber) value).intValue() : defaultValue;
+    }
+
+    @Override
+    public boolean getBoolean(final int index) {
+        final JsonValue value = get(index);
+        if (value == JsonValue.TRUE) {
+            return true;
+        } else if (value == JsonValue.FALSE) {
+            return false;
+        } else {
+            throw new ClassCastException();
+        }
+    }
+
+    @Override
+    public boolean getBoolean(final int index, final boolean defaultValue) {
+        final JsonValue value = index >= 0 && index < size() ? get(index) : null;
+        if (value == JsonValue.TRUE) {
+            return true;
+        } else if (value == JsonValue.FALSE) {
+            return false;
+        } else {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public boolean isNull(final int index) {
+        return get(index).equals(JsonValue.NULL);
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.ARRAY;
+    }
+
+    @Override
+    public String toString() {
+        final StringWriter stringWriter = new StringWriter();
+        try (final JsonWriter jsonWriter = JsonFactories.createWriter(stringWriter)) {
+            jsonWriter.write(this);
+        }
+        return stringWriter.toString();
+    }
+}
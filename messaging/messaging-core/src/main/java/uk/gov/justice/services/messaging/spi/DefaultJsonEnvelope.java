@@ -6,15 +6,15 @@ import static uk.gov.justice.services.messaging.JsonMetadata.CORRELATION;
 import static uk.gov.justice.services.messaging.JsonMetadata.SESSION_ID;
 import static uk.gov.justice.services.messaging.JsonMetadata.SOURCE;
 import static uk.gov.justice.services.messaging.JsonMetadata.USER_ID;
-import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
+import static uk.gov.justice.services.messaging.spi.EnvelopeJsonObject.withMetadataLast;
 
 import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.JsonFactories;
 import uk.gov.justice.services.messaging.Metadata;
 
 import java.util.List;
 import java.util.UUID;
 
-import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonNumber;
@@ -69,13 +69,12 @@ public class DefaultJsonEnvelope implements JsonEnvelope {
 
     @Override
     public JsonObject asJsonObject() {
-        return createObjectBuilder(payloadAsJsonObject())
-                .add(METADATA, metadata().asJsonObject()).build();
+        return withMetadataLast(payloadAsJsonObject(), metadata().asJsonObject());
     }
 
     @Override
     public String toString() {
-        final JsonObjectBuilder builder = Json.createObjectBuilder();
+        final JsonObjectBuilder builder = JsonFactories.createObjectBuilder();
 
         if (metadata != null) {
             builder.add("id", String.valueOf(metadata.id()))
@@ -87,7 +86,7 @@ public class DefaultJsonEnvelope implements JsonEnvelope {
             metadata.userId().ifPresent(s -> builder.add(USER_ID, s));
             metadata.source().ifPresent(s -> builder.add(SOURCE, s));
 
-            final JsonArrayBuilder causationBuilder = Json.createArrayBuilder();
+            final JsonArrayBuilder causationBuilder = JsonFactories.createArrayBuilder();
 
             final List<UUID> causes = metadata.causation();
 
@@ -106,9 +105,7 @@ public class DefaultJsonEnvelope implements JsonEnvelope {
 
     @Override
     public String toObfuscatedDebugString() {
-        return writeJsonObject(createObjectBuilder((JsonObject) obfuscated(payloadAsJsonObject()))
-                .add(METADATA, metadata.asJsonObject())
-                .build());
+        return writeJsonObject(withMetadataLast((JsonObject) obfuscated(payloadAsJsonObject()), metadata.asJsonObject()));
     }
 
 }
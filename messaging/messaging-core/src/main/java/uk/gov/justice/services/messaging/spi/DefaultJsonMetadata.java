@@ -1,5 +1,6 @@
 package uk.gov.justice.services.messaging.spi;
 
+import static java.util.Collections.singletonMap;
 import static uk.gov.justice.services.messaging.JsonObjects.getJsonString;
 import static uk.gov.justice.services.messaging.JsonObjects.getLong;
 import static uk.gov.justice.services.messaging.JsonObjects.getString;
@@ -7,21 +8,26 @@ import static uk.gov.justice.services.messaging.JsonObjects.getUUID;
 import static uk.gov.justice.services.messaging.JsonObjects.getUUIDs;
 
 import uk.gov.justice.services.common.converter.ZonedDateTimes;
+import uk.gov.justice.services.messaging.JsonFactories;
 import uk.gov.justice.services.messaging.JsonMetadata;
 import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.messaging.MetadataBuilder;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
-import javax.json.Json;
+import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.JsonValue.ValueType;
 
 /**
  * Implementation of metadata that uses a JsonObject internally to store the metadata.
@@ -65,19 +71,64 @@ public class DefaultJsonMetadata extends JsonMetadata {
         return new DefaultJsonMetadata.Builder(jsonObject);
     }
 
-    private static Metadata metadataFrom(final JsonObject jsonObject) {
+    /**
+     * Derive the metadata of a new envelope from the metadata of the envelope that caused it. The
+     * derived metadata has the given id, name and created at, the id of the parent appended to the
+     * causation of the parent, and the stream id of the parent. All other fields are shared with
+     * the parent rather than copied, and the result is not re-validated as only the id and name
+     * can make it invalid.
+     *
+     * The fields are in the order of metadata built from the parent with a JsonObjectBuilder: the
+     * fields of the parent, with created at in its place, followed by the stream, id, name and
+     * causation, and the created at if the parent has none.
+     *
+     * @param parent    the metadata of the causing envelope
+     * @param id        the id of the derived metadata
+     * @param name      the name of the derived metadata
+     * @param createdAt the created at of the derived metadata
+     * @return the derived metadata
+     * @throws IllegalArgumentException if the name is empty or the parent has no id
+     */
+    public static Metadata derivedMetadataFrom(final Metadata parent, final UUID id, final String name, final ZonedDateTime createdAt) {
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Name field cannot be empty");
+        }
 
-        JsonString id = getJsonString(jsonObject, ID)
+        final JsonObject parentJsonObject = parent.asJsonObject();
+        final JsonString parentId = getJsonString(parentJsonObject, ID)
                 .orElseThrow(() -> new IllegalArgumentException("Missing id field"));
-        UUID.fromString(id.getString());
 
-        JsonString name = getJsonString(jsonObject, NAME)
-                .orElseThrow(() -> new IllegalArgumentException("Missing name field"));
-        if (name.getString().isEmpty()) {
-            throw new IllegalArgumentException("Name field cannot be empty");
+        final Map<String, JsonValue> movedFields = new LinkedHashMap<>();
+        movedFields.put(STREAM, derivedStream(parent, parentJsonObject));
+        movedFields.put(ID, new StringJsonValue(id.toString()));
+        movedFields.put(NAME, new StringJsonValue(name));
+        movedFields.put(CAUSATION, derivedCausation(parentJsonObject, parentId));
+
+        final Map<String, JsonValue> replacedFields = singletonMap(CREATED_AT, new StringJsonValue(ZonedDateTimes.toString(createdAt)));
+
+        return new DefaultJsonMetadata(OverlayJsonObject.overlay(parentJsonObject, movedFields, replacedFields));
+    }
+
+    private static JsonArray derivedCausation(final JsonObject parentJsonObject, final JsonString parentId) {
+        final JsonValue parentCausation = parentJsonObject.get(CAUSATION);
+
+        if (parentCausation != null && parentCausation.getValueType() == ValueType.ARRAY) {
+            return AppendedJsonArray.append((JsonArray) parentCausation, parentId);
         }
 
-        return new DefaultJsonMetadata(jsonObject);
+        return JsonFactories.createArrayBuilder().add(parentId).build();
+    }
+
+    private static JsonObject derivedStream(final Metadata parent, final JsonObject parentJsonObject) {
+        return parent.streamId()
+                .map(streamId -> {
+                    final JsonObject parentStream = parentJsonObject.getJsonObject(STREAM);
+                    if (parentStream.size() == 1) {
+                        return parentStream;
+                    }
+                    return JsonFactories.createObjectBuilder().add(STREAM_ID, streamId.toString()).build();
+                })
+                .orElse(null);
     }
 
     @Override
@@ -170,105 +221,105 @@ public class DefaultJsonMetadata extends JsonMetadata {
 
     public static class Builder implements MetadataBuilder {
 
-        private JsonObjectBuilderWrapper json;
+        private final MetadataJsonObjectBuilder json;
 
         private Builder() {
-            json = new JsonObjectBuilderWrapper();
+            json = new MetadataJsonObjectBuilder();
         }
 
         private Builder(final Metadata metadata) {
-            json = new JsonObjectBuilderWrapper(metadata.asJsonObject());
+            json = new MetadataJsonObjectBuilder(metadata.asJsonObject());
         }
 
         private Builder(final JsonObject jsonObject) {
-            json = new JsonObjectBuilderWrapper(jsonObject);
+            json = new MetadataJsonObjectBuilder(jsonObject);
         }
 
         @Override
         public MetadataBuilder withId(final UUID id) {
-            json.add(id.toString(), ID);
+            json.withId(id);
             return this;
         }
 
         @Override
         public MetadataBuilder createdAt(final ZonedDateTime dateCreated) {
-            json.add(ZonedDateTimes.toString(dateCreated), CREATED_AT);
+            json.withCreatedAt(ZonedDateTimes.toString(dateCreated));
             return this;
         }
 
         @Override
         public MetadataBuilder withName(final String name) {
-            json.add(name, NAME);
+            json.withName(name);
             return this;
         }
 
         @Override
         public MetadataBuilder withCausation(final UUID... uuid) {
-            final JsonArrayBuilder causationArray = Json.createArrayBuilder();
+            final JsonArrayBuilder causationArray = JsonFactories.createArrayBuilder();
             for (UUID id : uuid) {
                 causationArray.add(id.toString());
             }
-            json.add(causationArray, CAUSATION);
+            json.withCausation(causationArray.build());
             return this;
         }
 
         @Override
         public MetadataBuilder withClientCorrelationId(final String clientId) {
-            json.add(clientId, CLIENT_CORRELATION_PATH);
+            json.withNested(CLIENT_CORRELATION_PATH, clientId);
             return this;
         }
 
         @Override
         public MetadataBuilder withUserId(final String userId) {
-            json.add(userId, USER_ID_PATH);
+            json.withNested(USER_ID_PATH, userId);
             return this;
         }
 
         @Override
         public MetadataBuilder withSessionId(final String sessionId) {
-            json.add(sessionId, SESSION_ID_PATH);
+            json.withNested(SESSION_ID_PATH, sessionId);
             return this;
         }
 
         @Override
         public MetadataBuilder withStreamId(final UUID streamId) {
-            json.add(streamId.toString(), STREAM_ID_PATH);
+            json.withNested(STREAM_ID_PATH, streamId.toString());
             return this;
         }
 
         @Override
         public MetadataBuilder withVersion(final long version) {
-            json.add(BigDecimal.valueOf(version), VERSION_PATH);
+            json.withNested(VERSION_PATH, BigDecimal.valueOf(version));
             return this;
         }
 
         @Override
         public MetadataBuilder withPosition(final long version) {
-            json.add(BigDecimal.valueOf(version), VERSION_PATH);
+            json.withNested(VERSION_PATH, BigDecimal.valueOf(version));
             return this;
         }
 
         @Override
         public MetadataBuilder withSource(final String source) {
-            json.add(source, SOURCE);
+            json.withSource(source);
             return this;
         }
 
         @Override
         public MetadataBuilder withEventNumber(final long eventNumber) {
-            json.add(BigDecimal.valueOf(eventNumber), EVENT_NUMBER_PATH);
+            json.withNested(EVENT_NUMBER_PATH, BigDecimal.valueOf(eventNumber));
             return this;
         }
 
         @Override
         public MetadataBuilder withPreviousEventNumber(final long previousEventNumber) {
-            json.add(BigDecimal.valueOf(previousEventNumber), PREVIOUS_EVENT_NUMBER_PATH);
+            json.withNested(PREVIOUS_EVENT_NUMBER_PATH, BigDecimal.valueOf(previousEventNumber));
             return this;
         }
 
         @Override
         public Metadata build() {
-            return metadataFrom(json.build());
+            return new DefaultJsonMetadata(json.build());
         }
     }
 }
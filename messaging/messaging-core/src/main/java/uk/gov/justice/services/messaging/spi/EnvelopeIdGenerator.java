@@ -0,0 +1,25 @@
+package uk.gov.justice.services.messaging.spi;
+
+import java.util.UUID;
+
+/**
+ * Generates the ids of new envelopes.
+ *
+ * The generator used is the first implementation registered in
+ * META-INF/services/uk.gov.justice.services.messaging.spi.EnvelopeIdGenerator, or the
+ * {@link TimeOrderedEnvelopeIdGenerator} if none is registered.
+ */
+public interface EnvelopeIdGenerator {
+
+    /**
+     * @return a new unique envelope id
+     */
+    UUID nextId();
+
+    /**
+     * @return the registered generator, loaded once
+     */
+    static EnvelopeIdGenerator provider() {
+        return EnvelopeIdGeneratorLoader.ENVELOPE_ID_GENERATOR;
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.justice.services.messaging.spi;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+final class EnvelopeIdGeneratorLoader {
+
+    static final EnvelopeIdGenerator ENVELOPE_ID_GENERATOR = load();
+
+    private EnvelopeIdGeneratorLoader() {
+    }
+
+    static EnvelopeIdGenerator load() {
+        final Iterator<EnvelopeIdGenerator> generators = ServiceLoader.load(EnvelopeIdGenerator.class).iterator();
+
+        if (generators.hasNext()) {
+            return generators.next();
+        }
+
+        return new TimeOrderedEnvelopeIdGenerator();
+    }
+}
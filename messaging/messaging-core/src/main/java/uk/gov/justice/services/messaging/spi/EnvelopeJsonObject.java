@@ -0,0 +1,153 @@
+package uk.gov.justice.services.messaging.spi;
+
+import static uk.gov.justice.services.messaging.JsonEnvelope.METADATA;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+/**
+ * An immutable {@link JsonObject} view of an envelope, composed of the payload object and the
+ * metadata object without copying the fields of either.
+ *
+ * The view has the fields of the payload, in their order, with the metadata as the
+ * {@code _metadata} field either before or after them. A {@code _metadata} field of the payload
+ * itself is hidden by the metadata. The view of a payload alone hides its {@code _metadata}
+ * field; for the view of an envelope that is the payload object the envelope was composed of.
+ */
+public class EnvelopeJsonObject extends AbstractJsonObject {
+
+    private final JsonObject payload;
+    private final JsonObject metadata;
+    private final boolean metadataFirst;
+    private final int size;
+
+    private EnvelopeJsonObject(final JsonObject payload, final JsonObject metadata, final boolean metadataFirst) {
+        this.payload = payload;
+        this.metadata = metadata;
+        this.metadataFirst = metadataFirst;
+        this.size = payload.size() - (payload.containsKey(METADATA) ? 1 : 0) + (metadata == null ? 0 : 1);
+    }
+
+    /**
+     * @param metadata the metadata of the envelope
+     * @param payload  the payload of the envelope
+     * @return the envelope with the {@code _metadata} field before the payload fields
+     */
+    public static JsonObject withMetadataFirst(final JsonObject metadata, final JsonObject payload) {
+        return new EnvelopeJsonObject(payload, metadata, true);
+    }
+
+    /**
+     * @param payload  the payload of the envelope
+     * @param metadata the metadata of the envelope
+     * @return the envelope with the {@code _metadata} field after the payload fields
+     */
+    public static JsonObject withMetadataLast(final JsonObject payload, final JsonObject metadata) {
+        return new EnvelopeJsonObject(payload, metadata, false);
+    }
+
+    /**
+     * @param envelope the envelope
+     * @return the fields of the envelope other than {@code _metadata}
+     */
+    public static JsonObject withoutMetadata(final JsonObject envelope) {
+        if (envelope instanceof EnvelopeJsonObject) {
+            final JsonObject payload = ((EnvelopeJsonObject) envelope).payload;
+            if (!payload.containsKey(METADATA)) {
+                return payload;
+            }
+            return new EnvelopeJsonObject(payload, null, false);
+        }
+        if (!envelope.containsKey(METADATA)) {
+            return envelope;
+        }
+        return new EnvelopeJsonObject(envelope, null, false);
+    }
+
+    @Override
+    public JsonValue get(final Object key) {
+        if (METADATA.equals(key)) {
+            return metadata;
+        }
+        return payload.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (METADATA.equals(key)) {
+            return metadata != null;
+        }
+        return payload.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return new AbstractSet<Entry<String, JsonValue>>() {
+            @Override
+            public Iterator<Entry<String, JsonValue>> iterator() {
+                return new EnvelopeIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private class EnvelopeIterator implements Iterator<Entry<String, JsonValue>> {
+
+        private final Iterator<Entry<String, JsonValue>> payloadIterator = payload.entrySet().iterator();
+        private boolean metadataPending = metadata != null;
+        private Entry<String, JsonValue> next = advance();
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, JsonValue> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Entry<String, JsonValue> current = next;
+            next = advance();
+            return current;
+        }
+
+        private Entry<String, JsonValue> advance() {
+            if (metadataPending && metadataFirst) {
+                return metadataEntry();
+            }
+
+            while (payloadIterator.hasNext()) {
+                final Entry<String, JsonValue> entry = payloadIterator.next();
+                if (!METADATA.equals(entry.getKey())) {
+                    return entry;
+                }
+            }
+
+            if (metadataPending) {
+                return metadataEntry();
+            }
+
+            return null;
+        }
+
+        private Entry<String, JsonValue> metadataEntry() {
+            metadataPending = false;
+            return new SimpleImmutableEntry<>(METADATA, metadata);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package uk.gov.justice.services.messaging.spi;
+
+import static java.util.Comparator.comparingInt;
+import static javax.json.JsonValue.ValueType.OBJECT;
+import static uk.gov.justice.services.messaging.JsonMetadata.CAUSATION;
+import static uk.gov.justice.services.messaging.JsonMetadata.CREATED_AT;
+import static uk.gov.justice.services.messaging.JsonMetadata.ID;
+import static uk.gov.justice.services.messaging.JsonMetadata.NAME;
+import static uk.gov.justice.services.messaging.JsonMetadata.SOURCE;
+
+import uk.gov.justice.services.messaging.JsonFactories;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+/**
+ * Builds the JsonObject of metadata in a single pass from typed slots for the known metadata
+ * fields, on top of the fields of an optional base object.
+ *
+ * Fields of the base object keep their position. New top level fields are written in the order
+ * the previous map backed builder wrote them, which was the iteration order of a HashMap of the
+ * field names, so the json written is unchanged.
+ */
+class MetadataJsonObjectBuilder {
+
+    private static final float HASH_MAP_LOAD_FACTOR = 0.75f;
+    private static final int HASH_MAP_INITIAL_CAPACITY = 16;
+
+    private final JsonObject base;
+
+    private String id;
+    private String name;
+    private JsonArray causation;
+    private String createdAt;
+    private String source;
+
+    private final List<String> fieldNames = new ArrayList<>();
+    private final List<NestedFields> nestedFields = new ArrayList<>();
+
+    MetadataJsonObjectBuilder() {
+        this(JsonFactories.createObjectBuilder().build());
+    }
+
+    MetadataJsonObjectBuilder(final JsonObject base) {
+        this.base = base;
+    }
+
+    void withId(final UUID id) {
+        this.id = id.toString();
+        fieldSet(ID);
+    }
+
+    void withName(final String name) {
+        this.name = name;
+        fieldSet(NAME);
+    }
+
+    void withCausation(final JsonArray causation) {
+        this.causation = causation;
+        fieldSet(CAUSATION);
+    }
+
+    void withCreatedAt(final String createdAt) {
+        this.createdAt = createdAt;
+        fieldSet(CREATED_AT);
+    }
+
+    void withSource(final String source) {
+        this.source = source;
+        fieldSet(SOURCE);
+    }
+
+    void withNested(final String[] path, final String value) {
+        nestedFieldsOf(path).set(path[1], value, null);
+    }
+
+    void withNested(final String[] path, final BigDecimal value) {
+        nestedFieldsOf(path).set(path[1], null, value);
+    }
+
+    JsonObject build() {
+        final JsonObjectBuilder builder = JsonFactories.createObjectBuilder();
+
+        for (final Map.Entry<String, JsonValue> field : base.entrySet()) {
+            final String fieldName = field.getKey();
+
+            if (fieldNames.contains(fieldName)) {
+                addField(builder, fieldName);
+            } else {
+                builder.add(fieldName, field.getValue());
+            }
+        }
+
+        for (final String fieldName : newFieldNamesInHashMapOrder()) {
+            addField(builder, fieldName);
+        }
+
+        final JsonObject jsonObject = builder.build();
+        validate(jsonObject);
+
+        return jsonObject;
+    }
+
+    private void addField(final JsonObjectBuilder builder, final String fieldName) {
+        if (ID.equals(fieldName)) {
+            builder.add(ID, id);
+        } else if (NAME.equals(fieldName)) {
+            builder.add(NAME, name);
+        } else if (CAUSATION.equals(fieldName)) {
+            builder.add(CAUSATION, causation);
+        } else if (CREATED_AT.equals(fieldName)) {
+            builder.add(CREATED_AT, createdAt);
+        } else if (SOURCE.equals(fieldName)) {
+            builder.add(SOURCE, source);
+        } else {
+            for (final NestedFields nested : nestedFields) {
+                if (nested.objectName.equals(fieldName)) {
+                    builder.add(fieldName, nested.build(base.get(fieldName)));
+                }
+            }
+        }
+    }
+
+    private void validate(final JsonObject jsonObject) {
+        if (id == null) {
+            final JsonValue baseId = jsonObject.get(ID);
+            if (!(baseId instanceof JsonString)) {
+                throw new IllegalArgumentException("Missing id field");
+            }
+            UUID.fromString(((JsonString) baseId).getString());
+        }
+
+        final JsonValue nameValue = jsonObject.get(NAME);
+        if (!(nameValue instanceof JsonString)) {
+            throw new IllegalArgumentException("Missing name field");
+        }
+        if (((JsonString) nameValue).getString().isEmpty()) {
+            throw new IllegalArgumentException("Name field cannot be empty");
+        }
+    }
+
+    private List<String> newFieldNamesInHashMapOrder() {
+        final List<String> newFieldNames = new ArrayList<>(fieldNames.size());
+        int mappedFieldCount = 0;
+
+        for (final Map.Entry<String, JsonValue> field : base.entrySet()) {
+            if (field.getValue().getValueType() == OBJECT || fieldNames.contains(field.getKey())) {
+                mappedFieldCount++;
+            }
+        }
+
+        for (final String fieldName : fieldNames) {
+            if (!base.containsKey(fieldName)) {
+                newFieldNames.add(fieldName);
+                mappedFieldCount++;
+            }
+        }
+
+        final int capacity = hashMapCapacityFor(mappedFieldCount);
+        newFieldNames.sort(comparingInt(fieldName -> hashMapBucketOf(fieldName, capacity)));
+
+        return newFieldNames;
+    }
+
+    private static int hashMapCapacityFor(final int size) {
+        int capacity = HASH_MAP_INITIAL_CAPACITY;
+        while (size > capacity * HASH_MAP_LOAD_FACTOR) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static int hashMapBucketOf(final String key, final int capacity) {
+        final int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (capacity - 1);
+    }
+
+    private void fieldSet(final String fieldName) {
+        if (!fieldNames.contains(fieldName)) {
+            fieldNames.add(fieldName);
+        }
+    }
+
+    private NestedFields nestedFieldsOf(final String[] path) {
+        fieldSet(path[0]);
+
+        for (final NestedFields nested : nestedFields) {
+            if (nested.objectName.equals(path[0])) {
+                return nested;
+            }
+        }
+
+        final NestedFields nested = new NestedFields(path[0]);
+        nestedFields.add(nested);
+        return nested;
+    }
+
+    /**
+     * The fields set in one nested object of the metadata, such as context or stream, in the
+     * order they were first set.
+     */
+    private static class NestedFields {
+
+        private final String objectName;
+        private final List<String> names = new ArrayList<>(2);
+        private final List<String> strings = new ArrayList<>(2);
+        private final List<BigDecimal> numbers = new ArrayList<>(2);
+
+        private NestedFields(final String objectName) {
+            this.objectName = objectName;
+        }
+
+        private void set(final String name, final String string, final BigDecimal number) {
+            final int index = names.indexOf(name);
+
+            if (index < 0) {
+                names.add(name);
+                strings.add(string);
+                numbers.add(number);
+            } else {
+                strings.set(index, string);
+                numbers.set(index, number);
+            }
+        }
+
+        private JsonObject build(final JsonValue baseValue) {
+            final JsonObjectBuilder builder = JsonFactories.createObjectBuilder();
+
+            if (baseValue != null && baseValue.getValueType() == OBJECT) {
+                ((JsonObject) baseValue).forEach(builder::add);
+            }
+
+            for (int index = 0; index < names.size(); index++) {
+                if (strings.get(index) != null) {
+                    builder.add(names.get(index), strings.get(index));
+                } else {
+                    builder.add(names.get(index), numbers.get(index));
+                }
+            }
+
+            return builder.build();
+        }
+    }
+}
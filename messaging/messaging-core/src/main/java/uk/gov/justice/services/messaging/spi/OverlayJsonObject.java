@@ -0,0 +1,198 @@
+package uk.gov.justice.services.messaging.spi;
+
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+/**
+ * An immutable {@link JsonObject} that shares the fields of a base object and overlays a small
+ * number of replaced, moved or removed fields on top of it, without copying the base object.
+ *
+ * Fields are ordered as a JsonObjectBuilder created from the base object would order them: a
+ * replaced field keeps its position in the base, while a moved field, or a replaced field that
+ * is not in the base, follows the remaining fields of the base in the order given. Overlaying an
+ * {@link OverlayJsonObject} merges the two overlays onto the original base, so reading a field
+ * never goes more than one level deep.
+ */
+class OverlayJsonObject extends AbstractJsonObject {
+
+    private final JsonObject base;
+    private final Map<String, JsonValue> inPlace;
+    private final Map<String, JsonValue> tail;
+    private final int size;
+
+    private OverlayJsonObject(final JsonObject base, final Map<String, JsonValue> inPlace, final Map<String, JsonValue> tail) {
+        this.base = base;
+        this.inPlace = inPlace;
+        this.tail = tail;
+        this.size = sizeOf(base, inPlace, tail);
+    }
+
+    /**
+     * @param base     the object whose fields are shared
+     * @param moved    the fields to remove from their position in the base and add after its
+     *                 remaining fields, in the order given; a null value removes the field
+     * @param replaced the fields to replace in their position in the base, or to add after the
+     *                 moved fields if not in the base; a null value removes the field
+     * @return the overlaid object
+     */
+    static JsonObject overlay(final JsonObject base, final Map<String, JsonValue> moved, final Map<String, JsonValue> replaced) {
+
+        final JsonObject original;
+        final Map<String, JsonValue> inPlace;
+        final Map<String, JsonValue> tail;
+
+        if (base instanceof OverlayJsonObject) {
+            final OverlayJsonObject overlaid = (OverlayJsonObject) base;
+            original = overlaid.base;
+            inPlace = new HashMap<>(overlaid.inPlace);
+            tail = new LinkedHashMap<>(overlaid.tail);
+        } else {
+            original = base;
+            inPlace = new HashMap<>();
+            tail = new LinkedHashMap<>();
+        }
+
+        moved.forEach((key, value) -> {
+            inPlace.remove(key);
+            tail.remove(key);
+            tail.put(key, value);
+        });
+
+        replaced.forEach((key, value) -> {
+            if (tail.get(key) != null) {
+                tail.put(key, value);
+            } else if (!tail.containsKey(key) && inPlaceInOriginal(original, inPlace, key)) {
+                inPlace.put(key, value);
+            } else {
+                inPlace.remove(key);
+                tail.remove(key);
+                tail.put(key, value);
+            }
+        });
+
+        return new OverlayJsonObject(original, inPlace, tail);
+    }
+
+    @Override
+    public JsonValue get(final Object key) {
+        if (tail.containsKey(key)) {
+            return tail.get(key);
+        }
+        if (inPlace.containsKey(key)) {
+            return inPlace.get(key);
+        }
+        return base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (tail.containsKey(key)) {
+            return tail.get(key) != null;
+        }
+        if (inPlace.containsKey(key)) {
+            return inPlace.get(key) != null;
+        }
+        return base.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return new AbstractSet<Entry<String, JsonValue>>() {
+            @Override
+            public Iterator<Entry<String, JsonValue>> iterator() {
+                return new OverlayIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static boolean inPlaceInOriginal(final JsonObject original, final Map<String, JsonValue> inPlace, final String key) {
+        if (inPlace.containsKey(key)) {
+            return inPlace.get(key) != null;
+        }
+        return original.containsKey(key);
+    }
+
+    private static int sizeOf(final JsonObject base, final Map<String, JsonValue> inPlace, final Map<String, JsonValue> tail) {
+        int size = base.size();
+        for (final Entry<String, JsonValue> entry : inPlace.entrySet()) {
+            if (entry.getValue() == null) {
+                size--;
+            }
+        }
+        for (final Entry<String, JsonValue> entry : tail.entrySet()) {
+            if (base.containsKey(entry.getKey())) {
+                size--;
+            }
+            if (entry.getValue() != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private class OverlayIterator implements Iterator<Entry<String, JsonValue>> {
+
+        private final Iterator<Entry<String, JsonValue>> baseIterator = base.entrySet().iterator();
+        private final Iterator<Entry<String, JsonValue>> tailIterator = tail.entrySet().iterator();
+        private Entry<String, JsonValue> next = advance();
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, JsonValue> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Entry<String, JsonValue> current = next;
+            next = advance();
+            return current;
+        }
+
+        private Entry<String, JsonValue> advance() {
+            while (baseIterator.hasNext()) {
+                final Entry<String, JsonValue> entry = baseIterator.next();
+                final String key = entry.getKey();
+
+                if (tail.containsKey(key)) {
+                    continue;
+                }
+                if (!inPlace.containsKey(key)) {
+                    return entry;
+                }
+                if (inPlace.get(key) != null) {
+                    return new SimpleImmutableEntry<>(key, inPlace.get(key));
+                }
+            }
+
+            while (tailIterator.hasNext()) {
+                final Entry<String, JsonValue> entry = tailIterator.next();
+                if (entry.getValue() != null) {
+                    return new SimpleImmutableEntry<>(entry);
+                }
+            }
+
+            return null;
+        }
+    }
+}
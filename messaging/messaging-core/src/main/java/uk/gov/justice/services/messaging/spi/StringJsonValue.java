@@ -0,0 +1,86 @@
+package uk.gov.justice.services.messaging.spi;
+
+import javax.json.JsonString;
+
+/**
+ * A {@link JsonString} holding a string directly, avoiding a json builder just to create a
+ * single string value.
+ */
+class StringJsonValue implements JsonString {
+
+    private final String value;
+
+    StringJsonValue(final String value) {
+        if (value == null) {
+            throw new NullPointerException("Json string value cannot be null");
+        }
+        this.value = value;
+    }
+
+    @Override
+    public String getString() {
+        return value;
+    }
+
+    @Override
+    public CharSequence getChars() {
+        return value;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.STRING;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof JsonString)) return false;
+        return value.equals(((JsonString) o).getString());
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+
+        for (int index = 0; index < value.length(); index++) {
+            final char c = value.charAt(index);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                case '\b':
+                    quoted.append("\\b");
+                    break;
+                case '\f':
+                    quoted.append("\\f");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+
+        return quoted.append('"').toString();
+    }
+}
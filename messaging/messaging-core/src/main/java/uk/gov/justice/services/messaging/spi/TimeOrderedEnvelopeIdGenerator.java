@@ -0,0 +1,72 @@
+package uk.gov.justice.services.messaging.spi;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates time ordered, version 7 UUIDs: a 48 bit unix timestamp in milliseconds, followed by
+ * a 12 bit sequence and 62 random bits.
+ *
+ * Each thread keeps its own sequence, which starts at a random value in the lower half of its
+ * range every millisecond, so the ids generated by one thread are strictly increasing. If the
+ * sequence runs out within a millisecond the timestamp is moved on by one. Random bits come from
+ * {@link ThreadLocalRandom} so, unlike {@link UUID#randomUUID()}, threads never contend on a
+ * shared SecureRandom. Ids generated close together in time are close together in an index.
+ *
+ * The sequence of a thread is held as a long[] of the timestamp and the sequence value, so the
+ * pooled threads of the server never hold an instance of a deployment class, which would keep
+ * the class loader of the deployment alive after it is undeployed.
+ */
+public class TimeOrderedEnvelopeIdGenerator implements EnvelopeIdGenerator {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final int MAX_SEQUENCE = 0xFFF;
+    private static final int SEQUENCE_SEED_RANGE = 0x800;
+
+    private static final int TIMESTAMP = 0;
+    private static final int VALUE = 1;
+
+    private final ThreadLocal<long[]> sequences = new ThreadLocal<>();
+
+    @Override
+    public UUID nextId() {
+        return nextId(System.currentTimeMillis());
+    }
+
+    UUID nextId(final long currentTimeMillis) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long[] sequence = sequenceOfCurrentThread();
+
+        next(sequence, currentTimeMillis, random);
+
+        final long mostSignificantBits = (sequence[TIMESTAMP] << 16) | VERSION_7 | sequence[VALUE];
+        final long leastSignificantBits = (random.nextLong() & RANDOM_MASK) | VARIANT;
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private long[] sequenceOfCurrentThread() {
+        long[] sequence = sequences.get();
+
+        if (sequence == null) {
+            sequence = new long[]{-1L, 0L};
+            sequences.set(sequence);
+        }
+
+        return sequence;
+    }
+
+    private static void next(final long[] sequence, final long currentTimeMillis, final ThreadLocalRandom random) {
+        if (currentTimeMillis > sequence[TIMESTAMP]) {
+            sequence[TIMESTAMP] = currentTimeMillis;
+            sequence[VALUE] = random.nextInt(SEQUENCE_SEED_RANGE);
+        } else if (sequence[VALUE] < MAX_SEQUENCE) {
+            sequence[VALUE]++;
+        } else {
+            sequence[TIMESTAMP]++;
+            sequence[VALUE] = random.nextInt(SEQUENCE_SEED_RANGE);
+        }
+    }
+}
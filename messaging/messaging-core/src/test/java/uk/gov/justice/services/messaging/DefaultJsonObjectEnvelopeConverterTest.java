@@ -7,6 +7,7 @@ import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.hasItems;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
@@ -131,6 +132,18 @@ public class DefaultJsonObjectEnvelopeConverterTest {
         assertThat(jsonObjectEnvelopeConverter.fromEnvelope(envelope), equalTo(expectedEnvelope));
     }
 
+    @Test
+    public void shouldExtractThePayloadAnEnvelopeObjectWasConvertedFromWithoutCopyingIt() throws IOException {
+        final JsonObject payload = createObjectBuilder().add("someField", "value").build();
+        final JsonEnvelope envelope = envelopeFrom(metadataBuilder().withId(randomUUID()).withName("name"), payload);
+
+        final JsonObject envelopeJsonObject = jsonObjectEnvelopeConverter.fromEnvelope(envelope);
+
+        assertThat(envelopeJsonObject.getString("someField"), is("value"));
+        assertThat(envelopeJsonObject.getJsonObject(METADATA).getString("name"), is("name"));
+        assertThat(jsonObjectEnvelopeConverter.extractPayloadFromEnvelope(envelopeJsonObject), is(sameInstance(payload)));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldThrowExceptionOnArrayPayloadType() {
         jsonObjectEnvelopeConverter.fromEnvelope(
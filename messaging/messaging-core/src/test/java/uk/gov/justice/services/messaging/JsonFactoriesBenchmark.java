@@ -0,0 +1,96 @@
+package uk.gov.justice.services.messaging;
+
+import static java.util.UUID.randomUUID;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.messaging.JsonEnvelope.metadataBuilder;
+
+import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of building json with the static {@link Json} methods, which look up the provider on
+ * each call, against the shared {@link JsonFactories}, and of envelope conversion using them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonFactoriesBenchmark {
+
+    private DefaultJsonObjectEnvelopeConverter envelopeConverter;
+    private JsonEnvelope envelope;
+    private JsonObject envelopeJsonObject;
+
+    @Setup
+    public void setup() {
+        envelopeConverter = new DefaultJsonObjectEnvelopeConverter();
+        envelopeConverter.objectMapper = new ObjectMapperProducer().objectMapper();
+
+        envelope = envelopeFrom(
+                metadataBuilder()
+                        .withId(randomUUID())
+                        .withName("benchmark.command.do-something")
+                        .withCausation(randomUUID(), randomUUID())
+                        .withUserId(randomUUID().toString())
+                        .withStreamId(randomUUID()),
+                Json.createObjectBuilder()
+                        .add("field", "value")
+                        .add("number", 42)
+                        .add("nested", Json.createObjectBuilder().add("field", "value")));
+
+        envelopeJsonObject = envelopeConverter.fromEnvelope(envelope);
+    }
+
+    @Benchmark
+    public JsonObject buildWithJsonStaticMethods() {
+        return Json.createObjectBuilder()
+                .add("field", "value")
+                .add("array", Json.createArrayBuilder().add("one").add("two"))
+                .build();
+    }
+
+    @Benchmark
+    public JsonObject buildWithSharedFactories() {
+        return JsonFactories.createObjectBuilder()
+                .add("field", "value")
+                .add("array", JsonFactories.createArrayBuilder().add("one").add("two"))
+                .build();
+    }
+
+    @Benchmark
+    public JsonObject convertFromEnvelope() {
+        return envelopeConverter.fromEnvelope(envelope);
+    }
+
+    @Benchmark
+    public JsonEnvelope convertToEnvelope() {
+        return envelopeConverter.asEnvelope(envelopeJsonObject);
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonFactoriesBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,66 @@
+package uk.gov.justice.services.messaging;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonWriter;
+import javax.json.spi.JsonProvider;
+
+import org.glassfish.json.JsonProviderImpl;
+import org.junit.Test;
+
+public class JsonFactoriesTest {
+
+    @Test
+    public void shouldReturnTheSameFactoriesOnEachCall() throws Exception {
+        assertThat(JsonFactories.jsonProvider(), sameInstance(JsonFactories.jsonProvider()));
+        assertThat(JsonFactories.jsonBuilderFactory(), sameInstance(JsonFactories.jsonBuilderFactory()));
+    }
+
+    @Test
+    public void shouldBuildWriteAndReadJson() throws Exception {
+        final JsonObject jsonObject = JsonFactories.createObjectBuilder()
+                .add("name", "value")
+                .add("array", JsonFactories.createArrayBuilder().add(1).add(2))
+                .build();
+
+        final StringWriter stringWriter = new StringWriter();
+        try (final JsonWriter jsonWriter = JsonFactories.createWriter(stringWriter)) {
+            jsonWriter.write(jsonObject);
+        }
+
+        try (final JsonReader jsonReader = JsonFactories.createReader(new StringReader(stringWriter.toString()))) {
+            assertThat(jsonReader.readObject(), is(jsonObject));
+        }
+    }
+
+    @Test
+    public void shouldLoadTheDefaultProviderIfNoProviderIsSet() throws Exception {
+        assertThat(JsonFactories.loadJsonProvider(null), instanceOf(JsonProviderImpl.class));
+        assertThat(JsonFactories.loadJsonProvider(""), instanceOf(JsonProviderImpl.class));
+    }
+
+    @Test
+    public void shouldLoadTheProviderWithTheGivenClassName() throws Exception {
+        final JsonProvider jsonProvider = JsonFactories.loadJsonProvider(JsonProviderImpl.class.getName());
+
+        assertThat(jsonProvider, instanceOf(JsonProviderImpl.class));
+    }
+
+    @Test
+    public void shouldFallBackToTheDefaultProviderIfTheProviderClassDoesNotExist() throws Exception {
+        assertThat(JsonFactories.loadJsonProvider("uk.gov.justice.services.messaging.UnknownJsonProvider"), instanceOf(JsonProviderImpl.class));
+    }
+
+    @Test
+    public void shouldFallBackToTheDefaultProviderIfTheClassIsNotAJsonProvider() throws Exception {
+        assertThat(JsonFactories.loadJsonProvider(String.class.getName()), instanceOf(JsonProviderImpl.class));
+    }
+}
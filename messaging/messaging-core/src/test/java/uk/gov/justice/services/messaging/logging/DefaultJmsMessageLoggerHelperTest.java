@@ -1,16 +1,26 @@
 package uk.gov.justice.services.messaging.logging;
 
+import static javax.json.Json.createArrayBuilder;
 import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.messaging.JsonEnvelope.metadataBuilder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.StringReader;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.TextMessage;
@@ -61,6 +71,77 @@ public class DefaultJmsMessageLoggerHelperTest {
         assertThat(jmsMessageLoggerHelper.toJmsTraceString(message), containsString("Could not find: _metadata in message"));
     }
 
+    @Test
+    public void shouldFindMetadataAfterPayloadFields() throws JMSException {
+        when(message.getText()).thenReturn(createObjectBuilder()
+                .add("items", createArrayBuilder()
+                        .add(createObjectBuilder().add("_metadata", "not this one"))
+                        .add(createArrayBuilder().add(1).add(2)))
+                .add("nested", createObjectBuilder().add("_metadata", createObjectBuilder().add("id", "wrong")))
+                .add("_metadata", metadataBuilder()
+                        .withId(UUID.fromString(A_MESSAGE_ID))
+                        .withName(A_NAME)
+                        .withCausation(UUID.randomUUID(), UUID.randomUUID())
+                        .build().asJsonObject())
+                .build().toString());
+
+        final JsonObject result = toJsonObject(message);
+
+        assertThat(result.getString("id"), is(A_MESSAGE_ID));
+        assertThat(result.getString("name"), is(A_NAME));
+        assertThat(result.getJsonArray("causation").size(), is(2));
+    }
+
+    @Test
+    public void shouldStopParsingOnceMetadataHasBeenRead() throws JMSException {
+        when(message.getText()).thenReturn(envelopeString() + " this is never parsed");
+
+        assertThat(jmsMessageLoggerHelper.metadataAsJsonObject(message).getString("id"), is(A_MESSAGE_ID));
+    }
+
+    @Test
+    public void shouldReturnErrorMessageIfNoMetadata() throws JMSException {
+        when(message.getText()).thenReturn(createObjectBuilder().add("something", "anything really").build().toString());
+
+        assertThat(jmsMessageLoggerHelper.toJmsTraceString(message), is("Could not find: _metadata in message"));
+    }
+
+    @Test
+    public void shouldReturnTheMetadataOfAGzipCompressedBytesMessageAndResetItsBody() throws Exception {
+        final BytesMessage bytesMessage = mock(BytesMessage.class);
+        final byte[] compressed = gzip(envelopeString());
+
+        when(bytesMessage.getStringProperty("CPPMESSAGEFORMAT")).thenReturn("GZIP_JSON");
+        when(bytesMessage.getBodyLength()).thenReturn((long) compressed.length);
+        when(bytesMessage.readBytes(any(byte[].class))).thenAnswer(invocationOnMock -> {
+            final byte[] target = (byte[]) invocationOnMock.getArguments()[0];
+            System.arraycopy(compressed, 0, target, 0, compressed.length);
+            return compressed.length;
+        });
+
+        final JsonObject result = toJsonObject(bytesMessage);
+
+        assertThat(result.getString("id"), is(A_MESSAGE_ID));
+        assertThat(result.getString("name"), is(A_NAME));
+
+        verify(bytesMessage, times(2)).reset();
+    }
+
+    @Test
+    public void shouldReturnErrorMessageForABytesMessageThatIsNotGzipCompressedJson() throws JMSException {
+        assertThat(jmsMessageLoggerHelper.toJmsTraceString(mock(BytesMessage.class)), is("Could not find: _metadata in message"));
+    }
+
+    private byte[] gzip(final String value) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(value.getBytes(UTF_8));
+        }
+
+        return compressed.toByteArray();
+    }
+
     private JsonObject toJsonObject(final Message message) {
         StringReader sw = new StringReader(jmsMessageLoggerHelper.toJmsTraceString(message));
         JsonReader jsonReader = Json.createReader(sw);
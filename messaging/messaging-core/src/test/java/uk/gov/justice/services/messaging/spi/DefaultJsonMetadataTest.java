@@ -1,16 +1,20 @@
 package uk.gov.justice.services.messaging.spi;
 
 import static com.jayway.jsonassert.JsonAssert.with;
+import static java.util.Arrays.asList;
 import static javax.json.Json.createObjectBuilder;
 import static javax.json.JsonValue.NULL;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.messaging.JsonEnvelope.METADATA;
 import static uk.gov.justice.services.messaging.JsonMetadata.CAUSATION;
 import static uk.gov.justice.services.messaging.JsonMetadata.CLIENT_ID;
 import static uk.gov.justice.services.messaging.JsonMetadata.CONTEXT;
 import static uk.gov.justice.services.messaging.JsonMetadata.CORRELATION;
+import static uk.gov.justice.services.messaging.JsonMetadata.CREATED_AT;
 import static uk.gov.justice.services.messaging.JsonMetadata.EVENT;
 import static uk.gov.justice.services.messaging.JsonMetadata.EVENT_NUMBER;
 import static uk.gov.justice.services.messaging.JsonMetadata.ID;
@@ -22,18 +26,27 @@ import static uk.gov.justice.services.messaging.JsonMetadata.STREAM;
 import static uk.gov.justice.services.messaging.JsonMetadata.STREAM_ID;
 import static uk.gov.justice.services.messaging.JsonMetadata.USER_ID;
 import static uk.gov.justice.services.messaging.JsonMetadata.VERSION;
+import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.derivedMetadataFrom;
 import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.metadataBuilder;
 import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.metadataBuilderFrom;
 
 import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
+import uk.gov.justice.services.common.converter.ZonedDateTimes;
 import uk.gov.justice.services.messaging.Metadata;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import javax.json.Json;
+import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Resources;
@@ -254,6 +267,152 @@ public class DefaultJsonMetadataTest {
                 .testEquals();
     }
 
+    @Test
+    public void shouldDeriveMetadataFromParent() throws Exception {
+        final UUID derivedId = UUID.randomUUID();
+        final ZonedDateTime createdAt = ZonedDateTime.of(2020, 5, 1, 10, 15, 30, 0, ZoneOffset.UTC);
+
+        final Metadata derived = derivedMetadataFrom(metadata, derivedId, "derived.name", createdAt);
+
+        assertThat(derived.id(), is(derivedId));
+        assertThat(derived.name(), is("derived.name"));
+        assertThat(derived.causation(), is(ImmutableList.of(UUID.fromString(UUID_CAUSATION), UUID.fromString(UUID_ID))));
+        assertThat(derived.streamId(), is(Optional.of(UUID.fromString(UUID_STREAM_ID))));
+        assertThat(derived.version(), is(Optional.empty()));
+        assertThat(derived.createdAt(), is(Optional.of(createdAt)));
+        assertThat(derived.userId(), is(Optional.of(UUID_USER_ID)));
+        assertThat(derived.sessionId(), is(Optional.of(UUID_SESSION_ID)));
+        assertThat(derived.clientCorrelationId(), is(Optional.of(UUID_CLIENT_CORRELATION)));
+        assertThat(derived.source(), is(Optional.of(SOURCE_NAME)));
+        assertThat(derived.eventNumber(), is(Optional.of(EVENT_NUMBER_VALUE)));
+        assertThat(derived.previousEventNumber(), is(Optional.of(PREVIOUS_EVENT_NUMBER_VALUE)));
+    }
+
+    @Test
+    public void shouldDeriveMetadataEqualToMetadataBuiltFromTheSameFields() throws Exception {
+        final UUID derivedId = UUID.randomUUID();
+        final ZonedDateTime createdAt = ZonedDateTime.of(2020, 5, 1, 10, 15, 30, 0, ZoneOffset.UTC);
+
+        final Metadata derived = derivedMetadataFrom(metadata, derivedId, "derived.name", createdAt);
+
+        final Metadata expected = metadataBuilder()
+                .withId(derivedId)
+                .withName("derived.name")
+                .withSource(SOURCE_NAME)
+                .withClientCorrelationId(UUID_CLIENT_CORRELATION)
+                .withCausation(UUID.fromString(UUID_CAUSATION), UUID.fromString(UUID_ID))
+                .withUserId(UUID_USER_ID)
+                .withSessionId(UUID_SESSION_ID)
+                .withStreamId(UUID.fromString(UUID_STREAM_ID))
+                .withEventNumber(EVENT_NUMBER_VALUE)
+                .withPreviousEventNumber(PREVIOUS_EVENT_NUMBER_VALUE)
+                .createdAt(createdAt)
+                .build();
+
+        assertThat(derived, equalTo(expected));
+        assertThat(derived.asJsonObject().size(), is(expected.asJsonObject().size()));
+        assertThat(new StringToJsonObjectConverter().convert(derived.asJsonObject().toString()), equalTo(expected.asJsonObject()));
+    }
+
+    @Test
+    public void shouldDeriveMetadataWithoutCausationOrStream() throws Exception {
+        final Metadata parent = metadataBuilder()
+                .withId(UUID.fromString(UUID_ID))
+                .withName(MESSAGE_NAME)
+                .build();
+
+        final Metadata derived = derivedMetadataFrom(parent, UUID.randomUUID(), "derived.name", ZonedDateTime.now(ZoneOffset.UTC));
+
+        assertThat(derived.causation(), is(ImmutableList.of(UUID.fromString(UUID_ID))));
+        assertThat(derived.streamId(), is(Optional.empty()));
+        assertThat(derived.asJsonObject().containsKey(STREAM), is(false));
+    }
+
+    @Test
+    public void shouldDeriveMetadataThroughAChainOfDerivations() throws Exception {
+        Metadata derived = metadata;
+        final List<UUID> expectedCausation = new ArrayList<>(ImmutableList.of(UUID.fromString(UUID_CAUSATION)));
+
+        for (int index = 0; index < 10; index++) {
+            expectedCausation.add(derived.id());
+            derived = derivedMetadataFrom(derived, UUID.randomUUID(), "derived.name." + index, ZonedDateTime.now(ZoneOffset.UTC));
+        }
+
+        assertThat(derived.name(), is("derived.name.9"));
+        assertThat(derived.causation(), is(expectedCausation));
+        assertThat(new StringToJsonObjectConverter().convert(derived.asJsonObject().toString()), equalTo(derived.asJsonObject()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotDeriveMetadataWithEmptyName() throws Exception {
+        derivedMetadataFrom(metadata, UUID.randomUUID(), "", ZonedDateTime.now(ZoneOffset.UTC));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotDeriveMetadataFromAParentWithoutAnId() throws Exception {
+        final Metadata parent = mock(Metadata.class);
+
+        when(parent.asJsonObject()).thenReturn(createObjectBuilder().add(NAME, MESSAGE_NAME).build());
+
+        derivedMetadataFrom(parent, UUID.randomUUID(), "derived.name", ZonedDateTime.now(ZoneOffset.UTC));
+    }
+
+    @Test
+    public void shouldOrderTheDerivedFieldsAsMetadataBuiltFromTheParent() throws Exception {
+        final UUID derivedId = UUID.randomUUID();
+        final ZonedDateTime createdAt = ZonedDateTime.of(2020, 5, 1, 10, 15, 30, 0, ZoneOffset.UTC);
+
+        final Metadata derived = derivedMetadataFrom(metadata, derivedId, "derived.name", createdAt);
+
+        assertThat(keysOf(derived.asJsonObject()), is(keysOf(builtFrom(metadata.asJsonObject(), derivedId, "derived.name", createdAt))));
+    }
+
+    @Test
+    public void shouldOrderTheFieldsOfAChainOfDerivationsAsMetadataBuiltFromEachParent() throws Exception {
+        Metadata derived = metadata;
+        JsonObject built = metadata.asJsonObject();
+
+        for (int index = 0; index < 3; index++) {
+            final UUID derivedId = UUID.randomUUID();
+            final ZonedDateTime createdAt = ZonedDateTime.of(2020, 5, 1, 10, 15, index, 0, ZoneOffset.UTC);
+
+            built = builtFrom(built, derivedId, "derived.name." + index, createdAt);
+            derived = derivedMetadataFrom(derived, derivedId, "derived.name." + index, createdAt);
+
+            assertThat(keysOf(derived.asJsonObject()), is(keysOf(built)));
+            assertThat(derived.asJsonObject().size(), is(built.size()));
+            assertThat(new StringToJsonObjectConverter().convert(derived.asJsonObject().toString()), equalTo(built));
+        }
+    }
+
+    private JsonObject builtFrom(final JsonObject parent, final UUID id, final String name, final ZonedDateTime createdAt) {
+        final JsonObjectBuilder builder = createObjectBuilder();
+
+        parent.forEach((key, value) -> {
+            if (!asList(ID, NAME, CAUSATION, STREAM).contains(key)) {
+                builder.add(key, value);
+            }
+        });
+
+        if (parent.containsKey(STREAM)) {
+            builder.add(STREAM, createObjectBuilder().add(STREAM_ID, parent.getJsonObject(STREAM).getString(STREAM_ID)));
+        }
+
+        final JsonArrayBuilder causation = Json.createArrayBuilder();
+        parent.getJsonArray(CAUSATION).forEach(causation::add);
+
+        return builder
+                .add(ID, id.toString())
+                .add(NAME, name)
+                .add(CAUSATION, causation.add(parent.getString(ID)))
+                .add(CREATED_AT, ZonedDateTimes.toString(createdAt))
+                .build();
+    }
+
+    private List<String> keysOf(final JsonObject jsonObject) {
+        return new ArrayList<>(jsonObject.keySet());
+    }
+
     private Metadata metadata(final String id, final String uuidClientCorrelation, final String uuidCausation, final String uuidUserId,
                               final String uuidSessionId, final String uuidStreamId, final String messageName, final Long streamVersion, final String source) {
         return metadataBuilderFrom(
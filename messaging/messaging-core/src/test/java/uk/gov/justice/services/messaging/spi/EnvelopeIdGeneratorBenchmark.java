@@ -0,0 +1,94 @@
+package uk.gov.justice.services.messaging.spi;
+
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of envelope id generation on many threads, comparing {@link UUID#randomUUID()} with
+ * the {@link TimeOrderedEnvelopeIdGenerator}, and of inserting the ids into a sorted index in
+ * the byte order postgres uses for uuid columns. Time ordered ids are inserted at the end of the
+ * index rather than at random positions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvelopeIdGeneratorBenchmark {
+
+    private static final int INDEX_INSERTS = 100_000;
+
+    private static final TimeOrderedEnvelopeIdGenerator TIME_ORDERED_GENERATOR = new TimeOrderedEnvelopeIdGenerator();
+
+    @Benchmark
+    @Threads(8)
+    public UUID randomUuidOnEightThreads() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID timeOrderedUuidOnEightThreads() {
+        return TIME_ORDERED_GENERATOR.nextId();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INDEX_INSERTS)
+    public TreeSet<UUID> insertRandomUuidsIntoIndex(final Index index) {
+        for (int count = 0; count < INDEX_INSERTS; count++) {
+            index.ids.add(UUID.randomUUID());
+        }
+        return index.ids;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INDEX_INSERTS)
+    public TreeSet<UUID> insertTimeOrderedUuidsIntoIndex(final Index index) {
+        for (int count = 0; count < INDEX_INSERTS; count++) {
+            index.ids.add(TIME_ORDERED_GENERATOR.nextId());
+        }
+        return index.ids;
+    }
+
+    @State(Scope.Thread)
+    public static class Index {
+
+        private TreeSet<UUID> ids;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            ids = new TreeSet<>((first, second) -> {
+                final int compareMostSignificant = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+                if (compareMostSignificant != 0) {
+                    return compareMostSignificant;
+                }
+                return Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+            });
+        }
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EnvelopeIdGeneratorBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,143 @@
+package uk.gov.justice.services.messaging.spi;
+
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static uk.gov.justice.services.messaging.JsonEnvelope.METADATA;
+import static uk.gov.justice.services.messaging.spi.EnvelopeJsonObject.withMetadataFirst;
+import static uk.gov.justice.services.messaging.spi.EnvelopeJsonObject.withMetadataLast;
+import static uk.gov.justice.services.messaging.spi.EnvelopeJsonObject.withoutMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import org.junit.Test;
+
+public class EnvelopeJsonObjectTest {
+
+    private final JsonObject metadata = createObjectBuilder()
+            .add("id", "861c9430-7bc6-4bf0-b549-6534394b8d65")
+            .add("name", "test.command.do-something")
+            .build();
+
+    private final JsonObject payload = createObjectBuilder()
+            .add("someString", "value")
+            .add("someNumber", 10)
+            .add("someBoolean", true)
+            .addNull("someNull")
+            .add("someObject", createObjectBuilder().add("nested", "value"))
+            .build();
+
+    @Test
+    public void shouldEqualTheEnvelopeBuiltWithTheMetadataFirst() throws Exception {
+        final JsonObject expected = createObjectBuilder()
+                .add(METADATA, metadata)
+                .add("someString", "value")
+                .add("someNumber", 10)
+                .add("someBoolean", true)
+                .addNull("someNull")
+                .add("someObject", createObjectBuilder().add("nested", "value"))
+                .build();
+
+        final JsonObject envelope = withMetadataFirst(metadata, payload);
+
+        assertThat(envelope, is(expected));
+        assertThat(expected.equals(envelope), is(true));
+        assertThat(envelope.hashCode(), is(expected.hashCode()));
+        assertThat(envelope.size(), is(6));
+        assertThat(envelope.toString(), is(expected.toString()));
+        assertThat(fieldNamesOf(envelope), contains(METADATA, "someString", "someNumber", "someBoolean", "someNull", "someObject"));
+    }
+
+    @Test
+    public void shouldEqualThePayloadBuiltWithTheMetadataAdded() throws Exception {
+        final JsonObject expected = createObjectBuilder()
+                .add("someString", "value")
+                .add("someNumber", 10)
+                .add("someBoolean", true)
+                .addNull("someNull")
+                .add("someObject", createObjectBuilder().add("nested", "value"))
+                .add(METADATA, metadata)
+                .build();
+
+        final JsonObject envelope = withMetadataLast(payload, metadata);
+
+        assertThat(envelope, is(expected));
+        assertThat(envelope.toString(), is(expected.toString()));
+        assertThat(fieldNamesOf(envelope), contains("someString", "someNumber", "someBoolean", "someNull", "someObject", METADATA));
+    }
+
+    @Test
+    public void shouldReadTheFieldsOfThePayloadAndMetadata() throws Exception {
+        final JsonObject envelope = withMetadataLast(payload, metadata);
+
+        assertThat(envelope.getJsonObject(METADATA), is(sameInstance(metadata)));
+        assertThat(envelope.getString("someString"), is("value"));
+        assertThat(envelope.getString("missing", "default"), is("default"));
+        assertThat(envelope.getInt("someNumber"), is(10));
+        assertThat(envelope.getInt("someString", 5), is(5));
+        assertThat(envelope.getBoolean("someBoolean"), is(true));
+        assertThat(envelope.getBoolean("missing", true), is(true));
+        assertThat(envelope.isNull("someNull"), is(true));
+        assertThat(envelope.getJsonObject("someObject").getString("nested"), is("value"));
+        assertThat(envelope.containsKey(METADATA), is(true));
+        assertThat(envelope.containsKey("missing"), is(false));
+        assertThat(envelope.get("missing"), is(nullValue()));
+        assertThat(envelope.getValueType(), is(JsonValue.ValueType.OBJECT));
+    }
+
+    @Test
+    public void shouldHideTheMetadataOfThePayloadBehindTheMetadataOfTheEnvelope() throws Exception {
+        final JsonObject payloadWithMetadata = createObjectBuilder()
+                .add(METADATA, createObjectBuilder().add("id", "other"))
+                .add("someString", "value")
+                .build();
+
+        final JsonObject envelope = withMetadataFirst(metadata, payloadWithMetadata);
+
+        assertThat(envelope.size(), is(2));
+        assertThat(envelope.getJsonObject(METADATA), is(sameInstance(metadata)));
+        assertThat(fieldNamesOf(envelope), contains(METADATA, "someString"));
+    }
+
+    @Test
+    public void shouldReturnThePayloadAnEnvelopeWasComposedOf() throws Exception {
+        assertThat(withoutMetadata(withMetadataFirst(metadata, payload)), is(sameInstance(payload)));
+        assertThat(withoutMetadata(withMetadataLast(payload, metadata)), is(sameInstance(payload)));
+    }
+
+    @Test
+    public void shouldHideTheMetadataOfAnEnvelopeObject() throws Exception {
+        final JsonObject envelope = createObjectBuilder()
+                .add("someString", "value")
+                .add(METADATA, metadata)
+                .add("someNumber", 10)
+                .build();
+
+        final JsonObject payloadView = withoutMetadata(envelope);
+
+        assertThat(payloadView, is(createObjectBuilder().add("someString", "value").add("someNumber", 10).build()));
+        assertThat(payloadView.size(), is(2));
+        assertThat(payloadView.containsKey(METADATA), is(false));
+        assertThat(payloadView.get(METADATA), is(nullValue()));
+        assertThat(fieldNamesOf(payloadView), contains("someString", "someNumber"));
+        assertThat(payloadView.toString(), is("{\"someString\":\"value\",\"someNumber\":10}"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotBeModifiable() throws Exception {
+        withMetadataFirst(metadata, payload).put("someString", JsonValue.NULL);
+    }
+
+    private static List<String> fieldNamesOf(final JsonObject jsonObject) {
+        final List<String> fieldNames = new ArrayList<>();
+        jsonObject.forEach((name, value) -> fieldNames.add(name));
+        return fieldNames;
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.justice.services.messaging.spi;
+
+import static java.util.UUID.randomUUID;
+import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.metadataBuilder;
+import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.metadataBuilderFrom;
+
+import uk.gov.justice.services.messaging.Metadata;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of building metadata with the {@link DefaultJsonMetadata.Builder}. Run with the GC
+ * profiler, which reports the bytes allocated per operation as gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetadataBuilderBenchmark {
+
+    private UUID id;
+    private UUID causationId;
+    private UUID streamId;
+    private ZonedDateTime createdAt;
+    private Metadata metadata;
+
+    @Setup
+    public void setup() {
+        id = randomUUID();
+        causationId = randomUUID();
+        streamId = randomUUID();
+        createdAt = ZonedDateTime.now();
+
+        metadata = metadataBuilder()
+                .withId(id)
+                .withName("benchmark.command.do-something")
+                .withCausation(causationId)
+                .withUserId(randomUUID().toString())
+                .withSessionId(randomUUID().toString())
+                .withStreamId(streamId)
+                .build();
+    }
+
+    @Benchmark
+    public Metadata buildMandatoryFields() {
+        return metadataBuilder()
+                .withId(id)
+                .withName("benchmark.event.something-happened")
+                .build();
+    }
+
+    @Benchmark
+    public Metadata buildAllFields() {
+        return metadataBuilder()
+                .withId(id)
+                .withName("benchmark.event.something-happened")
+                .withCausation(causationId, id)
+                .withClientCorrelationId("client-correlation-id")
+                .withUserId("user-id")
+                .withSessionId("session-id")
+                .withStreamId(streamId)
+                .withVersion(5L)
+                .withSource("benchmark")
+                .withEventNumber(10L)
+                .withPreviousEventNumber(9L)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    @Benchmark
+    public Metadata buildFromMetadata() {
+        return metadataBuilderFrom(metadata)
+                .withId(id)
+                .withName("benchmark.event.something-happened")
+                .withVersion(5L)
+                .build();
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MetadataBuilderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,159 @@
+package uk.gov.justice.services.messaging.spi;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createArrayBuilder;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static uk.gov.justice.services.messaging.JsonMetadata.CAUSATION;
+import static uk.gov.justice.services.messaging.JsonMetadata.CONTEXT;
+import static uk.gov.justice.services.messaging.JsonMetadata.CORRELATION;
+import static uk.gov.justice.services.messaging.JsonMetadata.CREATED_AT;
+import static uk.gov.justice.services.messaging.JsonMetadata.EVENT;
+import static uk.gov.justice.services.messaging.JsonMetadata.ID;
+import static uk.gov.justice.services.messaging.JsonMetadata.NAME;
+import static uk.gov.justice.services.messaging.JsonMetadata.SESSION_ID;
+import static uk.gov.justice.services.messaging.JsonMetadata.SOURCE;
+import static uk.gov.justice.services.messaging.JsonMetadata.STREAM;
+import static uk.gov.justice.services.messaging.JsonMetadata.USER_ID;
+import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.metadataBuilder;
+import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.metadataBuilderFrom;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+import org.junit.Test;
+
+public class MetadataJsonObjectBuilderTest {
+
+    @Test
+    public void shouldWriteNewFieldsInTheOrderOfAHashMapOfTheFieldNames() throws Exception {
+        final JsonObject jsonObject = metadataBuilder()
+                .withId(randomUUID())
+                .withName("some.name")
+                .withCausation(randomUUID())
+                .withClientCorrelationId("client")
+                .withUserId("user")
+                .withSessionId("session")
+                .withStreamId(randomUUID())
+                .withVersion(99L)
+                .withSource("source")
+                .withEventNumber(10L)
+                .withPreviousEventNumber(9L)
+                .createdAt(ZonedDateTime.now())
+                .build()
+                .asJsonObject();
+
+        final Map<String, Object> hashMap = new HashMap<>();
+        for (final String fieldName : new String[]{ID, NAME, CAUSATION, CORRELATION, CONTEXT, STREAM, SOURCE, EVENT, CREATED_AT}) {
+            hashMap.put(fieldName, fieldName);
+        }
+
+        assertThat(new ArrayList<>(jsonObject.keySet()), is(new ArrayList<>(hashMap.keySet())));
+        assertThat(new ArrayList<>(jsonObject.keySet()), contains(CREATED_AT, CORRELATION, CAUSATION, STREAM, NAME, CONTEXT, ID, SOURCE, EVENT));
+    }
+
+    @Test
+    public void shouldWriteNestedFieldsInTheOrderTheyWereFirstSet() throws Exception {
+        final JsonObject jsonObject = metadataBuilder()
+                .withId(randomUUID())
+                .withName("some.name")
+                .withSessionId("session")
+                .withUserId("user")
+                .withSessionId("another session")
+                .build()
+                .asJsonObject();
+
+        assertThat(new ArrayList<>(jsonObject.getJsonObject(CONTEXT).keySet()), contains(SESSION_ID, USER_ID));
+        assertThat(jsonObject.getJsonObject(CONTEXT).getString(SESSION_ID), is("another session"));
+    }
+
+    @Test
+    public void shouldKeepThePositionOfFieldsOfTheBaseObject() throws Exception {
+        final UUID id = randomUUID();
+        final JsonObject base = createObjectBuilder()
+                .add(ID, id.toString())
+                .add("custom", createObjectBuilder().add("field", "value"))
+                .add(NAME, "some.name")
+                .add(CONTEXT, createObjectBuilder().add(USER_ID, "user"))
+                .add(CAUSATION, createArrayBuilder().add(randomUUID().toString()))
+                .build();
+
+        final JsonObject jsonObject = metadataBuilderFrom(base)
+                .withName("another.name")
+                .withSessionId("session")
+                .withSource("source")
+                .withStreamId(randomUUID())
+                .build()
+                .asJsonObject();
+
+        assertThat(new ArrayList<>(jsonObject.keySet()), contains(ID, "custom", NAME, CONTEXT, CAUSATION, STREAM, SOURCE));
+        assertThat(jsonObject.getString(NAME), is("another.name"));
+        assertThat(jsonObject.getJsonObject("custom").getString("field"), is("value"));
+        assertThat(jsonObject.getJsonObject(CONTEXT).getString(USER_ID), is("user"));
+        assertThat(jsonObject.getJsonObject(CONTEXT).getString(SESSION_ID), is("session"));
+        assertThat(new ArrayList<>(jsonObject.getJsonObject(CONTEXT).keySet()), contains(USER_ID, SESSION_ID));
+    }
+
+    @Test
+    public void shouldSizeTheHashMapOrderForTheNumberOfMappedFields() throws Exception {
+        final JsonObjectBuilder base = createObjectBuilder()
+                .add(ID, randomUUID().toString())
+                .add(NAME, "some.name");
+        final Map<String, Object> hashMap = new HashMap<>();
+
+        for (int index = 0; index < 12; index++) {
+            base.add("object" + index, createObjectBuilder().add("field", index));
+            hashMap.put("object" + index, index);
+        }
+
+        final JsonObject jsonObject = metadataBuilderFrom(base.build())
+                .withUserId("user")
+                .withSessionId("session")
+                .withStreamId(randomUUID())
+                .withVersion(1L)
+                .withSource("source")
+                .createdAt(ZonedDateTime.now())
+                .build()
+                .asJsonObject();
+
+        final List<String> newFieldNames = asList(CONTEXT, STREAM, SOURCE, CREATED_AT);
+        newFieldNames.forEach(fieldName -> hashMap.put(fieldName, fieldName));
+
+        final List<String> expectedNewFieldOrder = new ArrayList<>(hashMap.keySet());
+        expectedNewFieldOrder.retainAll(newFieldNames);
+
+        final List<String> actualFieldOrder = new ArrayList<>(jsonObject.keySet());
+
+        assertThat(actualFieldOrder.subList(14, actualFieldOrder.size()), is(expectedNewFieldOrder));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailIfNoId() throws Exception {
+        metadataBuilder().withName("some.name").build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailIfIdIsNotAUuid() throws Exception {
+        metadataBuilderFrom(createObjectBuilder().add(ID, "not a uuid").build()).withName("some.name").build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailIfNoName() throws Exception {
+        metadataBuilder().withId(randomUUID()).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailIfNameIsEmpty() throws Exception {
+        metadataBuilder().withId(randomUUID()).withName("").build();
+    }
+}
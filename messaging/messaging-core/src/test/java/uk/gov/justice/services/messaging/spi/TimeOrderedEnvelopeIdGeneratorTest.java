@@ -0,0 +1,84 @@
+package uk.gov.justice.services.messaging.spi;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class TimeOrderedEnvelopeIdGeneratorTest {
+
+    private static final long TIMESTAMP_MILLIS = 1588328130000L;
+
+    private final TimeOrderedEnvelopeIdGenerator envelopeIdGenerator = new TimeOrderedEnvelopeIdGenerator();
+
+    @Test
+    public void shouldGenerateVersion7Uuids() throws Exception {
+        final UUID id = envelopeIdGenerator.nextId();
+
+        assertThat(id.version(), is(7));
+        assertThat(id.variant(), is(2));
+    }
+
+    @Test
+    public void shouldStartWithTheTimestampInMilliseconds() throws Exception {
+        final UUID id = envelopeIdGenerator.nextId(TIMESTAMP_MILLIS);
+
+        assertThat(id.getMostSignificantBits() >>> 16, is(TIMESTAMP_MILLIS));
+    }
+
+    @Test
+    public void shouldGenerateIncreasingIdsWithinTheSameMillisecond() throws Exception {
+        UUID previous = envelopeIdGenerator.nextId(TIMESTAMP_MILLIS);
+
+        for (int index = 0; index < 10_000; index++) {
+            final UUID id = envelopeIdGenerator.nextId(TIMESTAMP_MILLIS);
+            assertThat(id.compareTo(previous), is(greaterThan(0)));
+            previous = id;
+        }
+    }
+
+    @Test
+    public void shouldMoveTheTimestampOnWhenTheSequenceRunsOut() throws Exception {
+        UUID id = envelopeIdGenerator.nextId(TIMESTAMP_MILLIS);
+
+        for (int index = 0; index < 0x1000; index++) {
+            id = envelopeIdGenerator.nextId(TIMESTAMP_MILLIS);
+        }
+
+        assertThat(id.getMostSignificantBits() >>> 16, is(greaterThan(TIMESTAMP_MILLIS)));
+    }
+
+    @Test
+    public void shouldGenerateUniqueIdsOnManyThreads() throws Exception {
+        final Set<UUID> ids = new HashSet<>();
+        final Thread[] threads = new Thread[8];
+
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread(() -> {
+                for (int count = 0; count < 10_000; count++) {
+                    final UUID id = envelopeIdGenerator.nextId();
+                    synchronized (ids) {
+                        ids.add(id);
+                    }
+                }
+            });
+            threads[index].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(ids.size(), is(80_000));
+    }
+
+    @Test
+    public void shouldUseTheTimeOrderedGeneratorIfNoneIsRegistered() throws Exception {
+        assertThat(EnvelopeIdGenerator.provider() instanceof TimeOrderedEnvelopeIdGenerator, is(true));
+    }
+}
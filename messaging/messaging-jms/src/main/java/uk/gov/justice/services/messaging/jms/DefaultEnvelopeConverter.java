@@ -1,23 +1,42 @@
 package uk.gov.justice.services.messaging.jms;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static uk.gov.justice.services.messaging.jms.HeaderConstants.JMS_HEADER_CPPNAME;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormat.GZIP_JSON;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormat.JMS_HEADER_MESSAGE_FORMAT;
 
 import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.JsonObjectEnvelopeConverter;
 import uk.gov.justice.services.messaging.jms.exception.JmsConverterException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.Session;
 import javax.jms.TextMessage;
 
 /**
  * Implementation of {@link EnvelopeConverter} for {@link JsonEnvelope}
+ *
+ * As well as the JSON TextMessages of {@link EnvelopeConverter}, envelopes are converted to and
+ * from the other {@link JmsMessageFormat}s as the {@link JmsMessageConverter}. Envelopes smaller than the compression threshold
+ * ('framework.jms.message.compression.threshold.bytes', default 1024) are always sent as JSON.
  */
 @ApplicationScoped
-public class DefaultEnvelopeConverter implements EnvelopeConverter {
+public class DefaultEnvelopeConverter implements EnvelopeConverter, JmsMessageConverter {
+
+    public static final String COMPRESSION_THRESHOLD_PROPERTY = "framework.jms.message.compression.threshold.bytes";
+
+    private static final int BUFFER_SIZE = 8192;
 
     @Inject
     StringToJsonObjectConverter stringToJsonObjectConverter;
@@ -25,6 +44,8 @@ public class DefaultEnvelopeConverter implements EnvelopeConverter {
     @Inject
     JsonObjectEnvelopeConverter jsonObjectEnvelopeConverter;
 
+    int compressionThresholdBytes = Integer.getInteger(COMPRESSION_THRESHOLD_PROPERTY, 1024);
+
     @Override
     public JsonEnvelope fromMessage(final TextMessage message) {
         String messageAsString;
@@ -37,6 +58,31 @@ public class DefaultEnvelopeConverter implements EnvelopeConverter {
         }
     }
 
+    /**
+     * Converts a message in any {@link JmsMessageFormat} to an envelope.
+     *
+     * @param message the TextMessage or BytesMessage to convert
+     * @return the envelope
+     */
+    @Override
+    public JsonEnvelope fromMessage(final Message message) {
+
+        if (message instanceof TextMessage) {
+            return fromMessage((TextMessage) message);
+        }
+
+        try {
+            if (message instanceof BytesMessage && GZIP_JSON.name().equals(message.getStringProperty(JMS_HEADER_MESSAGE_FORMAT))) {
+                final String messageAsString = decompress((BytesMessage) message);
+                return jsonObjectEnvelopeConverter.asEnvelope(stringToJsonObjectConverter.convert(messageAsString));
+            }
+        } catch (final JMSException | IOException e) {
+            throw createJmsConverterException(message, e);
+        }
+
+        throw createJmsConverterException(message, new IllegalArgumentException("Unsupported JMS message type or format"));
+    }
+
     @Override
     public TextMessage toMessage(final JsonEnvelope envelope, final Session session) {
         final String envelopeAsString = jsonObjectEnvelopeConverter.asJsonString(envelope);
@@ -50,7 +96,75 @@ public class DefaultEnvelopeConverter implements EnvelopeConverter {
         }
     }
 
-    private JmsConverterException createJmsConverterException(final TextMessage message, final Throwable e) {
+    /**
+     * Converts an envelope to a message in the given format, or to JSON if the envelope is smaller
+     * than the compression threshold.
+     *
+     * @param envelope the envelope to convert
+     * @param session  the session to create the message with
+     * @param format   the format of the message
+     * @return the message
+     */
+    @Override
+    public Message toMessage(final JsonEnvelope envelope, final Session session, final JmsMessageFormat format) {
+
+        if (format != GZIP_JSON) {
+            return toMessage(envelope, session);
+        }
+
+        final String envelopeAsString = jsonObjectEnvelopeConverter.asJsonString(envelope);
+        final byte[] envelopeAsBytes = envelopeAsString.getBytes(UTF_8);
+
+        try {
+            if (envelopeAsBytes.length < compressionThresholdBytes) {
+                final TextMessage textMessage = session.createTextMessage(envelopeAsString);
+                textMessage.setStringProperty(JMS_HEADER_CPPNAME, envelope.metadata().name());
+                return textMessage;
+            }
+
+            final BytesMessage bytesMessage = session.createBytesMessage();
+            bytesMessage.writeBytes(compress(envelopeAsBytes));
+            bytesMessage.setStringProperty(JMS_HEADER_CPPNAME, envelope.metadata().name());
+            bytesMessage.setStringProperty(JMS_HEADER_MESSAGE_FORMAT, GZIP_JSON.name());
+            return bytesMessage;
+        } catch (final JMSException | IOException e) {
+            throw new JmsConverterException(String.format("Exception while creating %s message from envelope %s", format, envelopeAsString), e);
+        }
+    }
+
+    private byte[] compress(final byte[] envelopeAsBytes) throws IOException {
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(envelopeAsBytes.length / 4 + 64);
+
+        try (final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed, BUFFER_SIZE)) {
+            gzipOutputStream.write(envelopeAsBytes);
+        }
+
+        return compressed.toByteArray();
+    }
+
+    private String decompress(final BytesMessage message) throws JMSException, IOException {
+
+        // the body may already have been read, e.g. to trace log the message
+        message.reset();
+
+        final byte[] compressed = new byte[(int) message.getBodyLength()];
+        message.readBytes(compressed);
+
+        final ByteArrayOutputStream decompressed = new ByteArrayOutputStream(compressed.length * 4);
+
+        try (final GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(compressed), BUFFER_SIZE)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = gzipInputStream.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, read);
+            }
+        }
+
+        return new String(decompressed.toByteArray(), UTF_8);
+    }
+
+    private JmsConverterException createJmsConverterException(final Message message, final Throwable e) {
         try {
             return new JmsConverterException(String.format("Exception while creating envelope from message %s", message.getJMSMessageID()), e);
         } catch (JMSException e1) {
@@ -0,0 +1,60 @@
+package uk.gov.justice.services.messaging.jms;
+
+import java.util.Objects;
+
+/**
+ * The outcome of waiting for the envelopes that were being sent when the command api was
+ * suspended to finish sending.
+ */
+public class DrainResult {
+
+    private final int inFlightAtStart;
+    private final int inFlightRemaining;
+    private final long drainTimeMillis;
+
+    public DrainResult(final int inFlightAtStart, final int inFlightRemaining, final long drainTimeMillis) {
+        this.inFlightAtStart = inFlightAtStart;
+        this.inFlightRemaining = inFlightRemaining;
+        this.drainTimeMillis = drainTimeMillis;
+    }
+
+    public int getInFlightAtStart() {
+        return inFlightAtStart;
+    }
+
+    public int getInFlightRemaining() {
+        return inFlightRemaining;
+    }
+
+    public long getDrainTimeMillis() {
+        return drainTimeMillis;
+    }
+
+    public boolean isDrained() {
+        return inFlightRemaining == 0;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DrainResult)) return false;
+        final DrainResult that = (DrainResult) o;
+        return inFlightAtStart == that.inFlightAtStart &&
+                inFlightRemaining == that.inFlightRemaining &&
+                drainTimeMillis == that.drainTimeMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(inFlightAtStart, inFlightRemaining, drainTimeMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "DrainResult{" +
+                "inFlightAtStart=" + inFlightAtStart +
+                ", inFlightRemaining=" + inFlightRemaining +
+                ", drainTimeMillis=" + drainTimeMillis +
+                '}';
+    }
+}
@@ -1,10 +1,27 @@
 package uk.gov.justice.services.messaging.jms;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+/**
+ * Selects whether envelopes are sent to JMS or, while the command api is suspended, stored to be
+ * sent on unsuspension.
+ *
+ * Envelopes sent through {@link #send(JsonEnvelope, String)} are counted while they are in flight
+ * to JMS, so that on suspension the caller can wait for sends that started before the suspension
+ * to finish. Stores are counted in the same way by the {@link StoredCommandDrainCoordinator}, so
+ * that on unsuspension the caller can wait for commands stored before the unsuspension to commit.
+ * Both counts are started and finished here, so envelopes must be sent through
+ * {@link #send(JsonEnvelope, String)} rather than through the senders directly.
+ */
 @ApplicationScoped
 public class EnvelopeSenderSelector {
 
@@ -14,8 +31,20 @@ public class EnvelopeSenderSelector {
     @Inject
     private ShutteringStoreSender shutteringStoreSender;
 
+    @Inject
+    private StoredCommandDrainCoordinator storedCommandDrainCoordinator;
+
     private AtomicBoolean suspended = new AtomicBoolean(false);
 
+    private final AtomicInteger inFlightSends = new AtomicInteger(0);
+    private final Object drainLock = new Object();
+
+    /**
+     * @return the sender for the current suspended state
+     * @deprecated envelopes sent through the returned sender are not counted as in flight, so a
+     * suspension or unsuspension will not wait for them. Use {@link #send(JsonEnvelope, String)}
+     */
+    @Deprecated
     public EnvelopeSender getEnvelopeSender() {
 
         if (suspended.get()) {
@@ -28,4 +57,97 @@ public class EnvelopeSenderSelector {
     public void setSuspended(final boolean shuttered) {
         this.suspended.set(shuttered);
     }
+
+    /**
+     * Sends the envelope to JMS, or stores it if the command api is suspended.
+     *
+     * @param envelope        envelope to be sent.
+     * @param destinationName JNDI name of the JMS destination.
+     */
+    public void send(final JsonEnvelope envelope, final String destinationName) {
+
+        storedCommandDrainCoordinator.storeStarted();
+
+        boolean stored = false;
+        try {
+            if (!startJmsSend()) {
+                shutteringStoreSender.send(envelope, destinationName);
+                stored = true;
+                return;
+            }
+        } finally {
+            finishStore(stored);
+        }
+
+        try {
+            jmsSender.send(envelope, destinationName);
+        } finally {
+            endJmsSend();
+        }
+    }
+
+    /**
+     * Waits for the envelopes in flight to JMS to finish sending, for at most the timeout. Should
+     * be called after suspending, when no new sends to JMS can start.
+     *
+     * @param timeoutMillis the longest time to wait in milliseconds
+     * @return the number of sends in flight when the wait started and when it ended and how long
+     * the wait took
+     */
+    public DrainResult awaitInFlightSends(final long timeoutMillis) {
+
+        final long startedAt = System.nanoTime();
+        final long deadline = startedAt + MILLISECONDS.toNanos(timeoutMillis);
+        final int inFlightAtStart = inFlightSends.get();
+
+        synchronized (drainLock) {
+            long remainingNanos = deadline - System.nanoTime();
+            while (inFlightSends.get() > 0 && remainingNanos > 0) {
+                try {
+                    NANOSECONDS.timedWait(drainLock, remainingNanos);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remainingNanos = deadline - System.nanoTime();
+            }
+        }
+
+        return new DrainResult(
+                inFlightAtStart,
+                inFlightSends.get(),
+                NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    public int getInFlightSends() {
+        return inFlightSends.get();
+    }
+
+    private void finishStore(final boolean stored) {
+        if (stored) {
+            storedCommandDrainCoordinator.storeFinishedOnTransactionCompletion();
+        } else {
+            storedCommandDrainCoordinator.storeFinished();
+        }
+    }
+
+    private boolean startJmsSend() {
+
+        inFlightSends.incrementAndGet();
+
+        if (suspended.get()) {
+            endJmsSend();
+            return false;
+        }
+
+        return true;
+    }
+
+    private void endJmsSend() {
+        if (inFlightSends.decrementAndGet() == 0 && suspended.get()) {
+            synchronized (drainLock) {
+                drainLock.notifyAll();
+            }
+        }
+    }
 }
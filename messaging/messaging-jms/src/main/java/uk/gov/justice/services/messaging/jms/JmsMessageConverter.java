@@ -0,0 +1,33 @@
+package uk.gov.justice.services.messaging.jms;
+
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import javax.jms.Message;
+import javax.jms.Session;
+
+/**
+ * Converts envelopes to and from JMS messages in any {@link JmsMessageFormat}.
+ *
+ * {@link EnvelopeConverter} only handles JSON TextMessages, so anything that sends or consumes
+ * messages of a destination that may use another format should inject this instead.
+ */
+public interface JmsMessageConverter {
+
+    /**
+     * Converts an envelope to a message in the given format
+     *
+     * @param envelope the envelope to convert
+     * @param session  the session to create the message with
+     * @param format   the format of the message
+     * @return the message
+     */
+    Message toMessage(final JsonEnvelope envelope, final Session session, final JmsMessageFormat format);
+
+    /**
+     * Converts a message in any format to an envelope
+     *
+     * @param message the message to convert
+     * @return the envelope
+     */
+    JsonEnvelope fromMessage(final Message message);
+}
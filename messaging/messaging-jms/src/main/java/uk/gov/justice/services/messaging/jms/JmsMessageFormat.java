@@ -0,0 +1,20 @@
+package uk.gov.justice.services.messaging.jms;
+
+/**
+ * The formats an envelope can be sent to a JMS destination in. The format of a message is set in
+ * the {@link #JMS_HEADER_MESSAGE_FORMAT} header; messages without the header are JSON.
+ */
+public enum JmsMessageFormat {
+
+    /**
+     * A TextMessage containing the envelope as JSON
+     */
+    JSON,
+
+    /**
+     * A BytesMessage containing the envelope as gzip compressed UTF-8 JSON
+     */
+    GZIP_JSON;
+
+    public static final String JMS_HEADER_MESSAGE_FORMAT = "CPPMESSAGEFORMAT";
+}
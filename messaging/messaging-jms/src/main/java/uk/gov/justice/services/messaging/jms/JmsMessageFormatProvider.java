@@ -0,0 +1,49 @@
+package uk.gov.justice.services.messaging.jms;
+
+import static java.lang.String.format;
+import static org.slf4j.LoggerFactory.getLogger;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormat.JSON;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.slf4j.Logger;
+
+/**
+ * Provides the {@link JmsMessageFormat} to send envelopes to a destination in, set with the system
+ * property 'framework.jms.message.format.&lt;destination name&gt;'. Destinations default to JSON.
+ *
+ * Only enable a compressed format for a destination once all of its consumers decode messages
+ * with {@link JmsMessageConverter#fromMessage(javax.jms.Message)}.
+ */
+@ApplicationScoped
+public class JmsMessageFormatProvider {
+
+    public static final String MESSAGE_FORMAT_PROPERTY_PREFIX = "framework.jms.message.format.";
+
+    private static final Logger LOGGER = getLogger(JmsMessageFormatProvider.class);
+
+    private final Map<String, JmsMessageFormat> formats = new ConcurrentHashMap<>();
+
+    public JmsMessageFormat formatFor(final String destinationName) {
+        return formats.computeIfAbsent(destinationName, this::configuredFormatOf);
+    }
+
+    private JmsMessageFormat configuredFormatOf(final String destinationName) {
+
+        final String configuredFormat = System.getProperty(MESSAGE_FORMAT_PROPERTY_PREFIX + destinationName);
+
+        if (configuredFormat == null) {
+            return JSON;
+        }
+
+        try {
+            return JmsMessageFormat.valueOf(configuredFormat.trim().toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            LOGGER.warn(format("Unknown JMS message format '%s' configured for destination '%s'. Using JSON", configuredFormat, destinationName));
+            return JSON;
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package uk.gov.justice.services.messaging.jms;
 
 import static java.lang.String.format;
-import static java.util.Collections.list;
 import static javax.jms.Session.AUTO_ACKNOWLEDGE;
 
+import java.util.Enumeration;
+
 import javax.annotation.Resource;
 import javax.inject.Inject;
 import javax.jms.Connection;
@@ -14,6 +15,12 @@ import javax.jms.Queue;
 import javax.jms.QueueBrowser;
 import javax.jms.Session;
 
+/**
+ * Counts the messages on a queue by browsing it. Every message counted is read over the wire from
+ * the broker, so counting a deep queue is expensive; {@link #sizeOf(String, int)} stops browsing
+ * once a limit is reached. {@link uk.gov.justice.services.messaging.jms.statistics.QueueStatisticsService}
+ * should be used where the broker's management API is available.
+ */
 public class JmsQueueBrowser {
 
     @Resource(mappedName = "java:jboss/DefaultJMSConnectionFactory")
@@ -22,8 +29,16 @@ public class JmsQueueBrowser {
     @Inject
     private DestinationProvider destinationProvider;
 
-    @SuppressWarnings("unchecked")
     public int sizeOf(final String queueName) {
+        return sizeOf(queueName, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param queueName   the name of the queue
+     * @param maxMessages the most messages to browse
+     * @return the number of messages on the queue, or maxMessages if there are at least that many
+     */
+    public int sizeOf(final String queueName, final int maxMessages) {
 
         final Destination destination = destinationProvider.getDestination(queueName);
 
@@ -33,7 +48,7 @@ public class JmsQueueBrowser {
                  final Session session = connection.createSession(false, AUTO_ACKNOWLEDGE);
                  final QueueBrowser queueBrowser = session.createBrowser((Queue) destination)) {
 
-                return list(queueBrowser.getEnumeration()).size();
+                return count(queueBrowser.getEnumeration(), maxMessages);
 
             } catch (final JMSException e) {
                 throw new JmsQueueBrowserException(format("Failed to connect to queue: '%s', when requesting queue size.", queueName), e);
@@ -42,4 +57,15 @@ public class JmsQueueBrowser {
 
         throw new JmsQueueBrowserUnsupportedOperation(format("The named destination must be a Queue: '%s', unable to get the size of a Topic.", queueName));
     }
+
+    private int count(final Enumeration<?> messages, final int maxMessages) {
+
+        int count = 0;
+        while (count < maxMessages && messages.hasMoreElements()) {
+            messages.nextElement();
+            count++;
+        }
+
+        return count;
+    }
 }
@@ -24,7 +24,10 @@ public class JmsSender implements EnvelopeSender {
     private DestinationProvider destinationProvider;
 
     @Inject
-    private EnvelopeConverter envelopeConverter;
+    private JmsMessageConverter jmsMessageConverter;
+
+    @Inject
+    private JmsMessageFormatProvider jmsMessageFormatProvider;
 
     @Override
     public void send(final JsonEnvelope jsonEnvelope, final String destinationName) {
@@ -35,7 +38,7 @@ public class JmsSender implements EnvelopeSender {
              final Session session = connection.createSession(false, AUTO_ACKNOWLEDGE);
              final MessageProducer producer = session.createProducer(destination)) {
 
-            producer.send(envelopeConverter.toMessage(jsonEnvelope, session));
+            producer.send(jmsMessageConverter.toMessage(jsonEnvelope, session, jmsMessageFormatProvider.formatFor(destinationName)));
 
         } catch (final JMSException e) {
             throw new JmsEnvelopeSenderException(format("Exception while sending envelope with name %s", jsonEnvelope.metadata().name()), e);
@@ -18,6 +18,6 @@ public class ShutteringJmsEnvelopeSender implements JmsEnvelopeSender {
      */
     @Override
     public void send(final JsonEnvelope envelope, final String destinationName) {
-        envelopeSenderSelector.getEnvelopeSender().send(envelope, destinationName);
+        envelopeSenderSelector.send(envelope, destinationName);
     }
 }
@@ -0,0 +1,113 @@
+package uk.gov.justice.services.messaging.jms;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.transaction.Status.STATUS_NO_TRANSACTION;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Keeps count of the commands that are being stored while the command api is suspended, so that
+ * on unsuspension the stored commands can be sent once every store has committed rather than by
+ * polling the stored_command table.
+ *
+ * A store is started before the suspended flag is read and only finishes once the transaction that
+ * stored the command has completed.
+ */
+@ApplicationScoped
+public class StoredCommandDrainCoordinator {
+
+    @Resource
+    private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final AtomicInteger pendingStores = new AtomicInteger(0);
+    private final AtomicInteger waiters = new AtomicInteger(0);
+    private final Object drainLock = new Object();
+
+    public void storeStarted() {
+        pendingStores.incrementAndGet();
+    }
+
+    public void storeFinished() {
+        if (pendingStores.decrementAndGet() == 0 && waiters.get() > 0) {
+            synchronized (drainLock) {
+                drainLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Finishes the store once the current transaction has committed or rolled back, or straight
+     * away if there is no transaction.
+     */
+    public void storeFinishedOnTransactionCompletion() {
+
+        if (transactionSynchronizationRegistry.getTransactionStatus() == STATUS_NO_TRANSACTION) {
+            storeFinished();
+            return;
+        }
+
+        try {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    storeFinished();
+                }
+            });
+        } catch (final IllegalStateException e) {
+            storeFinished();
+        }
+    }
+
+    /**
+     * Waits for the stores in progress to finish, for at most the timeout. Should be called after
+     * unsuspending, when no new stores can start.
+     *
+     * @param timeoutMillis the longest time to wait in milliseconds
+     * @return the number of stores in progress when the wait started and when it ended and how
+     * long the wait took
+     */
+    public DrainResult awaitPendingStores(final long timeoutMillis) {
+
+        final long startedAt = System.nanoTime();
+        final long deadline = startedAt + MILLISECONDS.toNanos(timeoutMillis);
+
+        waiters.incrementAndGet();
+        try {
+            final int pendingAtStart = pendingStores.get();
+
+            synchronized (drainLock) {
+                long remainingNanos = deadline - System.nanoTime();
+                while (pendingStores.get() > 0 && remainingNanos > 0) {
+                    try {
+                        NANOSECONDS.timedWait(drainLock, remainingNanos);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    remainingNanos = deadline - System.nanoTime();
+                }
+            }
+
+            return new DrainResult(
+                    pendingAtStart,
+                    pendingStores.get(),
+                    NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    public int getPendingStores() {
+        return pendingStores.get();
+    }
+}
@@ -0,0 +1,112 @@
+package uk.gov.justice.services.messaging.jms.statistics;
+
+import static java.lang.String.format;
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static java.util.Arrays.asList;
+import static org.slf4j.LoggerFactory.getLogger;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueStatistics.UNKNOWN;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueStatistics.fromBrokerManagement;
+
+import uk.gov.justice.services.common.util.UtcClock;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+
+/**
+ * Reads the statistics of a queue from the management MBeans that the ActiveMQ Artemis broker
+ * embedded in the application server registers with the platform MBean server. Both the Artemis 2
+ * address/queue naming and the older Artemis 1 JMS queue naming are looked up.
+ */
+public class BrokerQueueStatisticsReader {
+
+    private static final Logger LOGGER = getLogger(BrokerQueueStatisticsReader.class);
+
+    private static final String ARTEMIS_DOMAIN = "org.apache.activemq.artemis";
+    private static final String JMS_QUEUE_PREFIX = "jms.queue.";
+    private static final List<String> QUEUE_OBJECT_NAME_PATTERNS = asList(
+            "%s:subcomponent=queues,queue=%s,*",
+            "%s:module=JMS,serverType=Queue,name=%s,*");
+
+    private static final String MESSAGE_COUNT = "MessageCount";
+    private static final String CONSUMER_COUNT = "ConsumerCount";
+    private static final String MESSAGES_ADDED = "MessagesAdded";
+    private static final String MESSAGES_ACKNOWLEDGED = "MessagesAcknowledged";
+    private static final String[] ATTRIBUTE_NAMES = {MESSAGE_COUNT, CONSUMER_COUNT, MESSAGES_ADDED, MESSAGES_ACKNOWLEDGED};
+
+    @Inject
+    private UtcClock clock;
+
+    private MBeanServer mBeanServer = getPlatformMBeanServer();
+
+    /**
+     * @param queueName the name of the JMS queue
+     * @return the statistics of the queue, or empty if the broker has no management MBean for it
+     */
+    public Optional<QueueStatistics> read(final String queueName) {
+
+        for (final String brokerQueueName : asList(queueName, JMS_QUEUE_PREFIX + queueName)) {
+            for (final String objectNamePattern : QUEUE_OBJECT_NAME_PATTERNS) {
+                try {
+                    final Set<ObjectName> objectNames = mBeanServer.queryNames(
+                            new ObjectName(format(objectNamePattern, ARTEMIS_DOMAIN, ObjectName.quote(brokerQueueName))),
+                            null);
+
+                    if (!objectNames.isEmpty()) {
+                        return readStatistics(queueName, objectNames.iterator().next());
+                    }
+                } catch (final JMException e) {
+                    LOGGER.debug(format("Failed to read statistics of queue '%s' from the broker", queueName), e);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<QueueStatistics> readStatistics(final String queueName, final ObjectName objectName) throws JMException {
+
+        final AttributeList attributeList = mBeanServer.getAttributes(objectName, ATTRIBUTE_NAMES);
+        final Map<String, Object> attributes = new HashMap<>();
+
+        for (final Attribute attribute : attributeList.asList()) {
+            attributes.put(attribute.getName(), attribute.getValue());
+        }
+
+        final long messageCount = longValueOf(attributes, MESSAGE_COUNT);
+
+        if (messageCount == UNKNOWN) {
+            return Optional.empty();
+        }
+
+        return Optional.of(fromBrokerManagement(
+                queueName,
+                messageCount,
+                longValueOf(attributes, CONSUMER_COUNT),
+                longValueOf(attributes, MESSAGES_ADDED),
+                longValueOf(attributes, MESSAGES_ACKNOWLEDGED),
+                clock.now()));
+    }
+
+    private long longValueOf(final Map<String, Object> attributes, final String attributeName) {
+
+        final Object value = attributes.get(attributeName);
+
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+
+        return UNKNOWN;
+    }
+}
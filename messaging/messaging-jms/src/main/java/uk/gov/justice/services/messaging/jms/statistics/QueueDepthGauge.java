@@ -0,0 +1,106 @@
+package uk.gov.justice.services.messaging.jms.statistics;
+
+import static java.lang.Long.getLong;
+import static java.lang.String.format;
+import static java.util.Arrays.stream;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+
+/**
+ * Samples the depth of the queues named in the 'framework.jms.queue.depth.queues' system property
+ * (comma separated) every 'framework.jms.queue.depth.sample.interval.seconds' (default 30) and
+ * exposes the last sample over JMX, under the name of the service context. Nothing is sampled or
+ * registered if no queues are named.
+ */
+@ApplicationScoped
+public class QueueDepthGauge implements QueueDepthGaugeMBean {
+
+    public static final String QUEUES_PROPERTY = "framework.jms.queue.depth.queues";
+    public static final String SAMPLE_INTERVAL_PROPERTY = "framework.jms.queue.depth.sample.interval.seconds";
+
+    private static final Logger LOGGER = getLogger(QueueDepthGauge.class);
+
+    private static final long DEFAULT_SAMPLE_INTERVAL_SECONDS = 30L;
+    private static final String DOMAIN_NAME = "uk.gov.justice.services.framework.jms";
+    private static final String MBEAN_NAME = "queue-depth-gauge";
+
+    @Resource
+    private ManagedScheduledExecutorService managedScheduledExecutorService;
+
+    @Inject
+    private QueueStatisticsService queueStatisticsService;
+
+    @Inject
+    private ContextMBeanRegistrar contextMBeanRegistrar;
+
+    private final Map<String, Long> queueDepths = new ConcurrentHashMap<>();
+
+    private List<String> queueNames;
+    private ScheduledFuture<?> sampling;
+    private Optional<ObjectName> registeredObjectName = Optional.empty();
+
+    public void startSampling(@Observes @Initialized(ApplicationScoped.class) final Object applicationInitialized) {
+
+        queueNames = stream(System.getProperty(QUEUES_PROPERTY, "").split(","))
+                .map(String::trim)
+                .filter(queueName -> !queueName.isEmpty())
+                .collect(toList());
+
+        if (queueNames.isEmpty()) {
+            return;
+        }
+
+        registeredObjectName = contextMBeanRegistrar.register(this, DOMAIN_NAME, MBEAN_NAME);
+
+        final long sampleIntervalSeconds = getLong(SAMPLE_INTERVAL_PROPERTY, DEFAULT_SAMPLE_INTERVAL_SECONDS);
+        sampling = managedScheduledExecutorService.scheduleWithFixedDelay(this::sample, 0L, sampleIntervalSeconds, SECONDS);
+    }
+
+    public void sample() {
+        queueNames.forEach(queueName -> {
+            try {
+                queueDepths.put(queueName, queueStatisticsService.getStatistics(queueName).getMessageCount());
+            } catch (final RuntimeException e) {
+                LOGGER.warn(format("Failed to sample the depth of queue '%s'", queueName), e);
+            }
+        });
+    }
+
+    @Override
+    public Map<String, Long> getQueueDepths() {
+        return new TreeMap<>(queueDepths);
+    }
+
+    @PreDestroy
+    public void stopSampling() {
+
+        if (sampling != null) {
+            sampling.cancel(false);
+            sampling = null;
+        }
+
+        registeredObjectName.ifPresent(contextMBeanRegistrar::unregister);
+        registeredObjectName = Optional.empty();
+    }
+}
@@ -0,0 +1,14 @@
+package uk.gov.justice.services.messaging.jms.statistics;
+
+import java.util.Map;
+
+import javax.management.MXBean;
+
+@MXBean
+public interface QueueDepthGaugeMBean {
+
+    /**
+     * @return the number of messages on each sampled queue at the last sample, by queue name
+     */
+    Map<String, Long> getQueueDepths();
+}
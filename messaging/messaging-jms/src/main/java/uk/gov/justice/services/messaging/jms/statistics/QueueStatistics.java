@@ -0,0 +1,161 @@
+package uk.gov.justice.services.messaging.jms.statistics;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * A sample of the statistics of a JMS queue. Counts the broker did not report are
+ * {@link #UNKNOWN}; rates are only known from the second sample of a queue onwards.
+ */
+public class QueueStatistics {
+
+    public static final long UNKNOWN = -1L;
+
+    private final String queueName;
+    private final long messageCount;
+    private final long consumerCount;
+    private final long messagesAdded;
+    private final long messagesAcknowledged;
+    private final double enqueueRatePerSecond;
+    private final double dequeueRatePerSecond;
+    private final QueueStatisticsSource source;
+    private final ZonedDateTime sampledAt;
+
+    public QueueStatistics(
+            final String queueName,
+            final long messageCount,
+            final long consumerCount,
+            final long messagesAdded,
+            final long messagesAcknowledged,
+            final double enqueueRatePerSecond,
+            final double dequeueRatePerSecond,
+            final QueueStatisticsSource source,
+            final ZonedDateTime sampledAt) {
+        this.queueName = queueName;
+        this.messageCount = messageCount;
+        this.consumerCount = consumerCount;
+        this.messagesAdded = messagesAdded;
+        this.messagesAcknowledged = messagesAcknowledged;
+        this.enqueueRatePerSecond = enqueueRatePerSecond;
+        this.dequeueRatePerSecond = dequeueRatePerSecond;
+        this.source = source;
+        this.sampledAt = sampledAt;
+    }
+
+    public static QueueStatistics fromBrokerManagement(
+            final String queueName,
+            final long messageCount,
+            final long consumerCount,
+            final long messagesAdded,
+            final long messagesAcknowledged,
+            final ZonedDateTime sampledAt) {
+        return new QueueStatistics(
+                queueName,
+                messageCount,
+                consumerCount,
+                messagesAdded,
+                messagesAcknowledged,
+                UNKNOWN,
+                UNKNOWN,
+                QueueStatisticsSource.BROKER_MANAGEMENT,
+                sampledAt);
+    }
+
+    public static QueueStatistics fromQueueBrowser(final String queueName, final long messageCount, final ZonedDateTime sampledAt) {
+        return new QueueStatistics(
+                queueName,
+                messageCount,
+                UNKNOWN,
+                UNKNOWN,
+                UNKNOWN,
+                UNKNOWN,
+                UNKNOWN,
+                QueueStatisticsSource.QUEUE_BROWSER,
+                sampledAt);
+    }
+
+    public QueueStatistics withRates(final double enqueueRatePerSecond, final double dequeueRatePerSecond) {
+        return new QueueStatistics(
+                queueName,
+                messageCount,
+                consumerCount,
+                messagesAdded,
+                messagesAcknowledged,
+                enqueueRatePerSecond,
+                dequeueRatePerSecond,
+                source,
+                sampledAt);
+    }
+
+    public String getQueueName() {
+        return queueName;
+    }
+
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    public long getConsumerCount() {
+        return consumerCount;
+    }
+
+    public long getMessagesAdded() {
+        return messagesAdded;
+    }
+
+    public long getMessagesAcknowledged() {
+        return messagesAcknowledged;
+    }
+
+    public double getEnqueueRatePerSecond() {
+        return enqueueRatePerSecond;
+    }
+
+    public double getDequeueRatePerSecond() {
+        return dequeueRatePerSecond;
+    }
+
+    public QueueStatisticsSource getSource() {
+        return source;
+    }
+
+    public ZonedDateTime getSampledAt() {
+        return sampledAt;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof QueueStatistics)) return false;
+        final QueueStatistics that = (QueueStatistics) o;
+        return messageCount == that.messageCount &&
+                consumerCount == that.consumerCount &&
+                messagesAdded == that.messagesAdded &&
+                messagesAcknowledged == that.messagesAcknowledged &&
+                Double.compare(that.enqueueRatePerSecond, enqueueRatePerSecond) == 0 &&
+                Double.compare(that.dequeueRatePerSecond, dequeueRatePerSecond) == 0 &&
+                Objects.equals(queueName, that.queueName) &&
+                source == that.source &&
+                Objects.equals(sampledAt, that.sampledAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(queueName, messageCount, consumerCount, messagesAdded, messagesAcknowledged, enqueueRatePerSecond, dequeueRatePerSecond, source, sampledAt);
+    }
+
+    @Override
+    public String toString() {
+        return "QueueStatistics{" +
+                "queueName='" + queueName + '\'' +
+                ", messageCount=" + messageCount +
+                ", consumerCount=" + consumerCount +
+                ", messagesAdded=" + messagesAdded +
+                ", messagesAcknowledged=" + messagesAcknowledged +
+                ", enqueueRatePerSecond=" + enqueueRatePerSecond +
+                ", dequeueRatePerSecond=" + dequeueRatePerSecond +
+                ", source=" + source +
+                ", sampledAt=" + sampledAt +
+                '}';
+    }
+}
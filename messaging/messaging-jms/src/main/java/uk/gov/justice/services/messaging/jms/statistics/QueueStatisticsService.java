@@ -0,0 +1,105 @@
+package uk.gov.justice.services.messaging.jms.statistics;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.String.format;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueStatistics.UNKNOWN;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueStatistics.fromQueueBrowser;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.messaging.jms.DestinationProvider;
+import uk.gov.justice.services.messaging.jms.JmsQueueBrowser;
+import uk.gov.justice.services.messaging.jms.JmsQueueBrowserException;
+import uk.gov.justice.services.messaging.jms.JmsQueueBrowserUnsupportedOperation;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Queue;
+
+/**
+ * Gets the statistics of a JMS queue from the broker's management API, falling back to counting
+ * the messages with a {@link JmsQueueBrowser} for brokers that have none. Enqueue and dequeue rates
+ * are calculated from the previous sample of the same queue.
+ *
+ * WildFly does not register the management MBeans of its embedded broker unless
+ * 'jmx-management-enabled' is set on the messaging subsystem, so browsing is the usual path. As
+ * every message browsed is read from the broker, at most 'framework.jms.queue.browse.max.messages'
+ * (default 10000) messages are browsed, and a deeper queue is reported as having that many.
+ */
+@ApplicationScoped
+public class QueueStatisticsService {
+
+    public static final String BROWSE_LIMIT_PROPERTY = "framework.jms.queue.browse.max.messages";
+
+    private static final int DEFAULT_BROWSE_LIMIT = 10_000;
+
+    @Inject
+    private DestinationProvider destinationProvider;
+
+    @Inject
+    private BrokerQueueStatisticsReader brokerQueueStatisticsReader;
+
+    @Inject
+    private JmsQueueBrowser jmsQueueBrowser;
+
+    @Inject
+    private UtcClock clock;
+
+    private final Map<String, QueueStatistics> previousSamples = new ConcurrentHashMap<>();
+
+    public QueueStatistics getStatistics(final String queueName) {
+
+        final QueueStatistics queueStatistics = brokerQueueStatisticsReader.read(jmsQueueNameOf(queueName))
+                .orElseGet(() -> fromQueueBrowser(queueName, jmsQueueBrowser.sizeOf(queueName, getInteger(BROWSE_LIMIT_PROPERTY, DEFAULT_BROWSE_LIMIT)), clock.now()));
+
+        final QueueStatistics previousSample = previousSamples.put(queueName, queueStatistics);
+
+        if (previousSample == null) {
+            return queueStatistics;
+        }
+
+        return withRates(previousSample, queueStatistics);
+    }
+
+    private QueueStatistics withRates(final QueueStatistics previousSample, final QueueStatistics queueStatistics) {
+
+        final double elapsedSeconds = Duration.between(previousSample.getSampledAt(), queueStatistics.getSampledAt()).toMillis() / 1000.0;
+
+        if (elapsedSeconds <= 0 || previousSample.getSource() != queueStatistics.getSource()) {
+            return queueStatistics;
+        }
+
+        return queueStatistics.withRates(
+                rate(previousSample.getMessagesAdded(), queueStatistics.getMessagesAdded(), elapsedSeconds),
+                rate(previousSample.getMessagesAcknowledged(), queueStatistics.getMessagesAcknowledged(), elapsedSeconds));
+    }
+
+    private double rate(final long previousCount, final long count, final double elapsedSeconds) {
+
+        if (previousCount == UNKNOWN || count == UNKNOWN || count < previousCount) {
+            return UNKNOWN;
+        }
+
+        return (count - previousCount) / elapsedSeconds;
+    }
+
+    private String jmsQueueNameOf(final String queueName) {
+
+        final Destination destination = destinationProvider.getDestination(queueName);
+
+        if (destination instanceof Queue) {
+            try {
+                return ((Queue) destination).getQueueName();
+            } catch (final JMSException e) {
+                throw new JmsQueueBrowserException(format("Failed to get the name of queue: '%s', when requesting queue statistics.", queueName), e);
+            }
+        }
+
+        throw new JmsQueueBrowserUnsupportedOperation(format("The named destination must be a Queue: '%s', unable to get the statistics of a Topic.", queueName));
+    }
+}
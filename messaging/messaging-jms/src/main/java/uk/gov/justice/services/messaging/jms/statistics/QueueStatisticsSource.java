@@ -0,0 +1,10 @@
+package uk.gov.justice.services.messaging.jms.statistics;
+
+/**
+ * Where a set of {@link QueueStatistics} was read from
+ */
+public enum QueueStatisticsSource {
+
+    BROKER_MANAGEMENT,
+    QUEUE_BROWSER
+}
@@ -1,11 +1,17 @@
 package uk.gov.justice.services.messaging.jms;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.messaging.jms.HeaderConstants.JMS_HEADER_CPPNAME;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormat.GZIP_JSON;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormat.JMS_HEADER_MESSAGE_FORMAT;
 
 import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
 import uk.gov.justice.services.messaging.JsonEnvelope;
@@ -13,13 +19,16 @@ import uk.gov.justice.services.messaging.JsonObjectEnvelopeConverter;
 import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.messaging.jms.exception.JmsConverterException;
 
+import javax.jms.BytesMessage;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.Session;
 import javax.jms.TextMessage;
 import javax.json.JsonObject;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -100,4 +109,81 @@ public class DefaultEnvelopeConverterTest {
 
         envelopeConverter.toMessage(envelope, session);
     }
+
+    @Test
+    public void shouldConvertATextMessageWithTheMessageOverload() throws Exception {
+        final Message message = textMessage;
+
+        when(textMessage.getText()).thenReturn(MESSAGE_TEXT);
+        when(stringToJsonObjectConverter.convert(MESSAGE_TEXT)).thenReturn(messageAsJsonObject);
+        when(jsonObjectEnvelopeConverter.asEnvelope(messageAsJsonObject)).thenReturn(envelope);
+
+        assertThat(envelopeConverter.fromMessage(message), equalTo(envelope));
+    }
+
+    @Test
+    public void shouldSendEnvelopesSmallerThanTheCompressionThresholdAsJson() throws Exception {
+        envelopeConverter.compressionThresholdBytes = 1024;
+
+        when(jsonObjectEnvelopeConverter.asJsonString(envelope)).thenReturn(MESSAGE_TEXT);
+        when(session.createTextMessage(MESSAGE_TEXT)).thenReturn(textMessage);
+        when(envelope.metadata()).thenReturn(metadata);
+        when(metadata.name()).thenReturn(NAME);
+
+        final Message message = envelopeConverter.toMessage(envelope, session, GZIP_JSON);
+
+        assertThat(message, equalTo(textMessage));
+        verify(textMessage).setStringProperty(JMS_HEADER_CPPNAME, NAME);
+        verify(session, never()).createBytesMessage();
+    }
+
+    @Test
+    public void shouldCompressEnvelopesIntoABytesMessageAndDecompressThem() throws Exception {
+        envelopeConverter.compressionThresholdBytes = 0;
+
+        final String envelopeJson = "{\"_metadata\":{\"name\":\"" + NAME + "\"},\"payload\":\"" + repeat("large payload ", 1000) + "\"}";
+        final BytesMessage bytesMessage = mock(BytesMessage.class);
+        final ArgumentCaptor<byte[]> bytesCaptor = ArgumentCaptor.forClass(byte[].class);
+
+        when(jsonObjectEnvelopeConverter.asJsonString(envelope)).thenReturn(envelopeJson);
+        when(session.createBytesMessage()).thenReturn(bytesMessage);
+        when(envelope.metadata()).thenReturn(metadata);
+        when(metadata.name()).thenReturn(NAME);
+
+        assertThat(envelopeConverter.toMessage(envelope, session, GZIP_JSON), equalTo(bytesMessage));
+
+        verify(bytesMessage).writeBytes(bytesCaptor.capture());
+        verify(bytesMessage).setStringProperty(JMS_HEADER_CPPNAME, NAME);
+        verify(bytesMessage).setStringProperty(JMS_HEADER_MESSAGE_FORMAT, "GZIP_JSON");
+
+        final byte[] compressed = bytesCaptor.getValue();
+        assertThat(compressed.length < envelopeJson.length() / 10, is(true));
+
+        when(bytesMessage.getStringProperty(JMS_HEADER_MESSAGE_FORMAT)).thenReturn("GZIP_JSON");
+        when(bytesMessage.getBodyLength()).thenReturn((long) compressed.length);
+        when(bytesMessage.readBytes(any(byte[].class))).thenAnswer(invocationOnMock -> {
+            final byte[] target = (byte[]) invocationOnMock.getArguments()[0];
+            System.arraycopy(compressed, 0, target, 0, compressed.length);
+            return compressed.length;
+        });
+        when(stringToJsonObjectConverter.convert(envelopeJson)).thenReturn(messageAsJsonObject);
+        when(jsonObjectEnvelopeConverter.asEnvelope(messageAsJsonObject)).thenReturn(envelope);
+
+        assertThat(envelopeConverter.fromMessage((Message) bytesMessage), equalTo(envelope));
+
+        verify(bytesMessage).reset();
+    }
+
+    @Test(expected = JmsConverterException.class)
+    public void shouldThrowExceptionWhenConvertingAnUnsupportedMessage() throws Exception {
+        envelopeConverter.fromMessage(mock(BytesMessage.class));
+    }
+
+    private String repeat(final String value, final int times) {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            stringBuilder.append(value);
+        }
+        return stringBuilder.toString();
+    }
 }
@@ -2,9 +2,22 @@ package uk.gov.justice.services.messaging.jms;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -18,15 +31,20 @@ public class EnvelopeSenderSelectorTest {
     @Mock
     private ShutteringStoreSender shutteringStoreSender;
 
+    @Mock
+    private StoredCommandDrainCoordinator storedCommandDrainCoordinator;
+
     @InjectMocks
     private EnvelopeSenderSelector envelopeSenderSelector;
 
+    @SuppressWarnings("deprecation")
     @Test
     public void shouldGetTheJmsSenderByDefault() throws Exception {
 
         assertThat(envelopeSenderSelector.getEnvelopeSender(), is(jmsSender));
     }
 
+    @SuppressWarnings("deprecation")
     @Test
     public void shouldGetTheShutteringStoreSenderIfSuspendedIsSetToTrue() throws Exception {
 
@@ -38,4 +56,161 @@ public class EnvelopeSenderSelectorTest {
         envelopeSenderSelector.setSuspended(false);
         assertThat(envelopeSenderSelector.getEnvelopeSender(), is(jmsSender));
     }
+
+    @Test
+    public void shouldSendToJmsIfNotSuspended() throws Exception {
+
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+
+        envelopeSenderSelector.send(envelope, "destination");
+
+        final InOrder inOrder = inOrder(storedCommandDrainCoordinator, jmsSender);
+
+        inOrder.verify(storedCommandDrainCoordinator).storeStarted();
+        inOrder.verify(storedCommandDrainCoordinator).storeFinished();
+        inOrder.verify(jmsSender).send(envelope, "destination");
+        verifyZeroInteractions(shutteringStoreSender);
+        assertThat(envelopeSenderSelector.getInFlightSends(), is(0));
+    }
+
+    @Test
+    public void shouldStoreTheEnvelopeIfSuspended() throws Exception {
+
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+
+        envelopeSenderSelector.setSuspended(true);
+        envelopeSenderSelector.send(envelope, "destination");
+
+        final InOrder inOrder = inOrder(storedCommandDrainCoordinator, shutteringStoreSender);
+
+        inOrder.verify(storedCommandDrainCoordinator).storeStarted();
+        inOrder.verify(shutteringStoreSender).send(envelope, "destination");
+        inOrder.verify(storedCommandDrainCoordinator).storeFinishedOnTransactionCompletion();
+        verify(storedCommandDrainCoordinator, never()).storeFinished();
+        verifyZeroInteractions(jmsSender);
+        assertThat(envelopeSenderSelector.getInFlightSends(), is(0));
+    }
+
+    @Test
+    public void shouldFinishTheStoreIfStoringTheEnvelopeFails() throws Exception {
+
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+
+        doThrow(new RuntimeException("Ooops")).when(shutteringStoreSender).send(envelope, "destination");
+
+        envelopeSenderSelector.setSuspended(true);
+
+        try {
+            envelopeSenderSelector.send(envelope, "destination");
+            fail();
+        } catch (final RuntimeException expected) {
+            assertThat(expected.getMessage(), is("Ooops"));
+        }
+
+        verify(storedCommandDrainCoordinator).storeStarted();
+        verify(storedCommandDrainCoordinator).storeFinished();
+        verify(storedCommandDrainCoordinator, never()).storeFinishedOnTransactionCompletion();
+    }
+
+    @Test
+    public void shouldNotCountASendThatFailsAsInFlight() throws Exception {
+
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+
+        doThrow(new RuntimeException("Ooops")).when(jmsSender).send(envelope, "destination");
+
+        try {
+            envelopeSenderSelector.send(envelope, "destination");
+            fail();
+        } catch (final RuntimeException expected) {
+            assertThat(expected.getMessage(), is("Ooops"));
+        }
+
+        assertThat(envelopeSenderSelector.getInFlightSends(), is(0));
+    }
+
+    @Test
+    public void shouldReturnImmediatelyIfNoSendsAreInFlight() throws Exception {
+
+        envelopeSenderSelector.setSuspended(true);
+
+        final DrainResult drainResult = envelopeSenderSelector.awaitInFlightSends(10_000L);
+
+        assertThat(drainResult.isDrained(), is(true));
+        assertThat(drainResult.getInFlightAtStart(), is(0));
+        assertThat(drainResult.getInFlightRemaining(), is(0));
+    }
+
+    @Test
+    public void shouldWaitForInFlightSendsToFinishAfterSuspending() throws Exception {
+
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+        final CountDownLatch sendStarted = new CountDownLatch(1);
+        final CountDownLatch finishSend = new CountDownLatch(1);
+
+        doAnswer(invocationOnMock -> {
+            sendStarted.countDown();
+            finishSend.await();
+            return null;
+        }).when(jmsSender).send(envelope, "destination");
+
+        final Thread sendingThread = new Thread(() -> envelopeSenderSelector.send(envelope, "destination"));
+        sendingThread.start();
+        sendStarted.await();
+
+        envelopeSenderSelector.setSuspended(true);
+
+        final Thread finishingThread = new Thread(() -> {
+            sleepQuietly(50L);
+            finishSend.countDown();
+        });
+        finishingThread.start();
+
+        final DrainResult drainResult = envelopeSenderSelector.awaitInFlightSends(10_000L);
+
+        sendingThread.join();
+        finishingThread.join();
+
+        assertThat(drainResult.isDrained(), is(true));
+        assertThat(drainResult.getInFlightAtStart(), is(1));
+        assertThat(drainResult.getInFlightRemaining(), is(0));
+    }
+
+    @Test
+    public void shouldStopWaitingForInFlightSendsAfterTheTimeout() throws Exception {
+
+        final JsonEnvelope envelope = mock(JsonEnvelope.class);
+        final CountDownLatch sendStarted = new CountDownLatch(1);
+        final CountDownLatch finishSend = new CountDownLatch(1);
+
+        doAnswer(invocationOnMock -> {
+            sendStarted.countDown();
+            finishSend.await();
+            return null;
+        }).when(jmsSender).send(envelope, "destination");
+
+        final Thread sendingThread = new Thread(() -> envelopeSenderSelector.send(envelope, "destination"));
+        sendingThread.start();
+        sendStarted.await();
+
+        envelopeSenderSelector.setSuspended(true);
+
+        final DrainResult drainResult = envelopeSenderSelector.awaitInFlightSends(50L);
+
+        finishSend.countDown();
+        sendingThread.join();
+
+        assertThat(drainResult.isDrained(), is(false));
+        assertThat(drainResult.getInFlightAtStart(), is(1));
+        assertThat(drainResult.getInFlightRemaining(), is(1));
+        assertThat(drainResult.getDrainTimeMillis() >= 50L, is(true));
+    }
+
+    private void sleepQuietly(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package uk.gov.justice.services.messaging.jms;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormat.GZIP_JSON;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormat.JSON;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormatProvider.MESSAGE_FORMAT_PROPERTY_PREFIX;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JmsMessageFormatProviderTest {
+
+    @InjectMocks
+    private JmsMessageFormatProvider jmsMessageFormatProvider;
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(MESSAGE_FORMAT_PROPERTY_PREFIX + "public.event");
+    }
+
+    @Test
+    public void shouldUseJsonByDefault() throws Exception {
+        assertThat(jmsMessageFormatProvider.formatFor("public.event"), is(JSON));
+    }
+
+    @Test
+    public void shouldUseTheFormatConfiguredForTheDestination() throws Exception {
+        System.setProperty(MESSAGE_FORMAT_PROPERTY_PREFIX + "public.event", "gzip_json");
+
+        assertThat(jmsMessageFormatProvider.formatFor("public.event"), is(GZIP_JSON));
+    }
+
+    @Test
+    public void shouldUseJsonIfTheConfiguredFormatIsUnknown() throws Exception {
+        System.setProperty(MESSAGE_FORMAT_PROPERTY_PREFIX + "public.event", "smile");
+
+        assertThat(jmsMessageFormatProvider.formatFor("public.event"), is(JSON));
+    }
+}
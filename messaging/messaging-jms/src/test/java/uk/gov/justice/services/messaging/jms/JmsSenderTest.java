@@ -7,11 +7,14 @@ import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormat.GZIP_JSON;
+import static uk.gov.justice.services.messaging.jms.JmsMessageFormat.JSON;
 
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
 import uk.gov.justice.services.messaging.jms.exception.JmsEnvelopeSenderException;
 
+import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
@@ -36,7 +39,10 @@ public class JmsSenderTest {
     private DestinationProvider destinationProvider;
 
     @Mock
-    private EnvelopeConverter envelopeConverter;
+    private JmsMessageConverter jmsMessageConverter;
+
+    @Mock
+    private JmsMessageFormatProvider jmsMessageFormatProvider;
 
     @InjectMocks
     private JmsSender jmsSender;
@@ -57,13 +63,38 @@ public class JmsSenderTest {
         when(connectionFactory.createConnection()).thenReturn(connection);
         when(connection.createSession(false, AUTO_ACKNOWLEDGE)).thenReturn(session);
         when(session.createProducer(destination)).thenReturn(messageProducer);
-        when(envelopeConverter.toMessage(jsonEnvelope, session)).thenReturn(textMessage);
+        when(jmsMessageFormatProvider.formatFor(destinationName)).thenReturn(JSON);
+        when(jmsMessageConverter.toMessage(jsonEnvelope, session, JSON)).thenReturn(textMessage);
 
         jmsSender.send(jsonEnvelope, destinationName);
 
         verify(messageProducer).send(textMessage);
     }
 
+    @Test
+    public void shouldSendJsonEnvelopeInTheFormatConfiguredForTheDestination() throws Exception {
+
+        final String destinationName = "destination name";
+
+        final Connection connection = mock(Connection.class);
+        final Session session = mock(Session.class);
+        final MessageProducer messageProducer = mock(MessageProducer.class);
+        final Destination destination = mock(Destination.class);
+        final JsonEnvelope jsonEnvelope = mock(JsonEnvelope.class);
+        final BytesMessage bytesMessage = mock(BytesMessage.class);
+
+        when(destinationProvider.getDestination(destinationName)).thenReturn(destination);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(false, AUTO_ACKNOWLEDGE)).thenReturn(session);
+        when(session.createProducer(destination)).thenReturn(messageProducer);
+        when(jmsMessageFormatProvider.formatFor(destinationName)).thenReturn(GZIP_JSON);
+        when(jmsMessageConverter.toMessage(jsonEnvelope, session, GZIP_JSON)).thenReturn(bytesMessage);
+
+        jmsSender.send(jsonEnvelope, destinationName);
+
+        verify(messageProducer).send(bytesMessage);
+    }
+
     @Test
     public void shouldThrowExceptionIfJmsExceptionIsThrown() throws Exception {
 
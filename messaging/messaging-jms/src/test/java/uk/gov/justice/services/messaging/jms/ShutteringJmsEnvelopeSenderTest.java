@@ -2,7 +2,6 @@ package uk.gov.justice.services.messaging.jms;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
@@ -27,12 +26,9 @@ public class ShutteringJmsEnvelopeSenderTest {
         final String destinationName = "destination name";
 
         final JsonEnvelope jsonEnvelope = mock(JsonEnvelope.class);
-        final EnvelopeSender envelopeSender = mock(EnvelopeSender.class);
-
-        when(envelopeSenderSelector.getEnvelopeSender()).thenReturn(envelopeSender);
 
         shutteringJmsEnvelopeSender.send(jsonEnvelope, destinationName);
 
-        verify(envelopeSender).send(jsonEnvelope, destinationName);
+        verify(envelopeSenderSelector).send(jsonEnvelope, destinationName);
     }
 }
\ No newline at end of file
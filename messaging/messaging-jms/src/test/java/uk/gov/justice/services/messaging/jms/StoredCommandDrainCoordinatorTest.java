@@ -0,0 +1,122 @@
+package uk.gov.justice.services.messaging.jms;
+
+import static javax.transaction.Status.STATUS_ACTIVE;
+import static javax.transaction.Status.STATUS_COMMITTED;
+import static javax.transaction.Status.STATUS_NO_TRANSACTION;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StoredCommandDrainCoordinatorTest {
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @InjectMocks
+    private StoredCommandDrainCoordinator storedCommandDrainCoordinator;
+
+    @Test
+    public void shouldCountTheStoresInProgress() throws Exception {
+
+        storedCommandDrainCoordinator.storeStarted();
+        storedCommandDrainCoordinator.storeStarted();
+
+        assertThat(storedCommandDrainCoordinator.getPendingStores(), is(2));
+
+        storedCommandDrainCoordinator.storeFinished();
+
+        assertThat(storedCommandDrainCoordinator.getPendingStores(), is(1));
+    }
+
+    @Test
+    public void shouldFinishTheStoreStraightAwayIfThereIsNoTransaction() throws Exception {
+
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(STATUS_NO_TRANSACTION);
+
+        storedCommandDrainCoordinator.storeStarted();
+        storedCommandDrainCoordinator.storeFinishedOnTransactionCompletion();
+
+        assertThat(storedCommandDrainCoordinator.getPendingStores(), is(0));
+        verify(transactionSynchronizationRegistry, never()).registerInterposedSynchronization(any(Synchronization.class));
+    }
+
+    @Test
+    public void shouldFinishTheStoreWhenTheTransactionCompletes() throws Exception {
+
+        final ArgumentCaptor<Synchronization> synchronizationCaptor = ArgumentCaptor.forClass(Synchronization.class);
+
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(STATUS_ACTIVE);
+
+        storedCommandDrainCoordinator.storeStarted();
+        storedCommandDrainCoordinator.storeFinishedOnTransactionCompletion();
+
+        assertThat(storedCommandDrainCoordinator.getPendingStores(), is(1));
+
+        verify(transactionSynchronizationRegistry).registerInterposedSynchronization(synchronizationCaptor.capture());
+        synchronizationCaptor.getValue().afterCompletion(STATUS_COMMITTED);
+
+        assertThat(storedCommandDrainCoordinator.getPendingStores(), is(0));
+    }
+
+    @Test
+    public void shouldFinishTheStoreStraightAwayIfTheTransactionCannotBeSynchronizedWith() throws Exception {
+
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(STATUS_ACTIVE);
+        doThrow(new IllegalStateException("Ooops")).when(transactionSynchronizationRegistry).registerInterposedSynchronization(any(Synchronization.class));
+
+        storedCommandDrainCoordinator.storeStarted();
+        storedCommandDrainCoordinator.storeFinishedOnTransactionCompletion();
+
+        assertThat(storedCommandDrainCoordinator.getPendingStores(), is(0));
+    }
+
+    @Test
+    public void shouldWaitForTheStoresInProgressToFinish() throws Exception {
+
+        storedCommandDrainCoordinator.storeStarted();
+
+        final Thread finishingThread = new Thread(() -> {
+            try {
+                Thread.sleep(50L);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            storedCommandDrainCoordinator.storeFinished();
+        });
+        finishingThread.start();
+
+        final DrainResult drainResult = storedCommandDrainCoordinator.awaitPendingStores(10_000L);
+
+        finishingThread.join();
+
+        assertThat(drainResult.isDrained(), is(true));
+        assertThat(drainResult.getInFlightAtStart(), is(1));
+    }
+
+    @Test
+    public void shouldStopWaitingForTheStoresInProgressAfterTheTimeout() throws Exception {
+
+        storedCommandDrainCoordinator.storeStarted();
+
+        final DrainResult drainResult = storedCommandDrainCoordinator.awaitPendingStores(20L);
+
+        assertThat(drainResult.isDrained(), is(false));
+        assertThat(drainResult.getInFlightAtStart(), is(1));
+        assertThat(drainResult.getInFlightRemaining(), is(1));
+    }
+}
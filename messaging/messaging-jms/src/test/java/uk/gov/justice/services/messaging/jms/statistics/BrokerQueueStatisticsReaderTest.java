@@ -0,0 +1,99 @@
+package uk.gov.justice.services.messaging.jms.statistics;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueStatistics.UNKNOWN;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueStatisticsSource.BROKER_MANAGEMENT;
+
+import uk.gov.justice.services.common.util.UtcClock;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.QueryExp;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BrokerQueueStatisticsReaderTest {
+
+    @Mock
+    private UtcClock clock;
+
+    @Mock
+    private MBeanServer mBeanServer;
+
+    @InjectMocks
+    private BrokerQueueStatisticsReader brokerQueueStatisticsReader;
+
+    @Test
+    public void shouldReadTheQueueStatisticsFromTheArtemisQueueMBean() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final ObjectName queueObjectName = new ObjectName("org.apache.activemq.artemis:broker=\"default\",component=addresses,address=\"jms.queue.my-queue\",subcomponent=queues,routing-type=\"anycast\",queue=\"jms.queue.my-queue\"");
+
+        final AttributeList attributes = new AttributeList();
+        attributes.add(new Attribute("MessageCount", 23L));
+        attributes.add(new Attribute("ConsumerCount", 4));
+        attributes.add(new Attribute("MessagesAdded", 1000L));
+        attributes.add(new Attribute("MessagesAcknowledged", 977L));
+
+        when(clock.now()).thenReturn(now);
+        when(mBeanServer.queryNames(any(ObjectName.class), any(QueryExp.class))).thenReturn(emptySet());
+        when(mBeanServer.queryNames(eq(new ObjectName("org.apache.activemq.artemis:subcomponent=queues,queue=\"jms.queue.my-queue\",*")), any(QueryExp.class)))
+                .thenReturn(singleton(queueObjectName));
+        when(mBeanServer.getAttributes(eq(queueObjectName), any(String[].class))).thenReturn(attributes);
+
+        final Optional<QueueStatistics> queueStatistics = brokerQueueStatisticsReader.read("my-queue");
+
+        assertThat(queueStatistics.isPresent(), is(true));
+        assertThat(queueStatistics.get().getQueueName(), is("my-queue"));
+        assertThat(queueStatistics.get().getMessageCount(), is(23L));
+        assertThat(queueStatistics.get().getConsumerCount(), is(4L));
+        assertThat(queueStatistics.get().getMessagesAdded(), is(1000L));
+        assertThat(queueStatistics.get().getMessagesAcknowledged(), is(977L));
+        assertThat(queueStatistics.get().getSource(), is(BROKER_MANAGEMENT));
+        assertThat(queueStatistics.get().getSampledAt(), is(now));
+    }
+
+    @Test
+    public void shouldReportAttributesTheBrokerDoesNotHaveAsUnknown() throws Exception {
+
+        final ObjectName queueObjectName = new ObjectName("org.apache.activemq.artemis:type=Broker,brokerName=\"default\",module=JMS,serverType=Queue,name=\"my-queue\"");
+
+        final AttributeList attributes = new AttributeList();
+        attributes.add(new Attribute("MessageCount", 23L));
+
+        when(mBeanServer.queryNames(any(ObjectName.class), any(QueryExp.class))).thenReturn(emptySet());
+        when(mBeanServer.queryNames(eq(new ObjectName("org.apache.activemq.artemis:module=JMS,serverType=Queue,name=\"my-queue\",*")), any(QueryExp.class)))
+                .thenReturn(singleton(queueObjectName));
+        when(mBeanServer.getAttributes(eq(queueObjectName), any(String[].class))).thenReturn(attributes);
+
+        final Optional<QueueStatistics> queueStatistics = brokerQueueStatisticsReader.read("my-queue");
+
+        assertThat(queueStatistics.get().getMessageCount(), is(23L));
+        assertThat(queueStatistics.get().getConsumerCount(), is(UNKNOWN));
+        assertThat(queueStatistics.get().getMessagesAdded(), is(UNKNOWN));
+    }
+
+    @Test
+    public void shouldReturnEmptyIfTheBrokerHasNoManagementMBeanForTheQueue() throws Exception {
+
+        when(mBeanServer.queryNames(any(ObjectName.class), any(QueryExp.class))).thenReturn(emptySet());
+
+        assertThat(brokerQueueStatisticsReader.read("my-queue").isPresent(), is(false));
+    }
+}
@@ -0,0 +1,120 @@
+package uk.gov.justice.services.messaging.jms.statistics;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueDepthGauge.QUEUES_PROPERTY;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueDepthGauge.SAMPLE_INTERVAL_PROPERTY;
+
+import uk.gov.justice.services.common.jmx.ContextMBeanRegistrar;
+
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QueueDepthGaugeTest {
+
+    @Mock
+    private ManagedScheduledExecutorService managedScheduledExecutorService;
+
+    @Mock
+    private QueueStatisticsService queueStatisticsService;
+
+    @Mock
+    private ContextMBeanRegistrar contextMBeanRegistrar;
+
+    @InjectMocks
+    private QueueDepthGauge queueDepthGauge;
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(QUEUES_PROPERTY);
+        System.clearProperty(SAMPLE_INTERVAL_PROPERTY);
+    }
+
+    @Test
+    public void shouldNotSampleOrRegisterIfNoQueuesAreConfigured() throws Exception {
+
+        queueDepthGauge.startSampling(new Object());
+
+        verifyZeroInteractions(managedScheduledExecutorService, contextMBeanRegistrar);
+    }
+
+    @Test
+    public void shouldRegisterTheGaugeAndScheduleSamplingOfTheConfiguredQueues() throws Exception {
+
+        System.setProperty(QUEUES_PROPERTY, "queue-1, queue-2");
+        System.setProperty(SAMPLE_INTERVAL_PROPERTY, "10");
+
+        final ObjectName objectName = new ObjectName("uk.gov.justice.services.framework.jms:type=people-command-api-queue-depth-gauge");
+        final ScheduledFuture<?> scheduledFuture = mock(ScheduledFuture.class);
+
+        when(contextMBeanRegistrar.register(queueDepthGauge, "uk.gov.justice.services.framework.jms", "queue-depth-gauge")).thenReturn(Optional.of(objectName));
+        doReturn(scheduledFuture).when(managedScheduledExecutorService).scheduleWithFixedDelay(any(Runnable.class), eq(0L), eq(10L), eq(SECONDS));
+
+        queueDepthGauge.startSampling(new Object());
+
+        verify(contextMBeanRegistrar).register(queueDepthGauge, "uk.gov.justice.services.framework.jms", "queue-depth-gauge");
+        verify(managedScheduledExecutorService).scheduleWithFixedDelay(any(Runnable.class), eq(0L), eq(10L), eq(SECONDS));
+
+        queueDepthGauge.stopSampling();
+
+        verify(scheduledFuture).cancel(false);
+        verify(contextMBeanRegistrar).unregister(objectName);
+    }
+
+    @Test
+    public void shouldSampleTheDepthOfEachConfiguredQueue() throws Exception {
+
+        System.setProperty(QUEUES_PROPERTY, "queue-1,queue-2");
+
+        final QueueStatistics queue1Statistics = mock(QueueStatistics.class);
+        final QueueStatistics queue2Statistics = mock(QueueStatistics.class);
+
+        when(queueStatisticsService.getStatistics("queue-1")).thenReturn(queue1Statistics);
+        when(queueStatisticsService.getStatistics("queue-2")).thenReturn(queue2Statistics);
+        when(queue1Statistics.getMessageCount()).thenReturn(3L);
+        when(queue2Statistics.getMessageCount()).thenReturn(7L);
+
+        queueDepthGauge.startSampling(new Object());
+        queueDepthGauge.sample();
+
+        assertThat(queueDepthGauge.getQueueDepths().get("queue-1"), is(3L));
+        assertThat(queueDepthGauge.getQueueDepths().get("queue-2"), is(7L));
+    }
+
+    @Test
+    public void shouldKeepSamplingOtherQueuesIfOneFails() throws Exception {
+
+        System.setProperty(QUEUES_PROPERTY, "queue-1,queue-2");
+
+        final QueueStatistics queue2Statistics = mock(QueueStatistics.class);
+
+        when(queueStatisticsService.getStatistics("queue-1")).thenThrow(new RuntimeException("Ooops"));
+        when(queueStatisticsService.getStatistics("queue-2")).thenReturn(queue2Statistics);
+        when(queue2Statistics.getMessageCount()).thenReturn(7L);
+
+        queueDepthGauge.startSampling(new Object());
+        queueDepthGauge.sample();
+
+        assertThat(queueDepthGauge.getQueueDepths().containsKey("queue-1"), is(false));
+        assertThat(queueDepthGauge.getQueueDepths().get("queue-2"), is(7L));
+    }
+}
@@ -0,0 +1,138 @@
+package uk.gov.justice.services.messaging.jms.statistics;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueStatistics.UNKNOWN;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueStatistics.fromBrokerManagement;
+import static uk.gov.justice.services.messaging.jms.statistics.QueueStatisticsSource.QUEUE_BROWSER;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.messaging.jms.DestinationProvider;
+import uk.gov.justice.services.messaging.jms.JmsQueueBrowser;
+import uk.gov.justice.services.messaging.jms.JmsQueueBrowserUnsupportedOperation;
+
+import java.time.ZonedDateTime;
+
+import javax.jms.Queue;
+import javax.jms.Topic;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QueueStatisticsServiceTest {
+
+    @Mock
+    private DestinationProvider destinationProvider;
+
+    @Mock
+    private BrokerQueueStatisticsReader brokerQueueStatisticsReader;
+
+    @Mock
+    private JmsQueueBrowser jmsQueueBrowser;
+
+    @Mock
+    private UtcClock clock;
+
+    @InjectMocks
+    private QueueStatisticsService queueStatisticsService;
+
+    @Test
+    public void shouldGetTheStatisticsFromTheBrokerManagementApi() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final Queue queue = mock(Queue.class);
+        final QueueStatistics queueStatistics = fromBrokerManagement("java:/queue/my-queue", 23L, 4L, 1000L, 977L, now);
+
+        when(destinationProvider.getDestination("java:/queue/my-queue")).thenReturn(queue);
+        when(queue.getQueueName()).thenReturn("my-queue");
+        when(brokerQueueStatisticsReader.read("my-queue")).thenReturn(of(queueStatistics));
+
+        assertThat(queueStatisticsService.getStatistics("java:/queue/my-queue"), is(queueStatistics));
+
+        verifyZeroInteractions(jmsQueueBrowser);
+    }
+
+    @Test
+    public void shouldCalculateTheEnqueueAndDequeueRatesFromThePreviousSample() throws Exception {
+
+        final ZonedDateTime firstSampledAt = new UtcClock().now();
+        final ZonedDateTime secondSampledAt = firstSampledAt.plusSeconds(10);
+        final Queue queue = mock(Queue.class);
+
+        when(destinationProvider.getDestination("java:/queue/my-queue")).thenReturn(queue);
+        when(queue.getQueueName()).thenReturn("my-queue");
+        when(brokerQueueStatisticsReader.read("my-queue")).thenReturn(
+                of(fromBrokerManagement("java:/queue/my-queue", 23L, 4L, 1000L, 977L, firstSampledAt)),
+                of(fromBrokerManagement("java:/queue/my-queue", 13L, 4L, 1100L, 1087L, secondSampledAt)));
+
+        final QueueStatistics firstSample = queueStatisticsService.getStatistics("java:/queue/my-queue");
+        final QueueStatistics secondSample = queueStatisticsService.getStatistics("java:/queue/my-queue");
+
+        assertThat(firstSample.getEnqueueRatePerSecond(), is((double) UNKNOWN));
+        assertThat(secondSample.getEnqueueRatePerSecond(), is(10.0));
+        assertThat(secondSample.getDequeueRatePerSecond(), is(11.0));
+        assertThat(secondSample.getMessageCount(), is(13L));
+    }
+
+    @Test
+    public void shouldFallBackToBrowsingTheQueueIfTheBrokerHasNoManagementApi() throws Exception {
+
+        final ZonedDateTime now = new UtcClock().now();
+        final Queue queue = mock(Queue.class);
+
+        when(destinationProvider.getDestination("java:/queue/my-queue")).thenReturn(queue);
+        when(queue.getQueueName()).thenReturn("my-queue");
+        when(brokerQueueStatisticsReader.read("my-queue")).thenReturn(empty());
+        when(jmsQueueBrowser.sizeOf("java:/queue/my-queue", 10_000)).thenReturn(5);
+        when(clock.now()).thenReturn(now);
+
+        final QueueStatistics queueStatistics = queueStatisticsService.getStatistics("java:/queue/my-queue");
+
+        assertThat(queueStatistics.getMessageCount(), is(5L));
+        assertThat(queueStatistics.getConsumerCount(), is(UNKNOWN));
+        assertThat(queueStatistics.getSource(), is(QUEUE_BROWSER));
+        assertThat(queueStatistics.getSampledAt(), is(now));
+    }
+
+    @Test
+    public void shouldAllowTheNumberOfMessagesBrowsedToBeLimitedBySystemProperty() throws Exception {
+
+        final Queue queue = mock(Queue.class);
+
+        when(destinationProvider.getDestination("java:/queue/my-queue")).thenReturn(queue);
+        when(queue.getQueueName()).thenReturn("my-queue");
+        when(brokerQueueStatisticsReader.read("my-queue")).thenReturn(empty());
+        when(jmsQueueBrowser.sizeOf("java:/queue/my-queue", 100)).thenReturn(100);
+        when(clock.now()).thenReturn(new UtcClock().now());
+
+        System.setProperty("framework.jms.queue.browse.max.messages", "100");
+        try {
+            assertThat(queueStatisticsService.getStatistics("java:/queue/my-queue").getMessageCount(), is(100L));
+        } finally {
+            System.clearProperty("framework.jms.queue.browse.max.messages");
+        }
+    }
+
+    @Test
+    public void shouldThrowJmsQueueBrowserUnsupportedOperationIfTheDestinationIsNotAQueue() throws Exception {
+
+        when(destinationProvider.getDestination("java:/topic/my-topic")).thenReturn(mock(Topic.class));
+
+        try {
+            queueStatisticsService.getStatistics("java:/topic/my-topic");
+            fail();
+        } catch (final JmsQueueBrowserUnsupportedOperation expected) {
+            assertThat(expected.getMessage(), is("The named destination must be a Queue: 'java:/topic/my-topic', unable to get the statistics of a Topic."));
+        }
+    }
+}